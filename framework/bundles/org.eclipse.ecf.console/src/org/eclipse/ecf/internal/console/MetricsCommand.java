@@ -0,0 +1,80 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors: Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.internal.console;
+
+import java.util.Map;
+
+import org.apache.felix.service.command.CommandSession;
+import org.apache.felix.service.command.Descriptor;
+import org.eclipse.ecf.provider.metrics.Counter;
+import org.eclipse.ecf.provider.metrics.Gauge;
+import org.eclipse.ecf.provider.metrics.Histogram;
+import org.eclipse.ecf.provider.metrics.IMetricsService;
+import org.eclipse.ecf.provider.metrics.MetricGroup;
+import org.eclipse.ecf.provider.metrics.MetricsRegistry;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+@Component(immediate = true, property = { "osgi.command.scope=ecf", "osgi.command.function=listmetrics",
+		"osgi.command.function=lms" }, service = { MetricsCommand.class })
+public class MetricsCommand {
+
+	private static final String GROUP_LINE_FORMAT = "%1$-13s|%2$s\n"; //$NON-NLS-1$
+	private static final String METRIC_LINE_FORMAT = "\t%1$-20s %2$s\n"; //$NON-NLS-1$
+
+	private IMetricsService metricsService;
+
+	@Reference
+	void bindMetricsService(IMetricsService ms) {
+		this.metricsService = ms;
+	}
+
+	void unbindMetricsService(IMetricsService ms) {
+		this.metricsService = null;
+	}
+
+	@Descriptor("List metrics of ECF generic provider connections, containers and shared objects")
+	public void listmetrics(CommandSession cs) {
+		listmetrics(cs, null);
+	}
+
+	@Descriptor("List metrics of ECF generic provider connections, containers and shared objects")
+	public void lms(CommandSession cs) {
+		listmetrics(cs, null);
+	}
+
+	@Descriptor("List metrics of ECF generic provider connections, containers and shared objects")
+	public void listmetrics(CommandSession cs,
+			@Descriptor("Group type (connection|container|sharedobject|remoteservice) or part of group name (String)") String filter) {
+		if (!metricsService.isEnabled())
+			cs.getConsole().format("Metrics are disabled.  Set system property %s=true to enable\n", //$NON-NLS-1$
+					MetricsRegistry.ENABLED_PROPERTY);
+		for (MetricGroup group : metricsService.getGroups())
+			if (filter == null || group.getType().equals(filter) || group.getName().contains(filter))
+				printGroup(cs, group);
+	}
+
+	public void lms(CommandSession cs,
+			@Descriptor("Group type (connection|container|sharedobject|remoteservice) or part of group name (String)") String filter) {
+		listmetrics(cs, filter);
+	}
+
+	private void printGroup(CommandSession cs, MetricGroup group) {
+		cs.getConsole().format(GROUP_LINE_FORMAT, group.getType(), group.getName());
+		for (Map.Entry<String, Counter> e : group.getCounters().entrySet())
+			cs.getConsole().format(METRIC_LINE_FORMAT, e.getKey(), e.getValue().getCount());
+		for (Map.Entry<String, Gauge> e : group.getGauges().entrySet())
+			cs.getConsole().format(METRIC_LINE_FORMAT, e.getKey(), e.getValue().getValue());
+		for (Map.Entry<String, Histogram> e : group.getHistograms().entrySet())
+			cs.getConsole().format(METRIC_LINE_FORMAT, e.getKey(), e.getValue());
+	}
+}
@@ -15,13 +15,19 @@ package org.eclipse.ecf.internal.provider;
 
 import java.io.*;
 import java.util.Hashtable;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.net.ssl.SSLServerSocketFactory;
 import javax.net.ssl.SSLSocketFactory;
 import org.eclipse.core.runtime.*;
 import org.eclipse.ecf.core.ContainerTypeDescription;
 import org.eclipse.ecf.core.util.*;
+import org.eclipse.ecf.provider.comm.tcp.NIOEventLoopGroup;
 import org.eclipse.ecf.provider.generic.GenericContainerInstantiator;
+import org.eclipse.ecf.provider.generic.SOContainer;
 import org.eclipse.ecf.provider.generic.SSLGenericContainerInstantiator;
+import org.eclipse.ecf.provider.metrics.IMetricsService;
+import org.eclipse.ecf.provider.metrics.MetricsRegistry;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.log.LogService;
@@ -49,6 +55,16 @@ public class ProviderPlugin implements BundleActivator {
 	private ServiceTracker sslServerSocketFactoryTracker;
 	private ServiceTracker sslSocketFactoryTracker;
 
+	private NIOEventLoopGroup nioEventLoopGroup;
+
+	private ExecutorService sharedObjectExecutor;
+
+	/**
+	 * Number of pool threads used to dispatch shared object events when
+	 * org.eclipse.ecf.provider.generic.sharedobject.dispatch is "pool".
+	 */
+	public static final int DEFAULT_SHARED_OBJECT_THREADS = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.generic.sharedobject.threads", String.valueOf(Math.max(2, Runtime.getRuntime().availableProcessors() * 2)))); //$NON-NLS-1$
+
 	public IAdapterManager getAdapterManager() {
 		if (context == null)
 			return null;
@@ -81,6 +97,7 @@ public class ProviderPlugin implements BundleActivator {
 				context1.registerService(ContainerTypeDescription.class, new ContainerTypeDescription(SSLGenericContainerInstantiator.SSLCLIENT_NAME, new SSLGenericContainerInstantiator(), "ECF SSL Generic Client", true, true), null); //$NON-NLS-1$
 			}
 		});
+		this.context.registerService(IMetricsService.class, MetricsRegistry.getDefault(), null);
 		if (genericClassResolverOverride) {
 			Hashtable<String, Object> props = new Hashtable<String, Object>();
 			props.put(IClassResolver.BUNDLE_PROP_NAME, PLUGIN_ID);
@@ -92,10 +109,66 @@ public class ProviderPlugin implements BundleActivator {
 		return (genericClassResolverOverride) ? ClassResolverObjectInputStream.create(this.context, ins) : new ObjectInputStream(ins);
 	}
 
+	/**
+	 * @return NIOEventLoopGroup the event loop group shared by all connections using
+	 * the selector based transport.  Created on first use.
+	 * @throws IOException if the event loop group cannot be created
+	 */
+	public synchronized NIOEventLoopGroup getNIOEventLoopGroup() throws IOException {
+		if (nioEventLoopGroup == null || nioEventLoopGroup.isShutdown())
+			nioEventLoopGroup = new NIOEventLoopGroup("ECF NIO"); //$NON-NLS-1$
+		return nioEventLoopGroup;
+	}
+
+	/**
+	 * @return ExecutorService the executor shared by the shared objects of all containers
+	 * that do not use a thread per shared object.  Created on first use.
+	 */
+	public synchronized ExecutorService getSharedObjectExecutor() {
+		if (sharedObjectExecutor == null || sharedObjectExecutor.isShutdown()) {
+			if (SOContainer.SHARED_OBJECT_DISPATCH_VIRTUAL.equals(SOContainer.DEFAULT_SHARED_OBJECT_DISPATCH))
+				sharedObjectExecutor = createVirtualThreadExecutor();
+			if (sharedObjectExecutor == null || sharedObjectExecutor.isShutdown()) {
+				final ThreadPoolExecutor pool = new ThreadPoolExecutor(DEFAULT_SHARED_OBJECT_THREADS, DEFAULT_SHARED_OBJECT_THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					public Thread newThread(Runnable r) {
+						final Thread t = new Thread(r, "ECF SharedObject:dispatch-" + count.getAndIncrement()); //$NON-NLS-1$
+						t.setDaemon(true);
+						return t;
+					}
+				});
+				pool.allowCoreThreadTimeOut(true);
+				sharedObjectExecutor = pool;
+			}
+		}
+		return sharedObjectExecutor;
+	}
+
+	private ExecutorService createVirtualThreadExecutor() {
+		// Executors.newVirtualThreadPerTaskExecutor() is only available on Java 21+
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null); //$NON-NLS-1$
+		} catch (final Exception e) {
+			Trace.catching(PLUGIN_ID, ECFProviderDebugOptions.EXCEPTIONS_CATCHING, ProviderPlugin.class, "createVirtualThreadExecutor", e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
 	/**
 	 * This method is called when the plug-in is stopped
 	 */
 	public void stop(BundleContext context1) throws Exception {
+		synchronized (this) {
+			if (nioEventLoopGroup != null) {
+				nioEventLoopGroup.shutdown();
+				nioEventLoopGroup = null;
+			}
+			if (sharedObjectExecutor != null) {
+				sharedObjectExecutor.shutdown();
+				sharedObjectExecutor = null;
+			}
+		}
 		if (logServiceTracker != null) {
 			logServiceTracker.close();
 			logServiceTracker = null;
@@ -0,0 +1,188 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of {@link ByteBuffer}s for message encoding and transmission.
+ * <p>
+ * Buffers are pooled in power of two size classes from {@link #MIN_BUFFER_SIZE}
+ * up to a maximum buffer size.  Larger buffers are allocated when requested but
+ * not pooled.  The total capacity of the buffers held by the pool is bounded;
+ * buffers released when the pool is full are left to the garbage collector.
+ * Buffers are handed out as reference counted {@link PooledBuffer}s and return
+ * to the pool when their last reference is released.
+ * <p>
+ * The default pool is configured with the system properties
+ * <code>org.eclipse.ecf.provider.comm.bufferpool.direct</code> (use direct
+ * buffers, default <code>false</code>),
+ * <code>org.eclipse.ecf.provider.comm.bufferpool.maxBufferSize</code> (default 1MB) and
+ * <code>org.eclipse.ecf.provider.comm.bufferpool.maxPooledBytes</code> (default 32MB,
+ * 0 disables pooling).
+ *
+ * @since 4.11
+ */
+public class BufferPool {
+
+	public static final int MIN_BUFFER_SIZE = 512;
+
+	public static final boolean DEFAULT_DIRECT = Boolean.getBoolean("org.eclipse.ecf.provider.comm.bufferpool.direct"); //$NON-NLS-1$
+
+	public static final int DEFAULT_MAX_BUFFER_SIZE = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.bufferpool.maxBufferSize", String.valueOf(1024 * 1024))); //$NON-NLS-1$
+
+	public static final long DEFAULT_MAX_POOLED_BYTES = Long.parseLong(System.getProperty("org.eclipse.ecf.provider.comm.bufferpool.maxPooledBytes", String.valueOf(32 * 1024 * 1024))); //$NON-NLS-1$
+
+	private static final BufferPool defaultPool = new BufferPool(DEFAULT_MAX_BUFFER_SIZE, DEFAULT_MAX_POOLED_BYTES, DEFAULT_DIRECT);
+
+	private final boolean direct;
+	private final int maxBufferSize;
+	private final long maxPooledBytes;
+	private final Queue<ByteBuffer>[] sizeClasses;
+	private final AtomicLong pooledBytes = new AtomicLong();
+
+	// Statistics
+	private final LongAdder acquired = new LongAdder();
+	private final LongAdder reused = new LongAdder();
+	private final LongAdder released = new LongAdder();
+	private final LongAdder discarded = new LongAdder();
+
+	/**
+	 * @return BufferPool the pool shared by the connections and containers of this bundle
+	 */
+	public static BufferPool getDefault() {
+		return defaultPool;
+	}
+
+	/**
+	 * @param maxBufferSize the capacity of the largest buffer pooled.  Rounded up to a power of two.
+	 * @param maxPooledBytes the maximum total capacity of the buffers held by the pool
+	 * @param direct true to allocate direct buffers, false for heap buffers
+	 */
+	@SuppressWarnings("unchecked")
+	public BufferPool(int maxBufferSize, long maxPooledBytes, boolean direct) {
+		this.direct = direct;
+		this.maxBufferSize = Math.max(MIN_BUFFER_SIZE, maxBufferSize);
+		this.maxPooledBytes = maxPooledBytes;
+		this.sizeClasses = new Queue[getSizeClass(this.maxBufferSize) + 1];
+		for (int i = 0; i < sizeClasses.length; i++)
+			sizeClasses[i] = new ConcurrentLinkedQueue<ByteBuffer>();
+	}
+
+	private static int getSizeClass(int capacity) {
+		if (capacity <= MIN_BUFFER_SIZE)
+			return 0;
+		return 32 - Integer.numberOfLeadingZeros(capacity - 1) - Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+	}
+
+	/**
+	 * Get a buffer with at least the given capacity.  The buffer is cleared: its
+	 * position is 0 and its limit is its capacity.
+	 * @param minCapacity the minimum capacity
+	 * @return PooledBuffer with one reference, that must be released when no longer used.
+	 * Will not be <code>null</code>.
+	 */
+	public PooledBuffer acquire(int minCapacity) {
+		acquired.increment();
+		if (minCapacity > maxBufferSize)
+			return new PooledBuffer(null, allocate(minCapacity));
+		final int sizeClass = getSizeClass(minCapacity);
+		final ByteBuffer buffer = sizeClasses[sizeClass].poll();
+		if (buffer != null) {
+			pooledBytes.addAndGet(-buffer.capacity());
+			reused.increment();
+			buffer.clear();
+			return new PooledBuffer(this, buffer);
+		}
+		return new PooledBuffer(this, allocate(MIN_BUFFER_SIZE << sizeClass));
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+	}
+
+	void recycle(ByteBuffer buffer) {
+		released.increment();
+		final int capacity = buffer.capacity();
+		if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+			pooledBytes.addAndGet(-capacity);
+			discarded.increment();
+			return;
+		}
+		sizeClasses[getSizeClass(capacity)].add(buffer);
+	}
+
+	/**
+	 * @return boolean true if the pool allocates direct buffers
+	 */
+	public boolean isDirect() {
+		return direct;
+	}
+
+	/**
+	 * @return long the number of buffers acquired from this pool
+	 */
+	public long getAcquireCount() {
+		return acquired.sum();
+	}
+
+	/**
+	 * @return long the number of acquired buffers that were taken from the pool rather than allocated
+	 */
+	public long getReuseCount() {
+		return reused.sum();
+	}
+
+	/**
+	 * @return long the number of buffers allocated because no pooled buffer was available
+	 */
+	public long getAllocateCount() {
+		return acquired.sum() - reused.sum();
+	}
+
+	/**
+	 * @return long the number of pooled buffers whose last reference was released
+	 */
+	public long getReleaseCount() {
+		return released.sum();
+	}
+
+	/**
+	 * @return long the number of released buffers not pooled because the pool was full
+	 */
+	public long getDiscardCount() {
+		return discarded.sum();
+	}
+
+	/**
+	 * @return long the total capacity of the buffers currently held by the pool
+	 */
+	public long getPooledBytes() {
+		return pooledBytes.get();
+	}
+
+	public String toString() {
+		final StringBuffer buf = new StringBuffer("BufferPool["); //$NON-NLS-1$
+		buf.append("direct=").append(direct); //$NON-NLS-1$
+		buf.append(";acquired=").append(getAcquireCount()); //$NON-NLS-1$
+		buf.append(";reused=").append(getReuseCount()); //$NON-NLS-1$
+		buf.append(";released=").append(getReleaseCount()); //$NON-NLS-1$
+		buf.append(";discarded=").append(getDiscardCount()); //$NON-NLS-1$
+		buf.append(";pooledBytes=").append(getPooledBytes()).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
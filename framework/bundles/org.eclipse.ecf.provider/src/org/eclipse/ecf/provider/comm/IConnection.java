@@ -22,6 +22,17 @@ import org.eclipse.ecf.core.util.ECFException;
  * 
  */
 public interface IConnection extends IAdaptable {
+	/**
+	 * Connection property key for the wire version (an Integer) used for
+	 * messages sent over this connection.  Before connect, the value is the
+	 * highest version supported locally.  After connect, it is the version
+	 * accepted by the remote.  Connections to or from peers that do not
+	 * support wire version negotiation have version 0.
+	 * 
+	 * @since 4.11
+	 */
+	public static final String WIRE_VERSION_PROPERTY = "org.eclipse.ecf.provider.comm.wireVersion"; //$NON-NLS-1$
+
 	/**
 	 * Connect to a remote process
 	 * 
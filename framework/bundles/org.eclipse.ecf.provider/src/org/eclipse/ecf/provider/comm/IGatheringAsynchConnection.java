@@ -0,0 +1,41 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm;
+
+import java.io.IOException;
+import org.eclipse.ecf.core.identity.ID;
+
+/**
+ * Asynchronous connection that can send data given as a header and a body.
+ * The receiver gets the concatenation of header and body, exactly as if
+ * {@link #sendAsynch(ID, byte[])} had been called with it.  The body is only
+ * referenced (not copied) by the connection, so the same body may be sent to
+ * many connections.  Callers must not modify the body after passing it.
+ * 
+ * @since 4.11
+ */
+public interface IGatheringAsynchConnection extends IAsynchConnection {
+	/**
+	 * Send header and body asynchronously.
+	 * 
+	 * @param receiver
+	 *            the ID of the intended receiver
+	 * @param header
+	 *            the header to send.  Must not be <code>null</code>.
+	 * @param body
+	 *            the body to send after the header.  Must not be <code>null</code>.
+	 * @throws IOException
+	 *             thrown if data cannot be sent (e.g. disconnected)
+	 */
+	public void sendAsynch(ID receiver, byte[] header, byte[] body) throws IOException;
+}
@@ -0,0 +1,57 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm;
+
+import java.io.IOException;
+import org.eclipse.ecf.core.identity.ID;
+
+/**
+ * Asynchronous connection that sends data held in {@link PooledBuffer}s without
+ * copying it.  The receiver gets the bytes between position and limit of the
+ * buffers, exactly as if {@link #sendAsynch(ID, byte[])} had been called with them.
+ * <p>
+ * The connection takes over the reference passed by the caller: it releases the
+ * reference once the data has been written, or when the data cannot be sent.
+ * Callers must not use or release the reference after passing it, and must not
+ * modify the content of the buffer.
+ *
+ * @since 4.11
+ */
+public interface IPooledAsynchConnection extends IGatheringAsynchConnection {
+	/**
+	 * Send data asynchronously.
+	 *
+	 * @param receiver
+	 *            the ID of the intended receiver
+	 * @param data
+	 *            the data to send.  Must not be <code>null</code>.
+	 * @throws IOException
+	 *             thrown if data cannot be sent (e.g. disconnected)
+	 */
+	public void sendAsynch(ID receiver, PooledBuffer data) throws IOException;
+
+	/**
+	 * Send header and body asynchronously.  Use {@link PooledBuffer#duplicate()}
+	 * to send the same body to many connections.
+	 *
+	 * @param receiver
+	 *            the ID of the intended receiver
+	 * @param header
+	 *            the header to send.  Must not be <code>null</code>.
+	 * @param body
+	 *            the body to send after the header.  Must not be <code>null</code>.
+	 * @throws IOException
+	 *             thrown if data cannot be sent (e.g. disconnected)
+	 */
+	public void sendAsynch(ID receiver, byte[] header, PooledBuffer body) throws IOException;
+}
@@ -0,0 +1,123 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference counted {@link ByteBuffer} acquired from a {@link BufferPool}.
+ * <p>
+ * A new PooledBuffer has one reference.  Each {@link #duplicate()} adds a
+ * reference and gives an independent position and limit over the same content.
+ * Every reference must be released exactly once with {@link #release()}.  When the
+ * last reference is released the buffer returns to its pool, so neither this
+ * instance nor its duplicates may be used after their release.
+ *
+ * @since 4.11
+ */
+public final class PooledBuffer {
+
+	private final BufferPool pool;
+	// The buffer as acquired from the pool, shared by all duplicates
+	private final ByteBuffer pooled;
+	private final ByteBuffer buffer;
+	private final AtomicInteger refCount;
+
+	PooledBuffer(BufferPool pool, ByteBuffer buffer) {
+		this(pool, buffer, buffer, new AtomicInteger(1));
+	}
+
+	private PooledBuffer(BufferPool pool, ByteBuffer pooled, ByteBuffer buffer, AtomicInteger refCount) {
+		this.pool = pool;
+		this.pooled = pooled;
+		this.buffer = buffer;
+		this.refCount = refCount;
+	}
+
+	/**
+	 * Wrap a buffer that does not belong to a pool.  Releasing the result has no effect on the buffer.
+	 * @param buffer the buffer to wrap.  Must not be <code>null</code>.
+	 * @return PooledBuffer for the given buffer
+	 */
+	public static PooledBuffer wrap(ByteBuffer buffer) {
+		if (buffer == null)
+			throw new NullPointerException("buffer cannot be null"); //$NON-NLS-1$
+		return new PooledBuffer(null, buffer);
+	}
+
+	/**
+	 * Wrap a byte array.  Releasing the result has no effect on the array.
+	 * @param bytes the bytes to wrap.  Must not be <code>null</code>.
+	 * @return PooledBuffer positioned at the start of bytes with limit at the end of bytes
+	 */
+	public static PooledBuffer wrap(byte[] bytes) {
+		return wrap(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * @return ByteBuffer the buffer of this reference
+	 */
+	public ByteBuffer buffer() {
+		return buffer;
+	}
+
+	/**
+	 * @return int the number of bytes between position and limit of the buffer
+	 */
+	public int remaining() {
+		return buffer.remaining();
+	}
+
+	/**
+	 * @return PooledBuffer a new reference to the same content, with position and limit
+	 * of this reference at the time of the call
+	 * @throws IllegalStateException if all references have been released
+	 */
+	public PooledBuffer duplicate() {
+		for (;;) {
+			final int count = refCount.get();
+			if (count <= 0)
+				throw new IllegalStateException("Buffer already released"); //$NON-NLS-1$
+			if (refCount.compareAndSet(count, count + 1))
+				return new PooledBuffer(pool, pooled, buffer.duplicate(), refCount);
+		}
+	}
+
+	/**
+	 * Release this reference.  The buffer returns to its pool when all references are released.
+	 * @throws IllegalStateException if all references have already been released
+	 */
+	public void release() {
+		final int count = refCount.decrementAndGet();
+		if (count < 0)
+			throw new IllegalStateException("Buffer already released"); //$NON-NLS-1$
+		if (count == 0 && pool != null)
+			pool.recycle(pooled);
+	}
+
+	/**
+	 * @return byte[] a copy of the bytes between position and limit of the buffer.  The position is not changed.
+	 */
+	public byte[] toByteArray() {
+		final byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
+	}
+
+	public String toString() {
+		final StringBuffer buf = new StringBuffer("PooledBuffer["); //$NON-NLS-1$
+		buf.append(buffer).append(";refCount=").append(refCount.get()).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
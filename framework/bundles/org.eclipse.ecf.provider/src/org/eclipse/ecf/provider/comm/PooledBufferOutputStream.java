@@ -0,0 +1,131 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Output stream that writes into buffers of a {@link BufferPool}.  Used in place
+ * of {@link java.io.ByteArrayOutputStream}, so that encoding a message does not
+ * allocate (and copy between) intermediate arrays as the output grows.
+ * <p>
+ * The written bytes are taken with {@link #toByteArray()} or, without copying,
+ * with {@link #takeBuffer()}.  {@link #close()} must be called in any case, to
+ * return the buffer to the pool if it was not taken.
+ *
+ * @since 4.11
+ */
+public class PooledBufferOutputStream extends OutputStream {
+
+	private final BufferPool pool;
+	private PooledBuffer pooledBuffer;
+	private ByteBuffer buffer;
+
+	public PooledBufferOutputStream(BufferPool pool, int initialCapacity) {
+		if (pool == null)
+			throw new NullPointerException("pool cannot be null"); //$NON-NLS-1$
+		this.pool = pool;
+		this.pooledBuffer = pool.acquire(initialCapacity);
+		this.buffer = pooledBuffer.buffer();
+	}
+
+	public PooledBufferOutputStream(int initialCapacity) {
+		this(BufferPool.getDefault(), initialCapacity);
+	}
+
+	private ByteBuffer ensureRemaining(int length) throws IOException {
+		if (buffer == null)
+			throw new IOException("Stream closed"); //$NON-NLS-1$
+		if (buffer.remaining() < length) {
+			final int needed = buffer.position() + length;
+			if (needed < 0)
+				throw new IOException("Stream size exceeds maximum array size"); //$NON-NLS-1$
+			final PooledBuffer newBuffer = pool.acquire(Math.max(needed, buffer.capacity() << 1));
+			buffer.flip();
+			newBuffer.buffer().put(buffer);
+			pooledBuffer.release();
+			pooledBuffer = newBuffer;
+			buffer = newBuffer.buffer();
+		}
+		return buffer;
+	}
+
+	public void write(int b) throws IOException {
+		ensureRemaining(1).put((byte) b);
+	}
+
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureRemaining(len).put(b, off, len);
+	}
+
+	/**
+	 * @return int the number of bytes written
+	 */
+	public int size() {
+		return (buffer == null) ? 0 : buffer.position();
+	}
+
+	/**
+	 * Overwrite four bytes already written with an int in big-endian order, e.g. to fill in
+	 * a length prefix once the bytes it covers are written.
+	 * @param position the position of the first byte to overwrite
+	 * @param value the value to write
+	 * @throws IOException if the stream is closed
+	 */
+	public void writeIntAt(int position, int value) throws IOException {
+		if (buffer == null)
+			throw new IOException("Stream closed"); //$NON-NLS-1$
+		if (position < 0 || position > buffer.position() - 4)
+			throw new IndexOutOfBoundsException("position=" + position); //$NON-NLS-1$
+		buffer.putInt(position, value);
+	}
+
+	/**
+	 * @return byte[] a copy of the bytes written
+	 */
+	public byte[] toByteArray() {
+		if (buffer == null)
+			return new byte[0];
+		final byte[] bytes = new byte[buffer.position()];
+		final ByteBuffer dup = buffer.duplicate();
+		dup.flip();
+		dup.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Take the buffer holding the bytes written.  The stream is closed and the
+	 * caller becomes responsible for releasing the result.
+	 * @return PooledBuffer with position 0 and limit at the number of bytes written
+	 * @throws IOException if the stream is closed
+	 */
+	public PooledBuffer takeBuffer() throws IOException {
+		if (buffer == null)
+			throw new IOException("Stream closed"); //$NON-NLS-1$
+		final PooledBuffer result = pooledBuffer;
+		buffer.flip();
+		pooledBuffer = null;
+		buffer = null;
+		return result;
+	}
+
+	public void close() {
+		if (pooledBuffer != null) {
+			pooledBuffer.release();
+			pooledBuffer = null;
+			buffer = null;
+		}
+	}
+}
@@ -21,14 +21,16 @@ import java.util.*;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.ecf.core.identity.ID;
 import org.eclipse.ecf.core.identity.IDFactory;
+import org.eclipse.ecf.core.sharedobject.util.MPSCQueue;
 import org.eclipse.ecf.core.sharedobject.util.SimpleFIFOQueue;
 import org.eclipse.ecf.core.util.ECFException;
 import org.eclipse.ecf.core.util.Trace;
 import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
 import org.eclipse.ecf.internal.provider.ProviderPlugin;
 import org.eclipse.ecf.provider.comm.*;
+import org.eclipse.ecf.provider.metrics.*;
 
-public final class Client implements ISynchAsynchConnection {
+public final class Client implements ISynchAsynchConnection, IGatheringAsynchConnection {
 	public static final String PROTOCOL = "ecftcp"; //$NON-NLS-1$
 	public static final int DEFAULT_SNDR_PRIORITY = Thread.NORM_PRIORITY;
 	public static final int DEFAULT_RCVR_PRIORITY = Thread.NORM_PRIORITY;
@@ -37,6 +39,41 @@ public final class Client implements ISynchAsynchConnection {
 	// Default maximum cached messages on object stream is 50
 	public static final int DEFAULT_MAX_BUFFER_MSG = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.client.maxmsgs", "50")); //$NON-NLS-1$ //$NON-NLS-2$
 	public static final int DEFAULT_WAIT_INTERVAL = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.client.waitinterval", "10")); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Maximum number of queued messages the sender thread writes before flushing.
+	 * 1 (the default) disables batching (one flush per message).
+	 * @since 4.11
+	 */
+	public static final int DEFAULT_BATCH_MAX_MSGS = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.client.batch.maxmsgs", "1")); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Maximum number of payload bytes the sender thread writes before flushing.
+	 * @since 4.11
+	 */
+	public static final int DEFAULT_BATCH_MAX_BYTES = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.client.batch.maxbytes", String.valueOf(64 * 1024))); //$NON-NLS-1$
+	/**
+	 * Time in ms the sender thread waits for more messages to arrive before
+	 * writing a batch that is not full.  0 (the default) only batches messages
+	 * that are already queued, so no latency is added.
+	 * @since 4.11
+	 */
+	public static final long DEFAULT_BATCH_LINGER = Long.parseLong(System.getProperty("org.eclipse.ecf.provider.comm.tcp.client.batch.linger", "0")); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Send queue implementation: "mpsc" for a lock free {@link MPSCQueue}, otherwise
+	 * {@link SimpleFIFOQueue}.
+	 * @since 4.11
+	 */
+	public static final String DEFAULT_QUEUE_TYPE = System.getProperty("org.eclipse.ecf.provider.comm.tcp.client.queue", "fifo"); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Capacity of a "mpsc" send queue.  When the queue is full, senders block until the
+	 * sender thread has written queued messages.  0 (the default) means unbounded.
+	 * @since 4.11
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.client.queue.capacity", "0")); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Size of the buffer between object output stream and socket.
+	 * @since 4.11
+	 */
+	public static final int DEFAULT_SEND_BUFFER_SIZE = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.client.sendbuffer", String.valueOf(32 * 1024))); //$NON-NLS-1$
 	protected Socket socket;
 	private String addressPort = "-1:<no endpoint>:-1"; //$NON-NLS-1$
 	// Underlying streams
@@ -45,7 +82,7 @@ public final class Client implements ISynchAsynchConnection {
 	// Event handler
 	protected ISynchAsynchEventHandler handler;
 	// Our queue
-	protected SimpleFIFOQueue queue = new SimpleFIFOQueue();
+	protected SimpleFIFOQueue queue = createQueue();
 	protected int keepAlive = 0;
 	protected Thread sendThread;
 	protected Thread rcvThread;
@@ -62,6 +99,21 @@ public final class Client implements ISynchAsynchConnection {
 	private final Object disconnectLock = new Object();
 	protected final Object outputStreamLock = new Object();
 	private int maxmsgs = DEFAULT_MAX_BUFFER_MSG;
+	private int batchMaxMsgs = DEFAULT_BATCH_MAX_MSGS;
+	private int batchMaxBytes = DEFAULT_BATCH_MAX_BYTES;
+	private long batchLinger = DEFAULT_BATCH_LINGER;
+	// Batch counters, only written by sender thread
+	private volatile long batchCount = 0;
+	private volatile long batchedMsgCount = 0;
+	private volatile int maxBatchSize = 0;
+	// Metrics, all null if metrics are disabled
+	private MetricGroup metrics;
+	private Counter messagesOut;
+	private Counter bytesOut;
+	private Counter messagesIn;
+	private Counter bytesIn;
+	private Histogram pingRtt;
+	private long pingSentTime;
 
 	private String getHostNameForAddressWithoutLookup(InetAddress inetAddress) {
 		// First get InetAddress.toString(), which returns
@@ -199,6 +251,7 @@ public final class Client implements ISynchAsynchConnection {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public synchronized Object connect(ID remote, Object data, int timeout) throws ECFException {
 		debug("connect(" + remote + "," + data + "," + timeout + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 		if (socket != null)
@@ -215,12 +268,12 @@ public final class Client implements ISynchAsynchConnection {
 			setSocketOptions(s);
 			// Now we've got a connection so set our socket
 			setSocket(s);
-			outputStream = new ObjectOutputStream(s.getOutputStream());
+			outputStream = new ObjectOutputStream(new BufferedOutputStream(s.getOutputStream(), DEFAULT_SEND_BUFFER_SIZE));
 			outputStream.flush();
 			inputStream = ProviderPlugin.getDefault().createObjectInputStream(s.getInputStream());
 			debug("connect;" + anURI); //$NON-NLS-1$
 			// send connect data and get synchronous response
-			send(new ConnectRequestMessage(anURI, (Serializable) data));
+			send(new ConnectRequestMessage(anURI, (Serializable) data, getRequestedWireVersion()));
 			res = (ConnectResultMessage) readObject();
 		} catch (final IOException e) {
 			throw new ECFException("Exception during connection to " + remote.getName(), e); //$NON-NLS-1$
@@ -228,6 +281,7 @@ public final class Client implements ISynchAsynchConnection {
 		debug("connect;rcv:" + res); //$NON-NLS-1$
 		if (res == null)
 			throw new ECFException("Result cannot be null"); //$NON-NLS-1$
+		properties.put(WIRE_VERSION_PROPERTY, Integer.valueOf(res.getWireVersion()));
 		// Setup threads
 		setupThreads();
 		// Return results.
@@ -236,10 +290,16 @@ public final class Client implements ISynchAsynchConnection {
 		return ret;
 	}
 
+	private int getRequestedWireVersion() {
+		final Object version = properties.get(WIRE_VERSION_PROPERTY);
+		return (version instanceof Integer) ? ((Integer) version).intValue() : 0;
+	}
+
 	@SuppressWarnings("unchecked")
 	private void setupThreads() {
 		// Setup threads
 		debug("setupThreads()"); //$NON-NLS-1$
+		initMetrics();
 		sendThread = (Thread) AccessController.doPrivileged(new PrivilegedAction() {
 			public Object run() {
 				return getSendThread();
@@ -252,6 +312,25 @@ public final class Client implements ISynchAsynchConnection {
 		});
 	}
 
+	private void initMetrics() {
+		if (!MetricsRegistry.getDefault().isEnabled())
+			return;
+		final ID localID = getLocalID();
+		metrics = MetricsRegistry.getDefault().createGroup(IMetricsService.TYPE_CONNECTION, ((localID == null) ? "" : localID.getName()) + ":" + getAddressPort()); //$NON-NLS-1$ //$NON-NLS-2$
+		if (metrics == null)
+			return;
+		messagesOut = metrics.counter("messages.out"); //$NON-NLS-1$
+		bytesOut = metrics.counter("bytes.out"); //$NON-NLS-1$
+		messagesIn = metrics.counter("messages.in"); //$NON-NLS-1$
+		bytesIn = metrics.counter("bytes.in"); //$NON-NLS-1$
+		pingRtt = metrics.histogram("ping.rtt.us"); //$NON-NLS-1$
+		metrics.gauge("queue.depth", new Gauge() { //$NON-NLS-1$
+			public long getValue() {
+				return queue.size();
+			}
+		});
+	}
+
 	Thread getSendThread() {
 		final Thread aThread = new Thread(new Runnable() {
 			public void run() {
@@ -267,10 +346,19 @@ public final class Client implements ISynchAsynchConnection {
 					if (me.isInterrupted() || aMsg == null)
 						break;
 					try {
-						// Actually send message
-						send(aMsg);
-						// Successful...remove message from queue
-						queue.removeHead();
+						if (batchMaxMsgs > 1) {
+							// Give more messages the chance to arrive
+							if (batchLinger > 0 && queue.size() < batchMaxMsgs)
+								Thread.sleep(batchLinger);
+							sendBatch();
+						} else {
+							// Actually send message
+							send(aMsg);
+							// Successful...remove message from queue
+							queue.removeHead();
+						}
+					} catch (InterruptedException e) {
+						break;
 					} catch (Exception e) {
 						handleException(e);
 						break;
@@ -292,6 +380,8 @@ public final class Client implements ISynchAsynchConnection {
 				if (e != null)
 					traceStack("handleException in thread=" //$NON-NLS-1$
 							+ Thread.currentThread().getName(), e);
+				if (metrics != null)
+					metrics.close();
 				handler.handleDisconnectEvent(new DisconnectEvent(this, e, queue));
 			}
 		}
@@ -317,6 +407,10 @@ public final class Client implements ISynchAsynchConnection {
 		synchronized (outputStreamLock) {
 			outputStream.writeObject(snd);
 			outputStream.flush();
+			if (messagesOut != null) {
+				messagesOut.increment();
+				bytesOut.add(getPayloadSize(snd));
+			}
 			if (resetCounter > this.maxmsgs) {
 				outputStream.reset();
 				resetCounter = 0;
@@ -325,8 +419,105 @@ public final class Client implements ISynchAsynchConnection {
 		}
 	}
 
+	/**
+	 * Write the messages at the head of the queue with a single flush.  Messages
+	 * are only removed from the queue once flushed, so that the messages of a
+	 * failed batch are still in the queue given to the disconnect event.
+	 */
+	private void sendBatch() throws IOException {
+		// Only this thread removes from the queue, so the head does not change
+		final Object[] msgs = queue.peekHead(batchMaxMsgs);
+		int count = 0;
+		long bytes = 0;
+		synchronized (outputStreamLock) {
+			while (count < msgs.length && (count == 0 || bytes < batchMaxBytes)) {
+				final Serializable aMsg = (Serializable) msgs[count];
+				outputStream.writeObject(aMsg);
+				count++;
+				bytes += getPayloadSize(aMsg);
+				if (resetCounter > this.maxmsgs) {
+					outputStream.reset();
+					resetCounter = 0;
+				} else
+					resetCounter++;
+			}
+			outputStream.flush();
+		}
+		for (int i = 0; i < count; i++)
+			queue.removeHead();
+		batchCount++;
+		batchedMsgCount += count;
+		if (messagesOut != null) {
+			messagesOut.add(count);
+			bytesOut.add(bytes);
+		}
+		if (count > maxBatchSize)
+			maxBatchSize = count;
+	}
+
+	private static long getPayloadSize(Serializable msg) {
+		Serializable data = msg;
+		if (msg instanceof AsynchMessage)
+			data = ((AsynchMessage) msg).getData();
+		if (data instanceof byte[])
+			return ((byte[]) data).length;
+		if (data instanceof GatheredBytes)
+			return ((GatheredBytes) data).length();
+		return 0;
+	}
+
+	/**
+	 * Set the limits for the messages written by the sender thread with a single flush.
+	 * @param maxMsgs the maximum number of messages.  1 disables batching.
+	 * @param maxBytes the maximum number of payload bytes
+	 * @param linger the time in ms to wait for more messages before writing a batch that
+	 * is not full.  0 means not to wait.
+	 * @since 4.11
+	 */
+	public void setBatchLimits(int maxMsgs, int maxBytes, long linger) {
+		if (maxMsgs < 1)
+			throw new IllegalArgumentException("maxMsgs must be > 0"); //$NON-NLS-1$
+		this.batchMaxMsgs = maxMsgs;
+		this.batchMaxBytes = maxBytes;
+		this.batchLinger = linger;
+	}
+
+	/**
+	 * @return long the number of flushes done by the sender thread in batching mode
+	 * @since 4.11
+	 */
+	public long getBatchCount() {
+		return batchCount;
+	}
+
+	/**
+	 * @return long the number of messages written by the sender thread in batching mode
+	 * @since 4.11
+	 */
+	public long getBatchedMessageCount() {
+		return batchedMsgCount;
+	}
+
+	/**
+	 * @return int the largest number of messages written with a single flush
+	 * @since 4.11
+	 */
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * @return int the number of messages waiting to be sent
+	 * @since 4.11
+	 */
+	public int getSendQueueSize() {
+		return queue.size();
+	}
+
 	private void handlePingResp() {
 		synchronized (pingLock) {
+			if (pingRtt != null && waitForPing)
+				pingRtt.record((System.nanoTime() - pingSentTime) / 1000);
 			waitForPing = false;
 		}
 	}
@@ -380,6 +571,10 @@ public final class Client implements ISynchAsynchConnection {
 	void handleRcv(Serializable rcv) throws IOException {
 		try {
 			//			debug("recv(" + rcv + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+			if (messagesIn != null) {
+				messagesIn.increment();
+				bytesIn.add(getPayloadSize(rcv));
+			}
 			// Handle all messages
 			if (rcv instanceof SynchMessage) {
 				// Handle synch message. The only valid synch message is
@@ -448,6 +643,8 @@ public final class Client implements ISynchAsynchConnection {
 							break;
 						synchronized (pingLock) {
 							waitForPing = true;
+							if (pingRtt != null)
+								pingSentTime = System.nanoTime();
 							// Actually queue ping instance for send by sender
 							// thread
 							queue.enqueue(ping);
@@ -502,10 +699,30 @@ public final class Client implements ISynchAsynchConnection {
 		queueObject(recipient, (Serializable) obj);
 	}
 
-	public synchronized void queueObject(ID recipient, Serializable obj) throws IOException {
-		if (queue.isStopped() || isClosing)
+	/**
+	 * Header and body are written by the sender thread without being copied into a
+	 * single array.  The peer must use this version of the transport, i.e. must have
+	 * negotiated the binary wire version.
+	 * @since 4.11
+	 */
+	public void sendAsynch(ID recipient, byte[] header, byte[] body) throws IOException {
+		queueObject(recipient, new GatheredBytes(header, body));
+	}
+
+	public void queueObject(ID recipient, Serializable obj) throws IOException {
+		synchronized (this) {
+			if (queue.isStopped() || isClosing)
+				throw new ConnectException("Not connected"); //$NON-NLS-1$
+		}
+		// Not synchronized as enqueue blocks on a full bounded queue
+		if (!queue.enqueue(new AsynchMessage(obj)))
 			throw new ConnectException("Not connected"); //$NON-NLS-1$
-		queue.enqueue(new AsynchMessage(obj));
+	}
+
+	private static SimpleFIFOQueue createQueue() {
+		if ("mpsc".equals(DEFAULT_QUEUE_TYPE)) //$NON-NLS-1$
+			return new MPSCQueue(DEFAULT_QUEUE_CAPACITY);
+		return new SimpleFIFOQueue();
 	}
 
 	public synchronized Serializable sendObject(ID recipient, Serializable obj) throws IOException {
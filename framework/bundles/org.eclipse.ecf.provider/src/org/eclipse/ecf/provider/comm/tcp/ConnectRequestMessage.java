@@ -20,12 +20,25 @@ public class ConnectRequestMessage implements Serializable {
 	private static final long serialVersionUID = 3257844363974226229L;
 	URI target;
 	Serializable data;
+	// Added in 4.11.  Messages from older peers deserialize with 0
+	int wireVersion;
 
 	public ConnectRequestMessage(URI target, Serializable data) {
 		this.target = target;
 		this.data = data;
 	}
 
+	/**
+	 * @param target target
+	 * @param data data
+	 * @param wireVersion the highest wire version supported by the requester
+	 * @since 4.11
+	 */
+	public ConnectRequestMessage(URI target, Serializable data, int wireVersion) {
+		this(target, data);
+		this.wireVersion = wireVersion;
+	}
+
 	public URI getTarget() {
 		return target;
 	}
@@ -34,9 +47,18 @@ public class ConnectRequestMessage implements Serializable {
 		return data;
 	}
 
+	/**
+	 * @return int the highest wire version supported by the requester.  0 if the
+	 * requester does not support wire version negotiation.
+	 * @since 4.11
+	 */
+	public int getWireVersion() {
+		return wireVersion;
+	}
+
 	public String toString() {
 		StringBuffer buf = new StringBuffer("ConnectRequestMessage["); //$NON-NLS-1$
-		buf.append(target).append(";").append(data).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append(target).append(";").append(data).append(";").append(wireVersion).append("]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		return buf.toString();
 	}
 }
\ No newline at end of file
@@ -18,18 +18,39 @@ import java.io.Serializable;
 public class ConnectResultMessage implements Serializable {
 	private static final long serialVersionUID = 3833188038300938804L;
 	Serializable data;
+	// Added in 4.11.  Messages from older peers deserialize with 0
+	int wireVersion;
 
 	public ConnectResultMessage(Serializable data) {
 		this.data = data;
 	}
 
+	/**
+	 * @param data data
+	 * @param wireVersion the wire version accepted by the responder
+	 * @since 4.11
+	 */
+	public ConnectResultMessage(Serializable data, int wireVersion) {
+		this(data);
+		this.wireVersion = wireVersion;
+	}
+
 	public Serializable getData() {
 		return data;
 	}
 
+	/**
+	 * @return int the wire version accepted by the responder.  0 if the responder
+	 * does not support wire version negotiation.
+	 * @since 4.11
+	 */
+	public int getWireVersion() {
+		return wireVersion;
+	}
+
 	public String toString() {
 		StringBuffer buf = new StringBuffer("ConnectResultMessage["); //$NON-NLS-1$
-		buf.append(data).append("]"); //$NON-NLS-1$
+		buf.append(data).append(";").append(wireVersion).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
 		return buf.toString();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm.tcp;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Header and shared body queued for sending.  Header and body are written to the
+ * object stream one after the other, without concatenating them, and read back as
+ * the single byte[] made of header and body, so the receiving handler cannot tell
+ * it from a plain byte[].  Only sent to peers that negotiated the binary wire
+ * version, and so have this class.
+ */
+final class GatheredBytes implements Serializable {
+	private static final long serialVersionUID = -3151357930426547447L;
+
+	private transient byte[] header;
+	private transient byte[] body;
+	// Header and body as read by the receiver
+	private transient byte[] bytes;
+
+	GatheredBytes(byte[] header, byte[] body) {
+		this.header = header;
+		this.body = body;
+	}
+
+	int length() {
+		return header.length + body.length;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.writeInt(length());
+		out.write(header);
+		out.write(body);
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException {
+		final int length = in.readInt();
+		if (length < 0)
+			throw new IOException("Invalid length " + length); //$NON-NLS-1$
+		bytes = new byte[length];
+		in.readFully(bytes);
+	}
+
+	private Object readResolve() throws ObjectStreamException {
+		return bytes;
+	}
+
+	public String toString() {
+		StringBuffer buf = new StringBuffer("GatheredBytes["); //$NON-NLS-1$
+		if (bytes != null)
+			buf.append("bytes=").append(bytes.length).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		else
+			buf.append("header=").append(header.length).append(";body=").append(body.length).append("]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return buf.toString();
+	}
+}
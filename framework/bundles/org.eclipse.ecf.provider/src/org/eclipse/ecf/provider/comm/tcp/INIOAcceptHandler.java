@@ -0,0 +1,36 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm.tcp;
+
+import java.io.Serializable;
+
+/**
+ * Accept handler for connections accepted by a {@link NIOServer}.
+ *
+ * @since 4.11
+ */
+public interface INIOAcceptHandler {
+	/**
+	 * Handle the connect request received on a newly accepted connection. The
+	 * implementation must set the event handler of the given connection (via
+	 * {@link NIOClient#setEventHandler(org.eclipse.ecf.provider.comm.ISynchAsynchEventHandler)})
+	 * before the connection is started. Nothing queued for sending on the
+	 * connection is written before the returned connect result.
+	 *
+	 * @param connection the newly accepted connection.  Will not be <code>null</code>.
+	 * @param request the connect request read from the connection.  Will not be <code>null</code>.
+	 * @return Serializable the data to send back to the client in the connect result
+	 * @throws Exception if the connect request is invalid.  The connection is closed.
+	 */
+	public Serializable handleConnectRequest(NIOClient connection, ConnectRequestMessage request) throws Exception;
+}
@@ -0,0 +1,834 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm.tcp;
+
+import java.io.*;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.core.identity.IDFactory;
+import org.eclipse.ecf.core.util.ECFException;
+import org.eclipse.ecf.core.util.Trace;
+import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
+import org.eclipse.ecf.internal.provider.ProviderPlugin;
+import org.eclipse.ecf.provider.comm.*;
+import org.eclipse.ecf.provider.util.SerialExecutor;
+
+/**
+ * Non-blocking implementation of {@link ISynchAsynchConnection}. Unlike
+ * {@link Client}, an NIOClient does not own any threads. Socket reads and
+ * writes are done by one of the selector threads of an
+ * {@link NIOEventLoopGroup}, received messages are delivered to the event
+ * handler (in order) by the group's dispatch executor, and keep alive checks
+ * are run by the group's scheduler.
+ * <p>
+ * The wire format is a four byte preamble sent by the connecting side,
+ * followed by frames in both directions. Each frame is a four byte length,
+ * a one byte frame type and the frame payload. Asynchronous and synchronous
+ * byte[] messages are written as raw payload; other objects are written with
+ * Java serialization. Both sides of a connection must use NIOClient.
+ * <p>
+ * Frames are written from buffers of the default {@link BufferPool}, which
+ * are released once written.  Data sent with {@link #sendAsynch(ID, PooledBuffer)}
+ * is written from the given buffer without copying.
+ *
+ * @since 4.11
+ */
+public final class NIOClient implements ISynchAsynchConnection, IPooledAsynchConnection, NIOEventLoop.SelectHandler {
+
+	public static final String PROTOCOL = Client.PROTOCOL;
+
+	public static final long DEFAULT_CLOSE_TIMEOUT = Client.DEFAULT_CLOSE_TIMEOUT;
+
+	public static final int DEFAULT_MAX_FRAME_SIZE = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.nio.maxframesize", String.valueOf(64 * 1024 * 1024))); //$NON-NLS-1$
+
+	public static final int DEFAULT_HANDSHAKE_TIMEOUT = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.nio.handshaketimeout", "30000")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	// Maximum number of buffers handed to a single gathering write
+	private static final int MAX_WRITE_BATCH = 64;
+	private static final int INITIAL_READ_BUFFER_SIZE = 8192;
+
+	static final int PREAMBLE = 0x45434631; // "ECF1"
+
+	static final byte FRAME_OBJECT = 1;
+	static final byte FRAME_ASYNCH = 2;
+	static final byte FRAME_SYNCH = 3;
+	static final byte FRAME_PING = 4;
+	static final byte FRAME_PING_RESPONSE = 5;
+
+	private final NIOEventLoopGroup group;
+	private final NIOServer server;
+	private NIOEventLoop loop;
+	private SocketChannel channel;
+	private SelectionKey key;
+	private String addressPort = "-1:<no endpoint>:-1"; //$NON-NLS-1$
+
+	private volatile ISynchAsynchEventHandler handler;
+	private ID containerID;
+	private final int keepAlive;
+	private long closeTimeout = DEFAULT_CLOSE_TIMEOUT;
+	private Map properties = new HashMap();
+
+	// Outbound
+	private final Queue<PooledBuffer> outQueue = new ConcurrentLinkedQueue<PooledBuffer>();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+	private volatile PooledBuffer connectResultFrame;
+	private volatile boolean handshakeDone;
+	private volatile boolean closeAfterFlush;
+	private final Runnable flushTask = new Runnable() {
+		public void run() {
+			try {
+				flush();
+			} catch (final IOException e) {
+				handleIOFailure(e);
+			}
+		}
+	};
+
+	// Inbound
+	private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+	// Pool buffer backing readBuffer while a frame larger than the initial read buffer is read
+	private PooledBuffer pooledReadBuffer;
+	private boolean awaitingPreamble;
+	private boolean awaitingConnectRequest;
+	private volatile long lastReadTime = System.currentTimeMillis();
+	private final SerialExecutor dispatcher;
+	private final Object dispatchLock = new Object();
+	private List<Runnable> heldTasks = new ArrayList<Runnable>();
+
+	private volatile boolean started;
+	private volatile boolean closed;
+	private boolean isClosing;
+	private ScheduledFuture<?> keepAliveFuture;
+
+	// Set by the first thread to handle the disconnect, so it is notified once
+	private final AtomicBoolean disconnectHandled = new AtomicBoolean();
+
+	/**
+	 * Create a client (connecting) side connection.
+	 *
+	 * @param group the event loop group to use.  Must not be <code>null</code>.
+	 * @param handler the event handler.  Must not be <code>null</code>.
+	 * @param keepAlive the keep alive interval in ms.  If &lt;= 0 no keep alive checks are done.
+	 */
+	public NIOClient(NIOEventLoopGroup group, ISynchAsynchEventHandler handler, int keepAlive) {
+		if (group == null)
+			throw new NullPointerException("event loop group cannot be null"); //$NON-NLS-1$
+		if (handler == null)
+			throw new NullPointerException("event handler cannot be null"); //$NON-NLS-1$
+		this.group = group;
+		this.server = null;
+		this.handler = handler;
+		this.keepAlive = keepAlive;
+		this.containerID = handler.getEventHandlerID();
+		this.dispatcher = new SerialExecutor(group.getDispatchExecutor());
+	}
+
+	/**
+	 * Create accepting side connection for channel accepted by the given server.
+	 */
+	NIOClient(NIOServer server, SocketChannel channel, int keepAlive) throws IOException {
+		this.group = server.getEventLoopGroup();
+		this.server = server;
+		this.keepAlive = keepAlive;
+		this.properties = new Properties();
+		this.dispatcher = new SerialExecutor(group.getDispatchExecutor());
+		this.awaitingPreamble = true;
+		this.awaitingConnectRequest = true;
+		setChannel(channel);
+		setSocketOptions(channel.socket());
+		channel.configureBlocking(false);
+	}
+
+	private String getHostNameForAddressWithoutLookup(InetAddress inetAddress) {
+		final String inetAddressStr = inetAddress.toString();
+		final int slashPos = inetAddressStr.indexOf('/');
+		if (slashPos == 0)
+			return inetAddressStr.substring(1);
+		return inetAddressStr.substring(0, slashPos);
+	}
+
+	private void setChannel(SocketChannel ch) {
+		channel = ch;
+		final Socket s = (ch == null) ? null : ch.socket();
+		if (s != null && s.getInetAddress() != null)
+			addressPort = s.getLocalPort() + ":" //$NON-NLS-1$
+					+ getHostNameForAddressWithoutLookup(s.getInetAddress()) + ":" + s.getPort(); //$NON-NLS-1$
+	}
+
+	private void setSocketOptions(Socket aSocket) throws SocketException {
+		aSocket.setTcpNoDelay(true);
+		if (keepAlive > 0)
+			aSocket.setKeepAlive(true);
+	}
+
+	/**
+	 * Set the event handler for an accepted connection.  Must be called before {@link #start()}.
+	 * @param handler the event handler.  Must not be <code>null</code>.
+	 */
+	public void setEventHandler(ISynchAsynchEventHandler handler) {
+		if (handler == null)
+			throw new NullPointerException("event handler cannot be null"); //$NON-NLS-1$
+		synchronized (this) {
+			this.handler = handler;
+			this.containerID = handler.getEventHandlerID();
+		}
+	}
+
+	/**
+	 * @return Socket the socket for this connection.  May be <code>null</code> if not connected.
+	 */
+	public synchronized Socket getSocket() {
+		return (channel == null) ? null : channel.socket();
+	}
+
+	public synchronized ID getLocalID() {
+		if (containerID != null)
+			return containerID;
+		final Socket socket = getSocket();
+		if (socket == null)
+			return null;
+		try {
+			return IDFactory.getDefault().createStringID(PROTOCOL + "://" + getHostNameForAddressWithoutLookup(socket.getLocalAddress()) //$NON-NLS-1$
+					+ ":" + socket.getLocalPort()); //$NON-NLS-1$
+		} catch (final Exception e) {
+			traceStack("Exception in getLocalID()", e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public synchronized Object connect(ID remote, Object data, int timeout) throws ECFException {
+		debug("connect(" + remote + "," + data + "," + timeout + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		if (server != null || channel != null)
+			throw new ECFException("Already connected"); //$NON-NLS-1$
+		if (remote == null)
+			throw new ECFException("remote cannot be null"); //$NON-NLS-1$
+		URI anURI = null;
+		try {
+			anURI = new URI(remote.getName());
+		} catch (final URISyntaxException e) {
+			throw new ECFException("Invalid URI for remoteID=" + remote, e); //$NON-NLS-1$
+		}
+		ConnectResultMessage res = null;
+		SocketChannel ch = null;
+		try {
+			ch = SocketChannel.open();
+			final Socket s = ch.socket();
+			setSocketOptions(s);
+			s.connect(new InetSocketAddress(anURI.getHost(), anURI.getPort()), timeout);
+			setChannel(ch);
+			// The connect handshake is done with blocking socket streams,
+			// and the channel is switched to non-blocking afterwards
+			final DataOutputStream dos = new DataOutputStream(s.getOutputStream());
+			dos.writeInt(PREAMBLE);
+			writeFrame(dos, FRAME_OBJECT, serializeObject(new ConnectRequestMessage(anURI, (Serializable) data, getRequestedWireVersion())));
+			dos.flush();
+			if (timeout > 0)
+				s.setSoTimeout(timeout);
+			final DataInputStream dis = new DataInputStream(s.getInputStream());
+			final int length = dis.readInt();
+			checkFrameLength(length);
+			final byte type = dis.readByte();
+			final byte[] payload = new byte[length - 1];
+			dis.readFully(payload);
+			if (type != FRAME_OBJECT)
+				throw new IOException("Invalid connect response frame type=" + type); //$NON-NLS-1$
+			res = (ConnectResultMessage) deserializeObject(payload);
+			s.setSoTimeout(0);
+			ch.configureBlocking(false);
+		} catch (final IOException e) {
+			closeQuietly(ch);
+			setChannel(null);
+			throw new ECFException("Exception during connection to " + remote.getName(), e); //$NON-NLS-1$
+		} catch (final ClassCastException e) {
+			closeQuietly(ch);
+			setChannel(null);
+			throw new ECFException("Invalid connect response from " + remote.getName(), e); //$NON-NLS-1$
+		}
+		debug("connect;rcv:" + res); //$NON-NLS-1$
+		if (res == null)
+			throw new ECFException("Result cannot be null"); //$NON-NLS-1$
+		properties.put(WIRE_VERSION_PROPERTY, Integer.valueOf(res.getWireVersion()));
+		handshakeDone = true;
+		register(group.next());
+		final Object ret = res.getData();
+		debug("connect;returning:" + ret); //$NON-NLS-1$
+		return ret;
+	}
+
+	private int getRequestedWireVersion() {
+		final Object version = properties.get(WIRE_VERSION_PROPERTY);
+		return (version instanceof Integer) ? ((Integer) version).intValue() : 0;
+	}
+
+	void register(final NIOEventLoop aLoop) {
+		this.loop = aLoop;
+		aLoop.execute(new Runnable() {
+			public void run() {
+				try {
+					key = aLoop.register(channel, SelectionKey.OP_READ, NIOClient.this);
+					if (!outQueue.isEmpty() || connectResultFrame != null)
+						flush();
+				} catch (final IOException e) {
+					handleIOFailure(e);
+				}
+			}
+		});
+		if (server != null && DEFAULT_HANDSHAKE_TIMEOUT > 0) {
+			group.getScheduler().schedule(new Runnable() {
+				public void run() {
+					if (!handshakeDone && !closed)
+						handleIOFailure(new SocketTimeoutException(getAddressPort() + " connect request not received")); //$NON-NLS-1$
+				}
+			}, DEFAULT_HANDSHAKE_TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	// Called on loop thread
+	public void handleSelect(SelectionKey aKey) throws IOException {
+		if (aKey.isReadable())
+			read();
+		if (aKey.isValid() && aKey.isWritable())
+			flush();
+	}
+
+	public void handleSelectException(Throwable t) {
+		handleIOFailure(t);
+	}
+
+	private void read() throws IOException {
+		final int count = channel.read(readBuffer);
+		if (count < 0)
+			throw new EOFException(getAddressPort() + " connection closed by remote"); //$NON-NLS-1$
+		if (count == 0)
+			return;
+		lastReadTime = System.currentTimeMillis();
+		readBuffer.flip();
+		int needed = 0;
+		for (;;) {
+			if (awaitingPreamble) {
+				if (readBuffer.remaining() < 4)
+					break;
+				final int preamble = readBuffer.getInt();
+				if (preamble != PREAMBLE)
+					throw new IOException(getAddressPort() + " invalid protocol preamble=" + Integer.toHexString(preamble)); //$NON-NLS-1$
+				awaitingPreamble = false;
+				continue;
+			}
+			if (readBuffer.remaining() < 4)
+				break;
+			final int length = readBuffer.getInt(readBuffer.position());
+			checkFrameLength(length);
+			if (readBuffer.remaining() < 4 + length) {
+				needed = 4 + length;
+				break;
+			}
+			readBuffer.getInt();
+			final byte type = readBuffer.get();
+			final byte[] payload = new byte[length - 1];
+			readBuffer.get(payload);
+			handleFrame(type, payload);
+		}
+		readBuffer.compact();
+		if (needed > readBuffer.capacity()) {
+			final PooledBuffer newBuffer = BufferPool.getDefault().acquire(needed);
+			readBuffer.flip();
+			newBuffer.buffer().put(readBuffer);
+			setReadBuffer(newBuffer, newBuffer.buffer());
+		} else if (needed == 0 && readBuffer.position() == 0 && pooledReadBuffer != null) {
+			// Release large buffer after a big frame has been consumed
+			setReadBuffer(null, ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE));
+		}
+	}
+
+	private void setReadBuffer(PooledBuffer pooled, ByteBuffer buffer) {
+		if (pooledReadBuffer != null)
+			pooledReadBuffer.release();
+		pooledReadBuffer = pooled;
+		readBuffer = buffer;
+	}
+
+	private void checkFrameLength(int length) throws IOException {
+		if (length < 1 || length > DEFAULT_MAX_FRAME_SIZE)
+			throw new IOException(getAddressPort() + " invalid frame length=" + length); //$NON-NLS-1$
+	}
+
+	private void handleFrame(byte type, final byte[] payload) throws IOException {
+		switch (type) {
+			case FRAME_ASYNCH :
+				dispatchAsynch(payload);
+				break;
+			case FRAME_SYNCH :
+				dispatchSynch(payload);
+				break;
+			case FRAME_PING :
+				enqueue(createFrame(FRAME_PING_RESPONSE, null));
+				break;
+			case FRAME_PING_RESPONSE :
+				// lastReadTime already updated
+				break;
+			case FRAME_OBJECT :
+				handleObject(deserializeObject(payload));
+				break;
+			default :
+				throw new IOException(getAddressPort() + " invalid frame type=" + type); //$NON-NLS-1$
+		}
+	}
+
+	private void handleObject(Serializable obj) throws IOException {
+		if (awaitingConnectRequest) {
+			awaitingConnectRequest = false;
+			if (!(obj instanceof ConnectRequestMessage))
+				throw new InvalidObjectException(getAddressPort() + " invalid connect request"); //$NON-NLS-1$
+			server.handleConnectRequest(this, (ConnectRequestMessage) obj);
+		} else if (obj instanceof SynchMessage) {
+			dispatchSynch(((SynchMessage) obj).getData());
+		} else if (obj instanceof AsynchMessage) {
+			dispatchAsynch(((AsynchMessage) obj).getData());
+		} else
+			throw new IOException(getAddressPort() + " invalid message received"); //$NON-NLS-1$
+	}
+
+	private void dispatchAsynch(final Serializable data) {
+		dispatch(new Runnable() {
+			public void run() {
+				try {
+					handler.handleAsynchEvent(new AsynchEvent(NIOClient.this, data));
+				} catch (final IOException e) {
+					handleIOFailure(e);
+				}
+			}
+		});
+	}
+
+	private void dispatchSynch(final Serializable data) {
+		dispatch(new Runnable() {
+			public void run() {
+				try {
+					handler.handleSynchEvent(new SynchEvent(NIOClient.this, data));
+				} catch (final IOException e) {
+					handleIOFailure(e);
+				}
+			}
+		});
+	}
+
+	private void dispatch(Runnable r) {
+		synchronized (dispatchLock) {
+			// Hold received messages until start() is called
+			if (heldTasks != null) {
+				heldTasks.add(r);
+				return;
+			}
+		}
+		executeDispatch(r);
+	}
+
+	private void executeDispatch(Runnable r) {
+		try {
+			dispatcher.execute(r);
+		} catch (final RejectedExecutionException e) {
+			traceStack("dispatch rejected", e); //$NON-NLS-1$
+		}
+	}
+
+	void sendConnectResult(ConnectResultMessage result) {
+		try {
+			connectResultFrame = createFrame(FRAME_OBJECT, serializeObject(result));
+		} catch (final IOException e) {
+			handleIOFailure(e);
+			return;
+		}
+		// A refused connection is closed as soon as the result is written
+		closeAfterFlush = !started;
+		handshakeDone = true;
+		flushScheduled.set(true);
+		loop.execute(flushTask);
+	}
+
+	private void enqueue(PooledBuffer frame) throws IOException {
+		if (closed) {
+			frame.release();
+			throw new ConnectException("Not connected"); //$NON-NLS-1$
+		}
+		synchronized (outQueue) {
+			outQueue.add(frame);
+		}
+		scheduleFlush();
+	}
+
+	private void enqueue(PooledBuffer frameHeader, PooledBuffer frameBody) throws IOException {
+		if (closed) {
+			frameHeader.release();
+			frameBody.release();
+			throw new ConnectException("Not connected"); //$NON-NLS-1$
+		}
+		// The two buffers of a frame must not be separated by other frames
+		synchronized (outQueue) {
+			outQueue.add(frameHeader);
+			outQueue.add(frameBody);
+		}
+		scheduleFlush();
+	}
+
+	private void scheduleFlush() {
+		if (flushScheduled.compareAndSet(false, true) && loop != null)
+			loop.execute(flushTask);
+	}
+
+	// Called on loop thread only
+	void flush() throws IOException {
+		if (key == null || !key.isValid())
+			return;
+		final PooledBuffer resultFrame = connectResultFrame;
+		if (resultFrame != null) {
+			channel.write(resultFrame.buffer());
+			if (resultFrame.buffer().hasRemaining()) {
+				setWriteInterest(true);
+				return;
+			}
+			connectResultFrame = null;
+			resultFrame.release();
+		}
+		if (!handshakeDone) {
+			flushScheduled.set(false);
+			return;
+		}
+		final ByteBuffer[] batch = new ByteBuffer[MAX_WRITE_BATCH];
+		for (;;) {
+			int count = 0;
+			for (final Iterator<PooledBuffer> i = outQueue.iterator(); i.hasNext() && count < MAX_WRITE_BATCH;)
+				batch[count++] = i.next().buffer();
+			if (count == 0)
+				break;
+			channel.write(batch, 0, count);
+			boolean partial = false;
+			for (int i = 0; i < count; i++) {
+				if (batch[i].hasRemaining()) {
+					partial = true;
+					break;
+				}
+				// Only this thread removes from the queue, so the head is the buffer written
+				outQueue.poll().release();
+			}
+			Arrays.fill(batch, 0, count, null);
+			if (partial) {
+				// Socket buffer full, continue when channel is writable
+				setWriteInterest(true);
+				return;
+			}
+		}
+		setWriteInterest(false);
+		flushScheduled.set(false);
+		if (!outQueue.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+			loop.execute(flushTask);
+		} else if (closeAfterFlush) {
+			disconnect();
+		}
+	}
+
+	private void setWriteInterest(boolean write) {
+		if (key != null && key.isValid())
+			key.interestOps(write ? (SelectionKey.OP_READ | SelectionKey.OP_WRITE) : SelectionKey.OP_READ);
+	}
+
+	static PooledBuffer createFrame(byte type, byte[] payload) {
+		final int payloadLength = (payload == null) ? 0 : payload.length;
+		final PooledBuffer frame = createFrameHeader(type, payloadLength, 5 + payloadLength);
+		final ByteBuffer buf = frame.buffer();
+		buf.limit(5 + payloadLength);
+		if (payload != null)
+			buf.put(payload);
+		buf.flip();
+		return frame;
+	}
+
+	private static PooledBuffer createFrameHeader(byte type, int payloadLength, int capacity) {
+		final PooledBuffer frame = BufferPool.getDefault().acquire(capacity);
+		final ByteBuffer buf = frame.buffer();
+		buf.putInt(payloadLength + 1);
+		buf.put(type);
+		return frame;
+	}
+
+	private static void writeFrame(DataOutputStream dos, byte type, byte[] payload) throws IOException {
+		dos.writeInt(payload.length + 1);
+		dos.writeByte(type);
+		dos.write(payload);
+	}
+
+	static byte[] serializeObject(Serializable obj) throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(BufferPool.MIN_BUFFER_SIZE);
+		try {
+			final ObjectOutputStream oos = new ObjectOutputStream(bos);
+			oos.writeObject(obj);
+			oos.flush();
+			return bos.toByteArray();
+		} finally {
+			bos.close();
+		}
+	}
+
+	static Serializable deserializeObject(byte[] bytes) throws IOException {
+		final ObjectInputStream ois = ProviderPlugin.getDefault().createObjectInputStream(new ByteArrayInputStream(bytes));
+		try {
+			return (Serializable) ois.readObject();
+		} catch (final ClassNotFoundException e) {
+			final IOException except = new IOException("Protocol violation due to class load failure"); //$NON-NLS-1$
+			except.setStackTrace(e.getStackTrace());
+			throw except;
+		}
+	}
+
+	private static void closeQuietly(SocketChannel ch) {
+		if (ch != null) {
+			try {
+				ch.close();
+			} catch (final IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	void handleIOFailure(Throwable e) {
+		disconnect();
+		handleException(e);
+	}
+
+	void handleException(final Throwable e) {
+		if (!disconnectHandled.compareAndSet(false, true))
+			return;
+		if (e != null)
+			traceStack("handleException for " + getAddressPort(), e); //$NON-NLS-1$
+		if (handler != null) {
+			// Disconnect notification is not held until start
+			executeDispatch(new Runnable() {
+				public void run() {
+					handler.handleDisconnectEvent(new DisconnectEvent(NIOClient.this, e, outQueue));
+				}
+			});
+		}
+		synchronized (this) {
+			notifyAll();
+		}
+	}
+
+	public synchronized void start() {
+		debug("start()"); //$NON-NLS-1$
+		if (started)
+			return;
+		started = true;
+		List<Runnable> held = null;
+		synchronized (dispatchLock) {
+			held = heldTasks;
+			heldTasks = null;
+		}
+		for (final Iterator<Runnable> i = held.iterator(); i.hasNext();)
+			executeDispatch(i.next());
+		if (keepAlive > 0)
+			setupKeepAlive();
+	}
+
+	private void setupKeepAlive() {
+		final int frequency = keepAlive / 2;
+		final int startWait = (new SecureRandom()).nextInt(Math.max(1, frequency));
+		try {
+			keepAliveFuture = group.getScheduler().scheduleWithFixedDelay(new Runnable() {
+				public void run() {
+					checkKeepAlive();
+				}
+			}, startWait, Math.max(1, frequency), TimeUnit.MILLISECONDS);
+		} catch (final RejectedExecutionException e) {
+			traceStack("setupKeepAlive", e); //$NON-NLS-1$
+		}
+	}
+
+	void checkKeepAlive() {
+		if (closed)
+			return;
+		// Any data received from the remote (including ping responses) counts as alive
+		if (System.currentTimeMillis() - lastReadTime > keepAlive) {
+			handleIOFailure(new IOException(getAddressPort() + " remote not reachable by ping")); //$NON-NLS-1$
+			return;
+		}
+		try {
+			enqueue(createFrame(FRAME_PING, null));
+		} catch (final IOException e) {
+			handleIOFailure(e);
+		}
+	}
+
+	public void stop() {
+		debug("stop()"); //$NON-NLS-1$
+	}
+
+	public synchronized void disconnect() {
+		debug("disconnect()"); //$NON-NLS-1$
+		if (closed)
+			return;
+		closed = true;
+		if (keepAliveFuture != null) {
+			keepAliveFuture.cancel(false);
+			keepAliveFuture = null;
+		}
+		if (key != null)
+			key.cancel();
+		closeQuietly(channel);
+		notifyAll();
+	}
+
+	public synchronized boolean isConnected() {
+		return channel != null && !closed && channel.isConnected();
+	}
+
+	public synchronized boolean isStarted() {
+		return started && !closed;
+	}
+
+	public void sendAsynch(ID recipient, byte[] obj) throws IOException {
+		checkSend();
+		enqueue(createFrame(FRAME_ASYNCH, obj));
+	}
+
+	public void sendAsynch(ID recipient, byte[] header, byte[] body) throws IOException {
+		sendAsynch(recipient, header, PooledBuffer.wrap(ByteBuffer.wrap(body).asReadOnlyBuffer()));
+	}
+
+	public void sendAsynch(ID recipient, PooledBuffer data) throws IOException {
+		try {
+			checkSend();
+		} catch (final IOException e) {
+			data.release();
+			throw e;
+		}
+		final PooledBuffer frameHeader = createFrameHeader(FRAME_ASYNCH, data.remaining(), 5);
+		frameHeader.buffer().flip();
+		enqueue(frameHeader, data);
+	}
+
+	public void sendAsynch(ID recipient, byte[] header, PooledBuffer body) throws IOException {
+		try {
+			checkSend();
+		} catch (final IOException e) {
+			body.release();
+			throw e;
+		}
+		final PooledBuffer frameHeader = createFrameHeader(FRAME_ASYNCH, header.length + body.remaining(), 5 + header.length);
+		frameHeader.buffer().put(header);
+		frameHeader.buffer().flip();
+		// Only the header is written per recipient, the body is shared
+		enqueue(frameHeader, body);
+	}
+
+	public void sendAsynch(ID recipient, Object obj) throws IOException {
+		checkSend();
+		if (obj instanceof byte[])
+			enqueue(createFrame(FRAME_ASYNCH, (byte[]) obj));
+		else
+			enqueue(createFrame(FRAME_OBJECT, serializeObject(new AsynchMessage((Serializable) obj))));
+	}
+
+	private void checkSend() throws ConnectException {
+		if (closed || isClosing)
+			throw new ConnectException("Not connected"); //$NON-NLS-1$
+	}
+
+	public synchronized Serializable sendObject(ID recipient, Serializable obj) throws IOException {
+		checkSend();
+		isClosing = true;
+		debug("sendClose(" + obj + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+		final PooledBuffer frame = (obj instanceof byte[]) ? createFrame(FRAME_SYNCH, (byte[]) obj) : createFrame(FRAME_OBJECT, serializeObject(new SynchMessage(obj)));
+		synchronized (outQueue) {
+			outQueue.add(frame);
+		}
+		scheduleFlush();
+		int count = 0;
+		final int interval = Client.DEFAULT_WAIT_INTERVAL;
+		while (!disconnectHandled.get() && count < interval) {
+			try {
+				wait(closeTimeout / interval);
+				count++;
+			} catch (final InterruptedException e) {
+				traceStack("sendClose wait", e); //$NON-NLS-1$
+				return null;
+			}
+		}
+		return null;
+	}
+
+	public Object sendSynch(ID rec, Object obj) throws IOException {
+		return sendObject(rec, (Serializable) obj);
+	}
+
+	public Object sendSynch(ID rec, byte[] obj) throws IOException {
+		return sendObject(rec, obj);
+	}
+
+	public void setCloseTimeout(long t) {
+		closeTimeout = t;
+	}
+
+	/**
+	 * @return int the number of buffers waiting to be written.  A frame sent with
+	 * {@link #sendAsynch(ID, byte[], byte[])} takes two buffers
+	 */
+	public int getSendQueueSize() {
+		return outQueue.size();
+	}
+
+	public void removeListener(IConnectionListener l) {
+		// XXX does not support listeners
+	}
+
+	public void addListener(IConnectionListener l) {
+		// XXX does not support listeners
+	}
+
+	public Map getProperties() {
+		return properties;
+	}
+
+	public void setProperties(Map props) {
+		this.properties = props;
+	}
+
+	public Object getAdapter(Class clazz) {
+		return null;
+	}
+
+	String getAddressPort() {
+		return addressPort;
+	}
+
+	public String toString() {
+		StringBuffer buf = new StringBuffer("NIOClient["); //$NON-NLS-1$
+		buf.append(addressPort).append(";started=").append(started); //$NON-NLS-1$
+		buf.append(";closed=").append(closed).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+
+	protected void debug(String msg) {
+		Trace.trace(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.CONNECTION, getLocalID() + "." + msg); //$NON-NLS-1$
+	}
+
+	protected void traceStack(String msg, Throwable e) {
+		Trace.catching(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.EXCEPTIONS_CATCHING, NIOClient.class, msg, e);
+	}
+}
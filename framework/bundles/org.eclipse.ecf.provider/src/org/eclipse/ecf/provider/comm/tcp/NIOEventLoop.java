@@ -0,0 +1,145 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm.tcp;
+
+import java.io.IOException;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.ecf.core.util.Trace;
+import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
+import org.eclipse.ecf.internal.provider.ProviderPlugin;
+
+/**
+ * Single selector thread.  All channel registration and interest changes for
+ * channels owned by this loop happen on the loop thread.  Other threads hand
+ * work to the loop via {@link #execute(Runnable)}.
+ */
+final class NIOEventLoop implements Runnable {
+
+	/**
+	 * Attachment for selection keys registered with an event loop.
+	 */
+	interface SelectHandler {
+		void handleSelect(SelectionKey key) throws IOException;
+
+		void handleSelectException(Throwable t);
+	}
+
+	private final Selector selector;
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+	private final AtomicBoolean wakeupPending = new AtomicBoolean(false);
+	private final Thread thread;
+	private volatile boolean running = true;
+
+	NIOEventLoop(ThreadGroup group, String name) throws IOException {
+		selector = Selector.open();
+		thread = new Thread(group, this, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	boolean inEventLoop() {
+		return Thread.currentThread() == thread;
+	}
+
+	void execute(Runnable task) {
+		tasks.add(task);
+		if (!inEventLoop() && wakeupPending.compareAndSet(false, true))
+			selector.wakeup();
+	}
+
+	/**
+	 * Must be called on the loop thread.
+	 */
+	SelectionKey register(SelectableChannel channel, int ops, SelectHandler handler) throws ClosedChannelException {
+		return channel.register(selector, ops, handler);
+	}
+
+	public void run() {
+		while (running) {
+			try {
+				selector.select();
+				wakeupPending.set(false);
+				processSelectedKeys();
+				runTasks();
+			} catch (Throwable t) {
+				traceStack("Exception in event loop", t); //$NON-NLS-1$
+			}
+		}
+		closeSelector();
+		debug("EVENT LOOP TERMINATING"); //$NON-NLS-1$
+	}
+
+	private void processSelectedKeys() {
+		final Iterator i = selector.selectedKeys().iterator();
+		while (i.hasNext()) {
+			final SelectionKey key = (SelectionKey) i.next();
+			i.remove();
+			final SelectHandler handler = (SelectHandler) key.attachment();
+			if (!key.isValid() || handler == null)
+				continue;
+			try {
+				handler.handleSelect(key);
+			} catch (Throwable t) {
+				handler.handleSelectException(t);
+			}
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			try {
+				task.run();
+			} catch (Throwable t) {
+				traceStack("Exception running event loop task", t); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private void closeSelector() {
+		for (final Iterator i = selector.keys().iterator(); i.hasNext();) {
+			final SelectionKey key = (SelectionKey) i.next();
+			try {
+				key.channel().close();
+			} catch (final IOException e) {
+				traceStack("closeSelector channel close", e); //$NON-NLS-1$
+			}
+		}
+		try {
+			selector.close();
+		} catch (final IOException e) {
+			traceStack("closeSelector", e); //$NON-NLS-1$
+		}
+	}
+
+	void shutdown() {
+		running = false;
+		selector.wakeup();
+	}
+
+	String getName() {
+		return thread.getName();
+	}
+
+	private void debug(String msg) {
+		Trace.trace(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.CONNECTION, getName() + "." + msg); //$NON-NLS-1$
+	}
+
+	private void traceStack(String msg, Throwable e) {
+		Trace.catching(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.EXCEPTIONS_CATCHING, NIOEventLoop.class, msg, e);
+	}
+}
@@ -0,0 +1,116 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm.tcp;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed set of threads shared by all {@link NIOClient} and {@link NIOServer}
+ * instances created with it: a small number of selector threads that do all
+ * socket I/O, a bounded pool that dispatches received messages to container
+ * event handlers, and a single scheduler thread for keep alive checks.  The
+ * number of threads is independent of the number of connections.
+ *
+ * @since 4.11
+ */
+public class NIOEventLoopGroup {
+
+	public static final int DEFAULT_SELECTOR_THREADS = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.nio.selectors", String.valueOf(Math.max(1, Runtime.getRuntime().availableProcessors() / 2)))); //$NON-NLS-1$
+
+	public static final int DEFAULT_DISPATCH_THREADS = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.comm.tcp.nio.dispatchers", String.valueOf(Math.max(2, Runtime.getRuntime().availableProcessors() * 2)))); //$NON-NLS-1$
+
+	private final String name;
+	private final ThreadGroup threadGroup;
+	private final NIOEventLoop[] loops;
+	private final AtomicInteger nextLoop = new AtomicInteger();
+	private final ThreadPoolExecutor dispatchExecutor;
+	private final ScheduledThreadPoolExecutor scheduler;
+	private volatile boolean shutdown = false;
+
+	public NIOEventLoopGroup(String name, int selectorThreads, int dispatchThreads) throws IOException {
+		if (selectorThreads < 1)
+			throw new IllegalArgumentException("selectorThreads must be > 0"); //$NON-NLS-1$
+		if (dispatchThreads < 1)
+			throw new IllegalArgumentException("dispatchThreads must be > 0"); //$NON-NLS-1$
+		this.name = name;
+		this.threadGroup = new ThreadGroup(name);
+		this.loops = new NIOEventLoop[selectorThreads];
+		for (int i = 0; i < selectorThreads; i++)
+			loops[i] = new NIOEventLoop(threadGroup, name + ":selector-" + i); //$NON-NLS-1$
+		this.dispatchExecutor = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), createThreadFactory(":dispatch-")); //$NON-NLS-1$
+		this.dispatchExecutor.allowCoreThreadTimeOut(true);
+		this.scheduler = new ScheduledThreadPoolExecutor(1, createThreadFactory(":keepalive-")); //$NON-NLS-1$
+		this.scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	public NIOEventLoopGroup(String name) throws IOException {
+		this(name, DEFAULT_SELECTOR_THREADS, DEFAULT_DISPATCH_THREADS);
+	}
+
+	private ThreadFactory createThreadFactory(final String suffix) {
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable r) {
+				final Thread t = new Thread(threadGroup, r, name + suffix + count.getAndIncrement());
+				t.setDaemon(true);
+				return t;
+			}
+		};
+	}
+
+	NIOEventLoop next() {
+		if (shutdown)
+			throw new RejectedExecutionException("NIOEventLoopGroup " + name + " is shut down"); //$NON-NLS-1$ //$NON-NLS-2$
+		return loops[Math.abs(nextLoop.getAndIncrement() % loops.length)];
+	}
+
+	/**
+	 * @return Executor the executor used to dispatch received messages and connect
+	 * requests.  Will not be <code>null</code>.
+	 */
+	public Executor getDispatchExecutor() {
+		return dispatchExecutor;
+	}
+
+	ScheduledExecutorService getScheduler() {
+		return scheduler;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	public synchronized void shutdown() {
+		if (shutdown)
+			return;
+		shutdown = true;
+		for (int i = 0; i < loops.length; i++)
+			loops[i].shutdown();
+		scheduler.shutdownNow();
+		dispatchExecutor.shutdown();
+	}
+
+	public String toString() {
+		StringBuffer buf = new StringBuffer("NIOEventLoopGroup["); //$NON-NLS-1$
+		buf.append(name).append(";selectors=").append(loops.length); //$NON-NLS-1$
+		buf.append(";dispatchers=").append(dispatchExecutor.getMaximumPoolSize()).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
@@ -0,0 +1,158 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.comm.tcp;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.*;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.ecf.core.util.Trace;
+import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
+import org.eclipse.ecf.internal.provider.ProviderPlugin;
+import org.eclipse.ecf.provider.comm.IConnection;
+
+/**
+ * Non-blocking counterpart of {@link Server}. Accepted connections are
+ * {@link NIOClient} instances served by the selector threads of the given
+ * {@link NIOEventLoopGroup}, so no thread is created per accepted connection.
+ *
+ * @since 4.11
+ */
+public class NIOServer implements NIOEventLoop.SelectHandler {
+
+	private final NIOEventLoopGroup group;
+	private final ServerSocketChannel serverChannel;
+	private final int keepAlive;
+	private INIOAcceptHandler acceptHandler;
+	private SelectionKey key;
+
+	protected void debug(String msg) {
+		Trace.trace(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.CONNECTION, msg);
+	}
+
+	protected void traceStack(String msg, Throwable e) {
+		Trace.catching(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.EXCEPTIONS_CATCHING, NIOServer.class, msg, e);
+	}
+
+	/**
+	 * @param group event loop group for accepted connections
+	 * @param port port
+	 * @param backlog backlog
+	 * @param bindAddress a bindAddress.  May be <code>null</code>.
+	 * @param keepAlive keep alive for accepted connections in ms
+	 * @param handler the accept handler
+	 * @throws IOException if server setup cannot be done
+	 */
+	public NIOServer(NIOEventLoopGroup group, int port, int backlog, InetAddress bindAddress, int keepAlive, INIOAcceptHandler handler) throws IOException {
+		if (group == null)
+			throw new NullPointerException("Event loop group cannot be null"); //$NON-NLS-1$
+		if (handler == null)
+			throw new NullPointerException("Accept handler cannot be null"); //$NON-NLS-1$
+		this.group = group;
+		this.keepAlive = keepAlive;
+		this.acceptHandler = handler;
+		serverChannel = ServerSocketChannel.open();
+		try {
+			serverChannel.socket().setReuseAddress(true);
+			serverChannel.socket().bind(new InetSocketAddress(bindAddress, port), backlog);
+			serverChannel.configureBlocking(false);
+		} catch (final IOException e) {
+			serverChannel.close();
+			throw e;
+		}
+		final NIOEventLoop loop = group.next();
+		loop.execute(new Runnable() {
+			public void run() {
+				try {
+					synchronized (NIOServer.this) {
+						if (serverChannel.isOpen())
+							key = loop.register(serverChannel, SelectionKey.OP_ACCEPT, NIOServer.this);
+					}
+				} catch (final IOException e) {
+					traceStack("Exception registering server channel", e); //$NON-NLS-1$
+				}
+			}
+		});
+	}
+
+	public NIOServer(NIOEventLoopGroup group, int port, int backlog, InetAddress bindAddress, INIOAcceptHandler handler) throws IOException {
+		this(group, port, backlog, bindAddress, 0, handler);
+	}
+
+	NIOEventLoopGroup getEventLoopGroup() {
+		return group;
+	}
+
+	public int getLocalPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	// Called on loop thread
+	public void handleSelect(SelectionKey aKey) throws IOException {
+		if (!aKey.isAcceptable())
+			return;
+		SocketChannel ch;
+		while ((ch = serverChannel.accept()) != null) {
+			debug("accept:" + ch.socket().getInetAddress()); //$NON-NLS-1$
+			try {
+				new NIOClient(this, ch, keepAlive).register(group.next());
+			} catch (final Exception e) {
+				traceStack("Unexpected exception in accept...closing", e); //$NON-NLS-1$
+				ch.close();
+			}
+		}
+	}
+
+	public void handleSelectException(Throwable t) {
+		traceStack("Exception in accept", t); //$NON-NLS-1$
+	}
+
+	// Called on loop thread when connect request read
+	void handleConnectRequest(final NIOClient conn, final ConnectRequestMessage request) {
+		final INIOAcceptHandler handler = acceptHandler;
+		if (handler == null) {
+			conn.disconnect();
+			return;
+		}
+		try {
+			group.getDispatchExecutor().execute(new Runnable() {
+				public void run() {
+					try {
+						final Serializable resp = handler.handleConnectRequest(conn, request);
+						final Object wireVersion = conn.getProperties().get(IConnection.WIRE_VERSION_PROPERTY);
+						conn.sendConnectResult(new ConnectResultMessage(resp, (wireVersion instanceof Integer) ? ((Integer) wireVersion).intValue() : 0));
+					} catch (final Exception e) {
+						traceStack("Unexpected exception in handleConnectRequest...closing", e); //$NON-NLS-1$
+						conn.disconnect();
+					}
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			traceStack("handleConnectRequest rejected", e); //$NON-NLS-1$
+			conn.disconnect();
+		}
+	}
+
+	public synchronized void close() throws IOException {
+		if (key != null)
+			key.cancel();
+		serverChannel.close();
+		acceptHandler = null;
+	}
+
+	public String toString() {
+		return "NIOServer[" + serverChannel.socket().getLocalSocketAddress() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
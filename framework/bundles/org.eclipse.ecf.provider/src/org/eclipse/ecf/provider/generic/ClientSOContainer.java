@@ -28,7 +28,7 @@ public abstract class ClientSOContainer extends SOContainer implements ISharedOb
 
 	public static final int DEFAULT_CONNECT_TIMEOUT = 30000;
 
-	protected ISynchAsynchConnection connection;
+	protected volatile ISynchAsynchConnection connection;
 
 	protected ID remoteServerID;
 
@@ -309,8 +309,11 @@ public abstract class ClientSOContainer extends SOContainer implements ISharedOb
 	 * @see org.eclipse.ecf.provider.generic.SOContainer#queueContainerMessage(org.eclipse.ecf.provider.generic.ContainerMessage)
 	 */
 	protected void queueContainerMessage(ContainerMessage message) throws IOException {
-		// Do it
-		connection.sendAsynch(message.getToContainerID(), serialize(message));
+		// Called without the group membership lock, so read connection once
+		final ISynchAsynchConnection conn = connection;
+		if (conn == null)
+			throw new ConnectException("Container not connected"); //$NON-NLS-1$
+		sendContainerMessage(conn, message);
 	}
 
 	/**
@@ -448,7 +451,7 @@ public abstract class ClientSOContainer extends SOContainer implements ISharedOb
 					fireContainerEvent(new ContainerDisconnectingEvent(this.getID(), groupID));
 				synchronized (connection) {
 					try {
-						connection.sendSynch(groupID, serialize(ContainerMessage.createLeaveGroupMessage(getID(), groupID, getNextSequenceNumber(), getLeaveData(groupID))));
+						connection.sendSynch(groupID, serializeContainerMessage(ContainerMessage.createLeaveGroupMessage(getID(), groupID, getNextSequenceNumber(), getLeaveData(groupID)), getWireVersion(connection)));
 					} catch (final Exception e) {
 						// This is not necessary to log
 						// see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=476263
@@ -513,6 +516,27 @@ public abstract class ClientSOContainer extends SOContainer implements ISharedOb
 			throw new ConnectException("Container not connected"); //$NON-NLS-1$
 	}
 
+	/**
+	 * Adopt the shared object message codec of the server.  Servers that do not
+	 * send a codec use Java serialization.  A custom serializer set via
+	 * {@link #setSharedObjectMessageSerializer(org.eclipse.ecf.core.sharedobject.util.ISharedObjectMessageSerializer)} is
+	 * left in place.
+	 * @param serverCodec the codec name sent by the server in the connect response.  May be <code>null</code>.
+	 * @since 4.11
+	 */
+	protected void handleServerSharedObjectMessageCodec(Object serverCodec) {
+		final String codec = getSharedObjectMessageCodec();
+		if (codec == null)
+			return;
+		String newCodec = SHARED_OBJECT_MESSAGE_CODEC_JAVA;
+		if (serverCodec instanceof String && createSharedObjectMessageSerializer((String) serverCodec) != null)
+			newCodec = (String) serverCodec;
+		if (!newCodec.equals(codec)) {
+			debug("using server shared object message codec=" + newCodec); //$NON-NLS-1$
+			setSharedObjectMessageCodec(newCodec);
+		}
+	}
+
 	protected ID handleConnectResponse(ID orginalTarget, Object serverData) throws Exception {
 		final ContainerMessage aPacket = (ContainerMessage) serverData;
 		final ID fromID = aPacket.getFromContainerID();
@@ -532,6 +556,7 @@ public abstract class ClientSOContainer extends SOContainer implements ISharedOb
 		// IDs from server
 		final ID[] ids = viewChangeMessage.getChangeIDs();
 		Assert.isNotNull(ids, "view change ids cannot be null"); //$NON-NLS-1$
+		handleServerSharedObjectMessageCodec(viewChangeMessage.getData());
 		for (int i = 0; i < ids.length; i++) {
 			final ID id = ids[i];
 			if (id != null && !id.equals(getID()))
@@ -0,0 +1,518 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.generic;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import org.eclipse.ecf.core.identity.*;
+import org.eclipse.ecf.core.sharedobject.ISharedObject;
+import org.eclipse.ecf.core.sharedobject.SharedObjectMsg;
+import org.eclipse.ecf.core.sharedobject.SharedObjectMsgEvent;
+import org.eclipse.ecf.core.sharedobject.util.ISharedObjectMessageSerializer;
+import org.eclipse.ecf.core.util.OSGIObjectInputStream;
+import org.eclipse.ecf.core.util.OSGIObjectOutputStream;
+import org.eclipse.ecf.internal.provider.ProviderPlugin;
+import org.eclipse.ecf.provider.comm.PooledBufferOutputStream;
+
+/**
+ * Schema-less binary shared object message serializer.
+ * <p>
+ * Messages are written as a tree of tagged values.  Primitive wrappers, strings,
+ * byte arrays, object arrays, {@link ArrayList}, {@link HashMap}, string and GUID
+ * IDs, {@link SharedObjectMsg} and {@link SharedObjectMsgEvent} are written natively, with class and method
+ * names interned per message.  Instances of any other class (including
+ * subclasses of the classes above) are written with Java serialization, so they
+ * keep their full serialization semantics.  Unlike Java serialization, shared
+ * references between natively written values are not preserved, and the
+ * nesting of natively written values is limited.
+ * <p>
+ * Encoded messages start with a magic number that cannot be confused with a
+ * Java serialization stream, and {@link #deserializeMessage(byte[])} falls back
+ * to Java serialization for data without it, so peers using different shipped
+ * codecs can read each other's messages.  This includes the data written for
+ * {@link DirectSharedObjectMsg}s, which is read as a {@link SharedObjectMsg}
+ * with the written bytes as its parameter.
+ *
+ * @since 4.11
+ */
+public class CompactSharedObjectMessageSerializer implements ISharedObjectMessageSerializer {
+
+	private static final byte MAGIC0 = (byte) 0xEC;
+	private static final byte MAGIC1 = (byte) 0xC5;
+
+	static final byte FORMAT_COMPACT = 1;
+	static final byte FORMAT_REGISTRY = 2;
+	static final byte FORMAT_DIRECT = 3;
+
+	// Value tags
+	private static final byte NULL = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = 2;
+	private static final byte BYTE = 3;
+	private static final byte SHORT = 4;
+	private static final byte CHAR = 5;
+	private static final byte INT = 6;
+	private static final byte LONG = 7;
+	private static final byte FLOAT = 8;
+	private static final byte DOUBLE = 9;
+	private static final byte STRING = 10;
+	private static final byte BYTES = 11;
+	private static final byte OBJECT_ARRAY = 12;
+	private static final byte LIST = 13;
+	private static final byte MAP = 14;
+	private static final byte ID_VALUE = 15;
+	private static final byte MSG = 16;
+	private static final byte REGISTERED = 17;
+	private static final byte SERIALIZED = 18;
+	private static final byte MSG_EVENT = 19;
+
+	private static final int MAX_DEPTH = 64;
+	private static final int INITIAL_BUFFER_SIZE = 512;
+
+	protected final SOContainer container;
+
+	/**
+	 * @param container the container to get shared object class loaders and the Java
+	 * serialization fallback from.  Must not be <code>null</code>.
+	 */
+	public CompactSharedObjectMessageSerializer(SOContainer container) {
+		if (container == null)
+			throw new NullPointerException("container cannot be null"); //$NON-NLS-1$
+		this.container = container;
+	}
+
+	/**
+	 * @param data the serialized message
+	 * @return true if data was written by a {@link CompactSharedObjectMessageSerializer}
+	 */
+	public static boolean isEncoded(byte[] data) {
+		return data != null && data.length > 3 && data[0] == MAGIC0 && data[1] == MAGIC1;
+	}
+
+	/**
+	 * @return byte the format written by this serializer
+	 */
+	byte getFormat() {
+		return FORMAT_COMPACT;
+	}
+
+	static final class Encoder extends DataOutputStream {
+		private Map<String, Integer> names;
+
+		Encoder(OutputStream out) {
+			super(out);
+		}
+
+		// Write name as index into the per message name table.  0 is null, and
+		// an index one past the end of the table is followed by the new name
+		void writeName(String name) throws IOException {
+			if (name == null) {
+				writeVarInt(this, 0);
+				return;
+			}
+			if (names == null)
+				names = new HashMap<String, Integer>();
+			final Integer index = names.get(name);
+			if (index != null)
+				writeVarInt(this, index.intValue());
+			else {
+				final int newIndex = names.size() + 1;
+				names.put(name, Integer.valueOf(newIndex));
+				writeVarInt(this, newIndex);
+				writeString(this, name);
+			}
+		}
+	}
+
+	static final class Decoder extends DataInputStream {
+		private List<String> names;
+		final ClassLoader loader;
+
+		Decoder(InputStream in, ClassLoader loader) {
+			super(in);
+			this.loader = loader;
+		}
+
+		String readName() throws IOException {
+			final int index = readVarInt(this);
+			if (index == 0)
+				return null;
+			if (names == null)
+				names = new ArrayList<String>();
+			if (index == names.size() + 1) {
+				final String name = readString(this);
+				names.add(name);
+				return name;
+			}
+			if (index < 0 || index > names.size())
+				throw new InvalidObjectException("Invalid name index=" + index); //$NON-NLS-1$
+			return names.get(index - 1);
+		}
+	}
+
+	public byte[] serializeMessage(ID sharedObjectID, Object message) throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(INITIAL_BUFFER_SIZE);
+		try {
+			final Encoder out = new Encoder(bos);
+			out.writeByte(MAGIC0);
+			out.writeByte(MAGIC1);
+			out.writeByte(getFormat());
+			// Written first so the receiver can get the class loader of the shared object
+			ContainerMessageCodec.writeID(out, sharedObjectID);
+			writeValue(out, message, 0);
+			out.flush();
+			return bos.toByteArray();
+		} finally {
+			bos.close();
+		}
+	}
+
+	public Object deserializeMessage(byte[] data) throws IOException, ClassNotFoundException {
+		if (!isEncoded(data))
+			return container.defaultDeserializeSharedObjectMessage(data);
+		final int format = data[2];
+		if (format == FORMAT_DIRECT)
+			return readDirect(data);
+		if (format != FORMAT_COMPACT && format != FORMAT_REGISTRY)
+			throw new InvalidObjectException("Unsupported shared object message format=" + format); //$NON-NLS-1$
+		final ByteArrayInputStream bins = new ByteArrayInputStream(data, 3, data.length - 3);
+		final ID sharedObjectID = ContainerMessageCodec.readID(new DataInputStream(bins));
+		final ISharedObject so = (sharedObjectID == null) ? null : container.getSharedObject(sharedObjectID);
+		if (so == null)
+			throw new IOException("Could not find sharedObjectID=" + sharedObjectID + " in deserializeMessage"); //$NON-NLS-1$ //$NON-NLS-2$
+		return readValue(new Decoder(bins, so.getClass().getClassLoader()), 0);
+	}
+
+	/**
+	 * Write the start of the data for a {@link DirectSharedObjectMsg}.  The parameter
+	 * bytes follow up to the end of the data.
+	 * @param event the event holding msg.  May be <code>null</code>.
+	 */
+	static void writeDirectHeader(DataOutputStream out, SharedObjectMsgEvent event, DirectSharedObjectMsg msg) throws IOException {
+		final Encoder encoder = new Encoder(out);
+		encoder.writeByte(MAGIC0);
+		encoder.writeByte(MAGIC1);
+		encoder.writeByte(FORMAT_DIRECT);
+		encoder.writeBoolean(event != null);
+		if (event != null) {
+			ContainerMessageCodec.writeID(encoder, event.getSenderSharedObjectID());
+			ContainerMessageCodec.writeID(encoder, event.getRemoteContainerID());
+		}
+		encoder.writeName(msg.getClassName());
+		encoder.writeName(msg.getMethod());
+		encoder.flush();
+	}
+
+	private static Object readDirect(byte[] data) throws IOException {
+		final Decoder in = new Decoder(new ByteArrayInputStream(data, 3, data.length - 3), null);
+		ID senderID = null;
+		ID remoteContainerID = null;
+		final boolean hasEvent = in.readBoolean();
+		if (hasEvent) {
+			senderID = ContainerMessageCodec.readID(in);
+			remoteContainerID = ContainerMessageCodec.readID(in);
+		}
+		final String className = in.readName();
+		final String method = in.readName();
+		final byte[] parameter = new byte[in.available()];
+		in.readFully(parameter);
+		final SharedObjectMsg msg = SharedObjectMsg.createMsg(className, method, new Object[] {parameter});
+		return hasEvent ? new SharedObjectMsgEvent(senderID, remoteContainerID, msg) : msg;
+	}
+
+	void writeValue(Encoder out, Object value, int depth) throws IOException {
+		if (depth > MAX_DEPTH)
+			throw new NotSerializableException("Message nesting exceeds " + MAX_DEPTH + ". Use Java serialization for this message"); //$NON-NLS-1$ //$NON-NLS-2$
+		if (value == null) {
+			out.writeByte(NULL);
+			return;
+		}
+		final Class clazz = value.getClass();
+		if (getFormat() == FORMAT_REGISTRY) {
+			final RegistrySharedObjectMessageSerializer.Registration reg = RegistrySharedObjectMessageSerializer.getRegistration(clazz);
+			if (reg != null) {
+				out.writeByte(REGISTERED);
+				writeVarInt(out, reg.typeID);
+				reg.codec.write(out, value);
+				return;
+			}
+		}
+		if (clazz == String.class) {
+			out.writeByte(STRING);
+			writeString(out, (String) value);
+		} else if (clazz == Integer.class) {
+			out.writeByte(INT);
+			writeVarInt(out, (((Integer) value).intValue() << 1) ^ (((Integer) value).intValue() >> 31));
+		} else if (clazz == Long.class) {
+			final long l = ((Long) value).longValue();
+			out.writeByte(LONG);
+			writeVarLong(out, (l << 1) ^ (l >> 63));
+		} else if (clazz == Boolean.class)
+			out.writeByte(((Boolean) value).booleanValue() ? TRUE : FALSE);
+		else if (clazz == byte[].class) {
+			final byte[] bytes = (byte[]) value;
+			out.writeByte(BYTES);
+			writeVarInt(out, bytes.length);
+			out.write(bytes);
+		} else if (clazz == SharedObjectMsg.class && ((SharedObjectMsg) value).getParameters() != null) {
+			final SharedObjectMsg msg = (SharedObjectMsg) value;
+			out.writeByte(MSG);
+			out.writeName(msg.getClassName());
+			out.writeName(msg.getMethod());
+			writeElements(out, msg.getParameters(), depth);
+		} else if (clazz == SharedObjectMsgEvent.class) {
+			// Sent by BaseSharedObject.sendSharedObjectMsgTo
+			final SharedObjectMsgEvent event = (SharedObjectMsgEvent) value;
+			out.writeByte(MSG_EVENT);
+			ContainerMessageCodec.writeID(out, event.getSenderSharedObjectID());
+			ContainerMessageCodec.writeID(out, event.getRemoteContainerID());
+			writeValue(out, event.getSharedObjectMsg(), depth + 1);
+		} else if (clazz == ArrayList.class) {
+			final ArrayList list = (ArrayList) value;
+			out.writeByte(LIST);
+			writeVarInt(out, list.size());
+			for (int i = 0; i < list.size(); i++)
+				writeValue(out, list.get(i), depth + 1);
+		} else if (clazz == HashMap.class) {
+			final Map map = (Map) value;
+			out.writeByte(MAP);
+			writeVarInt(out, map.size());
+			for (final Iterator i = map.entrySet().iterator(); i.hasNext();) {
+				final Map.Entry e = (Map.Entry) i.next();
+				writeValue(out, e.getKey(), depth + 1);
+				writeValue(out, e.getValue(), depth + 1);
+			}
+		} else if (clazz.isArray() && !clazz.getComponentType().isPrimitive()) {
+			out.writeByte(OBJECT_ARRAY);
+			out.writeName(clazz.getComponentType().getName());
+			writeElements(out, (Object[]) value, depth);
+		} else if (clazz == StringID.class || clazz == GUID.class) {
+			out.writeByte(ID_VALUE);
+			ContainerMessageCodec.writeID(out, (ID) value);
+		} else if (clazz == Double.class) {
+			out.writeByte(DOUBLE);
+			out.writeDouble(((Double) value).doubleValue());
+		} else if (clazz == Float.class) {
+			out.writeByte(FLOAT);
+			out.writeFloat(((Float) value).floatValue());
+		} else if (clazz == Short.class) {
+			out.writeByte(SHORT);
+			out.writeShort(((Short) value).shortValue());
+		} else if (clazz == Byte.class) {
+			out.writeByte(BYTE);
+			out.writeByte(((Byte) value).byteValue());
+		} else if (clazz == Character.class) {
+			out.writeByte(CHAR);
+			out.writeChar(((Character) value).charValue());
+		} else {
+			if (!(value instanceof Serializable))
+				throw new NotSerializableException("message value=" + value + " not serializable"); //$NON-NLS-1$ //$NON-NLS-2$
+			final byte[] bytes = serializeObject((Serializable) value);
+			out.writeByte(SERIALIZED);
+			writeVarInt(out, bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private void writeElements(Encoder out, Object[] elements, int depth) throws IOException {
+		writeVarInt(out, elements.length);
+		for (int i = 0; i < elements.length; i++)
+			writeValue(out, elements[i], depth + 1);
+	}
+
+	Object readValue(Decoder in, int depth) throws IOException, ClassNotFoundException {
+		if (depth > MAX_DEPTH)
+			throw new InvalidObjectException("Message nesting exceeds " + MAX_DEPTH); //$NON-NLS-1$
+		final byte tag = in.readByte();
+		switch (tag) {
+			case NULL :
+				return null;
+			case TRUE :
+				return Boolean.TRUE;
+			case FALSE :
+				return Boolean.FALSE;
+			case BYTE :
+				return Byte.valueOf(in.readByte());
+			case SHORT :
+				return Short.valueOf(in.readShort());
+			case CHAR :
+				return Character.valueOf(in.readChar());
+			case INT : {
+				final int i = readVarInt(in);
+				return Integer.valueOf((i >>> 1) ^ -(i & 1));
+			}
+			case LONG : {
+				final long l = readVarLong(in);
+				return Long.valueOf((l >>> 1) ^ -(l & 1));
+			}
+			case FLOAT :
+				return Float.valueOf(in.readFloat());
+			case DOUBLE :
+				return Double.valueOf(in.readDouble());
+			case STRING :
+				return readString(in);
+			case BYTES :
+				return readBytes(in);
+			case MSG : {
+				final String className = in.readName();
+				final String method = in.readName();
+				final Object[] params = new Object[readLength(in)];
+				for (int i = 0; i < params.length; i++)
+					params[i] = readValue(in, depth + 1);
+				return SharedObjectMsg.createMsg(className, method, params);
+			}
+			case MSG_EVENT : {
+				final ID senderID = ContainerMessageCodec.readID(in);
+				final ID remoteContainerID = ContainerMessageCodec.readID(in);
+				final Object msg = readValue(in, depth + 1);
+				if (msg != null && !(msg instanceof SharedObjectMsg))
+					throw new InvalidObjectException("Invalid SharedObjectMsgEvent data"); //$NON-NLS-1$
+				return new SharedObjectMsgEvent(senderID, remoteContainerID, (SharedObjectMsg) msg);
+			}
+			case LIST : {
+				final int size = readLength(in);
+				final ArrayList list = new ArrayList(size);
+				for (int i = 0; i < size; i++)
+					list.add(readValue(in, depth + 1));
+				return list;
+			}
+			case MAP : {
+				final int size = readLength(in);
+				final HashMap map = new HashMap();
+				for (int i = 0; i < size; i++) {
+					final Object key = readValue(in, depth + 1);
+					map.put(key, readValue(in, depth + 1));
+				}
+				return map;
+			}
+			case OBJECT_ARRAY : {
+				final Class componentType = Class.forName(in.readName(), false, in.loader);
+				final Object[] array = (Object[]) java.lang.reflect.Array.newInstance(componentType, readLength(in));
+				for (int i = 0; i < array.length; i++)
+					array[i] = readValue(in, depth + 1);
+				return array;
+			}
+			case ID_VALUE :
+				return ContainerMessageCodec.readID(in);
+			case REGISTERED : {
+				final int typeID = readVarInt(in);
+				final RegistrySharedObjectMessageSerializer.Registration reg = RegistrySharedObjectMessageSerializer.getRegistration(typeID);
+				if (reg == null)
+					throw new InvalidClassException("No type registered for typeID=" + typeID); //$NON-NLS-1$
+				return reg.codec.read(in);
+			}
+			case SERIALIZED :
+				return deserializeObject(readBytes(in), in.loader);
+			default :
+				throw new InvalidObjectException("Invalid value tag=" + tag); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Java serialization of values that are not written natively.
+	 * @param value the value to serialize.  Will not be <code>null</code>.
+	 * @return byte[] the serialized value
+	 * @throws IOException if value cannot be serialized
+	 */
+	protected byte[] serializeObject(Serializable value) throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(INITIAL_BUFFER_SIZE);
+		try {
+			final ObjectOutputStream oos = new OSGIObjectOutputStream(bos);
+			oos.writeObject(value);
+			oos.flush();
+			return bos.toByteArray();
+		} finally {
+			bos.close();
+		}
+	}
+
+	/**
+	 * @param bytes the bytes written by {@link #serializeObject(Serializable)}
+	 * @param loader the class loader of the receiving shared object
+	 * @return Object the deserialized value
+	 * @throws IOException if value cannot be deserialized
+	 * @throws ClassNotFoundException if a class of the value cannot be found
+	 */
+	protected Object deserializeObject(byte[] bytes, ClassLoader loader) throws IOException, ClassNotFoundException {
+		final OSGIObjectInputStream oins = new OSGIObjectInputStream(ProviderPlugin.getDefault().getContext().getBundle(), new ByteArrayInputStream(bytes));
+		oins.setClassLoader(loader);
+		try {
+			return oins.readObject();
+		} finally {
+			oins.close();
+		}
+	}
+
+	static void writeVarInt(DataOutput out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	static int readVarInt(DataInput in) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final byte b = in.readByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return result;
+		}
+		throw new InvalidObjectException("Invalid varint"); //$NON-NLS-1$
+	}
+
+	private static void writeVarLong(DataOutput out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	private static long readVarLong(DataInput in) throws IOException {
+		long result = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = in.readByte();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return result;
+		}
+		throw new InvalidObjectException("Invalid varlong"); //$NON-NLS-1$
+	}
+
+	static void writeString(DataOutput out, String s) throws IOException {
+		final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(DataInputStream in) throws IOException {
+		return new String(readBytes(in), StandardCharsets.UTF_8);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[readLength(in)];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	// Every element takes at least one byte, so a length cannot exceed the remaining bytes
+	private static int readLength(DataInputStream in) throws IOException {
+		final int length = readVarInt(in);
+		if (length < 0 || length > in.available())
+			throw new InvalidObjectException("Invalid length=" + length); //$NON-NLS-1$
+		return length;
+	}
+}
@@ -0,0 +1,393 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.generic;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.ecf.core.identity.*;
+import org.eclipse.ecf.internal.provider.ProviderPlugin;
+import org.eclipse.ecf.provider.comm.PooledBuffer;
+import org.eclipse.ecf.provider.comm.PooledBufferOutputStream;
+
+/**
+ * Binary encoding of {@link ContainerMessage} and its nested message types.
+ * <p>
+ * An encoded message starts with a two byte magic number (which cannot be
+ * confused with the start of a Java serialization stream) and a version byte,
+ * followed by the from container ID, the to container ID, the sequence number
+ * and a type specific body. IDs of the common namespaces are written as their
+ * names, byte[] data (e.g. serialized shared object messages) is written as
+ * length prefixed raw bytes, and only other data is written with Java
+ * serialization.  The data of {@link DirectSharedObjectMsg}s is written as
+ * byte[] data straight into the message buffer.
+ * <p>
+ * Messages are encoded into buffers of the default {@link org.eclipse.ecf.provider.comm.BufferPool}.
+ * The <code>...ToBuffer</code> methods hand the buffer to the caller, so that it can be
+ * sent without copying by an {@link org.eclipse.ecf.provider.comm.IPooledAsynchConnection}.
+ */
+final class ContainerMessageCodec {
+
+	static final int VERSION = 1;
+
+	private static final byte MAGIC0 = (byte) 0xEC;
+	private static final byte MAGIC1 = (byte) 0xF1;
+
+	// Message types
+	private static final byte TYPE_SERIALIZED = 0;
+	private static final byte TYPE_VIEW_CHANGE = 1;
+	private static final byte TYPE_JOIN_GROUP = 2;
+	private static final byte TYPE_LEAVE_GROUP = 3;
+	private static final byte TYPE_CREATE = 4;
+	private static final byte TYPE_CREATE_RESPONSE = 5;
+	private static final byte TYPE_SHARED_OBJECT = 6;
+	private static final byte TYPE_SHARED_OBJECT_DISPOSE = 7;
+
+	// ID tags
+	private static final byte ID_NULL = 0;
+	private static final byte ID_STRING = 1;
+	private static final byte ID_GUID = 2;
+	private static final byte ID_SERIALIZED = 3;
+
+	// Data tags
+	private static final byte DATA_NULL = 0;
+	private static final byte DATA_BYTES = 1;
+	private static final byte DATA_STRING = 2;
+	private static final byte DATA_SERIALIZED = 3;
+
+	private static final int INITIAL_BUFFER_SIZE = 256;
+
+	private ContainerMessageCodec() {
+		// no instances
+	}
+
+	static boolean isEncoded(byte[] bytes) {
+		return bytes != null && bytes.length > 2 && bytes[0] == MAGIC0 && bytes[1] == MAGIC1;
+	}
+
+	// Stream over the buffer of a message being encoded
+	private static final class BufferDataOutput extends DataOutputStream {
+		final PooledBufferOutputStream buffer;
+
+		BufferDataOutput(PooledBufferOutputStream buffer) {
+			super(buffer);
+			this.buffer = buffer;
+		}
+	}
+
+	static byte[] encode(ContainerMessage message) throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(INITIAL_BUFFER_SIZE + getDataSizeHint(message.getData()));
+		try {
+			writeMessage(new BufferDataOutput(bos), message);
+			return bos.toByteArray();
+		} finally {
+			bos.close();
+		}
+	}
+
+	/**
+	 * @return PooledBuffer holding the same bytes as the result of {@link #encode(ContainerMessage)}.
+	 * The caller must release it.
+	 */
+	static PooledBuffer encodeToBuffer(ContainerMessage message) throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(INITIAL_BUFFER_SIZE + getDataSizeHint(message.getData()));
+		try {
+			writeMessage(new BufferDataOutput(bos), message);
+			return bos.takeBuffer();
+		} finally {
+			bos.close();
+		}
+	}
+
+	private static void writeMessage(DataOutputStream out, ContainerMessage message) throws IOException {
+		writeHeader(out, message.getFromContainerID(), message.getToContainerID(), message.getSequence());
+		writeBody(out, message.getData());
+		out.flush();
+	}
+
+	/**
+	 * Encode only the header of a message.  The header followed by the result of
+	 * {@link #encodeBody(Serializable)} is the same as the result of {@link #encode(ContainerMessage)},
+	 * so a body can be encoded once and sent to several receivers with different headers.
+	 */
+	static byte[] encodeHeader(ID from, ID to, long seq) throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(INITIAL_BUFFER_SIZE);
+		try {
+			final DataOutputStream out = new DataOutputStream(bos);
+			writeHeader(out, from, to, seq);
+			out.flush();
+			return bos.toByteArray();
+		} finally {
+			bos.close();
+		}
+	}
+
+	static byte[] encodeBody(Serializable data) throws IOException {
+		final PooledBuffer body = encodeBodyToBuffer(data);
+		try {
+			return body.toByteArray();
+		} finally {
+			body.release();
+		}
+	}
+
+	/**
+	 * @return PooledBuffer holding the same bytes as the result of {@link #encodeBody(Serializable)}.
+	 * The caller must release it.
+	 */
+	static PooledBuffer encodeBodyToBuffer(Serializable data) throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(INITIAL_BUFFER_SIZE + getDataSizeHint(data));
+		try {
+			final DataOutputStream out = new BufferDataOutput(bos);
+			writeBody(out, data);
+			out.flush();
+			return bos.takeBuffer();
+		} finally {
+			bos.close();
+		}
+	}
+
+	private static void writeHeader(DataOutputStream out, ID from, ID to, long seq) throws IOException {
+		out.writeByte(MAGIC0);
+		out.writeByte(MAGIC1);
+		out.writeByte(VERSION);
+		writeID(out, from);
+		writeID(out, to);
+		out.writeLong(seq);
+	}
+
+	private static int getDataSizeHint(Serializable data) {
+		if (data instanceof ContainerMessage.SharedObjectMessage) {
+			final Serializable d = ((ContainerMessage.SharedObjectMessage) data).getData();
+			if (d instanceof byte[])
+				return ((byte[]) d).length;
+		}
+		return 0;
+	}
+
+	private static void writeBody(DataOutputStream out, Serializable body) throws IOException {
+		if (body instanceof ContainerMessage.SharedObjectMessage) {
+			final ContainerMessage.SharedObjectMessage som = (ContainerMessage.SharedObjectMessage) body;
+			out.writeByte(TYPE_SHARED_OBJECT);
+			writeID(out, som.getFromSharedObjectID());
+			writeData(out, som.getData());
+		} else if (body instanceof ContainerMessage.ViewChangeMessage) {
+			final ContainerMessage.ViewChangeMessage vcm = (ContainerMessage.ViewChangeMessage) body;
+			out.writeByte(TYPE_VIEW_CHANGE);
+			final ID[] ids = vcm.getChangeIDs();
+			out.writeInt((ids == null) ? -1 : ids.length);
+			if (ids != null)
+				for (int i = 0; i < ids.length; i++)
+					writeID(out, ids[i]);
+			out.writeBoolean(vcm.isAdd());
+			writeData(out, vcm.getData());
+		} else if (body instanceof ContainerMessage.CreateMessage) {
+			out.writeByte(TYPE_CREATE);
+			writeData(out, ((ContainerMessage.CreateMessage) body).getData());
+		} else if (body instanceof ContainerMessage.CreateResponseMessage) {
+			final ContainerMessage.CreateResponseMessage crm = (ContainerMessage.CreateResponseMessage) body;
+			out.writeByte(TYPE_CREATE_RESPONSE);
+			writeID(out, crm.getSharedObjectID());
+			writeData(out, crm.getException());
+			out.writeLong(crm.getSequence());
+		} else if (body instanceof ContainerMessage.SharedObjectDisposeMessage) {
+			out.writeByte(TYPE_SHARED_OBJECT_DISPOSE);
+			writeID(out, ((ContainerMessage.SharedObjectDisposeMessage) body).getSharedObjectID());
+		} else if (body instanceof ContainerMessage.JoinGroupMessage) {
+			out.writeByte(TYPE_JOIN_GROUP);
+			writeData(out, ((ContainerMessage.JoinGroupMessage) body).getData());
+		} else if (body instanceof ContainerMessage.LeaveGroupMessage) {
+			out.writeByte(TYPE_LEAVE_GROUP);
+			writeData(out, ((ContainerMessage.LeaveGroupMessage) body).getData());
+		} else {
+			out.writeByte(TYPE_SERIALIZED);
+			writeData(out, body);
+		}
+	}
+
+	static ContainerMessage decode(byte[] bytes) throws IOException {
+		if (!isEncoded(bytes))
+			throw new InvalidObjectException("Not an encoded container message"); //$NON-NLS-1$
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2));
+		final int version = in.readUnsignedByte();
+		if (version > VERSION)
+			throw new InvalidObjectException("Unsupported container message version=" + version); //$NON-NLS-1$
+		final ID from = readID(in);
+		final ID to = readID(in);
+		final long seq = in.readLong();
+		return new ContainerMessage(from, to, seq, readBody(in));
+	}
+
+	private static Serializable readBody(DataInputStream in) throws IOException {
+		final byte type = in.readByte();
+		switch (type) {
+			case TYPE_SHARED_OBJECT : {
+				final ID fromSharedObjectID = readID(in);
+				return new ContainerMessage.SharedObjectMessage(fromSharedObjectID, readData(in));
+			}
+			case TYPE_VIEW_CHANGE : {
+				final int length = in.readInt();
+				ID[] ids = null;
+				if (length >= 0) {
+					ids = new ID[length];
+					for (int i = 0; i < length; i++)
+						ids[i] = readID(in);
+				}
+				final boolean add = in.readBoolean();
+				return new ContainerMessage.ViewChangeMessage(ids, add, readData(in));
+			}
+			case TYPE_CREATE :
+				return new ContainerMessage.CreateMessage(readData(in));
+			case TYPE_CREATE_RESPONSE : {
+				final ID sharedObjectID = readID(in);
+				final Serializable except = readData(in);
+				if (except != null && !(except instanceof Throwable))
+					throw new InvalidObjectException("Invalid create response exception"); //$NON-NLS-1$
+				return new ContainerMessage.CreateResponseMessage(sharedObjectID, (Throwable) except, in.readLong());
+			}
+			case TYPE_SHARED_OBJECT_DISPOSE :
+				return new ContainerMessage.SharedObjectDisposeMessage(readID(in));
+			case TYPE_JOIN_GROUP :
+				return new ContainerMessage.JoinGroupMessage(readData(in));
+			case TYPE_LEAVE_GROUP :
+				return new ContainerMessage.LeaveGroupMessage(readData(in));
+			case TYPE_SERIALIZED :
+				return readData(in);
+			default :
+				throw new InvalidObjectException("Invalid container message type=" + type); //$NON-NLS-1$
+		}
+	}
+
+	static void writeID(DataOutputStream out, ID id) throws IOException {
+		if (id == null)
+			out.writeByte(ID_NULL);
+		else if (id.getClass() == StringID.class) {
+			out.writeByte(ID_STRING);
+			writeString(out, id.getName());
+		} else if (id.getClass() == GUID.class) {
+			out.writeByte(ID_GUID);
+			writeString(out, id.getName());
+		} else {
+			out.writeByte(ID_SERIALIZED);
+			writeBytes(out, SOContainer.serialize(id));
+		}
+	}
+
+	static ID readID(DataInputStream in) throws IOException {
+		final byte tag = in.readByte();
+		try {
+			switch (tag) {
+				case ID_NULL :
+					return null;
+				case ID_STRING :
+					return IDFactory.getDefault().createStringID(readString(in));
+				case ID_GUID :
+					return IDFactory.getDefault().createID(GUID.class.getName(), new Object[] {readString(in)});
+				case ID_SERIALIZED : {
+					final Object o = deserialize(readBytes(in));
+					if (!(o instanceof ID))
+						throw new InvalidObjectException("Invalid ID"); //$NON-NLS-1$
+					return (ID) o;
+				}
+				default :
+					throw new InvalidObjectException("Invalid ID tag=" + tag); //$NON-NLS-1$
+			}
+		} catch (final IDCreateException e) {
+			final InvalidObjectException except = new InvalidObjectException("Could not create ID"); //$NON-NLS-1$
+			except.initCause(e);
+			throw except;
+		}
+	}
+
+	private static void writeData(DataOutputStream out, Serializable data) throws IOException {
+		if (data == null)
+			out.writeByte(DATA_NULL);
+		else if (data instanceof byte[]) {
+			out.writeByte(DATA_BYTES);
+			writeBytes(out, (byte[]) data);
+		} else if (data instanceof DirectSharedObjectMessageData) {
+			out.writeByte(DATA_BYTES);
+			writeDirect(out, (DirectSharedObjectMessageData) data);
+		} else if (data instanceof String) {
+			out.writeByte(DATA_STRING);
+			writeString(out, (String) data);
+		} else {
+			out.writeByte(DATA_SERIALIZED);
+			writeBytes(out, SOContainer.serialize(data));
+		}
+	}
+
+	// Same as writeBytes(out, data.toByteArray()), but writes the bytes straight into
+	// the message buffer and fills in the length afterwards
+	private static void writeDirect(DataOutputStream out, DirectSharedObjectMessageData data) throws IOException {
+		if (!(out instanceof BufferDataOutput)) {
+			writeBytes(out, data.toByteArray());
+			return;
+		}
+		final PooledBufferOutputStream buffer = ((BufferDataOutput) out).buffer;
+		final int lengthPosition = buffer.size();
+		out.writeInt(0);
+		data.writeTo(out);
+		buffer.writeIntAt(lengthPosition, buffer.size() - lengthPosition - 4);
+	}
+
+	private static Serializable readData(DataInputStream in) throws IOException {
+		final byte tag = in.readByte();
+		switch (tag) {
+			case DATA_NULL :
+				return null;
+			case DATA_BYTES :
+				return readBytes(in);
+			case DATA_STRING :
+				return readString(in);
+			case DATA_SERIALIZED :
+				return (Serializable) deserialize(readBytes(in));
+			default :
+				throw new InvalidObjectException("Invalid data tag=" + tag); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		writeBytes(out, s.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return new String(readBytes(in), StandardCharsets.UTF_8);
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		final int length = in.readInt();
+		if (length < 0 || length > in.available())
+			throw new InvalidObjectException("Invalid length=" + length); //$NON-NLS-1$
+		final byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static Object deserialize(byte[] bytes) throws IOException {
+		final ObjectInputStream ois = ProviderPlugin.getDefault().createObjectInputStream(new ByteArrayInputStream(bytes));
+		try {
+			return ois.readObject();
+		} catch (final ClassNotFoundException e) {
+			final InvalidClassException except = new InvalidClassException("Class not found on deserialize"); //$NON-NLS-1$
+			except.initCause(e);
+			throw except;
+		} finally {
+			ois.close();
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.generic;
+
+import java.io.*;
+import org.eclipse.ecf.core.sharedobject.SharedObjectMsgEvent;
+import org.eclipse.ecf.provider.comm.BufferPool;
+import org.eclipse.ecf.provider.comm.PooledBufferOutputStream;
+
+/**
+ * Data of the shared object message sent for a {@link DirectSharedObjectMsg}, or for a
+ * {@link SharedObjectMsgEvent} holding one (as sent by
+ * {@link org.eclipse.ecf.core.sharedobject.BaseSharedObject}).  {@link ContainerMessageCodec}
+ * writes it directly into the buffer of the container message.  Wherever a container message
+ * is serialized otherwise, it is replaced by the same bytes, so receivers always get the data
+ * as byte[].
+ */
+final class DirectSharedObjectMessageData implements Serializable {
+
+	private static final long serialVersionUID = -2905523874170049339L;
+
+	// null if the message is sent without event
+	private final transient SharedObjectMsgEvent event;
+	private final transient DirectSharedObjectMsg message;
+
+	private DirectSharedObjectMessageData(SharedObjectMsgEvent event, DirectSharedObjectMsg message) {
+		this.event = event;
+		this.message = message;
+	}
+
+	/**
+	 * @param message the shared object message to send
+	 * @return DirectSharedObjectMessageData for message, or <code>null</code> if message
+	 * is neither a {@link DirectSharedObjectMsg} nor a {@link SharedObjectMsgEvent} holding one
+	 */
+	static DirectSharedObjectMessageData create(Object message) {
+		if (message instanceof DirectSharedObjectMsg)
+			return new DirectSharedObjectMessageData(null, (DirectSharedObjectMsg) message);
+		if (message != null && message.getClass() == SharedObjectMsgEvent.class) {
+			final SharedObjectMsgEvent event = (SharedObjectMsgEvent) message;
+			if (event.getData() instanceof DirectSharedObjectMsg)
+				return new DirectSharedObjectMessageData(event, (DirectSharedObjectMsg) event.getData());
+		}
+		return null;
+	}
+
+	void writeTo(final DataOutputStream out) throws IOException {
+		CompactSharedObjectMessageSerializer.writeDirectHeader(out, event, message);
+		message.writeParameterTo(out);
+		out.flush();
+	}
+
+	byte[] toByteArray() throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(BufferPool.MIN_BUFFER_SIZE);
+		try {
+			writeTo(new DataOutputStream(bos));
+			return bos.toByteArray();
+		} finally {
+			bos.close();
+		}
+	}
+
+	private Object writeReplace() throws ObjectStreamException {
+		try {
+			return toByteArray();
+		} catch (final IOException e) {
+			final NotSerializableException except = new NotSerializableException("Cannot write message=" + message); //$NON-NLS-1$
+			except.initCause(e);
+			throw except;
+		}
+	}
+
+	public String toString() {
+		return "DirectSharedObjectMessageData[" + message + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,127 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.generic;
+
+import java.io.*;
+import org.eclipse.ecf.core.sharedobject.SharedObjectMsg;
+import org.eclipse.ecf.provider.comm.BufferPool;
+import org.eclipse.ecf.provider.comm.PooledBufferOutputStream;
+
+/**
+ * Shared object message with a single byte[] parameter that the sending shared
+ * object writes itself, with {@link #writeParameter(OutputStream)}.
+ * <p>
+ * When sent through a generic container that uses one of the binary shared object
+ * message codecs (see {@link SOContainer#SHARED_OBJECT_MESSAGE_CODEC_PROPERTY}), the
+ * parameter is written directly into the buffer of the outbound container message,
+ * instead of into an array that is then wrapped in a {@link SharedObjectMsg},
+ * serialized by the codec and copied into the container message.  Otherwise the
+ * message is replaced by a plain {@link SharedObjectMsg} with the written bytes as
+ * its parameter before it is serialized.
+ * <p>
+ * In both cases the receiver gets a {@link SharedObjectMsg} with the class name and
+ * method name of this message and the written bytes as its only parameter, so
+ * receivers handle it like any other message.  Messages sent with
+ * {@link org.eclipse.ecf.core.sharedobject.BaseSharedObject#sendSharedObjectMsgTo(org.eclipse.ecf.core.identity.ID, SharedObjectMsg)}
+ * take the direct path as well.
+ *
+ * @since 4.11
+ */
+public abstract class DirectSharedObjectMsg extends SharedObjectMsg {
+
+	private static final long serialVersionUID = 4163374658155384718L;
+
+	protected DirectSharedObjectMsg(String className, String methodName) {
+		super(className, methodName, null);
+	}
+
+	protected DirectSharedObjectMsg(String methodName) {
+		this(null, methodName);
+	}
+
+	/**
+	 * Write the parameter of this message.  May be called more than once, e.g. once
+	 * per receiver for receivers that use different encodings, and must write the
+	 * same bytes each time.
+	 * @param out the stream to write to.  Must not be closed.
+	 * @throws IOException if the parameter cannot be written
+	 */
+	protected abstract void writeParameter(OutputStream out) throws IOException;
+
+	void writeParameterTo(final OutputStream out) throws IOException {
+		// Keep the stream open if the message closes it
+		writeParameter(new FilterOutputStream(out) {
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			public void close() throws IOException {
+				flush();
+			}
+		});
+	}
+
+	/**
+	 * @return byte[] the bytes written by {@link #writeParameter(OutputStream)}
+	 * @throws IOException if the parameter cannot be written
+	 */
+	public byte[] toParameterBytes() throws IOException {
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(BufferPool.MIN_BUFFER_SIZE);
+		try {
+			writeParameterTo(bos);
+			return bos.toByteArray();
+		} finally {
+			bos.close();
+		}
+	}
+
+	/**
+	 * @return SharedObjectMsg the plain message received for this message
+	 * @throws IOException if the parameter cannot be written
+	 */
+	public SharedObjectMsg toSharedObjectMsg() throws IOException {
+		return SharedObjectMsg.createMsg(getClassName(), getMethod(), new Object[] {toParameterBytes()});
+	}
+
+	/**
+	 * Writes the parameter.  Used only if the message is invoked locally.
+	 */
+	public Object[] getParameters() {
+		try {
+			return toSharedObjectMsg().getParameters();
+		} catch (final IOException e) {
+			throw new IllegalStateException("Cannot write parameter of message=" + this, e); //$NON-NLS-1$
+		}
+	}
+
+	protected void checkAlterMsg() {
+		throw new UnsupportedOperationException("DirectSharedObjectMsg cannot be altered"); //$NON-NLS-1$
+	}
+
+	protected Object writeReplace() throws ObjectStreamException {
+		try {
+			return toSharedObjectMsg();
+		} catch (final IOException e) {
+			final NotSerializableException except = new NotSerializableException("Cannot write parameter of message=" + this); //$NON-NLS-1$
+			except.initCause(e);
+			throw except;
+		}
+	}
+
+	public String toString() {
+		final StringBuffer sb = new StringBuffer("DirectSharedObjectMsg["); //$NON-NLS-1$
+		sb.append("class=").append(getClassName()).append(";"); //$NON-NLS-1$ //$NON-NLS-2$
+		sb.append("method=").append(getMethod()).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return sb.toString();
+	}
+}
@@ -48,6 +48,10 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 
 	private static final String BINDADDRESS_PROP = "bindAddress"; //$NON-NLS-1$
 
+	private static final String TRANSPORT_PROP = "transport"; //$NON-NLS-1$
+
+	private static final String SERIALIZER_PROP = "serializer"; //$NON-NLS-1$
+
 	public GenericContainerInstantiator() {
 		super();
 	}
@@ -88,6 +92,8 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 		ID id;
 		Integer keepAlive;
 		InetAddress bindAddress;
+		String transport;
+		String serializer;
 
 		public GenericContainerArgs(ID id, Integer keepAlive) {
 			this.id = id;
@@ -100,6 +106,22 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 			this.bindAddress = bindAddress;
 		}
 
+		/**
+		 * @since 4.11
+		 */
+		public GenericContainerArgs(ID id, Integer keepAlive, InetAddress bindAddress, String transport) {
+			this(id, keepAlive, bindAddress);
+			this.transport = transport;
+		}
+
+		/**
+		 * @since 4.11
+		 */
+		public GenericContainerArgs(ID id, Integer keepAlive, InetAddress bindAddress, String transport, String serializer) {
+			this(id, keepAlive, bindAddress, transport);
+			this.serializer = serializer;
+		}
+
 		public ID getID() {
 			return id;
 		}
@@ -115,6 +137,22 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 		public InetAddress getBindAddress() {
 			return bindAddress;
 		}
+
+		/**
+		 * @return String the transport (<code>nio</code> or <code>tcp</code>).  May be <code>null</code>
+		 * @since 4.11
+		 */
+		public String getTransport() {
+			return transport;
+		}
+
+		/**
+		 * @return String the shared object message codec (<code>java</code>, <code>compact</code> or <code>registry</code>).  May be <code>null</code>
+		 * @since 4.11
+		 */
+		public String getSerializer() {
+			return serializer;
+		}
 	}
 
 	/**
@@ -126,6 +164,8 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 	protected GenericContainerArgs getClientArgs(Object[] args) throws IDCreateException {
 		ID newID = null;
 		Integer ka = null;
+		String transport = null;
+		String serializer = null;
 		if (args != null && args.length > 0) {
 			if (args[0] instanceof Map) {
 				Map map = (Map) args[0];
@@ -138,6 +178,8 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 				if (o == null)
 					o = map.get(KEEPALIVE_PROP.toLowerCase());
 				ka = getIntegerFromArg(o);
+				transport = getTransportFromArg(map.get(TRANSPORT_PROP));
+				serializer = getSerializerFromArg(map.get(SERIALIZER_PROP));
 			} else if (args.length > 1) {
 				if (args[0] instanceof String || args[0] instanceof ID)
 					newID = getIDFromArg(args[0]);
@@ -150,7 +192,38 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 			newID = IDFactory.getDefault().createStringID(IDFactory.getDefault().createGUID().getName());
 		if (ka == null)
 			ka = Integer.valueOf(TCPServerSOContainer.DEFAULT_KEEPALIVE);
-		return new GenericContainerArgs(newID, ka);
+		return new GenericContainerArgs(newID, ka, null, transport, serializer);
+	}
+
+	private String getTransportFromArg(Object arg) {
+		if (arg == null)
+			return null;
+		if (!(arg instanceof String))
+			throw new IllegalArgumentException("transport value must be of type String"); //$NON-NLS-1$
+		final String transport = (String) arg;
+		if (!TCPServerSOContainerGroup.TRANSPORT_NIO.equalsIgnoreCase(transport) && !TCPServerSOContainerGroup.TRANSPORT_TCP.equalsIgnoreCase(transport))
+			throw new IllegalArgumentException("transport value must be one of " + TCPServerSOContainerGroup.TRANSPORT_NIO + " or " + TCPServerSOContainerGroup.TRANSPORT_TCP); //$NON-NLS-1$ //$NON-NLS-2$
+		return transport;
+	}
+
+	private String getSerializerFromArg(Object arg) {
+		if (arg == null)
+			return null;
+		if (!(arg instanceof String))
+			throw new IllegalArgumentException("serializer value must be of type String"); //$NON-NLS-1$
+		final String serializer = (String) arg;
+		if (!SOContainer.SHARED_OBJECT_MESSAGE_CODEC_JAVA.equals(serializer) && !SOContainer.SHARED_OBJECT_MESSAGE_CODEC_COMPACT.equals(serializer) && !SOContainer.SHARED_OBJECT_MESSAGE_CODEC_REGISTRY.equals(serializer))
+			throw new IllegalArgumentException("serializer value must be one of " + SOContainer.SHARED_OBJECT_MESSAGE_CODEC_JAVA + ", " + SOContainer.SHARED_OBJECT_MESSAGE_CODEC_COMPACT + " or " + SOContainer.SHARED_OBJECT_MESSAGE_CODEC_REGISTRY); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return serializer;
+	}
+
+	private SOContainerConfig createContainerConfig(GenericContainerArgs gcargs) {
+		final String serializer = gcargs.getSerializer();
+		if (serializer == null)
+			return new SOContainerConfig(gcargs.getID());
+		final Map props = new HashMap();
+		props.put(SOContainer.SHARED_OBJECT_MESSAGE_CODEC_PROPERTY, serializer);
+		return new SOContainerConfig(gcargs.getID(), props);
 	}
 
 	protected boolean isClient(ContainerTypeDescription description) {
@@ -170,6 +243,8 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 		ID newID = null;
 		Integer ka = null;
 		InetAddress bindAddress = null;
+		String transport = null;
+		String serializer = null;
 		boolean privateIntent = false;
 		if (args != null && args.length > 0) {
 			if (args[0] instanceof Map) {
@@ -212,6 +287,8 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 				if (o == null)
 					o = map.get(KEEPALIVE_PROP.toLowerCase());
 				ka = getIntegerFromArg(o);
+				transport = getTransportFromArg(map.get(TRANSPORT_PROP));
+				serializer = getSerializerFromArg(map.get(SERIALIZER_PROP));
 				// Get private intent if present
 				privateIntent = ContainerInstantiatorUtils.containsPrivateIntent(map);
 
@@ -234,7 +311,7 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 		if (privateIntent)
 			ContainerInstantiatorUtils.checkPrivate(newID);
 
-		return new GenericContainerArgs(newID, ka, bindAddress);
+		return new GenericContainerArgs(newID, ka, bindAddress, transport, serializer);
 	}
 
 	private ID createTCPServerID(String hostname, int port, String path) {
@@ -293,7 +370,10 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 	 * @since 4.5
 	 */
 	protected IContainer createClientContainer(GenericContainerArgs gcargs) throws Exception {
-		return new TCPClientSOContainer(new SOContainerConfig(gcargs.getID()), gcargs.getKeepAlive().intValue());
+		final String transport = gcargs.getTransport();
+		if (transport != null)
+			return new TCPClientSOContainer(createContainerConfig(gcargs), gcargs.getKeepAlive().intValue(), TCPServerSOContainerGroup.TRANSPORT_NIO.equalsIgnoreCase(transport));
+		return new TCPClientSOContainer(createContainerConfig(gcargs), gcargs.getKeepAlive().intValue());
 	}
 
 	/**
@@ -303,7 +383,7 @@ public class GenericContainerInstantiator implements IContainerInstantiator, IRe
 	 * @since 4.5
 	 */
 	protected IContainer createServerContainer(GenericContainerArgs gcargs) throws Exception {
-		return new TCPServerSOContainer(new SOContainerConfig(gcargs.getID()), gcargs.getBindAddress(), gcargs.getKeepAlive().intValue());
+		return new TCPServerSOContainer(createContainerConfig(gcargs), gcargs.getBindAddress(), gcargs.getKeepAlive().intValue(), gcargs.getTransport());
 	}
 
 	public IContainer createInstance(ContainerTypeDescription description, Object[] args) throws ContainerCreateException {
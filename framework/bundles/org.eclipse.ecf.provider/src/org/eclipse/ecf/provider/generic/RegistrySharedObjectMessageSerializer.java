@@ -0,0 +1,105 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.generic;
+
+import java.io.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact shared object message serializer that writes instances of registered
+ * types with their {@link TypeCodec} and a numeric type id instead of Java
+ * serialization.
+ * <p>
+ * Types are registered with {@link #registerType(int, Class, TypeCodec)} and the
+ * registration is global.  Both peers must register the same type id, type and
+ * codec before exchanging messages with instances of the type.  Registered types
+ * are matched by exact class.
+ *
+ * @since 4.11
+ */
+public class RegistrySharedObjectMessageSerializer extends CompactSharedObjectMessageSerializer {
+
+	/**
+	 * Writes and reads instances of a registered type.
+	 */
+	public interface TypeCodec {
+		void write(DataOutput out, Object value) throws IOException;
+
+		Object read(DataInput in) throws IOException;
+	}
+
+	static final class Registration {
+		final int typeID;
+		final Class type;
+		final TypeCodec codec;
+
+		Registration(int typeID, Class type, TypeCodec codec) {
+			this.typeID = typeID;
+			this.type = type;
+			this.codec = codec;
+		}
+	}
+
+	private static final Map<Integer, Registration> registrationsByID = new ConcurrentHashMap<Integer, Registration>();
+	private static final Map<Class, Registration> registrationsByType = new ConcurrentHashMap<Class, Registration>();
+
+	public RegistrySharedObjectMessageSerializer(SOContainer container) {
+		super(container);
+	}
+
+	/**
+	 * Register codec for type.
+	 * @param typeID the id written for instances of type.  Must not be negative.
+	 * @param type the type.  Must not be <code>null</code>.
+	 * @param codec the codec.  Must not be <code>null</code>.
+	 * @throws IllegalArgumentException if typeID or type is already registered
+	 */
+	public static synchronized void registerType(int typeID, Class type, TypeCodec codec) {
+		if (typeID < 0)
+			throw new IllegalArgumentException("typeID cannot be negative"); //$NON-NLS-1$
+		if (type == null || codec == null)
+			throw new NullPointerException("type and codec cannot be null"); //$NON-NLS-1$
+		if (registrationsByID.containsKey(Integer.valueOf(typeID)))
+			throw new IllegalArgumentException("typeID=" + typeID + " already registered"); //$NON-NLS-1$ //$NON-NLS-2$
+		if (registrationsByType.containsKey(type))
+			throw new IllegalArgumentException("type=" + type.getName() + " already registered"); //$NON-NLS-1$ //$NON-NLS-2$
+		final Registration reg = new Registration(typeID, type, codec);
+		registrationsByID.put(Integer.valueOf(typeID), reg);
+		registrationsByType.put(type, reg);
+	}
+
+	/**
+	 * @param typeID the id given to {@link #registerType(int, Class, TypeCodec)}
+	 * @return true if a type was registered with typeID, false otherwise
+	 */
+	public static synchronized boolean unregisterType(int typeID) {
+		final Registration reg = registrationsByID.remove(Integer.valueOf(typeID));
+		if (reg == null)
+			return false;
+		registrationsByType.remove(reg.type);
+		return true;
+	}
+
+	static Registration getRegistration(Class type) {
+		return registrationsByType.isEmpty() ? null : registrationsByType.get(type);
+	}
+
+	static Registration getRegistration(int typeID) {
+		return registrationsByID.get(Integer.valueOf(typeID));
+	}
+
+	byte getFormat() {
+		return FORMAT_REGISTRY;
+	}
+}
@@ -15,6 +15,8 @@ import java.io.*;
 import java.security.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import org.eclipse.core.runtime.*;
 import org.eclipse.ecf.core.AbstractContainer;
 import org.eclipse.ecf.core.ContainerConnectException;
@@ -32,6 +34,7 @@ import org.eclipse.ecf.internal.provider.ProviderPlugin;
 import org.eclipse.ecf.provider.comm.*;
 import org.eclipse.ecf.provider.generic.ContainerMessage.SharedObjectMessage;
 import org.eclipse.ecf.provider.generic.gmm.Member;
+import org.eclipse.ecf.provider.metrics.*;
 
 public abstract class SOContainer extends AbstractContainer implements ISharedObjectContainer {
 	class LoadingSharedObject implements ISharedObject {
@@ -139,7 +142,102 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 	public static final String DEFAULT_OBJECT_ARG_KEY = SOContainer.class.getName() + ".sharedobjectargs"; //$NON-NLS-1$
 	public static final String DEFAULT_OBJECT_ARGTYPES_KEY = SOContainer.class.getName() + ".sharedobjectargtypes"; //$NON-NLS-1$
 
-	private long sequenceNumber = 0L;
+	/**
+	 * Wire version for container messages encoded with Java serialization.  Used with peers that
+	 * do not announce a wire version when connecting.
+	 * @since 4.11
+	 */
+	public static final int WIRE_VERSION_SERIALIZED = 0;
+
+	/**
+	 * Wire version for container messages encoded with the binary container message codec.
+	 * @since 4.11
+	 */
+	public static final int WIRE_VERSION_BINARY = ContainerMessageCodec.VERSION;
+
+	/**
+	 * Wire version of peers that can decode shared object messages encoded with any of the
+	 * shipped shared object message codecs (see {@link #SHARED_OBJECT_MESSAGE_CODEC_PROPERTY}).
+	 * Container messages are encoded as for {@link #WIRE_VERSION_BINARY}.
+	 * @since 4.11
+	 */
+	public static final int WIRE_VERSION_CODECS = 2;
+
+	/**
+	 * Highest wire version offered to or accepted from peers.  Set system property
+	 * org.eclipse.ecf.provider.generic.wireVersion to 0 to always use Java serialization.
+	 * @since 4.11
+	 */
+	public static final int DEFAULT_WIRE_VERSION = Math.min(WIRE_VERSION_CODECS, Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.generic.wireVersion", String.valueOf(WIRE_VERSION_CODECS)))); //$NON-NLS-1$
+
+	/**
+	 * Container config property (see {@link ISharedObjectContainerConfig#getProperties()}) to
+	 * select the shared object message codec.  The value is one of {@link #SHARED_OBJECT_MESSAGE_CODEC_JAVA},
+	 * {@link #SHARED_OBJECT_MESSAGE_CODEC_COMPACT} or {@link #SHARED_OBJECT_MESSAGE_CODEC_REGISTRY}, or an
+	 * {@link ISharedObjectMessageSerializer} instance.  Also read as system property for the default
+	 * codec.
+	 * <p>
+	 * Client containers use the codec of the server while connected: the server tells the client
+	 * its codec when accepting the connection, and refuses clients that cannot decode it.
+	 * @since 4.11
+	 */
+	public static final String SHARED_OBJECT_MESSAGE_CODEC_PROPERTY = "org.eclipse.ecf.provider.generic.sharedObjectMessageCodec"; //$NON-NLS-1$
+
+	/**
+	 * Java serialization of shared object messages.  Understood by all peers.
+	 * @since 4.11
+	 */
+	public static final String SHARED_OBJECT_MESSAGE_CODEC_JAVA = "java"; //$NON-NLS-1$
+
+	/**
+	 * Schema-less binary encoding of shared object messages (see {@link CompactSharedObjectMessageSerializer}).
+	 * @since 4.11
+	 */
+	public static final String SHARED_OBJECT_MESSAGE_CODEC_COMPACT = "compact"; //$NON-NLS-1$
+
+	/**
+	 * Binary encoding of shared object messages that also uses the types registered with
+	 * {@link RegistrySharedObjectMessageSerializer#registerType(int, Class, RegistrySharedObjectMessageSerializer.TypeCodec)}.
+	 * @since 4.11
+	 */
+	public static final String SHARED_OBJECT_MESSAGE_CODEC_REGISTRY = "registry"; //$NON-NLS-1$
+
+	/**
+	 * Value of system property org.eclipse.ecf.provider.generic.sharedObjectMessageCodec.  Default
+	 * is {@link #SHARED_OBJECT_MESSAGE_CODEC_JAVA}.
+	 * @since 4.11
+	 */
+	public static final String DEFAULT_SHARED_OBJECT_MESSAGE_CODEC = System.getProperty(SHARED_OBJECT_MESSAGE_CODEC_PROPERTY, SHARED_OBJECT_MESSAGE_CODEC_JAVA);
+
+	/**
+	 * Shared object event dispatch with a dedicated thread per shared object.
+	 * @since 4.11
+	 */
+	public static final String SHARED_OBJECT_DISPATCH_THREAD = "thread"; //$NON-NLS-1$
+
+	/**
+	 * Shared object event dispatch on a fixed size thread pool shared by all shared objects.
+	 * Events of each shared object are still delivered one at a time and in order.
+	 * @since 4.11
+	 */
+	public static final String SHARED_OBJECT_DISPATCH_POOL = "pool"; //$NON-NLS-1$
+
+	/**
+	 * Shared object event dispatch on virtual threads when run on Java 21 or later, otherwise
+	 * as {@link #SHARED_OBJECT_DISPATCH_POOL}.
+	 * @since 4.11
+	 */
+	public static final String SHARED_OBJECT_DISPATCH_VIRTUAL = "virtual"; //$NON-NLS-1$
+
+	/**
+	 * Value of system property org.eclipse.ecf.provider.generic.sharedobject.dispatch.  One of
+	 * {@link #SHARED_OBJECT_DISPATCH_THREAD} (default), {@link #SHARED_OBJECT_DISPATCH_POOL}
+	 * or {@link #SHARED_OBJECT_DISPATCH_VIRTUAL}.
+	 * @since 4.11
+	 */
+	public static final String DEFAULT_SHARED_OBJECT_DISPATCH = System.getProperty("org.eclipse.ecf.provider.generic.sharedobject.dispatch", SHARED_OBJECT_DISPATCH_THREAD); //$NON-NLS-1$
+
+	private final AtomicLong sequenceNumber = new AtomicLong();
 
 	protected ISharedObjectContainerConfig config = null;
 
@@ -155,12 +253,18 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 
 	protected ThreadGroup sharedObjectThreadGroup = null;
 
-	/**
-	 * @since 2.0
-	 */
-	protected ISharedObjectMessageSerializer sharedObjectMessageSerializer = new ISharedObjectMessageSerializer() {
+	// Metrics, all null if metrics are disabled
+	private final MetricGroup metrics;
+	private Counter messagesIn;
+	private Histogram serializeTime;
+	private Histogram deserializeTime;
+
+	private final ISharedObjectMessageSerializer javaSharedObjectMessageSerializer = new ISharedObjectMessageSerializer() {
 
 		public Object deserializeMessage(byte[] data) throws IOException, ClassNotFoundException {
+			// Peers may use any of the shipped codecs
+			if (CompactSharedObjectMessageSerializer.isEncoded(data))
+				return getCompactSharedObjectMessageSerializer().deserializeMessage(data);
 			return defaultDeserializeSharedObjectMessage(data);
 		}
 
@@ -170,6 +274,16 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 
 	};
 
+	/**
+	 * @since 2.0
+	 */
+	protected ISharedObjectMessageSerializer sharedObjectMessageSerializer = javaSharedObjectMessageSerializer;
+
+	// Name of the codec of sharedObjectMessageSerializer.  null if set with setSharedObjectMessageSerializer
+	private volatile String sharedObjectMessageCodec = SHARED_OBJECT_MESSAGE_CODEC_JAVA;
+
+	private final CompactSharedObjectMessageSerializer compactSharedObjectMessageSerializer = new CompactSharedObjectMessageSerializer(this);
+
 	/**
 	 * @since 2.0
 	 */
@@ -177,6 +291,62 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 		if (serializer == null)
 			return;
 		this.sharedObjectMessageSerializer = serializer;
+		this.sharedObjectMessageCodec = null;
+	}
+
+	/**
+	 * Use one of the shipped shared object message codecs.
+	 * @param codec one of {@link #SHARED_OBJECT_MESSAGE_CODEC_JAVA}, {@link #SHARED_OBJECT_MESSAGE_CODEC_COMPACT}
+	 * or {@link #SHARED_OBJECT_MESSAGE_CODEC_REGISTRY}.  Must not be <code>null</code>.
+	 * @throws IllegalArgumentException if codec is not known
+	 * @since 4.11
+	 */
+	public void setSharedObjectMessageCodec(String codec) {
+		final ISharedObjectMessageSerializer serializer = createSharedObjectMessageSerializer(codec);
+		if (serializer == null)
+			throw new IllegalArgumentException("Unknown shared object message codec=" + codec); //$NON-NLS-1$
+		this.sharedObjectMessageSerializer = serializer;
+		this.sharedObjectMessageCodec = codec;
+	}
+
+	/**
+	 * @return String the name of the shared object message codec in use, or <code>null</code>
+	 * if a serializer was set with {@link #setSharedObjectMessageSerializer(ISharedObjectMessageSerializer)}
+	 * @since 4.11
+	 */
+	public String getSharedObjectMessageCodec() {
+		return sharedObjectMessageCodec;
+	}
+
+	/**
+	 * @param codec the codec name
+	 * @return ISharedObjectMessageSerializer the serializer for the given codec, or <code>null</code>
+	 * if the codec is not known
+	 * @since 4.11
+	 */
+	protected ISharedObjectMessageSerializer createSharedObjectMessageSerializer(String codec) {
+		if (SHARED_OBJECT_MESSAGE_CODEC_JAVA.equals(codec))
+			return javaSharedObjectMessageSerializer;
+		if (SHARED_OBJECT_MESSAGE_CODEC_COMPACT.equals(codec))
+			return getCompactSharedObjectMessageSerializer();
+		if (SHARED_OBJECT_MESSAGE_CODEC_REGISTRY.equals(codec))
+			return new RegistrySharedObjectMessageSerializer(this);
+		return null;
+	}
+
+	CompactSharedObjectMessageSerializer getCompactSharedObjectMessageSerializer() {
+		return compactSharedObjectMessageSerializer;
+	}
+
+	private void initSharedObjectMessageCodec() {
+		final Map props = config.getProperties();
+		final Object codec = (props == null) ? null : props.get(SHARED_OBJECT_MESSAGE_CODEC_PROPERTY);
+		if (codec instanceof ISharedObjectMessageSerializer)
+			setSharedObjectMessageSerializer((ISharedObjectMessageSerializer) codec);
+		else if (codec instanceof String)
+			setSharedObjectMessageCodec((String) codec);
+		else if (!SHARED_OBJECT_MESSAGE_CODEC_JAVA.equals(DEFAULT_SHARED_OBJECT_MESSAGE_CODEC))
+			setSharedObjectMessageCodec(DEFAULT_SHARED_OBJECT_MESSAGE_CODEC);
 	}
 
 	/**
@@ -201,6 +371,8 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 		}
 
 		public void handleDisconnectEvent(DisconnectEvent event) {
+			if (metrics != null)
+				recordDisconnect(event);
 			processDisconnect(event);
 		}
 
@@ -216,6 +388,43 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 		sharedObjectManager = new SOManager(this);
 		loadingThreadGroup = new ThreadGroup(getID() + ":loading"); //$NON-NLS-1$
 		sharedObjectThreadGroup = new ThreadGroup(getID() + ":SOs"); //$NON-NLS-1$
+		initSharedObjectMessageCodec();
+		metrics = MetricsRegistry.getDefault().createGroup(IMetricsService.TYPE_CONTAINER, getID().getName());
+		if (metrics != null)
+			initMetrics(metrics);
+	}
+
+	private void initMetrics(MetricGroup group) {
+		messagesIn = group.counter("messages.in"); //$NON-NLS-1$
+		serializeTime = group.histogram("serialize.ns"); //$NON-NLS-1$
+		deserializeTime = group.histogram("deserialize.ns"); //$NON-NLS-1$
+		group.gauge("members", new Gauge() { //$NON-NLS-1$
+			public long getValue() {
+				return groupManager.getSize();
+			}
+		});
+		group.gauge("sharedobjects", new Gauge() { //$NON-NLS-1$
+			public long getValue() {
+				return groupManager.getSharedObjectIDs().length;
+			}
+		});
+	}
+
+	/**
+	 * @return MetricGroup the metrics of this container, or <code>null</code> if metrics are disabled
+	 * @since 4.11
+	 */
+	public MetricGroup getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Count a disconnect in the metrics of this container, by the type of its cause.
+	 * @param event the disconnect event.  Must not be <code>null</code>.
+	 */
+	private void recordDisconnect(DisconnectEvent event) {
+		final Throwable cause = event.getException();
+		metrics.counter("disconnect." + ((cause == null) ? "normal" : cause.getClass().getName())).increment(); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
 	// Implementation of IIdentifiable
@@ -282,6 +491,8 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 			loadingThreadGroup.interrupt();
 			loadingThreadGroup = null;
 		}
+		if (metrics != null)
+			metrics.close();
 		super.dispose();
 	}
 
@@ -482,11 +693,61 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 	}
 
 	public static byte[] serialize(Serializable obj) throws IOException {
-		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
-		final ObjectOutputStream oos = new ObjectOutputStream(bos);
-		oos.writeObject(obj);
-		oos.close();
-		return bos.toByteArray();
+		final PooledBufferOutputStream bos = new PooledBufferOutputStream(BufferPool.MIN_BUFFER_SIZE);
+		try {
+			final ObjectOutputStream oos = new ObjectOutputStream(bos);
+			oos.writeObject(obj);
+			oos.flush();
+			return bos.toByteArray();
+		} finally {
+			bos.close();
+		}
+	}
+
+	/**
+	 * Encode container message for sending to a peer that uses the given wire version.
+	 * @param message the message to encode.  Must not be <code>null</code>.
+	 * @param wireVersion the wire version of the receiving peer
+	 * @return byte[] the encoded message
+	 * @throws IOException if the message cannot be encoded
+	 * @since 4.11
+	 */
+	protected byte[] serializeContainerMessage(ContainerMessage message, int wireVersion) throws IOException {
+		// Subclasses of ContainerMessage are only handled by Java serialization
+		if (wireVersion >= WIRE_VERSION_BINARY && message.getClass() == ContainerMessage.class)
+			return ContainerMessageCodec.encode(message);
+		return serialize(message);
+	}
+
+	/**
+	 * Send container message to a connection.  Messages for connections that implement
+	 * {@link IPooledAsynchConnection} are encoded into a pool buffer that the connection
+	 * writes without copying.
+	 * @param conn the connection to send to.  Must not be <code>null</code>.
+	 * @param message the message to send.  Must not be <code>null</code>.
+	 * @throws IOException if the message cannot be encoded or sent
+	 * @since 4.11
+	 */
+	protected void sendContainerMessage(IAsynchConnection conn, ContainerMessage message) throws IOException {
+		final int wireVersion = getWireVersion(conn);
+		if (conn instanceof IPooledAsynchConnection && wireVersion >= WIRE_VERSION_BINARY && message.getClass() == ContainerMessage.class)
+			((IPooledAsynchConnection) conn).sendAsynch(message.getToContainerID(), ContainerMessageCodec.encodeToBuffer(message));
+		else
+			conn.sendAsynch(message.getToContainerID(), serializeContainerMessage(message, wireVersion));
+	}
+
+	/**
+	 * @param connection the connection to get the wire version for.  May be <code>null</code>.
+	 * @return int the wire version negotiated for the given connection, or {@link #WIRE_VERSION_SERIALIZED}
+	 * if no wire version was negotiated
+	 * @since 4.11
+	 */
+	protected static int getWireVersion(IConnection connection) {
+		if (connection == null)
+			return WIRE_VERSION_SERIALIZED;
+		final Map props = connection.getProperties();
+		final Object version = (props == null) ? null : props.get(IConnection.WIRE_VERSION_PROPERTY);
+		return (version instanceof Integer) ? ((Integer) version).intValue() : WIRE_VERSION_SERIALIZED;
 	}
 
 	protected ClassLoader getClassLoaderForContainer() {
@@ -504,6 +765,13 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 		return getClassLoaderForContainer();
 	}
 
+	/**
+	 * Lock for group membership and shared object table changes.  Message routing
+	 * (member and shared object lookups, sending and delivery) does not take this
+	 * lock, so it only needs to be held to make a sequence of changes atomic.
+	 *
+	 * @return Object the group membership lock
+	 */
 	protected Object getGroupMembershipLock() {
 		return groupManager;
 	}
@@ -516,15 +784,35 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 		return new Thread(sharedObjectThreadGroup, runnable, sharedObjectID.getName() + ":run"); //$NON-NLS-1$
 	}
 
+	/**
+	 * Get the executor used to dispatch events to the shared objects of this container.
+	 * 
+	 * @return Executor the executor shared by the shared objects of this container, or
+	 * <code>null</code> to dispatch the events of each shared object on its own thread
+	 * (see {@link #getNewSharedObjectThread(ID, Runnable)}).
+	 * @since 4.11
+	 */
+	protected Executor getSharedObjectExecutor() {
+		if (SHARED_OBJECT_DISPATCH_THREAD.equals(DEFAULT_SHARED_OBJECT_DISPATCH))
+			return null;
+		return ProviderPlugin.getDefault().getSharedObjectExecutor();
+	}
+
 	protected long getNextSequenceNumber() {
-		if (sequenceNumber == Long.MAX_VALUE) {
-			sequenceNumber = 0;
-			return sequenceNumber;
-		}
-		return sequenceNumber++;
+		// Called without the group membership lock.  Masking wraps to 0 after Long.MAX_VALUE
+		return sequenceNumber.getAndIncrement() & Long.MAX_VALUE;
 	}
 
 	public static ContainerMessage deserializeContainerMessage(byte[] bytes) throws IOException {
+		if (ContainerMessageCodec.isEncoded(bytes)) {
+			try {
+				return ContainerMessageCodec.decode(bytes);
+			} catch (final InvalidClassException e) {
+				ProviderPlugin.getDefault().log(new Status(IStatus.ERROR, ProviderPlugin.PLUGIN_ID, "invalid class on decode", e)); //$NON-NLS-1$
+				printToSystemError("deserializeContainerMessage invalid class", e); //$NON-NLS-1$
+				return null;
+			}
+		}
 		final ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
 
 		final ObjectInputStream ois = ProviderPlugin.getDefault().createObjectInputStream(bis);
@@ -641,27 +929,22 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 					return;
 				}
 			}
-		} else {
-			synchronized (getGroupMembershipLock()) {
-				forward(fromID, toID, mess);
-			}
-		}
+		} else
+			forward(fromID, toID, mess);
 	}
 
 	protected void handleCreateResponseMessage(ContainerMessage mess) throws IOException {
 		final ID fromID = mess.getFromContainerID();
 		final ID toID = mess.getToContainerID();
 		final ContainerMessage.CreateResponseMessage resp = (ContainerMessage.CreateResponseMessage) mess.getData();
-		synchronized (getGroupMembershipLock()) {
-			if (verifySharedObjectMessageTarget(toID)) {
-				final ID sharedObjectID = resp.getSharedObjectID();
-				final SOWrapper sow = getSharedObjectWrapper(sharedObjectID);
-				if (sow != null) {
-					sow.deliverCreateResponse(fromID, resp);
-				}
-			} else
-				forward(fromID, toID, mess);
-		}
+		if (verifySharedObjectMessageTarget(toID)) {
+			final ID sharedObjectID = resp.getSharedObjectID();
+			final SOWrapper sow = getSharedObjectWrapper(sharedObjectID);
+			if (sow != null) {
+				sow.deliverCreateResponse(fromID, resp);
+			}
+		} else
+			forward(fromID, toID, mess);
 	}
 
 	/**
@@ -708,34 +991,37 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 		final ID sharedObjectID = resp.getFromSharedObjectID();
 		SOWrapper sow = null;
 		Serializable obj = null;
-		synchronized (getGroupMembershipLock()) {
-			// We only deliver to local copy if the toID equals null (all), or it equals ours
-			if (verifySharedObjectMessageTarget(toID)) {
-				sow = getSharedObjectWrapper(sharedObjectID);
-				if (sow != null) {
-					try {
+		// We only deliver to local copy if the toID equals null (all), or it equals ours
+		if (verifySharedObjectMessageTarget(toID)) {
+			sow = getSharedObjectWrapper(sharedObjectID);
+			if (sow != null) {
+				try {
+					if (deserializeTime != null) {
+						final long start = System.nanoTime();
 						obj = (Serializable) deserializeSharedObjectMessage((byte[]) resp.getData());
-						// Actually deliver event to shared object asynchronously
-						sow.deliverSharedObjectMessage(fromID, obj);
-					} catch (final ClassNotFoundException e) {
-						String message = "shared object message ClassNotFoundException.  sharedObjectID=" + sharedObjectID + " fromContainerID=" + fromID; //$NON-NLS-1$ //$NON-NLS-2$
-						ProviderPlugin.getDefault().log(new Status(IStatus.ERROR, ProviderPlugin.PLUGIN_ID, message, e));
-						printToSystemError(message, e);
-					} catch (final IOException e) {
-						String message = "shared object message IOException.  sharedObjectID=" + sharedObjectID + " fromContainerID=" + fromID; //$NON-NLS-1$ //$NON-NLS-2$
-						ProviderPlugin.getDefault().log(new Status(IStatus.ERROR, ProviderPlugin.PLUGIN_ID, message, e));
-						printToSystemError(message, e);
-					} catch (final NoClassDefFoundError e) {
-						String message = "shared object message NoClassDefFoundError.  sharedObjectID=" + sharedObjectID + " fromContainerID=" + fromID; //$NON-NLS-1$ //$NON-NLS-2$
-						ProviderPlugin.getDefault().log(new Status(IStatus.ERROR, ProviderPlugin.PLUGIN_ID, message, e));
-						printToSystemError(message, e);
-					}
-				} else
-					handleUndeliveredSharedObjectMessage(resp);
-			}
-			// forward in any case
-			forward(fromID, toID, mess);
+						deserializeTime.record(System.nanoTime() - start);
+					} else
+						obj = (Serializable) deserializeSharedObjectMessage((byte[]) resp.getData());
+					// Actually deliver event to shared object asynchronously
+					sow.deliverSharedObjectMessage(fromID, obj);
+				} catch (final ClassNotFoundException e) {
+					String message = "shared object message ClassNotFoundException.  sharedObjectID=" + sharedObjectID + " fromContainerID=" + fromID; //$NON-NLS-1$ //$NON-NLS-2$
+					ProviderPlugin.getDefault().log(new Status(IStatus.ERROR, ProviderPlugin.PLUGIN_ID, message, e));
+					printToSystemError(message, e);
+				} catch (final IOException e) {
+					String message = "shared object message IOException.  sharedObjectID=" + sharedObjectID + " fromContainerID=" + fromID; //$NON-NLS-1$ //$NON-NLS-2$
+					ProviderPlugin.getDefault().log(new Status(IStatus.ERROR, ProviderPlugin.PLUGIN_ID, message, e));
+					printToSystemError(message, e);
+				} catch (final NoClassDefFoundError e) {
+					String message = "shared object message NoClassDefFoundError.  sharedObjectID=" + sharedObjectID + " fromContainerID=" + fromID; //$NON-NLS-1$ //$NON-NLS-2$
+					ProviderPlugin.getDefault().log(new Status(IStatus.ERROR, ProviderPlugin.PLUGIN_ID, message, e));
+					printToSystemError(message, e);
+				}
+			} else
+				handleUndeliveredSharedObjectMessage(resp);
 		}
+		// forward in any case
+		forward(fromID, toID, mess);
 		// Fire container event notifying container listeners about
 		// receiving event.
 		if (sow != null)
@@ -830,17 +1116,13 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 	}
 
 	protected void notifySharedObjectActivated(ID sharedObjectID) {
-		synchronized (getGroupMembershipLock()) {
-			groupManager.notifyOthersActivated(sharedObjectID);
-			fireContainerEvent(new SharedObjectActivatedEvent(getID(), sharedObjectID));
-		}
+		groupManager.notifyOthersActivated(sharedObjectID);
+		fireContainerEvent(new SharedObjectActivatedEvent(getID(), sharedObjectID));
 	}
 
 	protected void notifySharedObjectDeactivated(ID sharedObjectID) {
-		synchronized (getGroupMembershipLock()) {
-			groupManager.notifyOthersDeactivated(sharedObjectID);
-			fireContainerEvent(new SharedObjectDeactivatedEvent(getID(), sharedObjectID));
-		}
+		groupManager.notifyOthersDeactivated(sharedObjectID);
+		fireContainerEvent(new SharedObjectDeactivatedEvent(getID(), sharedObjectID));
 	}
 
 	protected ContainerMessage validateContainerMessage(Object mess) {
@@ -873,6 +1155,8 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 				debug("Ignoring event without valid data " + event); //$NON-NLS-1$
 				return;
 			}
+			if (messagesIn != null)
+				messagesIn.increment();
 			final ContainerMessage mess = validateContainerMessage(deserializeContainerMessage((byte[]) obj));
 			if (mess == null) {
 				debug("event not validated: " + event); //$NON-NLS-1$
@@ -980,12 +1264,11 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 	}
 
 	protected void sendMessage(ContainerMessage data) throws IOException {
-		synchronized (getGroupMembershipLock()) {
-			final ID ourID = getID();
-			// We don't send to ourselves
-			if (!ourID.equals(data.getToContainerID()))
-				queueContainerMessage(data);
-		}
+		// No group membership lock: member lookups read the current snapshot
+		final ID ourID = getID();
+		// We don't send to ourselves
+		if (!ourID.equals(data.getToContainerID()))
+			queueContainerMessage(data);
 	}
 
 	protected byte[] serializeSharedObjectMessage(ID sharedObjectID, Object message) throws IOException {
@@ -1005,15 +1288,19 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 			throw new NotSerializableException("shared object=" + sharedObjectID + " message=" + message + " not serializable"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		try {
 			return AccessController.doPrivileged((PrivilegedExceptionAction<byte[]>) () -> {
-				final ByteArrayOutputStream bouts = new ByteArrayOutputStream();
-				// If system property set to osgi.basic then use OSGIObjectOutputStream, if not then  
-				// use ObjectOutputStream
-				final ObjectOutputStream oos = new OSGIObjectOutputStream(bouts);
-				// write shared object id, so we can read it on receiver and get the classloader for the given shared object
-				oos.writeObject(sharedObjectID);
-				oos.writeObject(message);
-				oos.close();
-				return bouts.toByteArray();
+				final PooledBufferOutputStream bouts = new PooledBufferOutputStream(BufferPool.MIN_BUFFER_SIZE);
+				try {
+					// If system property set to osgi.basic then use OSGIObjectOutputStream, if not then  
+					// use ObjectOutputStream
+					final ObjectOutputStream oos = new OSGIObjectOutputStream(bouts);
+					// write shared object id, so we can read it on receiver and get the classloader for the given shared object
+					oos.writeObject(sharedObjectID);
+					oos.writeObject(message);
+					oos.flush();
+					return bouts.toByteArray();
+				} finally {
+					bouts.close();
+				}
 			});
 		} catch (PrivilegedActionException e) {
 			Throwable t = e.getCause();
@@ -1058,6 +1345,18 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 		}
 	}
 
+	/**
+	 * @return boolean true if the parameters of {@link DirectSharedObjectMsg}s are written
+	 * directly into container messages.  This is the case while one of the binary shared object
+	 * message codecs is used, as all group members can then read them.  Otherwise they are
+	 * serialized as plain {@link org.eclipse.ecf.core.sharedobject.SharedObjectMsg}s.
+	 * @since 4.11
+	 */
+	protected boolean isDirectSharedObjectMsgSupported() {
+		final String codec = getSharedObjectMessageCodec();
+		return codec != null && !SHARED_OBJECT_MESSAGE_CODEC_JAVA.equals(codec);
+	}
+
 	protected Object deserializeSharedObjectMessage(byte[] bytes) throws IOException, ClassNotFoundException {
 		return getSharedObjectMessageSerializer().deserializeMessage(bytes);
 	}
@@ -1067,7 +1366,17 @@ public abstract class SOContainer extends AbstractContainer implements ISharedOb
 			return;
 		// fire IContainerSharedObjectMessageSendingEvent
 		fireContainerEvent(new ContainerSharedObjectMessageSendingEvent(getID(), toContainerID, sharedObjectID, message));
-		final byte[] sendData = serializeSharedObjectMessage(sharedObjectID, message);
+		final DirectSharedObjectMessageData directData = isDirectSharedObjectMsgSupported() ? DirectSharedObjectMessageData.create(message) : null;
+		final Serializable sendData;
+		if (directData != null)
+			// Written into the container message when it is encoded
+			sendData = directData;
+		else if (serializeTime != null) {
+			final long start = System.nanoTime();
+			sendData = serializeSharedObjectMessage(sharedObjectID, message);
+			serializeTime.record(System.nanoTime() - start);
+		} else
+			sendData = serializeSharedObjectMessage(sharedObjectID, message);
 		sendSharedObjectMessage(toContainerID, sharedObjectID, sendData);
 	}
 
@@ -14,32 +14,47 @@
 package org.eclipse.ecf.provider.generic;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.eclipse.ecf.core.identity.ID;
 import org.eclipse.ecf.core.util.Trace;
 import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
 import org.eclipse.ecf.internal.provider.ProviderPlugin;
 import org.eclipse.ecf.provider.generic.gmm.*;
 
+/**
+ * Group membership and shared object tables for an {@link SOContainer}.
+ * <p>
+ * Only changes to membership and to the loading/active tables synchronize on
+ * this object.  Readers on the message routing path (member lookup, member
+ * IDs, shared object lookup) do not lock: shared objects are kept in
+ * concurrent maps, and members are published as an immutable snapshot that is
+ * replaced on every membership change.
+ */
 class SOContainerGMM implements Observer {
 	SOContainer container;
 	Member localMember;
 	GMMImpl groupManager;
 	// Maximum number of members. Default is -1 (no maximum).
-	int maxMembers = -1;
-	TreeMap loading, active;
+	volatile int maxMembers = -1;
+	Map loading, active;
+	// Copy-on-write member snapshot, replaced while holding this lock
+	private volatile Object[] members = new Object[0];
+	private volatile ID[] memberIDs = new ID[0];
+	private final Map<ID, Member> memberIndex = new ConcurrentHashMap<ID, Member>();
 
 	SOContainerGMM(SOContainer cont, Member local) {
 		container = cont;
 		groupManager = new GMMImpl();
 		groupManager.addObserver(this);
-		loading = new TreeMap();
-		active = new TreeMap();
+		loading = new ConcurrentSkipListMap();
+		active = new ConcurrentSkipListMap();
 		localMember = local;
 		addMember(local);
 	}
 
 	protected void debug(String msg) {
-		Trace.trace(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.SOCONTAINERGMM, msg + ";container=" + container.getID() + ";existingmembers=" + groupManager); //$NON-NLS-1$ //$NON-NLS-2$
+		Trace.trace(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.SOCONTAINERGMM, msg + ";container=" + container.getID() + ";existingmembers=" + Arrays.asList(members)); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
 	protected void traceStack(String msg, Throwable e) {
@@ -65,7 +80,7 @@ class SOContainerGMM implements Observer {
 		return old;
 	}
 
-	synchronized int getMaxMembers() {
+	int getMaxMembers() {
 		return maxMembers;
 	}
 
@@ -107,41 +122,57 @@ class SOContainerGMM implements Observer {
 		}
 	}
 
-	synchronized Object[] getMembers() {
-		return groupManager.getMembers();
+	// Called with lock held, from update() so observers see the new snapshot
+	private void updateMemberSnapshot(Member m, boolean add) {
+		if (add)
+			memberIndex.put(m.getID(), m);
+		else
+			memberIndex.remove(m.getID());
+		final Object[] ms = groupManager.getMembers();
+		final ID[] ids = new ID[ms.length];
+		for (int i = 0; i < ms.length; i++)
+			ids[i] = ((Member) ms[i]).getID();
+		members = ms;
+		memberIDs = ids;
 	}
 
-	synchronized ID[] getOtherMemberIDs() {
-		return groupManager.getMemberIDs(localMember.getID());
+	Object[] getMembers() {
+		return members.clone();
 	}
 
-	synchronized ID[] getMemberIDs() {
-		return groupManager.getMemberIDs(null);
+	ID[] getOtherMemberIDs() {
+		final ID[] ids = memberIDs;
+		final ID localID = localMember.getID();
+		final List<ID> result = new ArrayList<ID>(ids.length);
+		for (int i = 0; i < ids.length; i++)
+			if (!localID.equals(ids[i]))
+				result.add(ids[i]);
+		return result.toArray(new ID[result.size()]);
 	}
 
-	synchronized Member getMemberForID(ID id) {
-		final Member newMem = new Member(id);
-		for (final Iterator i = iterator(); i.hasNext();) {
-			final Member oldMem = (Member) i.next();
-			if (newMem.equals(oldMem))
-				return oldMem;
-		}
-		return null;
+	ID[] getMemberIDs() {
+		return memberIDs.clone();
 	}
 
-	synchronized int getSize() {
-		return groupManager.getSize();
+	Member getMemberForID(ID id) {
+		if (id == null)
+			return null;
+		return memberIndex.get(id);
 	}
 
-	synchronized boolean containsMember(Member m) {
-		if (m != null) {
-			debug("containsMember(" + m.getID() + ")"); //$NON-NLS-1$ //$NON-NLS-2$
-		}
-		return groupManager.containsMember(m);
+	int getSize() {
+		return members.length;
+	}
+
+	boolean containsMember(Member m) {
+		if (m == null)
+			return false;
+		debug("containsMember(" + m.getID() + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+		return memberIndex.containsKey(m.getID());
 	}
 
-	synchronized Iterator iterator() {
-		return groupManager.iterator();
+	Iterator iterator() {
+		return Collections.unmodifiableList(Arrays.asList(members)).iterator();
 	}
 
 	// End group membership change methods
@@ -180,7 +211,7 @@ class SOContainerGMM implements Observer {
 		return false;
 	}
 
-	synchronized ID[] getActiveKeys() {
+	ID[] getActiveKeys() {
 		return (ID[]) active.keySet().toArray(new ID[0]);
 	}
 
@@ -191,17 +222,17 @@ class SOContainerGMM implements Observer {
 		so.activated();
 	}
 
-	synchronized void notifyOthersActivated(ID id) {
+	void notifyOthersActivated(ID id) {
 		debug("notifyOthersActivated(" + id + ")"); //$NON-NLS-1$ //$NON-NLS-2$
 		notifyOtherChanged(id, active, true);
 	}
 
-	synchronized void notifyOthersDeactivated(ID id) {
+	void notifyOthersDeactivated(ID id) {
 		debug("notifyOthersDeactivated(" + id + ")"); //$NON-NLS-1$ //$NON-NLS-2$
 		notifyOtherChanged(id, active, false);
 	}
 
-	void notifyOtherChanged(ID id, TreeMap aMap, boolean activated) {
+	void notifyOtherChanged(ID id, Map aMap, boolean activated) {
 		for (final Iterator i = aMap.values().iterator(); i.hasNext();) {
 			final SOWrapper other = (SOWrapper) i.next();
 			if (!id.equals(other.getObjID())) {
@@ -219,11 +250,11 @@ class SOContainerGMM implements Observer {
 		return true;
 	}
 
-	synchronized SOWrapper getFromMap(ID objID, TreeMap aMap) {
+	SOWrapper getFromMap(ID objID, Map aMap) {
 		return (SOWrapper) aMap.get(objID);
 	}
 
-	synchronized SOWrapper removeFromMap(ID objID, TreeMap aMap) {
+	synchronized SOWrapper removeFromMap(ID objID, Map aMap) {
 		return (SOWrapper) aMap.remove(objID);
 	}
 
@@ -235,7 +266,7 @@ class SOContainerGMM implements Observer {
 		return getFromMap(objID, active);
 	}
 
-	synchronized SOWrapper getFromAny(ID objID) {
+	SOWrapper getFromAny(ID objID) {
 		SOWrapper ro = getFromMap(objID, active);
 		if (ro != null)
 			return ro;
@@ -244,7 +275,7 @@ class SOContainerGMM implements Observer {
 	}
 
 	// Notification methods
-	void notifyAllOfMemberChange(Member m, TreeMap map, boolean add) {
+	void notifyAllOfMemberChange(Member m, Map map, boolean add) {
 		for (final Iterator i = map.values().iterator(); i.hasNext();) {
 			final SOWrapper ro = (SOWrapper) i.next();
 			ro.memberChanged(m, add);
@@ -253,6 +284,7 @@ class SOContainerGMM implements Observer {
 
 	public void update(Observable o, Object arg) {
 		final MemberChanged mc = (MemberChanged) arg;
+		updateMemberSnapshot(mc.getMember(), mc.getAdded());
 		notifyAllOfMemberChange(mc.getMember(), active, mc.getAdded());
 	}
 
@@ -289,18 +321,18 @@ class SOContainerGMM implements Observer {
 		return aSet;
 	}
 
-	synchronized boolean isActive(ID id) {
+	boolean isActive(ID id) {
 		return active.containsKey(id);
 	}
 
-	synchronized boolean isLoading(ID id) {
+	boolean isLoading(ID id) {
 		return loading.containsKey(id);
 	}
 
 	public String toString() {
 		final StringBuffer sb = new StringBuffer();
 		sb.append("SOContainerGMM["); //$NON-NLS-1$
-		sb.append(groupManager);
+		sb.append(Arrays.asList(members));
 		sb.append(";load:").append(loading); //$NON-NLS-1$
 		sb.append(";active:").append(active).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
 		return sb.toString();
@@ -313,7 +345,7 @@ class DestroyIterator implements Iterator {
 	Iterator i;
 	boolean match;
 
-	public DestroyIterator(TreeMap map, ID hID, boolean m) {
+	public DestroyIterator(Map map, ID hID, boolean m) {
 		i = map.values().iterator();
 		homeID = hID;
 		next = null;
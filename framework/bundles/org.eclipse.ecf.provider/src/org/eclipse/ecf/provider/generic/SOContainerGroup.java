@@ -19,9 +19,10 @@ import java.net.URI;
 import java.util.*;
 import org.eclipse.ecf.internal.provider.ProviderPlugin;
 import org.eclipse.ecf.provider.comm.IConnectRequestHandler;
+import org.eclipse.ecf.provider.comm.IConnection;
 import org.eclipse.ecf.provider.comm.tcp.*;
 
-public class SOContainerGroup implements ISocketAcceptHandler {
+public class SOContainerGroup implements ISocketAcceptHandler, INIOAcceptHandler {
 
 	/**
 	 * @since 4.7
@@ -76,7 +77,7 @@ public class SOContainerGroup implements ISocketAcceptHandler {
 	 * @since 4.7
 	 */
 	protected ObjectOutputStream createObjectOutputStream(Socket aSocket) throws IOException {
-		return new ObjectOutputStream(aSocket.getOutputStream());
+		return new ObjectOutputStream(new BufferedOutputStream(aSocket.getOutputStream(), Client.DEFAULT_SEND_BUFFER_SIZE));
 	}
 
 	/**
@@ -103,6 +104,31 @@ public class SOContainerGroup implements ISocketAcceptHandler {
 		return req;
 	}
 
+	private String getTargetPath(ConnectRequestMessage req) throws InvalidObjectException {
+		final URI uri = req.getTarget();
+		if (uri == null)
+			throw new InvalidObjectException(INVALID_CONNECT + " URI connect target cannot be null"); //$NON-NLS-1$
+		final String path = uri.getPath();
+		if (path == null)
+			throw new InvalidObjectException(INVALID_CONNECT + " Path cannot be null"); //$NON-NLS-1$
+		return path;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int setWireVersion(IConnection conn, ConnectRequestMessage req) {
+		// Use the highest wire version supported by both sides
+		final int wireVersion = Math.max(SOContainer.WIRE_VERSION_SERIALIZED, Math.min(req.getWireVersion(), SOContainer.DEFAULT_WIRE_VERSION));
+		conn.getProperties().put(IConnection.WIRE_VERSION_PROPERTY, Integer.valueOf(wireVersion));
+		return wireVersion;
+	}
+
+	private SOContainer getContainerForPath(String path) throws InvalidObjectException {
+		final SOContainer srs = get(path);
+		if (srs == null)
+			throw new InvalidObjectException("Container not found for path=" + path); //$NON-NLS-1$
+		return srs;
+	}
+
 	/**
 	 * @param aSocket socket
 	 * @since 4.7
@@ -117,20 +143,13 @@ public class SOContainerGroup implements ISocketAcceptHandler {
 
 		final ConnectRequestMessage req = readConnectRequestMessage(iStream);
 
-		final URI uri = req.getTarget();
-		if (uri == null)
-			throw new InvalidObjectException(INVALID_CONNECT + " URI connect target cannot be null"); //$NON-NLS-1$
-		final String path = uri.getPath();
-		if (path == null)
-			throw new InvalidObjectException(INVALID_CONNECT + " Path cannot be null"); //$NON-NLS-1$
-
+		final String path = getTargetPath(req);
 		// Given path, lookup associated container
-		final SOContainer srs = get(path);
-		if (srs == null)
-			throw new InvalidObjectException("Container not found for path=" + path); //$NON-NLS-1$
+		final SOContainer srs = getContainerForPath(path);
 
 		// Create our local messaging interface
 		final Client newClient = new Client(aSocket, iStream, oStream, srs.getMessageReceiver());
+		final int wireVersion = setWireVersion(newClient, req);
 		// Get output stream lock so nothing is sent until we've responded
 		Object outputStreamLock = newClient.getOutputStreamLock();
 		// No other threads can access messaging interface until connect request handler has
@@ -139,9 +158,24 @@ public class SOContainerGroup implements ISocketAcceptHandler {
 			// Call checkConnect
 			final Serializable resp = ((IConnectRequestHandler) srs).handleConnectRequest(aSocket, path, req.getData(), newClient);
 			// Create connect response wrapper and send it back
-			oStream.writeObject(new ConnectResultMessage(resp));
+			oStream.writeObject(new ConnectResultMessage(resp, wireVersion));
 			oStream.flush();
 		}
 	}
 
-}
\ No newline at end of file
+	/**
+	 * @since 4.11
+	 */
+	public Serializable handleConnectRequest(NIOClient conn, ConnectRequestMessage req) throws Exception {
+		if (req == null)
+			throw new InvalidObjectException(INVALID_CONNECT + " Connect request message cannot be null"); //$NON-NLS-1$
+		final String path = getTargetPath(req);
+		// Given path, lookup associated container
+		final SOContainer srs = getContainerForPath(path);
+		// Nothing is written to the connection until the connect result has been sent
+		conn.setEventHandler(srs.getMessageReceiver());
+		setWireVersion(conn, req);
+		return ((IConnectRequestHandler) srs).handleConnectRequest(conn.getSocket(), path, req.getData(), conn);
+	}
+
+}
@@ -16,28 +16,51 @@ package org.eclipse.ecf.provider.generic;
 import java.io.Serializable;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.eclipse.ecf.core.events.ContainerConnectedEvent;
 import org.eclipse.ecf.core.events.ContainerDisconnectedEvent;
 import org.eclipse.ecf.core.identity.ID;
 import org.eclipse.ecf.core.sharedobject.ISharedObject;
 import org.eclipse.ecf.core.sharedobject.SharedObjectInitException;
 import org.eclipse.ecf.core.sharedobject.events.*;
-import org.eclipse.ecf.core.sharedobject.util.QueueEnqueueImpl;
-import org.eclipse.ecf.core.sharedobject.util.SimpleFIFOQueue;
+import org.eclipse.ecf.core.sharedobject.util.*;
 import org.eclipse.ecf.core.util.Event;
 import org.eclipse.ecf.core.util.Trace;
 import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
 import org.eclipse.ecf.internal.provider.ProviderPlugin;
 import org.eclipse.ecf.provider.generic.gmm.Member;
+import org.eclipse.ecf.provider.metrics.*;
+import org.eclipse.ecf.provider.util.SerialExecutor;
 
 public class SOWrapper {
+	/**
+	 * Event queue implementation, either {@link #QUEUE_FIFO} or {@link #QUEUE_MPSC}.
+	 * @since 4.11
+	 */
+	public static final String DEFAULT_QUEUE_TYPE = System.getProperty("org.eclipse.ecf.provider.generic.sharedobject.queue", "fifo"); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * @since 4.11
+	 */
+	public static final String QUEUE_FIFO = "fifo"; //$NON-NLS-1$
+	/**
+	 * @since 4.11
+	 */
+	public static final String QUEUE_MPSC = "mpsc"; //$NON-NLS-1$
+
 	protected ISharedObject sharedObject;
 	private SOConfig sharedObjectConfig;
 	ID sharedObjectID;
 	private SOContainer container;
 	private ID containerID;
 	private Thread thread;
+	private volatile boolean dispatching;
 	SimpleFIFOQueue queue;
+	// Metrics, all null if metrics are disabled
+	private MetricGroup metrics;
+	private Counter events;
+	private Histogram dispatchWait;
+	private Histogram dispatchTime;
 
 	protected SOWrapper(SOContainer.LoadingSharedObject obj, SOContainer cont) {
 		sharedObjectID = obj.getID();
@@ -46,7 +69,7 @@ public class SOWrapper {
 		containerID = cont.getID();
 		sharedObjectConfig = null;
 		thread = null;
-		queue = new SimpleFIFOQueue();
+		queue = createQueue();
 	}
 
 	public SOWrapper(SOConfig aConfig, ISharedObject obj, SOContainer cont) {
@@ -56,7 +79,21 @@ public class SOWrapper {
 		container = cont;
 		containerID = cont.getID();
 		thread = null;
-		queue = new SimpleFIFOQueue();
+		queue = createQueue();
+	}
+
+	/**
+	 * @return SimpleFIFOQueue the event queue for this wrapper.  Events are only dequeued
+	 * by the thread of this wrapper.
+	 * @since 4.11
+	 */
+	protected SimpleFIFOQueue createQueue() {
+		final Executor executor = container.getSharedObjectExecutor();
+		if (executor != null)
+			return new DispatchQueue(new SerialExecutor(executor));
+		if (QUEUE_MPSC.equals(DEFAULT_QUEUE_TYPE))
+			return new MPSCQueue();
+		return new SimpleFIFOQueue();
 	}
 
 	protected void init() throws SharedObjectInitException {
@@ -77,17 +114,41 @@ public class SOWrapper {
 		return sharedObjectConfig;
 	}
 
-	protected void activated() {
-		thread = (Thread) AccessController.doPrivileged(new PrivilegedAction() {
-			public Object run() {
-				Thread aThread = getThread();
-				return aThread;
+	private void initMetrics() {
+		metrics = MetricsRegistry.getDefault().createGroup(IMetricsService.TYPE_SHARED_OBJECT, containerID.getName() + "/" + sharedObjectID.getName()); //$NON-NLS-1$
+		if (metrics == null)
+			return;
+		events = metrics.counter("events"); //$NON-NLS-1$
+		dispatchWait = metrics.histogram("dispatch.wait.ns"); //$NON-NLS-1$
+		dispatchTime = metrics.histogram("dispatch.ns"); //$NON-NLS-1$
+		metrics.gauge("queue.depth", new Gauge() { //$NON-NLS-1$
+			public long getValue() {
+				return queue.size();
 			}
 		});
-		// Notify container and listeners
-		container.notifySharedObjectActivated(sharedObjectID);
-		// Start thread
-		thread.start();
+	}
+
+	protected void activated() {
+		initMetrics();
+		if (queue instanceof DispatchQueue) {
+			dispatching = true;
+			// Notify container and listeners
+			container.notifySharedObjectActivated(sharedObjectID);
+			// Start dispatching events held since creation
+			((DispatchQueue) queue).start();
+		} else {
+			thread = (Thread) AccessController.doPrivileged(new PrivilegedAction() {
+				public Object run() {
+					Thread aThread = getThread();
+					return aThread;
+				}
+			});
+			dispatching = true;
+			// Notify container and listeners
+			container.notifySharedObjectActivated(sharedObjectID);
+			// Start thread
+			thread.start();
+		}
 		// Send message
 		send(new SharedObjectActivatedEvent(containerID, sharedObjectID));
 	}
@@ -100,14 +161,16 @@ public class SOWrapper {
 
 	protected void destroyed() {
 		if (!queue.isStopped()) {
-			if (thread != null)
+			if (dispatching)
 				queue.enqueue(new DisposeEvent());
 			queue.close();
 		}
+		if (metrics != null)
+			metrics.close();
 	}
 
 	protected void otherChanged(ID otherID, boolean activated) {
-		if (activated && thread != null) {
+		if (activated && dispatching) {
 			send(new SharedObjectActivatedEvent(containerID, otherID));
 		} else {
 			send(new SharedObjectDeactivatedEvent(containerID, otherID));
@@ -115,7 +178,7 @@ public class SOWrapper {
 	}
 
 	protected void memberChanged(Member m, boolean add) {
-		if (thread != null) {
+		if (dispatching) {
 			if (add) {
 				send(new ContainerConnectedEvent(containerID, m.getID()));
 			} else {
@@ -135,17 +198,7 @@ public class SOWrapper {
 					evt = (Event) queue.dequeue();
 					if (Thread.currentThread().isInterrupted() || evt == null)
 						break;
-					try {
-						if (evt instanceof ProcEvent) {
-							SOWrapper.this.svc(((ProcEvent) evt).getEvent());
-						} else if (evt instanceof DisposeEvent) {
-							SOWrapper.this.doDestroy();
-						} else {
-							SOWrapper.this.svc(evt);
-						}
-					} catch (Throwable t) {
-						handleRuntimeException(t);
-					}
+					dispatch(evt);
 				}
 				if (Thread.currentThread().isInterrupted()) {
 					debug("runner(" + sharedObjectID //$NON-NLS-1$
@@ -158,12 +211,97 @@ public class SOWrapper {
 		});
 	}
 
+	void dispatch(Event evt) {
+		if (dispatchTime != null) {
+			final long start = System.nanoTime();
+			if (evt instanceof ProcEvent && ((ProcEvent) evt).enqueueTime != 0)
+				dispatchWait.record(start - ((ProcEvent) evt).enqueueTime);
+			doDispatch(evt);
+			dispatchTime.record(System.nanoTime() - start);
+			events.increment();
+		} else
+			doDispatch(evt);
+	}
+
+	private void doDispatch(Event evt) {
+		try {
+			if (evt instanceof ProcEvent) {
+				svc(((ProcEvent) evt).getEvent());
+			} else if (evt instanceof DisposeEvent) {
+				doDestroy();
+			} else {
+				svc(evt);
+			}
+		} catch (Throwable t) {
+			handleRuntimeException(t);
+		}
+	}
+
+	/**
+	 * Queue that runs the events of this wrapper on a {@link SerialExecutor} rather
+	 * than on a dedicated thread, so that many wrappers share the threads of one
+	 * executor while events of each wrapper are still delivered one at a time and
+	 * in order.  Events enqueued before activation are held until {@link #start()}.
+	 */
+	class DispatchQueue extends SimpleFIFOQueue {
+		private final SerialExecutor executor;
+		private boolean started = false;
+
+		DispatchQueue(SerialExecutor executor) {
+			this.executor = executor;
+		}
+
+		public boolean enqueue(final Object obj) {
+			synchronized (this) {
+				if (!started)
+					return super.enqueue(obj);
+			}
+			if (isStopped() || obj == null)
+				return false;
+			return execute(obj);
+		}
+
+		private boolean execute(final Object obj) {
+			try {
+				executor.execute(new Runnable() {
+					public void run() {
+						dispatch((Event) obj);
+					}
+				});
+				return true;
+			} catch (final RejectedExecutionException e) {
+				traceStack("DispatchQueue.enqueue rejected", e); //$NON-NLS-1$
+				return false;
+			}
+		}
+
+		synchronized void start() {
+			started = true;
+			Object obj;
+			while ((obj = removeHead()) != null)
+				execute(obj);
+		}
+
+		public synchronized int size() {
+			return super.size() + executor.size();
+		}
+
+		public synchronized boolean isEmpty() {
+			return super.isEmpty() && executor.isEmpty();
+		}
+	}
+
 	private void send(Event evt) {
-		queue.enqueue(new ProcEvent(evt));
+		final ProcEvent procEvent = new ProcEvent(evt);
+		if (dispatchWait != null)
+			procEvent.enqueueTime = System.nanoTime();
+		queue.enqueue(procEvent);
 	}
 
 	public static class ProcEvent implements Event {
 		Event theEvent = null;
+		// Time of enqueue for metrics, 0 if not measured
+		long enqueueTime;
 
 		public ProcEvent(Event event) {
 			theEvent = event;
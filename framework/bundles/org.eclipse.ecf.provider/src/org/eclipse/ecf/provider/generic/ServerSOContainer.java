@@ -25,13 +25,26 @@ import org.eclipse.ecf.core.sharedobject.ISharedObjectContainerConfig;
 import org.eclipse.ecf.core.sharedobject.ISharedObjectContainerGroupManager;
 import org.eclipse.ecf.provider.comm.*;
 import org.eclipse.ecf.provider.generic.gmm.Member;
+import org.eclipse.ecf.provider.metrics.Counter;
+import org.eclipse.ecf.provider.metrics.MetricGroup;
 
 public class ServerSOContainer extends SOContainer implements ISharedObjectContainerGroupManager {
 
 	protected IConnectHandlerPolicy connectHandlerPolicy;
 
+	// Metrics, all null if metrics are disabled
+	private Counter connectsAccepted;
+	private Counter connectsRefused;
+	private Counter messagesOut;
+
 	public ServerSOContainer(ISharedObjectContainerConfig config) {
 		super(config);
+		final MetricGroup metrics = getMetrics();
+		if (metrics != null) {
+			connectsAccepted = metrics.counter("connects.accepted"); //$NON-NLS-1$
+			connectsRefused = metrics.counter("connects.refused"); //$NON-NLS-1$
+			messagesOut = metrics.counter("messages.out"); //$NON-NLS-1$
+		}
 	}
 
 	/*
@@ -76,7 +89,7 @@ public class ServerSOContainer extends SOContainer implements ISharedObjectConta
 			if (conn == null)
 				return;
 			try {
-				conn.sendSynch(memberID, serialize(ContainerMessage.createLeaveGroupMessage(getID(), memberID, getNextSequenceNumber(), reason)));
+				conn.sendSynch(memberID, serializeContainerMessage(ContainerMessage.createLeaveGroupMessage(getID(), memberID, getNextSequenceNumber(), reason), getWireVersion(conn)));
 			} catch (final Exception e) {
 				traceStack("Exception in ejectGroupMember.sendAsynch()", e); //$NON-NLS-1$
 			}
@@ -138,8 +151,11 @@ public class ServerSOContainer extends SOContainer implements ISharedObjectConta
 			queueToAll(message);
 		} else {
 			final IAsynchConnection conn = getConnectionForID(message.getToContainerID());
-			if (conn != null)
-				conn.sendAsynch(message.getToContainerID(), serialize(message));
+			if (conn != null) {
+				sendContainerMessage(conn, message);
+				if (messagesOut != null)
+					messagesOut.increment();
+			}
 		}
 	}
 
@@ -151,21 +167,46 @@ public class ServerSOContainer extends SOContainer implements ISharedObjectConta
 		if (excluding == null) {
 			queueContainerMessage(new ContainerMessage(from, null, getNextSequenceNumber(), data.getData()));
 		} else {
-			final Object ms[] = groupManager.getMembers();
-			for (int i = 0; i < ms.length; i++) {
-				final Member m = (Member) ms[i];
-				final ID oldID = m.getID();
-				if (!excluding.equals(oldID) && !from.equals(oldID)) {
-					final IAsynchConnection conn = (IAsynchConnection) m.getData();
-					if (conn != null) {
-						try {
-							conn.sendAsynch(oldID, serialize(new ContainerMessage(from, oldID, getNextSequenceNumber(), data.getData())));
-						} catch (final IOException e) {
-							traceStack("Exception in forwardExcluding from " //$NON-NLS-1$
-									+ from + " with oldID " + oldID, e); //$NON-NLS-1$
+			// Only the header (to and sequence) differs per receiver, so for receivers
+			// using the binary wire version the body is encoded once and shared
+			PooledBuffer body = null;
+			byte[] bodyBytes = null;
+			try {
+				final Object ms[] = groupManager.getMembers();
+				for (int i = 0; i < ms.length; i++) {
+					final Member m = (Member) ms[i];
+					final ID oldID = m.getID();
+					if (!excluding.equals(oldID) && !from.equals(oldID)) {
+						final IAsynchConnection conn = (IAsynchConnection) m.getData();
+						if (conn != null) {
+							try {
+								final long seq = getNextSequenceNumber();
+								final int wireVersion = getWireVersion(conn);
+								if (wireVersion >= WIRE_VERSION_BINARY && conn instanceof IGatheringAsynchConnection) {
+									if (body == null)
+										body = ContainerMessageCodec.encodeBodyToBuffer(data.getData());
+									final byte[] header = ContainerMessageCodec.encodeHeader(from, oldID, seq);
+									if (conn instanceof IPooledAsynchConnection)
+										((IPooledAsynchConnection) conn).sendAsynch(oldID, header, body.duplicate());
+									else {
+										if (bodyBytes == null)
+											bodyBytes = body.toByteArray();
+										((IGatheringAsynchConnection) conn).sendAsynch(oldID, header, bodyBytes);
+									}
+								} else
+									conn.sendAsynch(oldID, serializeContainerMessage(new ContainerMessage(from, oldID, seq, data.getData()), wireVersion));
+								if (messagesOut != null)
+									messagesOut.increment();
+							} catch (final IOException e) {
+								traceStack("Exception in forwardExcluding from " //$NON-NLS-1$
+										+ from + " with oldID " + oldID, e); //$NON-NLS-1$
+							}
 						}
 					}
 				}
+			} finally {
+				if (body != null)
+					body.release();
 			}
 		}
 	}
@@ -194,6 +235,7 @@ public class ServerSOContainer extends SOContainer implements ISharedObjectConta
 			if (jgm == null)
 				throw new NullPointerException("Join group message cannot be null"); //$NON-NLS-1$
 			ID memberIDs[] = null;
+			String codec = null;
 			synchronized (getGroupMembershipLock()) {
 				if (isClosing) {
 					final Exception e = new IllegalStateException("Server container is closing"); //$NON-NLS-1$
@@ -201,6 +243,7 @@ public class ServerSOContainer extends SOContainer implements ISharedObjectConta
 				}
 				// Now check to see if this request is going to be allowed
 				checkJoin(socket.getRemoteSocketAddress(), remoteID, target, jgm.getData());
+				codec = checkSharedObjectMessageCodec(conn);
 
 				// Here we check to see if the given remoteID is already
 				// connected,
@@ -225,18 +268,41 @@ public class ServerSOContainer extends SOContainer implements ISharedObjectConta
 					throw e;
 				}
 			}
+			if (connectsAccepted != null)
+				connectsAccepted.increment();
 			// notify listeners
 			fireContainerEvent(new ContainerConnectedEvent(this.getID(), remoteID));
 
-			return ContainerMessage.createViewChangeMessage(getID(), remoteID, getNextSequenceNumber(), memberIDs, true, null);
+			return ContainerMessage.createViewChangeMessage(getID(), remoteID, getNextSequenceNumber(), memberIDs, true, codec);
 		} catch (final Exception e) {
 			traceStack("Exception in acceptNewClient(" + socket + "," //$NON-NLS-1$ //$NON-NLS-2$
 					+ target + "," + data + "," + conn, e); //$NON-NLS-1$ //$NON-NLS-2$
+			if (connectsRefused != null)
+				connectsRefused.increment();
 			// And then return leave group message...which means refusal
 			return ContainerMessage.createViewChangeMessage(getID(), remoteID, getNextSequenceNumber(), null, false, e);
 		}
 	}
 
+	/**
+	 * Check that the client can read messages written with this container's
+	 * shared object message codec.  Clients that support codecs adopt the
+	 * codec returned.
+	 * @param conn the connection of the new client
+	 * @return String the codec name to send to the client, or <code>null</code>
+	 * if the client does not support codecs or a custom serializer is used
+	 * @throws ConnectException if the client cannot read messages written with the codec
+	 * @since 4.11
+	 */
+	protected String checkSharedObjectMessageCodec(IConnection conn) throws ConnectException {
+		final String codec = getSharedObjectMessageCodec();
+		if (getWireVersion(conn) >= WIRE_VERSION_CODECS)
+			return codec;
+		if (codec != null && !SHARED_OBJECT_MESSAGE_CODEC_JAVA.equals(codec))
+			throw new ConnectException("Client does not support shared object message codec=" + codec); //$NON-NLS-1$
+		return null;
+	}
+
 	protected Object checkJoin(SocketAddress saddr, ID fromID, String target, Serializable data) throws Exception {
 		if (this.connectHandlerPolicy != null) {
 			return this.connectHandlerPolicy.checkConnect(saddr, fromID, getID(), target, data);
@@ -285,16 +351,44 @@ public class ServerSOContainer extends SOContainer implements ISharedObjectConta
 	}
 
 	private final void queueToAll(ContainerMessage message) {
-		final Object[] members = groupManager.getMembers();
-		for (int i = 0; i < members.length; i++) {
-			final IAsynchConnection conn = (IAsynchConnection) ((Member) members[i]).getData();
-			if (conn != null) {
-				try {
-					conn.sendAsynch(message.getToContainerID(), serialize(message));
-				} catch (final IOException e) {
-					traceStack("Exception in queueToAll for ContainerMessage " + message, e); //$NON-NLS-1$
+		// The message is the same for all receivers, so it is encoded at most
+		// once per wire version and the resulting bytes are shared
+		PooledBuffer binary = null;
+		byte[] binaryBytes = null;
+		byte[] serialized = null;
+		final boolean encodable = message.getClass() == ContainerMessage.class;
+		try {
+			final Object[] members = groupManager.getMembers();
+			for (int i = 0; i < members.length; i++) {
+				final IAsynchConnection conn = (IAsynchConnection) ((Member) members[i]).getData();
+				if (conn != null) {
+					try {
+						final int wireVersion = getWireVersion(conn);
+						if (wireVersion >= WIRE_VERSION_BINARY && encodable) {
+							if (binary == null)
+								binary = ContainerMessageCodec.encodeToBuffer(message);
+							if (conn instanceof IPooledAsynchConnection)
+								((IPooledAsynchConnection) conn).sendAsynch(message.getToContainerID(), binary.duplicate());
+							else {
+								if (binaryBytes == null)
+									binaryBytes = binary.toByteArray();
+								conn.sendAsynch(message.getToContainerID(), binaryBytes);
+							}
+						} else {
+							if (serialized == null)
+								serialized = serializeContainerMessage(message, wireVersion);
+							conn.sendAsynch(message.getToContainerID(), serialized);
+						}
+						if (messagesOut != null)
+							messagesOut.increment();
+					} catch (final IOException e) {
+						traceStack("Exception in queueToAll for ContainerMessage " + message, e); //$NON-NLS-1$
+					}
 				}
 			}
+		} finally {
+			if (binary != null)
+				binary.release();
 		}
 	}
 
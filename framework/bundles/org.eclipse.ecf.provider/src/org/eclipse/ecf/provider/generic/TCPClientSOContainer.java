@@ -13,15 +13,20 @@
 
 package org.eclipse.ecf.provider.generic;
 
+import java.io.IOException;
 import org.eclipse.ecf.core.identity.ID;
 import org.eclipse.ecf.core.identity.IDFactory;
 import org.eclipse.ecf.core.sharedobject.ISharedObjectContainerConfig;
+import org.eclipse.ecf.internal.provider.ProviderPlugin;
 import org.eclipse.ecf.provider.comm.ConnectionCreateException;
+import org.eclipse.ecf.provider.comm.IConnection;
 import org.eclipse.ecf.provider.comm.ISynchAsynchConnection;
 import org.eclipse.ecf.provider.comm.tcp.Client;
+import org.eclipse.ecf.provider.comm.tcp.NIOClient;
 
 public class TCPClientSOContainer extends ClientSOContainer {
 	int keepAlive = 0;
+	boolean useNIO = TCPServerSOContainerGroup.TRANSPORT_NIO.equalsIgnoreCase(TCPServerSOContainerGroup.DEFAULT_TRANSPORT);
 
 	public static final int DEFAULT_TCP_CONNECT_TIMEOUT = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.generic.TCPClientSOContainer.defaultConnectTimeout", "30000")); //$NON-NLS-1$ //$NON-NLS-2$
 
@@ -36,6 +41,18 @@ public class TCPClientSOContainer extends ClientSOContainer {
 		keepAlive = ka;
 	}
 
+	/**
+	 * @param config config
+	 * @param ka keep alive
+	 * @param useNIO true to connect with the selector based transport.  The
+	 * server must use the same transport.
+	 * @since 4.11
+	 */
+	public TCPClientSOContainer(ISharedObjectContainerConfig config, int ka, boolean useNIO) {
+		this(config, ka);
+		this.useNIO = useNIO;
+	}
+
 	protected int getConnectTimeout() {
 		return DEFAULT_TCP_CONNECT_TIMEOUT;
 	}
@@ -44,11 +61,22 @@ public class TCPClientSOContainer extends ClientSOContainer {
 	 * @param remoteSpace remote space
 	 * @param data and data
 	 * @return ISynchAsynchConnection a non-<code>null</code> instance.
-	 * @throws ConnectionCreateException not thrown by this implementation.
+	 * @throws ConnectionCreateException if the NIO event loop group cannot be created.
 	 */
+	@SuppressWarnings("unchecked")
 	protected ISynchAsynchConnection createConnection(ID remoteSpace, Object data) throws ConnectionCreateException {
 		debug("createClientConnection:" + remoteSpace + ":" + data); //$NON-NLS-1$ //$NON-NLS-2$
-		ISynchAsynchConnection conn = new Client(receiver, keepAlive);
+		ISynchAsynchConnection conn = null;
+		if (useNIO) {
+			try {
+				conn = new NIOClient(ProviderPlugin.getDefault().getNIOEventLoopGroup(), receiver, keepAlive);
+			} catch (final IOException e) {
+				throw new ConnectionCreateException("Could not create event loop group", e); //$NON-NLS-1$
+			}
+		} else
+			conn = new Client(receiver, keepAlive);
+		// Offer our wire version to the server
+		conn.getProperties().put(IConnection.WIRE_VERSION_PROPERTY, Integer.valueOf(DEFAULT_WIRE_VERSION));
 		return conn;
 	}
 
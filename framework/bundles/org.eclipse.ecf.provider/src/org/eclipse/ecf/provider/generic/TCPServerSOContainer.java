@@ -95,6 +95,20 @@ public class TCPServerSOContainer extends ServerSOContainer implements IConnectR
 	 * @since 4.4
 	 */
 	public TCPServerSOContainer(ISharedObjectContainerConfig config, InetAddress bindAddress, int keepAlive) throws IOException, URISyntaxException {
+		this(config, bindAddress, keepAlive, null);
+	}
+
+	/**
+	 * @param config config
+	 * @param bindAddress bind address
+	 * @param keepAlive keep alive
+	 * @param transport the transport to use; one of {@link TCPServerSOContainerGroup#TRANSPORT_NIO} or
+	 * {@link TCPServerSOContainerGroup#TRANSPORT_TCP}.  If <code>null</code>, {@link TCPServerSOContainerGroup#DEFAULT_TRANSPORT} is used.
+	 * @throws IOException if some problem creating
+	 * @throws URISyntaxException if some problem creating
+	 * @since 4.11
+	 */
+	public TCPServerSOContainer(ISharedObjectContainerConfig config, InetAddress bindAddress, int keepAlive, String transport) throws IOException, URISyntaxException {
 		super(config);
 		isSingle = true;
 		URI actualURI = parseAndValidateURI();
@@ -103,6 +117,9 @@ public class TCPServerSOContainer extends ServerSOContainer implements IConnectR
 		if (path == null)
 			throw new NullPointerException("path cannot be null"); //$NON-NLS-1$
 		this.group = new TCPServerSOContainerGroup(TCPServerSOContainerGroup.DEFAULT_GROUP_NAME, null, port, Server.DEFAULT_BACKLOG, bindAddress);
+		if (transport != null)
+			this.group.setUseNIO(TCPServerSOContainerGroup.TRANSPORT_NIO.equalsIgnoreCase(transport));
+		this.group.setKeepAlive(keepAlive);
 		this.group.add(path, this);
 		this.group.putOnTheAir();
 	}
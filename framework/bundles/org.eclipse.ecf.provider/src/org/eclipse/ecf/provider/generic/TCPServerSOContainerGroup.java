@@ -17,13 +17,35 @@ import java.net.InetAddress;
 import org.eclipse.ecf.core.util.Trace;
 import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
 import org.eclipse.ecf.internal.provider.ProviderPlugin;
+import org.eclipse.ecf.provider.comm.tcp.NIOServer;
 import org.eclipse.ecf.provider.comm.tcp.Server;
 
 public class TCPServerSOContainerGroup extends SOContainerGroup {
 
 	public static final String DEFAULT_GROUP_NAME = TCPServerSOContainerGroup.class.getName();
+
+	/**
+	 * Name of the selector based transport. Both sides of a connection must use the same transport.
+	 * @since 4.11
+	 */
+	public static final String TRANSPORT_NIO = "nio"; //$NON-NLS-1$
+
+	/**
+	 * Name of the thread per connection transport.
+	 * @since 4.11
+	 */
+	public static final String TRANSPORT_TCP = "tcp"; //$NON-NLS-1$
+
+	/**
+	 * @since 4.11
+	 */
+	public static final String DEFAULT_TRANSPORT = System.getProperty("org.eclipse.ecf.provider.generic.transport", TRANSPORT_TCP); //$NON-NLS-1$
+
 	private int port;
 	private Server listener;
+	private NIOServer nioListener;
+	private boolean useNIO = TRANSPORT_NIO.equalsIgnoreCase(DEFAULT_TRANSPORT);
+	private int keepAlive = TCPServerSOContainer.DEFAULT_KEEPALIVE;
 	private boolean isOnTheAir = false;
 	private final ThreadGroup threadGroup;
 
@@ -77,10 +99,43 @@ public class TCPServerSOContainerGroup extends SOContainerGroup {
 		Trace.catching(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.EXCEPTIONS_CATCHING, TCPServerSOContainerGroup.class, msg, e);
 	}
 
+	/**
+	 * Select the transport used for connections accepted by this group.  Must be
+	 * called before {@link #putOnTheAir()}.
+	 * @param useNIO true to use the selector based transport, false to use a
+	 * thread per connection
+	 * @since 4.11
+	 */
+	public synchronized void setUseNIO(boolean useNIO) {
+		this.useNIO = useNIO;
+	}
+
+	/**
+	 * @return true if this group uses the selector based transport
+	 * @since 4.11
+	 */
+	public synchronized boolean isUseNIO() {
+		return useNIO;
+	}
+
+	/**
+	 * Set the keep alive used for connections accepted by the selector based transport.
+	 * @param keepAlive keep alive in ms
+	 * @since 4.11
+	 */
+	public synchronized void setKeepAlive(int keepAlive) {
+		this.keepAlive = keepAlive;
+	}
+
 	public synchronized void putOnTheAir() throws IOException {
 		trace("TCPServerSOContainerGroup at port " + port + " on the air"); //$NON-NLS-1$ //$NON-NLS-2$
-		listener = new Server(threadGroup, port, backlog, bindAddress, this);
-		port = listener.getLocalPort();
+		if (useNIO) {
+			nioListener = new NIOServer(ProviderPlugin.getDefault().getNIOEventLoopGroup(), port, backlog, bindAddress, keepAlive, this);
+			port = nioListener.getLocalPort();
+		} else {
+			listener = new Server(threadGroup, port, backlog, bindAddress, this);
+			port = listener.getLocalPort();
+		}
 		isOnTheAir = true;
 	}
 
@@ -98,6 +153,15 @@ public class TCPServerSOContainerGroup extends SOContainerGroup {
 			}
 			listener = null;
 		}
+		if (nioListener != null) {
+			trace("Taking " + getName() + " off the air."); //$NON-NLS-1$ //$NON-NLS-2$
+			try {
+				nioListener.close();
+			} catch (final IOException e) {
+				traceStack("Exception in closeListener", e); //$NON-NLS-1$
+			}
+			nioListener = null;
+		}
 		isOnTheAir = false;
 	}
 
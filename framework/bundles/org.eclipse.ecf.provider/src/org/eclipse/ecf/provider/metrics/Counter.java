@@ -0,0 +1,45 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count, such as messages or bytes sent.  Safe for
+ * concurrent update from many threads.
+ *
+ * @since 4.11
+ */
+public final class Counter {
+
+	private final LongAdder count = new LongAdder();
+
+	public void increment() {
+		count.increment();
+	}
+
+	public void add(long value) {
+		count.add(value);
+	}
+
+	/**
+	 * @return long the current count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	public String toString() {
+		return String.valueOf(getCount());
+	}
+}
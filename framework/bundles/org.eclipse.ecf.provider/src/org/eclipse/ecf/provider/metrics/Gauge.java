@@ -0,0 +1,26 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.metrics;
+
+/**
+ * Value sampled when read, such as the depth of a queue.  Implementations
+ * are called from the thread reading the metrics and must not block.
+ *
+ * @since 4.11
+ */
+public interface Gauge {
+	/**
+	 * @return long the current value
+	 */
+	public long getValue();
+}
@@ -0,0 +1,117 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of recorded values, such as latencies in nanoseconds.  Values are
+ * counted in power of two buckets, so recording is a few atomic increments and
+ * percentiles are accurate to within a factor of two.  Negative values are
+ * recorded as 0.  Safe for concurrent update from many threads.
+ *
+ * @since 4.11
+ */
+public final class Histogram {
+
+	// Bucket 0 holds 0, bucket i holds values in [2^(i-1), 2^i - 1]
+	private static final int BUCKETS = 64;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	private static int getBucket(long value) {
+		return 64 - Long.numberOfLeadingZeros(value);
+	}
+
+	public void record(long value) {
+		if (value < 0)
+			value = 0;
+		buckets.incrementAndGet(getBucket(value));
+		count.increment();
+		sum.add(value);
+		long m = max.get();
+		while (value > m && !max.compareAndSet(m, value))
+			m = max.get();
+	}
+
+	/**
+	 * @return long the number of values recorded
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return long the sum of the values recorded
+	 */
+	public long getSum() {
+		return sum.sum();
+	}
+
+	/**
+	 * @return long the largest value recorded, or 0 if none was recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return long the mean of the values recorded, or 0 if none was recorded
+	 */
+	public long getMean() {
+		final long c = getCount();
+		return (c == 0) ? 0 : getSum() / c;
+	}
+
+	/**
+	 * @param percentile the percentile, between 0 and 100
+	 * @return long an upper bound of the given percentile of the values recorded,
+	 * no larger than {@link #getMax()}.  0 if no value was recorded.
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException("percentile must be between 0 and 100"); //$NON-NLS-1$
+		long total = 0;
+		final long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0)
+			return 0;
+		final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		int i = 0;
+		for (; i < BUCKETS - 1; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				break;
+		}
+		return Math.min((1L << i) - 1, getMax());
+	}
+
+	public String toString() {
+		final StringBuffer buf = new StringBuffer("count="); //$NON-NLS-1$
+		buf.append(getCount());
+		buf.append(";mean=").append(getMean()); //$NON-NLS-1$
+		buf.append(";p50=").append(getPercentile(50)); //$NON-NLS-1$
+		buf.append(";p99=").append(getPercentile(99)); //$NON-NLS-1$
+		buf.append(";max=").append(getMax()); //$NON-NLS-1$
+		return buf.toString();
+	}
+}
@@ -0,0 +1,70 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.metrics;
+
+import java.util.List;
+
+/**
+ * Service giving access to the metrics of the connections, containers and shared
+ * objects of the generic provider, and of the remote services called through it.
+ * Registered by the provider bundle whether or not metrics are enabled.
+ *
+ * @since 4.11
+ */
+public interface IMetricsService {
+
+	/**
+	 * Type of the groups holding the metrics of a connection
+	 */
+	public static final String TYPE_CONNECTION = "connection"; //$NON-NLS-1$
+
+	/**
+	 * Type of the groups holding the metrics of a container
+	 */
+	public static final String TYPE_CONTAINER = "container"; //$NON-NLS-1$
+
+	/**
+	 * Type of the groups holding the metrics of a shared object
+	 */
+	public static final String TYPE_SHARED_OBJECT = "sharedobject"; //$NON-NLS-1$
+
+	/**
+	 * Type of the groups holding the per method metrics of the calls to a remote service,
+	 * on its host or on a requestor
+	 */
+	public static final String TYPE_REMOTE_SERVICE = "remoteservice"; //$NON-NLS-1$
+
+	/**
+	 * @return boolean true if metrics are collected for connections, containers, shared
+	 * objects and remote services created from now on
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * @return List of {@link MetricGroup}s, sorted by type and name.  Will not be <code>null</code>.
+	 */
+	public List<MetricGroup> getGroups();
+
+	/**
+	 * @param type the type of the groups to return.  Must not be <code>null</code>.
+	 * @return List of {@link MetricGroup}s of the given type, sorted by name.  Will not be <code>null</code>.
+	 */
+	public List<MetricGroup> getGroups(String type);
+
+	/**
+	 * @param type the group type.  Must not be <code>null</code>.
+	 * @param name the group name.  Must not be <code>null</code>.
+	 * @return MetricGroup the group with the given type and name, or <code>null</code> if there is none
+	 */
+	public MetricGroup getGroup(String type, String name);
+}
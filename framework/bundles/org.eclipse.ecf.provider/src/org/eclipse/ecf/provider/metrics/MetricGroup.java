@@ -0,0 +1,122 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named set of counters, gauges and histograms of one connection, container or
+ * shared object.  Created with {@link MetricsRegistry#createGroup(String, String)}
+ * and removed from the registry with {@link #close()} when the owner goes away.
+ *
+ * @since 4.11
+ */
+public class MetricGroup {
+
+	private final MetricsRegistry registry;
+	private final String type;
+	private final String name;
+	private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+	private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+	private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+
+	MetricGroup(MetricsRegistry registry, String type, String name) {
+		this.registry = registry;
+		this.type = type;
+		this.name = name;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @param counterName the counter name.  Must not be <code>null</code>.
+	 * @return Counter the counter with the given name, created if it does not exist
+	 */
+	public Counter counter(String counterName) {
+		Counter counter = counters.get(counterName);
+		if (counter == null) {
+			counter = new Counter();
+			final Counter existing = counters.putIfAbsent(counterName, counter);
+			if (existing != null)
+				counter = existing;
+		}
+		return counter;
+	}
+
+	/**
+	 * @param gaugeName the gauge name.  Must not be <code>null</code>.
+	 * @param gauge the gauge.  Replaces any gauge with the same name.  Must not be <code>null</code>.
+	 */
+	public void gauge(String gaugeName, Gauge gauge) {
+		gauges.put(gaugeName, gauge);
+	}
+
+	/**
+	 * @param histogramName the histogram name.  Must not be <code>null</code>.
+	 * @return Histogram the histogram with the given name, created if it does not exist
+	 */
+	public Histogram histogram(String histogramName) {
+		Histogram histogram = histograms.get(histogramName);
+		if (histogram == null) {
+			histogram = new Histogram();
+			final Histogram existing = histograms.putIfAbsent(histogramName, histogram);
+			if (existing != null)
+				histogram = existing;
+		}
+		return histogram;
+	}
+
+	/**
+	 * @return Map of counter name to {@link Counter}, sorted by name
+	 */
+	public Map<String, Counter> getCounters() {
+		return new TreeMap<String, Counter>(counters);
+	}
+
+	/**
+	 * @return Map of gauge name to {@link Gauge}, sorted by name
+	 */
+	public Map<String, Gauge> getGauges() {
+		return new TreeMap<String, Gauge>(gauges);
+	}
+
+	/**
+	 * @return Map of histogram name to {@link Histogram}, sorted by name
+	 */
+	public Map<String, Histogram> getHistograms() {
+		return new TreeMap<String, Histogram>(histograms);
+	}
+
+	/**
+	 * Remove this group from its registry.  The metrics may still be updated,
+	 * but are no longer listed.
+	 */
+	public void close() {
+		registry.removeGroup(this);
+	}
+
+	public String toString() {
+		final StringBuffer buf = new StringBuffer("MetricGroup["); //$NON-NLS-1$
+		buf.append("type=").append(type); //$NON-NLS-1$
+		buf.append(";name=").append(name).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
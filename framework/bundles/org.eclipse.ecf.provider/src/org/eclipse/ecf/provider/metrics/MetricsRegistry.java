@@ -0,0 +1,107 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link MetricGroup}s of the generic provider.
+ * <p>
+ * Metrics are disabled unless the system property <code>org.eclipse.ecf.provider.metrics</code>
+ * is set to <code>true</code>.  When disabled, {@link #createGroup(String, String)} returns
+ * <code>null</code> and connections, containers and shared objects skip all metric updates,
+ * so that the only cost is a <code>null</code> check.  Enabling or disabling affects
+ * the groups created afterwards only.
+ *
+ * @since 4.11
+ */
+public class MetricsRegistry implements IMetricsService {
+
+	public static final String ENABLED_PROPERTY = "org.eclipse.ecf.provider.metrics"; //$NON-NLS-1$
+
+	private static final MetricsRegistry defaultRegistry = new MetricsRegistry(Boolean.getBoolean(ENABLED_PROPERTY));
+
+	private final Map<String, MetricGroup> groups = new ConcurrentHashMap<String, MetricGroup>();
+	private volatile boolean enabled;
+
+	/**
+	 * @return MetricsRegistry the registry used by the connections and containers of this bundle
+	 */
+	public static MetricsRegistry getDefault() {
+		return defaultRegistry;
+	}
+
+	public MetricsRegistry(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param enabled true to collect metrics for the groups created from now on
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	private static String getKey(String type, String name) {
+		return type + "/" + name; //$NON-NLS-1$
+	}
+
+	/**
+	 * Create a group.  A group with the same type and name is replaced.
+	 * @param type the group type, for example {@link IMetricsService#TYPE_CONNECTION}.  Must not be <code>null</code>.
+	 * @param name the group name.  Must not be <code>null</code>.
+	 * @return MetricGroup the new group, or <code>null</code> if metrics are disabled
+	 */
+	public MetricGroup createGroup(String type, String name) {
+		if (!enabled)
+			return null;
+		final MetricGroup group = new MetricGroup(this, type, name);
+		groups.put(getKey(type, name), group);
+		return group;
+	}
+
+	void removeGroup(MetricGroup group) {
+		groups.remove(getKey(group.getType(), group.getName()), group);
+	}
+
+	public List<MetricGroup> getGroups() {
+		return new ArrayList<MetricGroup>(new TreeMap<String, MetricGroup>(groups).values());
+	}
+
+	public List<MetricGroup> getGroups(String type) {
+		final List<MetricGroup> result = new ArrayList<MetricGroup>();
+		for (final MetricGroup group : getGroups())
+			if (group.getType().equals(type))
+				result.add(group);
+		return result;
+	}
+
+	public MetricGroup getGroup(String type, String name) {
+		return groups.get(getKey(type, name));
+	}
+
+	public String toString() {
+		final StringBuffer buf = new StringBuffer("MetricsRegistry["); //$NON-NLS-1$
+		buf.append("enabled=").append(enabled); //$NON-NLS-1$
+		buf.append(";groups=").append(groups.size()).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
@@ -0,0 +1,342 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.ecf.core.util.Trace;
+import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
+import org.eclipse.ecf.internal.provider.ProviderPlugin;
+
+/**
+ * Timer for large numbers of timeouts that are usually cancelled before they
+ * expire, such as request timeouts.  Timeouts are kept in the buckets of a wheel
+ * that a single thread advances one bucket per tick, so that adding, cancelling
+ * and expiring a timeout take constant time.  Timeouts expire within one tick
+ * after their delay has elapsed.
+ * <p>
+ * Expired tasks are run on the timer thread and must therefore be short and
+ * must not block, for example completing a future.  The thread is started on
+ * first use and waits without ticking while there are no timeouts.
+ *
+ * @since 4.11
+ */
+public class HashedWheelTimer {
+
+	/**
+	 * Handle for a task scheduled with {@link HashedWheelTimer#newTimeout(Runnable, long, TimeUnit)}
+	 */
+	public interface Timeout {
+		/**
+		 * Cancel the timeout.
+		 * @return boolean true if cancelled, false if it already expired or was cancelled
+		 */
+		public boolean cancel();
+
+		/**
+		 * @return boolean true if the timeout was cancelled
+		 */
+		public boolean isCancelled();
+
+		/**
+		 * @return boolean true if the timeout expired, whether or not its task completed normally
+		 */
+		public boolean isExpired();
+	}
+
+	private static final int STATE_INIT = 0;
+	private static final int STATE_CANCELLED = 1;
+	private static final int STATE_EXPIRED = 2;
+
+	private final String name;
+	private final long tickDuration;
+	private final Bucket[] wheel;
+	private final int mask;
+	private final Queue<WheelTimeout> newTimeouts = new ConcurrentLinkedQueue<WheelTimeout>();
+	private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<WheelTimeout>();
+	private final AtomicInteger pending = new AtomicInteger();
+	private final Object idleLock = new Object();
+	private final long startTime = System.nanoTime();
+	private Thread worker;
+	private volatile boolean stopped;
+	// Only used by the worker thread
+	private long tick;
+
+	/**
+	 * @param name the name of the timer thread.  Must not be <code>null</code>.
+	 * @param tickDuration the duration of a tick.  Must be &gt; 0.
+	 * @param unit the unit of tickDuration.  Must not be <code>null</code>.
+	 * @param ticksPerWheel the number of buckets of the wheel.  Rounded up to a power of two.
+	 */
+	public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+		if (name == null)
+			throw new NullPointerException("name cannot be null"); //$NON-NLS-1$
+		if (tickDuration <= 0)
+			throw new IllegalArgumentException("tickDuration must be > 0"); //$NON-NLS-1$
+		if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30))
+			throw new IllegalArgumentException("ticksPerWheel must be > 0 and <= 2^30"); //$NON-NLS-1$
+		this.name = name;
+		this.tickDuration = unit.toNanos(tickDuration);
+		int size = 1;
+		while (size < ticksPerWheel)
+			size <<= 1;
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++)
+			wheel[i] = new Bucket();
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Schedule a task to run once after the given delay.
+	 * @param task the task to run on the timer thread.  Must not be <code>null</code>.
+	 * @param delay the delay
+	 * @param unit the unit of delay.  Must not be <code>null</code>.
+	 * @return Timeout handle that may be used to cancel the task
+	 * @throws IllegalStateException if the timer was stopped
+	 */
+	public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+		if (task == null)
+			throw new NullPointerException("task cannot be null"); //$NON-NLS-1$
+		if (stopped)
+			throw new IllegalStateException("Timer " + name + " stopped"); //$NON-NLS-1$ //$NON-NLS-2$
+		start();
+		final WheelTimeout timeout = new WheelTimeout(task, System.nanoTime() + Math.max(0, unit.toNanos(delay)));
+		newTimeouts.add(timeout);
+		if (pending.getAndIncrement() == 0) {
+			synchronized (idleLock) {
+				idleLock.notifyAll();
+			}
+		}
+		return timeout;
+	}
+
+	/**
+	 * @return int the number of timeouts that neither expired nor were cancelled
+	 */
+	public int getPendingTimeouts() {
+		return pending.get();
+	}
+
+	/**
+	 * Stop the timer thread.  Pending timeouts will not expire.
+	 */
+	public void stop() {
+		stopped = true;
+		synchronized (idleLock) {
+			idleLock.notifyAll();
+		}
+	}
+
+	private synchronized void start() {
+		if (worker != null)
+			return;
+		worker = new Thread(new Runnable() {
+			public void run() {
+				runWorker();
+			}
+		}, name);
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	void runWorker() {
+		while (!stopped) {
+			if (!waitForTimeouts())
+				break;
+			if (!waitForNextTick())
+				break;
+			removeCancelled();
+			transferNewTimeouts();
+			wheel[(int) (tick & mask)].expire();
+			tick++;
+		}
+		debug("timer thread " + name + " stopped"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Wait without ticking while there are no timeouts.  On wake up the tick is
+	 * moved to the current time rather than processing the ticks missed.
+	 */
+	private boolean waitForTimeouts() {
+		if (pending.get() > 0)
+			return true;
+		// Buckets only hold cancelled timeouts, if any
+		removeCancelled();
+		synchronized (idleLock) {
+			while (pending.get() == 0 && !stopped) {
+				try {
+					idleLock.wait();
+				} catch (final InterruptedException e) {
+					return false;
+				}
+			}
+		}
+		tick = Math.max(tick, (System.nanoTime() - startTime) / tickDuration);
+		return !stopped;
+	}
+
+	/**
+	 * @return boolean false if the timer was stopped while waiting
+	 */
+	private boolean waitForNextTick() {
+		final long deadline = tickDuration * (tick + 1);
+		for (;;) {
+			final long sleepNanos = deadline - (System.nanoTime() - startTime);
+			if (sleepNanos <= 0)
+				return true;
+			try {
+				TimeUnit.NANOSECONDS.sleep(sleepNanos);
+			} catch (final InterruptedException e) {
+				if (stopped)
+					return false;
+			}
+		}
+	}
+
+	private void removeCancelled() {
+		WheelTimeout timeout;
+		while ((timeout = cancelledTimeouts.poll()) != null) {
+			if (timeout.bucket != null)
+				timeout.bucket.remove(timeout);
+		}
+	}
+
+	private void transferNewTimeouts() {
+		// Bounded, so that a flood of new timeouts does not delay the tick
+		for (int i = 0; i < 100000; i++) {
+			final WheelTimeout timeout = newTimeouts.poll();
+			if (timeout == null)
+				break;
+			if (timeout.state.get() == STATE_CANCELLED)
+				continue;
+			final long calculated = (timeout.deadline - startTime) / tickDuration;
+			timeout.remainingRounds = (calculated - tick) / wheel.length;
+			wheel[(int) (Math.max(calculated, tick) & mask)].add(timeout);
+		}
+	}
+
+	void expired(WheelTimeout timeout) {
+		pending.decrementAndGet();
+		try {
+			timeout.task.run();
+		} catch (final Throwable t) {
+			traceStack("Exception running timeout task " + timeout.task, t); //$NON-NLS-1$
+		}
+	}
+
+	protected void debug(String msg) {
+		Trace.trace(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.DEBUG, msg);
+	}
+
+	protected void traceStack(String msg, Throwable e) {
+		Trace.catching(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.EXCEPTIONS_CATCHING, HashedWheelTimer.class, msg, e);
+	}
+
+	public String toString() {
+		final StringBuffer buf = new StringBuffer("HashedWheelTimer["); //$NON-NLS-1$
+		buf.append("name=").append(name); //$NON-NLS-1$
+		buf.append(";pending=").append(pending.get()).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+
+	private final class WheelTimeout implements Timeout {
+		final Runnable task;
+		final long deadline;
+		final AtomicInteger state = new AtomicInteger(STATE_INIT);
+		// Only used by the worker thread
+		long remainingRounds;
+		Bucket bucket;
+		WheelTimeout next;
+		WheelTimeout prev;
+
+		WheelTimeout(Runnable task, long deadline) {
+			this.task = task;
+			this.deadline = deadline;
+		}
+
+		public boolean cancel() {
+			if (!state.compareAndSet(STATE_INIT, STATE_CANCELLED))
+				return false;
+			pending.decrementAndGet();
+			cancelledTimeouts.add(this);
+			return true;
+		}
+
+		public boolean isCancelled() {
+			return state.get() == STATE_CANCELLED;
+		}
+
+		public boolean isExpired() {
+			return state.get() == STATE_EXPIRED;
+		}
+
+		void expire() {
+			if (state.compareAndSet(STATE_INIT, STATE_EXPIRED))
+				expired(this);
+		}
+	}
+
+	/**
+	 * Doubly linked list of timeouts, only accessed by the worker thread
+	 */
+	private final class Bucket {
+		private WheelTimeout head;
+		private WheelTimeout tail;
+
+		void add(WheelTimeout timeout) {
+			timeout.bucket = this;
+			if (head == null)
+				head = tail = timeout;
+			else {
+				tail.next = timeout;
+				timeout.prev = tail;
+				tail = timeout;
+			}
+		}
+
+		void remove(WheelTimeout timeout) {
+			final WheelTimeout next = timeout.next;
+			if (timeout.prev != null)
+				timeout.prev.next = next;
+			if (next != null)
+				next.prev = timeout.prev;
+			if (timeout == head)
+				head = next;
+			if (timeout == tail)
+				tail = timeout.prev;
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.bucket = null;
+		}
+
+		/**
+		 * Expire the timeouts of this bucket that are due in the current round
+		 */
+		void expire() {
+			WheelTimeout timeout = head;
+			while (timeout != null) {
+				final WheelTimeout next = timeout.next;
+				if (timeout.remainingRounds <= 0) {
+					remove(timeout);
+					timeout.expire();
+				} else if (timeout.isCancelled())
+					remove(timeout);
+				else
+					timeout.remainingRounds--;
+				timeout = next;
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.util;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.ecf.core.util.Trace;
+import org.eclipse.ecf.internal.provider.ECFProviderDebugOptions;
+import org.eclipse.ecf.internal.provider.ProviderPlugin;
+
+/**
+ * Executor that runs submitted tasks one at a time, in submission order, on
+ * top of a (typically shared) delegate executor. Many serial executors can
+ * share a small pool of threads while each of them still guarantees FIFO
+ * ordering for its own tasks.
+ *
+ * @since 4.11
+ */
+public class SerialExecutor implements Executor {
+
+	/**
+	 * Maximum number of tasks run per scheduling of the drain task before
+	 * yielding the delegate thread to other serial executors.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.util.serialexecutor.batch", "64")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private final Executor executor;
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+	private final AtomicBoolean scheduled = new AtomicBoolean(false);
+	private final int batchSize;
+
+	private final Runnable drain = new Runnable() {
+		public void run() {
+			drain();
+		}
+	};
+
+	public SerialExecutor(Executor executor, int batchSize) {
+		if (executor == null)
+			throw new NullPointerException("executor cannot be null"); //$NON-NLS-1$
+		this.executor = executor;
+		this.batchSize = (batchSize <= 0) ? DEFAULT_BATCH_SIZE : batchSize;
+	}
+
+	public SerialExecutor(Executor executor) {
+		this(executor, DEFAULT_BATCH_SIZE);
+	}
+
+	public void execute(Runnable command) {
+		if (command == null)
+			throw new NullPointerException("command cannot be null"); //$NON-NLS-1$
+		tasks.add(command);
+		schedule();
+	}
+
+	/**
+	 * @return int the number of tasks waiting to be run
+	 */
+	public int size() {
+		return tasks.size();
+	}
+
+	/**
+	 * @return boolean true if no tasks are waiting to be run
+	 */
+	public boolean isEmpty() {
+		return tasks.isEmpty();
+	}
+
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				executor.execute(drain);
+			} catch (RejectedExecutionException e) {
+				scheduled.set(false);
+				throw e;
+			}
+		}
+	}
+
+	void drain() {
+		try {
+			Runnable r;
+			int count = 0;
+			while (count++ < batchSize && (r = tasks.poll()) != null) {
+				try {
+					r.run();
+				} catch (Throwable t) {
+					Trace.catching(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.EXCEPTIONS_CATCHING, SerialExecutor.class, "drain", t); //$NON-NLS-1$
+				}
+			}
+		} finally {
+			scheduled.set(false);
+			if (!tasks.isEmpty()) {
+				try {
+					schedule();
+				} catch (RejectedExecutionException e) {
+					Trace.catching(ProviderPlugin.PLUGIN_ID, ECFProviderDebugOptions.EXCEPTIONS_CATCHING, SerialExecutor.class, "drain", e); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	public String toString() {
+		StringBuffer buf = new StringBuffer("SerialExecutor["); //$NON-NLS-1$
+		buf.append("pending=").append(tasks.size()).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
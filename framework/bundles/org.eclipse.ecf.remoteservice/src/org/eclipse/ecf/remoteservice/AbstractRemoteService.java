@@ -16,6 +16,7 @@ import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import org.eclipse.core.runtime.*;
 import org.eclipse.ecf.core.jobs.JobsExecutor;
 import org.eclipse.ecf.core.util.ECFException;
@@ -145,7 +146,102 @@ public abstract class AbstractRemoteService extends AbstractAsyncProxyRemoteServ
 		return callAsync((IRemoteCall) call);
 	}
 
+	/**
+	 * Send the given call without holding a thread while waiting for its response.  The
+	 * returned future is completed with the result of the call, or exceptionally with the
+	 * exception {@link #callSync(IRemoteCall)} would throw, typically by the thread that
+	 * handles the response.  {@link #callAsync(IRemoteCall)} and {@link #callFutureAsync(IRemoteCall)}
+	 * complete the futures they return to callers on the {@link #getCompletionExecutor(IRemoteCall)
+	 * completion executor}, so that callers blocking in dependent actions cannot block
+	 * response handling.
+	 * <p>
+	 * By default returns <code>null</code>, and {@link #callAsync(IRemoteCall)} and
+	 * {@link #callFutureAsync(IRemoteCall)} run {@link #callSync(IRemoteCall)} on an executor
+	 * instead.  Providers that can complete calls from their response handling should override.
+	 *
+	 * @param call the remote call to send.  Will not be <code>null</code>
+	 * @return CompletableFuture completed with the result of the call, or <code>null</code> if
+	 * the provider does not support sending calls without blocking
+	 * @since 8.16
+	 */
+	protected CompletableFuture<Object> callNonBlocking(IRemoteCall call) {
+		return null;
+	}
+
+	/**
+	 * Get the executor that completes the futures of calls sent with {@link #callNonBlocking(IRemoteCall)}
+	 * and notifies the listeners of asynchronous calls, rather than the thread that handles
+	 * the response.  By default runs tasks on the {@link #getFutureExecutorService(IRemoteCall)
+	 * future executor service}, or on the calling thread if that is <code>null</code> or
+	 * has been shut down.
+	 *
+	 * @param call the remote call to get the executor for
+	 * @return Executor the executor.  Will not be <code>null</code>
+	 * @since 8.16
+	 */
+	protected Executor getCompletionExecutor(IRemoteCall call) {
+		final ExecutorService executorService = getFutureExecutorService(call);
+		return new Executor() {
+			public void execute(Runnable command) {
+				if (executorService != null) {
+					try {
+						executorService.execute(command);
+						return;
+					} catch (final RejectedExecutionException e) {
+						// disposed, complete on this thread
+					}
+				}
+				command.run();
+			}
+		};
+	}
+
+	/**
+	 * @return CompletableFuture completed by the completion executor as the future returned
+	 * by {@link #callNonBlocking(IRemoteCall)}, or <code>null</code> if that is <code>null</code>
+	 */
+	private CompletableFuture<Object> callNonBlockingAsync(IRemoteCall call) {
+		final CompletableFuture<Object> cf = callNonBlocking(call);
+		if (cf == null)
+			return null;
+		final CompletableFuture<Object> result = new CompletableFuture<Object>();
+		cf.whenCompleteAsync(new BiConsumer<Object, Throwable>() {
+			public void accept(Object r, Throwable exception) {
+				if (exception == null)
+					result.complete(r);
+				else
+					result.completeExceptionally((exception instanceof CompletionException && exception.getCause() != null) ? exception.getCause() : exception);
+			}
+		}, getCompletionExecutor(call));
+		result.whenComplete(new BiConsumer<Object, Throwable>() {
+			public void accept(Object r, Throwable exception) {
+				if (result.isCancelled())
+					cf.cancel(false);
+			}
+		});
+		return result;
+	}
+
 	public IFuture callAsync(final IRemoteCall call) {
+		final CompletableFuture<Object> cf = callNonBlockingAsync(call);
+		if (cf != null) {
+			final SingleOperationFuture future = new SingleOperationFuture(new NullProgressMonitor());
+			cf.whenComplete(new BiConsumer<Object, Throwable>() {
+				public void accept(final Object result, final Throwable exception) {
+					future.runWithProgress(new IProgressRunnable() {
+						public Object run(IProgressMonitor monitor) throws Exception {
+							final Throwable t = (exception instanceof CompletionException && exception.getCause() != null) ? exception.getCause() : exception;
+							if (t instanceof Exception)
+								throw (Exception) t;
+							if (t instanceof Error)
+								throw (Error) t;
+							return result;
+						}
+					});
+				}
+			});
+			return future;
+		}
 		IExecutor executor = getIFutureExecutor(call);
 		if (executor == null)
 			throw new ServiceException("iFuture executor is null.  Cannot callAsync remote method=" + call.getMethod()); //$NON-NLS-1$
@@ -390,6 +486,31 @@ public abstract class AbstractRemoteService extends AbstractAsyncProxyRemoteServ
 		return null;
 	}
 
+	private volatile RemoteCallCache callCache;
+
+	/**
+	 * Get the cache of the results of the calls made through the proxies of this remote
+	 * service.  By default created on first use from the properties of the remote service
+	 * reference, see {@link RemoteCallCache#create(IRemoteServiceReference)}.
+	 * 
+	 * @return RemoteCallCache the cache, or <code>null</code> if no results are cached
+	 * @since 8.16
+	 */
+	protected RemoteCallCache getCallCache() {
+		RemoteCallCache cache = callCache;
+		if (cache == null) {
+			final IRemoteServiceReference reference = getRemoteServiceReference();
+			if (reference == null)
+				return null;
+			synchronized (this) {
+				cache = callCache;
+				if (cache == null)
+					callCache = cache = RemoteCallCache.create(reference);
+			}
+		}
+		return cache;
+	}
+
 	protected Object invokeSync(IRemoteCall call) throws ECFException {
 		return callSync(call);
 	}
@@ -521,8 +642,20 @@ public abstract class AbstractRemoteService extends AbstractAsyncProxyRemoteServ
 		final long callTimeout = getCallTimeoutForProxyInvoke(callMethod, method, args);
 		// Create IRemoteCall instance from method, parameters, and timeout
 		final IRemoteCall remoteCall = createRemoteCall(callMethod, callParameters, callTimeout);
+		// Results of cacheable methods are kept by the call cache
+		final RemoteCallCache cache = getCallCache();
+		final long cacheTtl = (cache == null) ? 0 : cache.getTimeToLive(method);
 		// Invoke synchronously
 		try {
+			if (cacheTtl > 0) {
+				Object result = cache.get(method, callParameters);
+				if (result == RemoteCallCache.NOT_CACHED) {
+					final long generation = cache.getGeneration();
+					result = invokeSync(remoteCall);
+					cache.put(method, callMethod, callParameters, result, cacheTtl, generation);
+				}
+				return result;
+			}
 			return invokeSync(remoteCall);
 		} catch (ECFException e) {
 			handleInvokeSyncException(method.getName(), e);
@@ -637,6 +770,9 @@ public abstract class AbstractRemoteService extends AbstractAsyncProxyRemoteServ
 	 * @return Future future result
 	 */
 	protected Future callFutureAsync(final IRemoteCall call) {
+		final CompletableFuture<Object> cf = callNonBlockingAsync(call);
+		if (cf != null)
+			return cf;
 		ExecutorService executorService = getFutureExecutorService(call);
 		if (executorService == null)
 			throw new ServiceException("future executor service is null.  .  Cannot callAsync remote method=" + call.getMethod()); //$NON-NLS-1$
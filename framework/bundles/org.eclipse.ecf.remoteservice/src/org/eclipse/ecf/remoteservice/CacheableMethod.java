@@ -0,0 +1,39 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a method of a remote service interface whose results may be cached by remote
+ * service proxies.  Only methods without side effects, whose result depends only on
+ * their arguments, should be marked.  Methods may also be marked cacheable with the
+ * {@link Constants#SERVICE_CACHED_METHODS} service property, which takes precedence.
+ * <p>
+ * Cached results are returned to all callers as shared instances, not copies, so callers
+ * must not modify them.
+ * 
+ * @see RemoteCallCache
+ * @since 8.16
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheableMethod {
+
+	/**
+	 * @return long the time in ms that results are kept.  0 or less for the time given by
+	 * the {@link Constants#SERVICE_CACHE_TTL} service property.
+	 */
+	long ttl() default 0;
+}
@@ -116,6 +116,36 @@ public interface Constants {
 	 */
 	public static final String SERVICE_PREVENT_RSPROXY = "ecf.rsvc.norsproxy"; //$NON-NLS-1$
 
+	/**
+	 * Remote service property listing the methods whose results may be cached by the
+	 * proxies of consumers, see {@link RemoteCallCache}.  Each entry is a method name,
+	 * optionally followed by <code>=</code> and the time in ms that results of the method
+	 * are kept, for example <code>getConfiguration=60000</code>.  Methods without time use
+	 * the time given by {@link #SERVICE_CACHE_TTL}.  The value of this property must be of
+	 * type String (with entries separated by commas), String[] or Collection of String.
+	 * An entry applies to all methods of that name, whose results are cached separately.
+	 * Cached results are returned to all callers as shared instances, not copies, so
+	 * callers must not modify them.
+	 * @since 8.16
+	 */
+	public static final String SERVICE_CACHED_METHODS = "ecf.rsvc.cache.methods"; //$NON-NLS-1$
+
+	/**
+	 * Remote service property giving the time in ms that the results of cached methods are
+	 * kept, unless given per method.  Must be a Number or a String.  If not set, results
+	 * are kept for 10 seconds.
+	 * @since 8.16
+	 */
+	public static final String SERVICE_CACHE_TTL = "ecf.rsvc.cache.ttl"; //$NON-NLS-1$
+
+	/**
+	 * Remote service property giving the maximum number of results cached per remote
+	 * service on a consumer.  Must be a Number or a String.  If not set, up to 1000 results
+	 * are cached.  The least recently used results are evicted first.
+	 * @since 8.16
+	 */
+	public static final String SERVICE_CACHE_SIZE = "ecf.rsvc.cache.size"; //$NON-NLS-1$
+
 	/**
 	 * This constant allows the fully qualified async remote service proxy to be specified
 	 * as a service property.  For example, if the remote service interface is as so:
@@ -0,0 +1,33 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice;
+
+/**
+ * Implemented by {@link IRemoteService} instances whose provider can send a batch of
+ * calls to the remote service in a single request message.
+ * 
+ * @see RemoteServiceHelper#createCallBatch(IRemoteService, boolean)
+ * @since 8.16
+ */
+public interface IBatchRemoteService {
+
+	/**
+	 * Create a batch of calls to this remote service.
+	 * 
+	 * @param parallel true if the host may execute the calls of the batch in parallel,
+	 * false if it must execute them one after the other, in the order added
+	 * @return IRemoteCallBatch the new, empty batch.  Will not be <code>null</code>.
+	 */
+	public IRemoteCallBatch createCallBatch(boolean parallel);
+
+}
@@ -0,0 +1,64 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice;
+
+import org.eclipse.ecf.core.util.ECFException;
+import org.eclipse.equinox.concurrent.future.IFuture;
+
+/**
+ * Batch of calls to a single remote service.  Calls are added with {@link #add(IRemoteCall)},
+ * and sent together with {@link #send()}.  Providers that support batching send the calls in
+ * a single request message and return their results in a single response message.  Other
+ * providers send each call separately, as with
+ * {@link IRemoteService#callAsync(IRemoteCall, IRemoteCallListener)}.
+ * <p>
+ * Each call has its own timeout and completes its own future, whether or not the batch
+ * is sent in a single message.
+ * <p>
+ * A batch is obtained with {@link RemoteServiceHelper#createCallBatch(IRemoteService, boolean)}.
+ * 
+ * @see IBatchRemoteService
+ * @since 8.16
+ */
+public interface IRemoteCallBatch {
+
+	/**
+	 * Add a call to this batch.
+	 * 
+	 * @param call the remote call to add.  Must not be <code>null</code>.
+	 * @return IFuture the future that completes with the result of the call once the
+	 * batch is sent and the call is complete.  Will not be <code>null</code>.
+	 * @throws IllegalStateException if the batch has already been sent
+	 */
+	public IFuture add(IRemoteCall call) throws IllegalStateException;
+
+	/**
+	 * @return int the number of calls added to this batch
+	 */
+	public int size();
+
+	/**
+	 * Send the calls of this batch.  Does not wait for the calls to complete.  If the batch
+	 * cannot be sent, the futures of its calls complete with the exception thrown.
+	 * 
+	 * @throws ECFException if the batch cannot be sent
+	 * @throws IllegalStateException if the batch has already been sent
+	 */
+	public void send() throws ECFException, IllegalStateException;
+
+	/**
+	 * @return boolean true if {@link #send()} has been called, false otherwise
+	 */
+	public boolean isSent();
+
+}
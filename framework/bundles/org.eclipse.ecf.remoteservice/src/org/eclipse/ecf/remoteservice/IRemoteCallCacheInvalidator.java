@@ -0,0 +1,34 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice;
+
+/**
+ * Implemented by {@link IRemoteServiceRegistration} instances whose provider can tell
+ * consumers to drop the results of the service they have cached.
+ * 
+ * @see RemoteServiceHelper#invalidateCallCache(IRemoteServiceRegistration, String[])
+ * @see RemoteCallCache
+ * @since 8.16
+ */
+public interface IRemoteCallCacheInvalidator {
+
+	/**
+	 * Tell the consumers of this registration to drop cached results.  Results of calls
+	 * in progress when the consumer is told are not cached.
+	 * 
+	 * @param methods the methods whose results are dropped, or <code>null</code> to
+	 * drop the results of all methods
+	 */
+	public void invalidateCallCache(String[] methods);
+
+}
@@ -0,0 +1,146 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ecf.core.util.ECFException;
+import org.eclipse.ecf.remoteservice.events.IRemoteCallCompleteEvent;
+import org.eclipse.ecf.remoteservice.events.IRemoteCallEvent;
+import org.eclipse.equinox.concurrent.future.*;
+
+/**
+ * Batch of remote calls that sends each call separately, with
+ * {@link IRemoteService#callAsync(IRemoteCall, IRemoteCallListener)}.  Used for remote
+ * services that do not implement {@link IBatchRemoteService}.  Providers that do may subclass
+ * and override {@link #sendCalls(IRemoteCall[], IRemoteCallListener[])} to send the calls in
+ * a single message.
+ * 
+ * @since 8.16
+ */
+public class RemoteCallBatch implements IRemoteCallBatch {
+
+	protected final IRemoteService remoteService;
+
+	private final List<IRemoteCall> calls = new ArrayList<IRemoteCall>();
+	private final List<SingleOperationFuture> futures = new ArrayList<SingleOperationFuture>();
+	private boolean sent;
+
+	public RemoteCallBatch(IRemoteService remoteService) {
+		Assert.isNotNull(remoteService);
+		this.remoteService = remoteService;
+	}
+
+	public synchronized IFuture add(IRemoteCall call) throws IllegalStateException {
+		Assert.isNotNull(call);
+		if (sent)
+			throw new IllegalStateException("Remote call batch has already been sent"); //$NON-NLS-1$
+		final SingleOperationFuture future = new SingleOperationFuture(new NullProgressMonitor());
+		calls.add(call);
+		futures.add(future);
+		return future;
+	}
+
+	public synchronized int size() {
+		return calls.size();
+	}
+
+	public synchronized boolean isSent() {
+		return sent;
+	}
+
+	public void send() throws ECFException, IllegalStateException {
+		final IRemoteCall[] callsToSend;
+		final IRemoteCallListener[] listeners;
+		synchronized (this) {
+			if (sent)
+				throw new IllegalStateException("Remote call batch has already been sent"); //$NON-NLS-1$
+			sent = true;
+			callsToSend = calls.toArray(new IRemoteCall[calls.size()]);
+			listeners = new IRemoteCallListener[callsToSend.length];
+			for (int i = 0; i < listeners.length; i++)
+				listeners[i] = createListener(futures.get(i));
+		}
+		if (callsToSend.length == 0)
+			return;
+		try {
+			sendCalls(callsToSend, listeners);
+		} catch (final ECFException e) {
+			completeAll(e);
+			throw e;
+		} catch (final RuntimeException e) {
+			completeAll(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Send the calls of this batch.  The listener for each call must be notified with
+	 * an {@link IRemoteCallCompleteEvent} when the call completes, which completes
+	 * the future returned for the call by {@link #add(IRemoteCall)}.
+	 * 
+	 * @param callsToSend the calls to send, in the order added.  Will not be <code>null</code>
+	 * or empty.
+	 * @param listeners the listeners for callsToSend.  Will not be <code>null</code> and has
+	 * the same length as callsToSend.
+	 * @throws ECFException if the calls cannot be sent
+	 */
+	protected void sendCalls(IRemoteCall[] callsToSend, IRemoteCallListener[] listeners) throws ECFException {
+		for (int i = 0; i < callsToSend.length; i++)
+			remoteService.callAsync(callsToSend[i], listeners[i]);
+	}
+
+	private IRemoteCallListener createListener(final SingleOperationFuture future) {
+		return new IRemoteCallListener() {
+			public void handleEvent(IRemoteCallEvent event) {
+				if (event instanceof IRemoteCallCompleteEvent) {
+					final IRemoteCallCompleteEvent cce = (IRemoteCallCompleteEvent) event;
+					complete(future, cce.getResponse(), cce.hadException() ? cce.getException() : null);
+				}
+			}
+		};
+	}
+
+	private void completeAll(Throwable exception) {
+		final List<SingleOperationFuture> toComplete;
+		synchronized (this) {
+			toComplete = new ArrayList<SingleOperationFuture>(futures);
+		}
+		for (SingleOperationFuture future : toComplete)
+			complete(future, null, exception);
+	}
+
+	private static void complete(SingleOperationFuture future, final Object result, final Throwable exception) {
+		// Sets the result (or exception) of the future.  No effect if already done
+		if (future.isDone())
+			return;
+		future.runWithProgress(new IProgressRunnable() {
+			public Object run(IProgressMonitor monitor) throws Exception {
+				if (exception instanceof Exception)
+					throw (Exception) exception;
+				if (exception instanceof Error)
+					throw (Error) exception;
+				if (exception != null)
+					throw new ECFException(exception);
+				return result;
+			}
+		});
+	}
+
+	public String toString() {
+		return "RemoteCallBatch[remoteService=" + remoteService + ";size=" + size() + ";sent=" + isSent() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
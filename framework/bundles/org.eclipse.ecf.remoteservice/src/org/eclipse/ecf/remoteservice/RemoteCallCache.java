@@ -0,0 +1,312 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the results of calls to a remote service, used by its proxies on a consumer.
+ * Results of the methods marked cacheable, with the {@link Constants#SERVICE_CACHED_METHODS}
+ * service property or the {@link CacheableMethod} annotation, are kept by method and
+ * arguments for the time given for the method.  Calls that throw are not cached.
+ * <p>
+ * Cached results are returned to every caller with the same arguments as shared
+ * instances, not copies, so only methods without side effects, and whose results are not
+ * modified by callers, should be cached.  Results are kept by proxy method, so overloaded
+ * methods do not share results, and arguments are compared with
+ * {@link Arrays#deepEquals(Object[], Object[])}.  Array arguments are copied when a result
+ * is cached, so callers may modify them afterwards.  Other arguments are kept as given,
+ * and must not be modified once a result for them is cached.
+ * <p>
+ * Entries are dropped when they expire, when the cache is full (least recently used
+ * first), and when the cache is invalidated, e.g. by the host of the service with
+ * {@link RemoteServiceHelper#invalidateCallCache(IRemoteServiceRegistration, String[])}.
+ * 
+ * @since 8.16
+ */
+public class RemoteCallCache {
+
+	/**
+	 * Time in ms that results are kept if {@link Constants#SERVICE_CACHE_TTL} is not set
+	 */
+	public static final long DEFAULT_TTL = 10000;
+
+	/**
+	 * Maximum number of results cached if {@link Constants#SERVICE_CACHE_SIZE} is not set
+	 */
+	public static final int DEFAULT_SIZE = 1000;
+
+	/**
+	 * Returned by {@link #get(String, Object[])} if no result is cached
+	 */
+	public static final Object NOT_CACHED = new Object();
+
+	private static final Long NOT_CACHEABLE = Long.valueOf(0);
+
+	private final int maxSize;
+	private final long defaultTtl;
+	private final Map<String, Long> methodTtls;
+	// Time to live by proxy method, looked up on first call
+	private final ConcurrentMap<Method, Long> ttlsByMethod = new ConcurrentHashMap<Method, Long>();
+	private final Map<CallKey, Entry> entries;
+	// Incremented on invalidation, so that results of calls started before are not cached
+	private long generation;
+
+	/**
+	 * @param maxSize the maximum number of results cached
+	 * @param defaultTtl the time in ms that results of methods without own time are kept
+	 * @param methodTtls the time in ms that results are kept by method name, for the
+	 * methods cacheable in addition to those annotated with {@link CacheableMethod}.  A
+	 * time of 0 or less stands for defaultTtl.  May be <code>null</code>.
+	 */
+	public RemoteCallCache(final int maxSize, long defaultTtl, Map<String, Long> methodTtls) {
+		this.maxSize = maxSize;
+		this.defaultTtl = defaultTtl;
+		this.methodTtls = (methodTtls == null) ? Collections.<String, Long> emptyMap() : new HashMap<String, Long>(methodTtls);
+		this.entries = new LinkedHashMap<CallKey, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			protected boolean removeEldestEntry(Map.Entry<CallKey, Entry> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Create the cache for a remote service from the {@link Constants#SERVICE_CACHED_METHODS},
+	 * {@link Constants#SERVICE_CACHE_TTL} and {@link Constants#SERVICE_CACHE_SIZE} properties
+	 * of its reference.
+	 * @param reference the reference of the remote service.  Must not be <code>null</code>.
+	 * @return RemoteCallCache the new cache.  Will not be <code>null</code>.
+	 */
+	public static RemoteCallCache create(IRemoteServiceReference reference) {
+		final long ttl = getLongProperty(reference, Constants.SERVICE_CACHE_TTL, DEFAULT_TTL);
+		final int size = (int) getLongProperty(reference, Constants.SERVICE_CACHE_SIZE, DEFAULT_SIZE);
+		final Map<String, Long> methodTtls = new HashMap<String, Long>();
+		for (final String entry : getStringsProperty(reference, Constants.SERVICE_CACHED_METHODS)) {
+			final int eq = entry.indexOf('=');
+			final String method = ((eq < 0) ? entry : entry.substring(0, eq)).trim();
+			if (method.length() == 0)
+				continue;
+			long methodTtl = 0;
+			if (eq >= 0)
+				try {
+					methodTtl = Long.parseLong(entry.substring(eq + 1).trim());
+				} catch (final NumberFormatException e) {
+					// Use default
+				}
+			methodTtls.put(method, Long.valueOf(methodTtl));
+		}
+		return new RemoteCallCache(size, ttl, methodTtls);
+	}
+
+	private static long getLongProperty(IRemoteServiceReference reference, String key, long def) {
+		final Object value = reference.getProperty(key);
+		if (value instanceof Number)
+			return ((Number) value).longValue();
+		if (value instanceof String)
+			try {
+				return Long.parseLong(((String) value).trim());
+			} catch (final NumberFormatException e) {
+				// Use default
+			}
+		return def;
+	}
+
+	private static List<String> getStringsProperty(IRemoteServiceReference reference, String key) {
+		final Object value = reference.getProperty(key);
+		final List<String> result = new ArrayList<String>();
+		if (value instanceof String)
+			result.addAll(Arrays.asList(((String) value).split(","))); //$NON-NLS-1$
+		else if (value instanceof String[])
+			result.addAll(Arrays.asList((String[]) value));
+		else if (value instanceof Collection)
+			for (final Object o : (Collection<?>) value)
+				if (o instanceof String)
+					result.add((String) o);
+		return result;
+	}
+
+	/**
+	 * @param method the proxy method called.  Must not be <code>null</code>.
+	 * @return long the time in ms that results of method are kept, or 0 if its results are
+	 * not cached
+	 */
+	public long getTimeToLive(Method method) {
+		Long ttl = ttlsByMethod.get(method);
+		if (ttl == null) {
+			ttl = findTimeToLive(method);
+			ttlsByMethod.putIfAbsent(method, ttl);
+		}
+		return ttl.longValue();
+	}
+
+	private Long findTimeToLive(Method method) {
+		if (maxSize <= 0)
+			return NOT_CACHEABLE;
+		final Long ttl = methodTtls.get(method.getName());
+		if (ttl != null)
+			return Long.valueOf(ttl.longValue() > 0 ? ttl.longValue() : defaultTtl);
+		final CacheableMethod cacheable = method.getAnnotation(CacheableMethod.class);
+		if (cacheable != null)
+			return Long.valueOf(cacheable.ttl() > 0 ? cacheable.ttl() : defaultTtl);
+		return NOT_CACHEABLE;
+	}
+
+	/**
+	 * @return long the generation of this cache, to pass to
+	 * {@link #put(Method, String, Object[], Object, long, long)}.  Changes whenever the cache is
+	 * invalidated.
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * @param method the proxy method called.  Must not be <code>null</code>.
+	 * @param args the arguments of the call.  Must not be <code>null</code>.
+	 * @return Object the cached result of the call, which may be <code>null</code>, or
+	 * {@link #NOT_CACHED} if none is cached
+	 */
+	public synchronized Object get(Method method, Object[] args) {
+		final CallKey key = new CallKey(method, null, args);
+		final Entry entry = entries.get(key);
+		if (entry == null)
+			return NOT_CACHED;
+		if (entry.expires - System.nanoTime() <= 0) {
+			entries.remove(key);
+			return NOT_CACHED;
+		}
+		return entry.result;
+	}
+
+	/**
+	 * Cache the result of a call.
+	 * @param method the proxy method called.  Must not be <code>null</code>.
+	 * @param callMethod the name of the remote method called, by which the result is
+	 * invalidated.  Must not be <code>null</code>.
+	 * @param args the arguments of the call.  Must not be <code>null</code>.  Arrays are
+	 * copied, other arguments must not be modified once cached.
+	 * @param result the result of the call
+	 * @param ttl the time in ms that result is kept
+	 * @param callGeneration the {@link #getGeneration()} before the call was sent
+	 * @return boolean true if result was cached, false if the cache was invalidated since
+	 * the call was sent
+	 */
+	public synchronized boolean put(Method method, String callMethod, Object[] args, Object result, long ttl, long callGeneration) {
+		if (callGeneration != generation || ttl <= 0 || maxSize <= 0)
+			return false;
+		entries.put(new CallKey(method, callMethod, copyArrays(args)), new Entry(result, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl)));
+		return true;
+	}
+
+	// Copy of args with arrays, and the arrays in them, copied
+	private static Object[] copyArrays(Object[] args) {
+		final Object[] copy = args.clone();
+		for (int i = 0; i < copy.length; i++)
+			copy[i] = copyArray(copy[i]);
+		return copy;
+	}
+
+	private static Object copyArray(Object arg) {
+		if (arg instanceof Object[])
+			return copyArrays((Object[]) arg);
+		if (arg == null || !arg.getClass().isArray())
+			return arg;
+		final int length = Array.getLength(arg);
+		final Object copy = Array.newInstance(arg.getClass().getComponentType(), length);
+		System.arraycopy(arg, 0, copy, 0, length);
+		return copy;
+	}
+
+	/**
+	 * Drop all cached results.
+	 */
+	public synchronized void invalidate() {
+		generation++;
+		entries.clear();
+	}
+
+	/**
+	 * Drop the cached results of the given methods.
+	 * @param methods the methods whose results are dropped, or <code>null</code> to drop
+	 * all results
+	 */
+	public synchronized void invalidate(String[] methods) {
+		if (methods == null) {
+			invalidate();
+			return;
+		}
+		generation++;
+		final Set<String> methodSet = new HashSet<String>(Arrays.asList(methods));
+		for (final Iterator<CallKey> i = entries.keySet().iterator(); i.hasNext();)
+			if (methodSet.contains(i.next().callMethod))
+				i.remove();
+	}
+
+	/**
+	 * @return int the number of cached results, including expired ones not yet dropped
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public String toString() {
+		return "RemoteCallCache[size=" + size() + ";maxSize=" + maxSize + ";defaultTtl=" + defaultTtl + ";methods=" + methodTtls.keySet() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	private static final class CallKey {
+		private final Method method;
+		// Name of the remote method, for invalidation.  Not part of the key, as it is
+		// given by method
+		final String callMethod;
+		private final Object[] args;
+		private final int hash;
+
+		CallKey(Method method, String callMethod, Object[] args) {
+			this.method = method;
+			this.callMethod = callMethod;
+			this.args = args;
+			this.hash = 31 * method.hashCode() + Arrays.deepHashCode(args);
+		}
+
+		public int hashCode() {
+			return hash;
+		}
+
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof CallKey))
+				return false;
+			final CallKey other = (CallKey) o;
+			return hash == other.hash && method.equals(other.method) && Arrays.deepEquals(args, other.args);
+		}
+	}
+
+	private static final class Entry {
+		final Object result;
+		// System.nanoTime() at which the entry expires
+		final long expires;
+
+		Entry(Object result, long expires) {
+			this.result = result;
+			this.expires = expires;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice;
+
+import java.io.IOException;
+
+/**
+ * Exception for a remote call that failed locally, because its request could not
+ * be sent to the remote service, so that the remote service was not called.
+ * Providers throw it, or report it as the cause of the exception they throw, to
+ * tell such failures apart from exceptions thrown by the remote service.  It is an
+ * {@link IOException}, so that callers catching the {@link IOException} of a failed
+ * send keep working.
+ * <p>
+ * An instance received in the response of a remote call, e.g. because the remote
+ * service itself failed to call another remote service, is not {@link #isLocal() local}.
+ *
+ * @since 8.16
+ */
+public class RemoteCallTransportException extends IOException {
+
+	private static final long serialVersionUID = -2389611367744093542L;
+
+	// Not restored by deserialization, so false for received exceptions
+	private transient boolean local = true;
+
+	public RemoteCallTransportException(String message) {
+		super(message);
+	}
+
+	public RemoteCallTransportException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	/**
+	 * @return boolean <code>true</code> if this exception was created in this process,
+	 * <code>false</code> if it was deserialized, e.g. from the response of a remote call
+	 */
+	public boolean isLocal() {
+		return local;
+	}
+}
@@ -164,4 +164,41 @@ public class RemoteServiceHelper {
 	public static Object syncExec(IRemoteService remoteService, final String method, final Object[] parameters) throws ECFException {
 		return syncExec(remoteService, method, parameters, getDefaultTimeout());
 	}
+
+	/**
+	 * Create a batch of calls to the given remote service.  If the remote service implements
+	 * {@link IBatchRemoteService}, the batch is created by the remote service, and may be sent
+	 * in a single message.  Otherwise the calls of the batch are sent separately.
+	 * 
+	 * @param remoteService the IRemoteService to call.  Must not be <code>null</code>.
+	 * @param parallel true if the calls may be executed in parallel, false if they must be
+	 * executed one after the other, in the order added
+	 * @return IRemoteCallBatch the new, empty batch
+	 * @since 8.16
+	 */
+	public static IRemoteCallBatch createCallBatch(IRemoteService remoteService, boolean parallel) {
+		Assert.isNotNull(remoteService);
+		if (remoteService instanceof IBatchRemoteService)
+			return ((IBatchRemoteService) remoteService).createCallBatch(parallel);
+		return new RemoteCallBatch(remoteService);
+	}
+
+	/**
+	 * Tell the consumers of the given registration to drop the results of the service they
+	 * have cached.
+	 * 
+	 * @param registration the registration of the service.  Must not be <code>null</code>.
+	 * @param methods the methods whose results are dropped, or <code>null</code> to drop
+	 * the results of all methods
+	 * @return boolean true if the consumers were told, false if the provider of the
+	 * registration does not support it
+	 * @since 8.16
+	 */
+	public static boolean invalidateCallCache(IRemoteServiceRegistration registration, String[] methods) {
+		Assert.isNotNull(registration);
+		if (!(registration instanceof IRemoteCallCacheInvalidator))
+			return false;
+		((IRemoteCallCacheInvalidator) registration).invalidateCallCache(methods);
+		return true;
+	}
 }
@@ -0,0 +1,34 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice.util.tracker;
+
+/**
+ * Strategy used by a {@link LoadBalancedRemoteService} to select the remote service
+ * each call is sent to.  See {@link LoadBalancingStrategies} for the available
+ * strategies.  Implementations must be thread safe, as calls may be made
+ * concurrently.
+ *
+ * @since 8.16
+ */
+public interface ILoadBalancingStrategy {
+
+	/**
+	 * Select the member to send a call to.
+	 *
+	 * @param members the members to select from.  Will not be <code>null</code> or empty.
+	 * @param method the name of the method called.  Will not be <code>null</code>.
+	 * @return LoadBalancedRemoteService.Member the selected member.  Must be one of members.
+	 */
+	public LoadBalancedRemoteService.Member select(LoadBalancedRemoteService.Member[] members, String method);
+
+}
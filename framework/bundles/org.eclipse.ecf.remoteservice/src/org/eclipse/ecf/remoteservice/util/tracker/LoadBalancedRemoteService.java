@@ -0,0 +1,473 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice.util.tracker;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import org.eclipse.core.runtime.*;
+import org.eclipse.ecf.core.util.ECFException;
+import org.eclipse.ecf.remoteservice.*;
+import org.eclipse.ecf.remoteservice.events.IRemoteCallCompleteEvent;
+import org.eclipse.ecf.remoteservice.events.IRemoteCallEvent;
+import org.eclipse.equinox.concurrent.future.*;
+
+/**
+ * Remote service that spreads calls across several remote services for the same
+ * service, e.g. the same stateless service exported by several hosts.  Each call
+ * is sent to the member selected by an {@link ILoadBalancingStrategy}.
+ * <p>
+ * A call that fails because its member was removed while the call was in progress
+ * (e.g. its host disconnected), or because its request could not be sent, is sent
+ * again to another member, until it has been tried on every member.  See
+ * {@link #isFailover(Member, Throwable)}.  Exceptions thrown by the remote service
+ * itself, including {@link java.io.IOException}s, are not retried, as the remote
+ * service has been called.
+ * <p>
+ * Members are added and removed with {@link #addMember(IRemoteServiceReference, IRemoteService)}
+ * and {@link #removeMember(IRemoteServiceReference)}, or kept up to date by a
+ * {@link LoadBalancingRemoteServiceTracker}.  Proxies returned by {@link #getProxy()}
+ * select a member for each method call, so they stay valid as members change.
+ *
+ * @since 8.16
+ */
+public class LoadBalancedRemoteService implements IRemoteService {
+
+	/**
+	 * A remote service of a load balanced remote service, with statistics of the
+	 * calls sent to it.
+	 */
+	public static final class Member {
+
+		private final IRemoteServiceReference reference;
+		private final IRemoteService remoteService;
+		private final AtomicInteger outstandingCalls = new AtomicInteger();
+		// Exponentially weighted moving average, in ns
+		private volatile long averageLatency;
+		private volatile boolean available = true;
+
+		Member(IRemoteServiceReference reference, IRemoteService remoteService) {
+			this.reference = reference;
+			this.remoteService = remoteService;
+		}
+
+		public IRemoteServiceReference getReference() {
+			return reference;
+		}
+
+		public IRemoteService getRemoteService() {
+			return remoteService;
+		}
+
+		/**
+		 * @return int the number of calls sent to this member that have not completed yet
+		 */
+		public int getOutstandingCalls() {
+			return outstandingCalls.get();
+		}
+
+		/**
+		 * @return long the moving average of the time in ns that calls to this member took
+		 * to complete successfully, or 0 if no call has completed yet
+		 */
+		public long getAverageLatency() {
+			return averageLatency;
+		}
+
+		/**
+		 * @return boolean <code>false</code> if this member has been removed
+		 */
+		public boolean isAvailable() {
+			return available;
+		}
+
+		long begin() {
+			outstandingCalls.incrementAndGet();
+			return System.nanoTime();
+		}
+
+		void end(long startTime, boolean success) {
+			outstandingCalls.decrementAndGet();
+			if (success) {
+				final long latency = Math.max(1, System.nanoTime() - startTime);
+				synchronized (this) {
+					averageLatency = (averageLatency == 0) ? latency : averageLatency + (latency - averageLatency) / 5;
+				}
+			}
+		}
+
+		public String toString() {
+			return "Member[reference=" + reference + ";outstanding=" + getOutstandingCalls() + ";latency=" + averageLatency + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
+	private static final Member[] NO_MEMBERS = new Member[0];
+
+	private final ILoadBalancingStrategy strategy;
+	// Copied on write
+	private volatile Member[] members = NO_MEMBERS;
+
+	/**
+	 * @param strategy the strategy selecting the member for each call.  Must not be <code>null</code>.
+	 */
+	public LoadBalancedRemoteService(ILoadBalancingStrategy strategy) {
+		Assert.isNotNull(strategy);
+		this.strategy = strategy;
+	}
+
+	public ILoadBalancingStrategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * Add a member.  Has no effect if a member for reference has already been added.
+	 * @param reference the reference of the remote service.  Must not be <code>null</code>.
+	 * @param remoteService the remote service to send calls to.  Must not be <code>null</code>.
+	 */
+	public synchronized void addMember(IRemoteServiceReference reference, IRemoteService remoteService) {
+		Assert.isNotNull(reference);
+		Assert.isNotNull(remoteService);
+		if (indexOf(reference) >= 0)
+			return;
+		final Member[] newMembers = new Member[members.length + 1];
+		System.arraycopy(members, 0, newMembers, 0, members.length);
+		newMembers[members.length] = new Member(reference, remoteService);
+		members = newMembers;
+	}
+
+	/**
+	 * Remove a member.  Calls in progress to the member are failed over to other members
+	 * if they fail.
+	 * @param reference the reference of the member to remove.  Must not be <code>null</code>.
+	 * @return IRemoteService the remote service of the removed member, or <code>null</code> if
+	 * there was no member for reference
+	 */
+	public synchronized IRemoteService removeMember(IRemoteServiceReference reference) {
+		final int index = indexOf(reference);
+		if (index < 0)
+			return null;
+		final Member removed = members[index];
+		removed.available = false;
+		final Member[] newMembers = new Member[members.length - 1];
+		System.arraycopy(members, 0, newMembers, 0, index);
+		System.arraycopy(members, index + 1, newMembers, index, members.length - index - 1);
+		members = newMembers;
+		return removed.getRemoteService();
+	}
+
+	private int indexOf(IRemoteServiceReference reference) {
+		for (int i = 0; i < members.length; i++)
+			if (members[i].getReference().equals(reference))
+				return i;
+		return -1;
+	}
+
+	/**
+	 * @return Member[] the current members.  Will not be <code>null</code>.
+	 */
+	public Member[] getMembers() {
+		return members.clone();
+	}
+
+	public int size() {
+		return members.length;
+	}
+
+	/**
+	 * Select the member to send a call to.
+	 * @param method the name of the method called
+	 * @param tried the members the call has already been sent to
+	 * @return Member the selected member, or <code>null</code> if there is no member the
+	 * call has not been sent to
+	 */
+	protected Member select(String method, List<Member> tried) {
+		Member[] candidates = members;
+		if (!tried.isEmpty()) {
+			final List<Member> untried = new ArrayList<Member>(candidates.length);
+			for (int i = 0; i < candidates.length; i++)
+				if (!tried.contains(candidates[i]))
+					untried.add(candidates[i]);
+			candidates = untried.toArray(new Member[untried.size()]);
+		}
+		if (candidates.length == 0)
+			return null;
+		final Member result = strategy.select(candidates, method);
+		return (result == null) ? candidates[0] : result;
+	}
+
+	/**
+	 * Whether a failed call is sent again to another member.  By default, calls are
+	 * failed over if the member has been removed, or if exception is or was caused by
+	 * a {@link RemoteCallTransportException#isLocal() local} {@link RemoteCallTransportException},
+	 * i.e. if the provider could not send the call.  Exceptions received in the response
+	 * of the call are never failed over, as the call may have had effects.  Subclasses
+	 * may override.
+	 * @param member the member the call failed on.  Will not be <code>null</code>.
+	 * @param exception the exception the call failed with.  Will not be <code>null</code>.
+	 * @return boolean <code>true</code> if the call should be sent to another member
+	 */
+	protected boolean isFailover(Member member, Throwable exception) {
+		if (!member.isAvailable())
+			return true;
+		for (Throwable t = exception; t != null; t = t.getCause()) {
+			if (t instanceof RemoteCallTransportException && ((RemoteCallTransportException) t).isLocal())
+				return true;
+			if (t.getCause() == t)
+				break;
+		}
+		return false;
+	}
+
+	private ECFException createNoMemberException(String method) {
+		return new ECFException("No remote service available to call method=" + method); //$NON-NLS-1$
+	}
+
+	public Object callSync(IRemoteCall call) throws ECFException {
+		final List<Member> tried = new ArrayList<Member>();
+		ECFException lastException = null;
+		while (true) {
+			final Member member = select(call.getMethod(), tried);
+			if (member == null)
+				throw (lastException == null) ? createNoMemberException(call.getMethod()) : lastException;
+			final long startTime = member.begin();
+			boolean success = false;
+			try {
+				final Object result = member.getRemoteService().callSync(call);
+				success = true;
+				return result;
+			} catch (final ECFException e) {
+				if (!isFailover(member, e))
+					throw e;
+				lastException = e;
+			} finally {
+				member.end(startTime, success);
+			}
+			tried.add(member);
+		}
+	}
+
+	public void callAsync(IRemoteCall call, IRemoteCallListener listener) {
+		callAsync(call, listener, new ArrayList<Member>(), null);
+	}
+
+	private void callAsync(final IRemoteCall call, final IRemoteCallListener listener, final List<Member> tried, Throwable lastException) {
+		final Member member = select(call.getMethod(), tried);
+		if (member == null) {
+			listener.handleEvent(createFailedEvent((lastException == null) ? createNoMemberException(call.getMethod()) : lastException));
+			return;
+		}
+		final boolean first = tried.isEmpty();
+		final long startTime = member.begin();
+		try {
+			member.getRemoteService().callAsync(call, new IRemoteCallListener() {
+				public void handleEvent(IRemoteCallEvent event) {
+					if (event instanceof IRemoteCallCompleteEvent) {
+						final IRemoteCallCompleteEvent cce = (IRemoteCallCompleteEvent) event;
+						member.end(startTime, !cce.hadException());
+						if (cce.hadException() && cce.getException() != null && isFailover(member, cce.getException())) {
+							tried.add(member);
+							callAsync(call, listener, tried, cce.getException());
+							return;
+						}
+					} else if (!first)
+						// Only the start of the first attempt is reported
+						return;
+					listener.handleEvent(event);
+				}
+			});
+		} catch (final RuntimeException e) {
+			member.end(startTime, false);
+			if (!isFailover(member, e))
+				throw e;
+			tried.add(member);
+			callAsync(call, listener, tried, e);
+		}
+	}
+
+	private IRemoteCallCompleteEvent createFailedEvent(final Throwable exception) {
+		return new IRemoteCallCompleteEvent() {
+			public long getRequestId() {
+				return 0;
+			}
+
+			public Object getResponse() {
+				return null;
+			}
+
+			public boolean hadException() {
+				return true;
+			}
+
+			public Throwable getException() {
+				return exception;
+			}
+		};
+	}
+
+	public IFuture callAsync(IRemoteCall call) {
+		final SingleOperationFuture future = new SingleOperationFuture(new NullProgressMonitor());
+		callAsync(call, new IRemoteCallListener() {
+			public void handleEvent(IRemoteCallEvent event) {
+				if (event instanceof IRemoteCallCompleteEvent) {
+					final IRemoteCallCompleteEvent cce = (IRemoteCallCompleteEvent) event;
+					complete(future, cce.getResponse(), cce.hadException() ? cce.getException() : null);
+				}
+			}
+		});
+		return future;
+	}
+
+	private static void complete(SingleOperationFuture future, final Object result, final Throwable exception) {
+		if (future.isDone())
+			return;
+		future.runWithProgress(new IProgressRunnable() {
+			public Object run(IProgressMonitor monitor) throws Exception {
+				if (exception instanceof Exception)
+					throw (Exception) exception;
+				if (exception instanceof Error)
+					throw (Error) exception;
+				if (exception != null)
+					throw new ECFException(exception);
+				return result;
+			}
+		});
+	}
+
+	public void fireAsync(IRemoteCall call) throws ECFException {
+		final List<Member> tried = new ArrayList<Member>();
+		ECFException lastException = null;
+		while (true) {
+			final Member member = select(call.getMethod(), tried);
+			if (member == null)
+				throw (lastException == null) ? createNoMemberException(call.getMethod()) : lastException;
+			try {
+				member.getRemoteService().fireAsync(call);
+				return;
+			} catch (final ECFException e) {
+				if (!isFailover(member, e))
+					throw e;
+				lastException = e;
+			}
+			tried.add(member);
+		}
+	}
+
+	/**
+	 * The proxy implements the interfaces of the proxy of the first member.
+	 */
+	public Object getProxy() throws ECFException {
+		return createProxy(null, null);
+	}
+
+	public Object getProxy(ClassLoader cl, Class[] interfaceClasses) throws ECFException {
+		Assert.isNotNull(cl);
+		Assert.isNotNull(interfaceClasses);
+		return createProxy(cl, interfaceClasses);
+	}
+
+	private Object createProxy(ClassLoader cl, Class[] interfaceClasses) throws ECFException {
+		final Member[] ms = members;
+		if (ms.length == 0)
+			throw new ECFException("Cannot create proxy, no remote service available"); //$NON-NLS-1$
+		final ProxyHandler handler = new ProxyHandler(cl, interfaceClasses);
+		final Object memberProxy = handler.getMemberProxy(ms[0]);
+		try {
+			return Proxy.newProxyInstance(memberProxy.getClass().getClassLoader(), memberProxy.getClass().getInterfaces(), handler);
+		} catch (final IllegalArgumentException e) {
+			throw new ECFException("Failed to create proxy", e); //$NON-NLS-1$
+		}
+	}
+
+	class ProxyHandler implements InvocationHandler {
+
+		private final ClassLoader cl;
+		private final Class[] interfaceClasses;
+		// Removed members are dropped with the member
+		private final Map<Member, Object> memberProxies = Collections.synchronizedMap(new WeakHashMap<Member, Object>());
+
+		ProxyHandler(ClassLoader cl, Class[] interfaceClasses) {
+			this.cl = cl;
+			this.interfaceClasses = interfaceClasses;
+		}
+
+		Object getMemberProxy(Member member) throws ECFException {
+			Object result = memberProxies.get(member);
+			if (result == null) {
+				result = (cl == null) ? member.getRemoteService().getProxy() : member.getRemoteService().getProxy(cl, interfaceClasses);
+				memberProxies.put(member, result);
+			}
+			return result;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final Class declaringClass = method.getDeclaringClass();
+			if (declaringClass == Object.class) {
+				final String name = method.getName();
+				if (name.equals("equals")) //$NON-NLS-1$
+					return Boolean.valueOf(proxy == args[0]);
+				if (name.equals("hashCode")) //$NON-NLS-1$
+					return Integer.valueOf(System.identityHashCode(proxy));
+				return "LoadBalancedProxy[" + LoadBalancedRemoteService.this + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			if (declaringClass == IRemoteServiceProxy.class) {
+				if (method.getName().equals("getRemoteService")) //$NON-NLS-1$
+					return LoadBalancedRemoteService.this;
+				final Member[] ms = members;
+				return (ms.length == 0) ? null : ms[0].getReference();
+			}
+			final List<Member> tried = new ArrayList<Member>();
+			Throwable lastException = null;
+			while (true) {
+				final Member member = select(method.getName(), tried);
+				if (member == null)
+					throw (lastException == null) ? createNoMemberException(method.getName()) : lastException;
+				final long startTime = member.begin();
+				boolean async = false;
+				boolean success = false;
+				try {
+					final Object memberProxy = getMemberProxy(member);
+					if (!declaringClass.isInstance(memberProxy))
+						throw new ECFException("Proxy of member=" + member + " does not implement " + declaringClass.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+					final Object result = method.invoke(memberProxy, args);
+					if (result instanceof CompletionStage) {
+						async = true;
+						((CompletionStage<?>) result).whenComplete(new BiConsumer<Object, Throwable>() {
+							public void accept(Object r, Throwable exception) {
+								member.end(startTime, exception == null);
+							}
+						});
+					}
+					success = true;
+					return result;
+				} catch (final InvocationTargetException e) {
+					final Throwable cause = (e.getCause() == null) ? e : e.getCause();
+					if (!isFailover(member, cause))
+						throw cause;
+					lastException = cause;
+				} catch (final ECFException e) {
+					lastException = e;
+				} finally {
+					if (!async)
+						member.end(startTime, success);
+				}
+				tried.add(member);
+			}
+		}
+	}
+
+	public String toString() {
+		return "LoadBalancedRemoteService[strategy=" + strategy + ";members=" + Arrays.asList(members) + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -0,0 +1,80 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice.util.tracker;
+
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.remoteservice.*;
+
+/**
+ * Remote service tracker that keeps the members of a {@link LoadBalancedRemoteService}
+ * up to date with the tracked remote services.  Remote services are added as members
+ * when they are tracked, and removed when they are unregistered or their container
+ * disconnects, so calls through {@link #getLoadBalancedRemoteService()} (or its proxy)
+ * are spread over, and failed over to, all remote services currently tracked.
+ *
+ * <pre>
+ * LoadBalancingRemoteServiceTracker tracker = new LoadBalancingRemoteServiceTracker(adapter, null,
+ *     IComputeService.class.getName(), LoadBalancingStrategies.createLeastOutstanding());
+ * tracker.open();
+ * IComputeService compute = (IComputeService) tracker.getLoadBalancedRemoteService().getProxy();
+ * </pre>
+ *
+ * @since 8.16
+ */
+public class LoadBalancingRemoteServiceTracker extends RemoteServiceTracker {
+
+	private final LoadBalancedRemoteService loadBalancedRemoteService;
+
+	/**
+	 * @param containerAdapter the container adapter to track remote services of
+	 * @param containerIDs container IDs
+	 * @param clazz class name of the remote services to track
+	 * @param strategy the strategy selecting the remote service for each call.  Must not
+	 * be <code>null</code>.
+	 */
+	public LoadBalancingRemoteServiceTracker(IRemoteServiceContainerAdapter containerAdapter, ID[] containerIDs, String clazz, ILoadBalancingStrategy strategy) {
+		this(containerAdapter, containerIDs, clazz, new LoadBalancedRemoteService(strategy));
+	}
+
+	/**
+	 * @param containerAdapter the container adapter to track remote services of
+	 * @param containerIDs container IDs
+	 * @param clazz class name of the remote services to track
+	 * @param loadBalancedRemoteService the load balanced remote service to keep up to
+	 * date.  Must not be <code>null</code>.
+	 */
+	public LoadBalancingRemoteServiceTracker(IRemoteServiceContainerAdapter containerAdapter, ID[] containerIDs, String clazz, LoadBalancedRemoteService loadBalancedRemoteService) {
+		super(containerAdapter, containerIDs, clazz, null);
+		this.loadBalancedRemoteService = loadBalancedRemoteService;
+	}
+
+	/**
+	 * @return LoadBalancedRemoteService spreading calls over the tracked remote services.
+	 * Will not be <code>null</code>.
+	 */
+	public LoadBalancedRemoteService getLoadBalancedRemoteService() {
+		return loadBalancedRemoteService;
+	}
+
+	public IRemoteService addingService(IRemoteServiceReference reference) {
+		final IRemoteService remoteService = super.addingService(reference);
+		if (remoteService != null)
+			loadBalancedRemoteService.addMember(reference, remoteService);
+		return remoteService;
+	}
+
+	public void removedService(IRemoteServiceReference reference, IRemoteService remoteService) {
+		loadBalancedRemoteService.removeMember(reference);
+		super.removedService(reference, remoteService);
+	}
+}
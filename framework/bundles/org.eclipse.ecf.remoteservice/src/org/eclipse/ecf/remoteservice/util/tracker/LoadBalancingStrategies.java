@@ -0,0 +1,116 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.remoteservice.util.tracker;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.ecf.remoteservice.util.tracker.LoadBalancedRemoteService.Member;
+
+/**
+ * Load balancing strategies for {@link LoadBalancedRemoteService}.  Each call of a
+ * create method returns a new strategy instance, which should not be shared between
+ * load balanced remote services.
+ *
+ * @since 8.16
+ */
+public final class LoadBalancingStrategies {
+
+	private LoadBalancingStrategies() {
+		// no instantiation
+	}
+
+	/**
+	 * @return ILoadBalancingStrategy that selects the members in turn
+	 */
+	public static ILoadBalancingStrategy createRoundRobin() {
+		return new ILoadBalancingStrategy() {
+			private final AtomicInteger next = new AtomicInteger();
+
+			public Member select(Member[] members, String method) {
+				return members[(next.getAndIncrement() & Integer.MAX_VALUE) % members.length];
+			}
+
+			public String toString() {
+				return "RoundRobin"; //$NON-NLS-1$
+			}
+		};
+	}
+
+	/**
+	 * @return ILoadBalancingStrategy that selects the member with the fewest calls in
+	 * progress.  Ties are broken in turn, so that idle members share the calls.
+	 */
+	public static ILoadBalancingStrategy createLeastOutstanding() {
+		return new ILoadBalancingStrategy() {
+			private final AtomicInteger next = new AtomicInteger();
+
+			public Member select(Member[] members, String method) {
+				final int start = (next.getAndIncrement() & Integer.MAX_VALUE) % members.length;
+				Member result = null;
+				int min = Integer.MAX_VALUE;
+				for (int i = 0; i < members.length; i++) {
+					final Member member = members[(start + i) % members.length];
+					final int outstanding = member.getOutstandingCalls();
+					if (outstanding < min) {
+						min = outstanding;
+						result = member;
+					}
+				}
+				return result;
+			}
+
+			public String toString() {
+				return "LeastOutstanding"; //$NON-NLS-1$
+			}
+		};
+	}
+
+	/**
+	 * @return ILoadBalancingStrategy that selects members at random, with a probability
+	 * inversely proportional to their average call latency times their calls in progress
+	 * plus one.  Members without a completed call yet are weighted like the fastest member,
+	 * so that their latency gets known.
+	 */
+	public static ILoadBalancingStrategy createLatencyWeighted() {
+		return new ILoadBalancingStrategy() {
+			public Member select(Member[] members, String method) {
+				long fastest = Long.MAX_VALUE;
+				for (int i = 0; i < members.length; i++) {
+					final long latency = members[i].getAverageLatency();
+					if (latency > 0 && latency < fastest)
+						fastest = latency;
+				}
+				if (fastest == Long.MAX_VALUE)
+					fastest = 1;
+				final double[] weights = new double[members.length];
+				double total = 0;
+				for (int i = 0; i < members.length; i++) {
+					final long latency = members[i].getAverageLatency();
+					weights[i] = 1.0 / ((double) ((latency > 0) ? latency : fastest) * (members[i].getOutstandingCalls() + 1));
+					total += weights[i];
+				}
+				double r = ThreadLocalRandom.current().nextDouble() * total;
+				for (int i = 0; i < members.length; i++) {
+					r -= weights[i];
+					if (r < 0)
+						return members[i];
+				}
+				return members[members.length - 1];
+			}
+
+			public String toString() {
+				return "LatencyWeighted"; //$NON-NLS-1$
+			}
+		};
+	}
+}
@@ -0,0 +1,181 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.core.sharedobject.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.ecf.core.util.Event;
+
+/**
+ * {@link IQueue} implementation backed by a {@link MPSCQueue}.  Any number of
+ * threads may enqueue, but only one thread may dequeue.
+ *
+ * @since 2.8
+ */
+public class MPSCEventQueue implements IQueue {
+
+	private final MPSCQueue queue;
+	private volatile IEnqueueProcessor processor;
+
+	public MPSCEventQueue() {
+		this(new MPSCQueue());
+	}
+
+	/**
+	 * @param capacity the maximum number of events in the queue.  If &lt;= 0 the queue
+	 * is unbounded.
+	 */
+	public MPSCEventQueue(int capacity) {
+		this(new MPSCQueue(capacity));
+	}
+
+	public MPSCEventQueue(MPSCQueue queue) {
+		if (queue == null)
+			throw new NullPointerException("queue cannot be null"); //$NON-NLS-1$
+		this.queue = queue;
+	}
+
+	public MPSCQueue getQueue() {
+		return queue;
+	}
+
+	private boolean accept(Event event) {
+		final IEnqueueProcessor p = processor;
+		return p == null || p.accept(event);
+	}
+
+	public void enqueue(Event event) throws QueueException {
+		if (!accept(event))
+			return;
+		if (!queue.enqueue(event))
+			throw new QueueException(this);
+	}
+
+	public void enqueue(Event[] events) throws QueueException {
+		if (events != null)
+			for (int i = 0; i < events.length; i++)
+				enqueue(events[i]);
+	}
+
+	/**
+	 * @throws QueueException not thrown by this implementation.
+	 */
+	public Object enqueue_prepare(Event[] events) throws QueueException {
+		return events;
+	}
+
+	public void enqueue_commit(Object enqueue_key) {
+		if (enqueue_key instanceof Event[]) {
+			try {
+				enqueue((Event[]) enqueue_key);
+			} catch (final QueueException e) {
+				// queue closed, events are dropped as for any enqueue after close
+			}
+		}
+	}
+
+	public void enqueue_abort(Object enqueue_key) {
+		// Nothing was enqueued by prepare
+	}
+
+	public boolean enqueue_lossy(Event event) {
+		if (!accept(event))
+			return false;
+		return queue.offer(event);
+	}
+
+	public void setEnqueueProcessor(IEnqueueProcessor processor) {
+		this.processor = processor;
+	}
+
+	public IEnqueueProcessor getEnqueueProcessor() {
+		return processor;
+	}
+
+	public int size() {
+		return queue.size();
+	}
+
+	public Event dequeue() {
+		return (Event) queue.removeHead();
+	}
+
+	public Event[] dequeue(int num) {
+		if (num <= 0 || !queue.hasLinked(num))
+			return null;
+		return remove(num);
+	}
+
+	@SuppressWarnings("unchecked")
+	public Event[] dequeue_all() {
+		final List events = new ArrayList();
+		// Bounded by current size so that fast producers cannot keep this going
+		for (int i = queue.size(); i > 0; i--) {
+			final Object e = queue.removeHead();
+			if (e == null)
+				break;
+			events.add(e);
+		}
+		if (events.isEmpty())
+			return null;
+		return (Event[]) events.toArray(new Event[events.size()]);
+	}
+
+	// Called by consumer when at least num events are reachable
+	private Event[] remove(int num) {
+		final Event[] result = new Event[num];
+		for (int i = 0; i < num; i++)
+			result[i] = (Event) queue.removeHead();
+		return result;
+	}
+
+	public Event blocking_dequeue(int timeout_millis) {
+		if (waitFor(1, timeout_millis))
+			return dequeue();
+		return null;
+	}
+
+	public Event[] blocking_dequeue(int timeout_millis, int num) {
+		if (num <= 0)
+			return null;
+		if (waitFor(num, timeout_millis))
+			return remove(num);
+		return null;
+	}
+
+	public Event[] blocking_dequeue_all(int timeout_millis) {
+		if (waitFor(1, timeout_millis))
+			return dequeue_all();
+		return null;
+	}
+
+	/**
+	 * Wait until at least num events are available, the queue is stopped or the
+	 * timeout has elapsed.  A timeout of -1, or 0 as for {@link Object#wait(long)},
+	 * does not time out.
+	 */
+	private boolean waitFor(int num, int timeout_millis) {
+		return queue.await(num, (timeout_millis <= 0) ? 0 : TimeUnit.MILLISECONDS.toNanos(timeout_millis));
+	}
+
+	public void close() {
+		queue.close();
+	}
+
+	public String toString() {
+		final StringBuffer sb = new StringBuffer("MPSCEventQueue["); //$NON-NLS-1$
+		sb.append(queue).append("]"); //$NON-NLS-1$
+		return sb.toString();
+	}
+}
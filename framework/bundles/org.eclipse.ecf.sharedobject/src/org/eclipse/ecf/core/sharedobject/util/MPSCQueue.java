@@ -0,0 +1,279 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.core.sharedobject.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Multi-producer/single-consumer FIFO queue.  Drop in replacement for
+ * {@link SimpleFIFOQueue} when only one thread dequeues: enqueue is a single
+ * atomic exchange on a linked list (no monitor), and the consumer parks
+ * instead of waiting on a monitor, so producers never contend with the
+ * consumer.
+ * <p>
+ * {@link #peekQueue()}, {@link #peekQueue(long)}, {@link #peekHead(int)}, {@link #removeHead()},
+ * {@link #dequeue()} and {@link #flush()} must only be called by the single
+ * consumer thread.  All other methods may be called by any thread.
+ * <p>
+ * If created with a capacity, {@link #enqueue(Object)} blocks while the queue
+ * is full (back pressure), and {@link #offer(Object)} returns <code>false</code>.
+ *
+ * @since 2.8
+ */
+public class MPSCQueue extends SimpleFIFOQueue {
+
+	static final class Node {
+		volatile Node next;
+		Object value;
+
+		Node(Object value) {
+			this.value = value;
+		}
+	}
+
+	// Consumer side: head is a stub node whose next is the first element
+	private volatile Node head;
+	// Producer side: last node
+	private final AtomicReference<Node> tail;
+	private final AtomicInteger count = new AtomicInteger();
+	private final int capacity;
+	private final Semaphore permits;
+	private volatile Thread consumer;
+	private volatile boolean stopped;
+
+	/**
+	 * Create unbounded queue.
+	 */
+	public MPSCQueue() {
+		this(0);
+	}
+
+	/**
+	 * @param capacity the maximum number of elements in the queue.  If &lt;= 0 the queue
+	 * is unbounded.
+	 */
+	public MPSCQueue(int capacity) {
+		// Elements are kept in the linked nodes, not in a list of the superclass
+		super(null);
+		this.capacity = (capacity > 0) ? capacity : 0;
+		this.permits = (capacity > 0) ? new Semaphore(capacity) : null;
+		final Node stub = new Node(null);
+		head = stub;
+		tail = new AtomicReference<Node>(stub);
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public boolean enqueue(final Object obj) {
+		if (stopped || obj == null)
+			return false;
+		if (permits != null) {
+			try {
+				permits.acquire();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			// Closed while waiting for space
+			if (stopped)
+				return false;
+		}
+		link(obj);
+		return true;
+	}
+
+	/**
+	 * Enqueue without blocking.
+	 * @param obj the Object to enqueue
+	 * @return true if enqueued, false if queue is stopped or full
+	 */
+	public boolean offer(final Object obj) {
+		if (stopped || obj == null)
+			return false;
+		if (permits != null && !permits.tryAcquire())
+			return false;
+		link(obj);
+		return true;
+	}
+
+	private void link(Object obj) {
+		final Node node = new Node(obj);
+		final Node prev = tail.getAndSet(node);
+		prev.next = node;
+		count.incrementAndGet();
+		final Thread c = consumer;
+		if (c != null)
+			LockSupport.unpark(c);
+	}
+
+	public Object dequeue() {
+		final Object val = peekQueue();
+		if (val != null)
+			removeHead();
+		return val;
+	}
+
+	public Object peekQueue() {
+		return peek(0);
+	}
+
+	/**
+	 * @param waitMS time to wait for an element.  0 means wait until available, stopped
+	 * or interrupted, as for {@link SimpleFIFOQueue#peekQueue(long)}
+	 */
+	public Object peekQueue(final long waitMS) {
+		return peek((waitMS <= 0) ? 0 : TimeUnit.MILLISECONDS.toNanos(waitMS));
+	}
+
+	/**
+	 * @param waitNanos time to wait for an element.  0 means wait until available or stopped
+	 */
+	private Object peek(long waitNanos) {
+		if (!await(1, waitNanos))
+			return null;
+		return head.next.value;
+	}
+
+	/**
+	 * Wait until the queue holds at least num elements.  Must only be called by the
+	 * consumer thread.
+	 * 
+	 * @param num the number of elements to wait for
+	 * @param waitNanos time to wait.  0 or less means wait until available, stopped or interrupted,
+	 * as for {@link Object#wait(long)}
+	 * @return true if at least num elements are available, false if stopped, interrupted or
+	 * timed out
+	 */
+	boolean await(int num, long waitNanos) {
+		final boolean timed = waitNanos > 0;
+		final long deadline = timed ? System.nanoTime() + waitNanos : 0;
+		for (;;) {
+			if (hasLinked(num))
+				return true;
+			if (stopped)
+				return false;
+			consumer = Thread.currentThread();
+			try {
+				// Check again after publishing consumer so that a concurrent
+				// link either sees the consumer or is seen here
+				if (hasLinked(num))
+					return true;
+				if (stopped)
+					return false;
+				if (!timed)
+					LockSupport.park(this);
+				else {
+					final long remaining = deadline - System.nanoTime();
+					if (remaining <= 0)
+						return false;
+					LockSupport.parkNanos(this, remaining);
+				}
+			} finally {
+				consumer = null;
+			}
+			// Interrupt ends the wait as it does for SimpleFIFOQueue
+			if (Thread.interrupted())
+				return false;
+		}
+	}
+
+	/**
+	 * A producer links its node after swapping the tail, so for a moment an
+	 * element can be counted but not yet reachable from head.  Only reachable
+	 * elements are available to the consumer.
+	 * 
+	 * @param num the number of elements
+	 * @return true if at least num elements are reachable from head
+	 */
+	boolean hasLinked(int num) {
+		Node n = head;
+		for (int i = 0; i < num; i++) {
+			n = n.next;
+			if (n == null)
+				return false;
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	public Object[] peekHead(int max) {
+		final List out = new ArrayList();
+		for (Node n = head.next; n != null && out.size() < max; n = n.next)
+			out.add(n.value);
+		return out.toArray();
+	}
+
+	public Object removeHead() {
+		final Node next = head.next;
+		if (next == null)
+			return null;
+		final Object val = next.value;
+		next.value = null;
+		head = next;
+		count.decrementAndGet();
+		if (permits != null)
+			permits.release();
+		return val;
+	}
+
+	public boolean isEmpty() {
+		return head.next == null;
+	}
+
+	public void stop() {
+		stopped = true;
+	}
+
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	public int size() {
+		return count.get();
+	}
+
+	@SuppressWarnings("unchecked")
+	public Object[] flush() {
+		final List out = new ArrayList();
+		Object o;
+		while ((o = removeHead()) != null)
+			out.add(o);
+		close();
+		return out.toArray();
+	}
+
+	public void close() {
+		stop();
+		final Thread c = consumer;
+		if (c != null)
+			LockSupport.unpark(c);
+		// Release producers waiting for space
+		if (permits != null)
+			permits.release(capacity);
+	}
+
+	public String toString() {
+		final StringBuffer sb = new StringBuffer("MPSCQueue["); //$NON-NLS-1$
+		sb.append("size=").append(size()).append(";capacity=").append(capacity); //$NON-NLS-1$ //$NON-NLS-2$
+		sb.append(";stopped=").append(stopped).append("]"); //$NON-NLS-1$ //$NON-NLS-2$
+		return sb.toString();
+	}
+}
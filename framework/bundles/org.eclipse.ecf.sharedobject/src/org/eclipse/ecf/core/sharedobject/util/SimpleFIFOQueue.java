@@ -13,6 +13,7 @@
 
 package org.eclipse.ecf.core.sharedobject.util;
 
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -22,7 +23,18 @@ public class SimpleFIFOQueue implements ISimpleFIFOQueue {
 	private volatile boolean stopped;
 
 	public SimpleFIFOQueue() {
-		list = new LinkedList();
+		this(new LinkedList());
+	}
+
+	/**
+	 * @param list
+	 *            the list holding the queued objects. May be <code>null</code>
+	 *            only if the subclass overrides every method accessing the
+	 *            queued objects, i.e. keeps them itself.
+	 * @since 2.8
+	 */
+	protected SimpleFIFOQueue(List list) {
+		this.list = list;
 		stopped = false;
 	}
 
@@ -77,6 +89,24 @@ public class SimpleFIFOQueue implements ISimpleFIFOQueue {
 		return list.get(0);
 	}
 
+	/**
+	 * Get up to max objects from the head of the queue without removing them
+	 * and without waiting.
+	 * 
+	 * @param max
+	 *            the maximum number of objects to return
+	 * @return Object[] the objects at the head of the queue in queue order.
+	 *         Empty if the queue is empty.
+	 * @since 2.8
+	 */
+	public synchronized Object[] peekHead(int max) {
+		final Object[] out = new Object[Math.max(0, Math.min(max, list.size()))];
+		final Iterator i = list.iterator();
+		for (int j = 0; j < out.length; j++)
+			out[j] = i.next();
+		return out;
+	}
+
 	public synchronized Object removeHead() {
 		if (list.isEmpty())
 			return null;
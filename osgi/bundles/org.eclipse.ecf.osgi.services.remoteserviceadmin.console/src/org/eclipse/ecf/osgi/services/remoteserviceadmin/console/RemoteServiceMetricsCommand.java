@@ -0,0 +1,115 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.osgi.services.remoteserviceadmin.console;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.felix.service.command.CommandSession;
+import org.apache.felix.service.command.Descriptor;
+import org.eclipse.ecf.provider.metrics.Counter;
+import org.eclipse.ecf.provider.metrics.Histogram;
+import org.eclipse.ecf.provider.metrics.IMetricsService;
+import org.eclipse.ecf.provider.metrics.MetricGroup;
+import org.eclipse.ecf.provider.metrics.MetricsRegistry;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Lists the per method metrics of the calls to remote services made through the ECF
+ * generic provider.  A separate component from {@link RSACommand}, so that the latter
+ * does not depend on the provider.
+ */
+@Component(immediate = true, property = { "osgi.command.scope=ecf", "osgi.command.function=listcallmetrics",
+		"osgi.command.function=lcms" }, service = { RemoteServiceMetricsCommand.class })
+public class RemoteServiceMetricsCommand {
+
+	private static final String SERVICE_LINE_FORMAT = "%1$s\n"; //$NON-NLS-1$
+	private static final String METHOD_LINE_FORMAT = "  %1$-30s calls=%2$d errors=%3$d timeouts=%4$d rejected=%5$d\n"; //$NON-NLS-1$
+	private static final String HISTOGRAM_LINE_FORMAT = "    %1$-16s %2$s\n"; //$NON-NLS-1$
+
+	private static final String[] COUNTERS = { "calls", "errors", "timeouts", "rejected" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private IMetricsService metricsService;
+
+	@Reference
+	void bindMetricsService(IMetricsService ms) {
+		this.metricsService = ms;
+	}
+
+	void unbindMetricsService(IMetricsService ms) {
+		this.metricsService = null;
+	}
+
+	@Descriptor("List per method call metrics of remote services")
+	public void listcallmetrics(CommandSession cs) {
+		listcallmetrics(cs, null);
+	}
+
+	@Descriptor("List per method call metrics of remote services")
+	public void lcms(CommandSession cs) {
+		listcallmetrics(cs, null);
+	}
+
+	@Descriptor("List per method call metrics of remote services")
+	public void listcallmetrics(CommandSession cs,
+			@Descriptor("Part of container id, service id, interface or method name (String)") String filter) {
+		if (!metricsService.isEnabled())
+			cs.getConsole().format("Metrics are disabled.  Set system property %s=true to enable\n", //$NON-NLS-1$
+					MetricsRegistry.ENABLED_PROPERTY);
+		for (MetricGroup group : metricsService.getGroups(IMetricsService.TYPE_REMOTE_SERVICE))
+			printGroup(cs, group, filter);
+	}
+
+	public void lcms(CommandSession cs,
+			@Descriptor("Part of container id, service id, interface or method name (String)") String filter) {
+		listcallmetrics(cs, filter);
+	}
+
+	private static String getMethod(String metricName) {
+		final int dot = metricName.indexOf('.');
+		return (dot < 0) ? metricName : metricName.substring(0, dot);
+	}
+
+	private static String getMetric(String metricName) {
+		return metricName.substring(metricName.indexOf('.') + 1);
+	}
+
+	private void printGroup(CommandSession cs, MetricGroup group, String filter) {
+		final boolean groupMatches = filter == null || group.getName().contains(filter);
+		// Metrics are named method.metric
+		final Map<String, Counter> counters = group.getCounters();
+		final Map<String, Map<String, Histogram>> histogramsByMethod = new TreeMap<String, Map<String, Histogram>>();
+		for (Map.Entry<String, Histogram> e : group.getHistograms().entrySet()) {
+			final String method = getMethod(e.getKey());
+			if (groupMatches || method.contains(filter))
+				histogramsByMethod.computeIfAbsent(method, m -> new TreeMap<String, Histogram>())
+						.put(getMetric(e.getKey()), e.getValue());
+		}
+		if (histogramsByMethod.isEmpty())
+			return;
+		cs.getConsole().format(SERVICE_LINE_FORMAT, group.getName());
+		for (Map.Entry<String, Map<String, Histogram>> e : histogramsByMethod.entrySet()) {
+			final String method = e.getKey();
+			final Object[] args = new Object[COUNTERS.length + 1];
+			args[0] = method;
+			for (int i = 0; i < COUNTERS.length; i++) {
+				final Counter counter = counters.get(method + "." + COUNTERS[i]); //$NON-NLS-1$
+				args[i + 1] = Long.valueOf((counter == null) ? 0 : counter.getCount());
+			}
+			cs.getConsole().format(METHOD_LINE_FORMAT, args);
+			for (Map.Entry<String, Histogram> h : e.getValue().entrySet())
+				cs.getConsole().format(HISTOGRAM_LINE_FORMAT, h.getKey(), h.getValue());
+		}
+	}
+}
@@ -253,8 +253,8 @@ public class Activator implements BundleActivator {
 	public void start(BundleContext bundleContext) throws Exception {
 		Activator.context = bundleContext;
 		Activator.instance = this;
-		this.exportedRegistrations = new ArrayList<ExportRegistration>();
-		this.importedRegistrations = new ArrayList<ImportRegistration>();
+		this.exportedRegistrations = IndexedRegistrationCollection.createExportRegistrations();
+		this.importedRegistrations = IndexedRegistrationCollection.createImportRegistrations();
 		// start dependent bundles first
 		initializeDependents();
 		// initialize the RSA proxy service factory bundle...so that we
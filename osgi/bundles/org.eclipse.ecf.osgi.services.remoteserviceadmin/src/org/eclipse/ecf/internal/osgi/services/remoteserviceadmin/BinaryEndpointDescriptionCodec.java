@@ -0,0 +1,334 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.internal.osgi.services.remoteserviceadmin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compact binary encoding of endpoint description properties, for discovery
+ * providers that know the other side reads it. A document is
+ *
+ * <pre>
+ * int magic ('E' 'D' 'E' 'B'), byte version, int count, count * description
+ * description: int count, count * (string name, byte type, value)
+ * string: int length, length * byte (UTF-8)
+ * </pre>
+ *
+ * The low bits of type are the value type ({@link #STRING} to {@link #SHORT}),
+ * and the high bits are {@link #SCALAR}, {@link #ARRAY}, {@link #LIST} or
+ * {@link #SET}. Multi values are an int count followed by the values. The same
+ * property values as in EDEF are supported, and read back as
+ * {@link EndpointDescriptionParser} would read them from EDEF: arrays as arrays
+ * of the wrapper type, lists as ArrayList and sets as HashSet. Other properties
+ * are not written.
+ */
+public class BinaryEndpointDescriptionCodec {
+
+	public static final int MAGIC = 0x45444542;
+	public static final byte VERSION = 1;
+
+	static final byte STRING = 1;
+	static final byte LONG = 2;
+	static final byte DOUBLE = 3;
+	static final byte FLOAT = 4;
+	static final byte INTEGER = 5;
+	static final byte BYTE = 6;
+	static final byte CHARACTER = 7;
+	static final byte BOOLEAN = 8;
+	static final byte SHORT = 9;
+
+	static final byte SCALAR = 0x00;
+	static final byte ARRAY = 0x10;
+	static final byte LIST = 0x20;
+	static final byte SET = 0x30;
+
+	private static final byte VALUE_TYPE_MASK = 0x0f;
+	private static final byte MULTI_VALUE_MASK = 0x30;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+
+	/**
+	 * @param bytes the bytes to check. May be <code>null</code>.
+	 * @return <code>true</code> if bytes start with the header of this encoding,
+	 *         <code>false</code> otherwise, e.g. for an EDEF document
+	 */
+	public static boolean isBinaryFormat(byte[] bytes) {
+		return bytes != null && bytes.length >= 5 && ((bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16
+				| (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff)) == MAGIC && bytes[4] == VERSION;
+	}
+
+	/**
+	 * Write the given endpoint description properties to out. out is flushed but
+	 * not closed.
+	 */
+	public static void write(OutputStream out, List<Map<String, Object>> descriptions) throws IOException {
+		DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+		dos.writeInt(MAGIC);
+		dos.writeByte(VERSION);
+		dos.writeInt(descriptions.size());
+		for (Map<String, Object> properties : descriptions) {
+			// Count the properties that can be written first
+			List<Map.Entry<String, Object>> entries = new ArrayList<Map.Entry<String, Object>>(properties.size());
+			List<Byte> types = new ArrayList<Byte>(properties.size());
+			for (Map.Entry<String, Object> entry : properties.entrySet()) {
+				byte type = getType(entry.getValue());
+				if (type != 0) {
+					entries.add(entry);
+					types.add(Byte.valueOf(type));
+				}
+			}
+			dos.writeInt(entries.size());
+			for (int i = 0; i < entries.size(); i++) {
+				Map.Entry<String, Object> entry = entries.get(i);
+				byte type = types.get(i).byteValue();
+				writeString(dos, entry.getKey());
+				dos.writeByte(type);
+				Object value = entry.getValue();
+				byte valueType = (byte) (type & VALUE_TYPE_MASK);
+				if ((type & MULTI_VALUE_MASK) == SCALAR)
+					writeValue(dos, valueType, value);
+				else if (value instanceof Collection) {
+					Collection<?> values = (Collection<?>) value;
+					dos.writeInt(values.size());
+					for (Object v : values)
+						writeValue(dos, valueType, v);
+				} else {
+					int length = Array.getLength(value);
+					dos.writeInt(length);
+					for (int j = 0; j < length; j++)
+						writeValue(dos, valueType, Array.get(value, j));
+				}
+			}
+		}
+		dos.flush();
+	}
+
+	/**
+	 * Read endpoint description properties from in, and close in.
+	 *
+	 * @return List of the properties of each endpoint description. Property names
+	 *         are case insensitive.
+	 * @throws IOException if in cannot be read or does not have this encoding
+	 */
+	public static List<Map<String, Object>> read(InputStream in) throws IOException {
+		DataInputStream dis = new DataInputStream(new BufferedInputStream(in));
+		try {
+			if (dis.readInt() != MAGIC)
+				throw new IOException("Not a binary endpoint description document"); //$NON-NLS-1$
+			byte version = dis.readByte();
+			if (version != VERSION)
+				throw new IOException("Unsupported binary endpoint description version=" + version); //$NON-NLS-1$
+			int count = readCount(dis);
+			List<Map<String, Object>> results = new ArrayList<Map<String, Object>>(count);
+			for (int i = 0; i < count; i++) {
+				int propertyCount = readCount(dis);
+				Map<String, Object> properties = new TreeMap<String, Object>(String.CASE_INSENSITIVE_ORDER);
+				for (int j = 0; j < propertyCount; j++) {
+					String name = readString(dis);
+					byte type = dis.readByte();
+					byte valueType = (byte) (type & VALUE_TYPE_MASK);
+					int multiValue = type & MULTI_VALUE_MASK;
+					if (multiValue == SCALAR)
+						properties.put(name, readValue(dis, valueType));
+					else {
+						int length = readCount(dis);
+						Collection<Object> values = (multiValue == SET) ? new HashSet<Object>()
+								: new ArrayList<Object>(length);
+						for (int k = 0; k < length; k++)
+							values.add(readValue(dis, valueType));
+						properties.put(name, (multiValue == ARRAY)
+								? values.toArray((Object[]) Array.newInstance(getValueClass(valueType), length))
+								: values);
+					}
+				}
+				results.add(properties);
+			}
+			return results;
+		} finally {
+			dis.close();
+		}
+	}
+
+	// The type of value, or 0 if value cannot be written
+	private static byte getType(Object value) {
+		if (value == null)
+			return 0;
+		if (value instanceof Collection) {
+			byte valueType = getCommonValueType(((Collection<?>) value).iterator());
+			return (valueType == 0) ? 0 : (byte) (((value instanceof Set) ? SET : LIST) | valueType);
+		} else if (value instanceof Object[]) {
+			byte valueType = getCommonValueType(Arrays.asList((Object[]) value).iterator());
+			return (valueType == 0) ? 0 : (byte) (ARRAY | valueType);
+		} else if (value.getClass().isArray()) {
+			// Primitive array, written as array of the wrapper type
+			Object first = (Array.getLength(value) == 0) ? null : Array.get(value, 0);
+			byte valueType = (first == null) ? 0 : getValueType(first);
+			return (valueType == 0) ? 0 : (byte) (ARRAY | valueType);
+		}
+		return getValueType(value);
+	}
+
+	// The value type of all values, String for no values, or 0 if the values
+	// have different or unsupported types or null values
+	private static byte getCommonValueType(Iterator<?> values) {
+		byte result = 0;
+		while (values.hasNext()) {
+			Object value = values.next();
+			byte valueType = (value == null) ? 0 : getValueType(value);
+			if (valueType == 0 || (result != 0 && result != valueType))
+				return 0;
+			result = valueType;
+		}
+		return (result == 0) ? STRING : result;
+	}
+
+	private static byte getValueType(Object value) {
+		if (value instanceof String)
+			return STRING;
+		else if (value instanceof Long)
+			return LONG;
+		else if (value instanceof Double)
+			return DOUBLE;
+		else if (value instanceof Float)
+			return FLOAT;
+		else if (value instanceof Integer)
+			return INTEGER;
+		else if (value instanceof Byte)
+			return BYTE;
+		else if (value instanceof Character)
+			return CHARACTER;
+		else if (value instanceof Boolean)
+			return BOOLEAN;
+		else if (value instanceof Short)
+			return SHORT;
+		return 0;
+	}
+
+	private static Class<?> getValueClass(byte valueType) throws IOException {
+		switch (valueType) {
+		case STRING:
+			return String.class;
+		case LONG:
+			return Long.class;
+		case DOUBLE:
+			return Double.class;
+		case FLOAT:
+			return Float.class;
+		case INTEGER:
+			return Integer.class;
+		case BYTE:
+			return Byte.class;
+		case CHARACTER:
+			return Character.class;
+		case BOOLEAN:
+			return Boolean.class;
+		case SHORT:
+			return Short.class;
+		default:
+			throw new IOException("Invalid value type=" + valueType); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeValue(DataOutputStream dos, byte valueType, Object value) throws IOException {
+		switch (valueType) {
+		case STRING:
+			writeString(dos, (String) value);
+			break;
+		case LONG:
+			dos.writeLong(((Long) value).longValue());
+			break;
+		case DOUBLE:
+			dos.writeDouble(((Double) value).doubleValue());
+			break;
+		case FLOAT:
+			dos.writeFloat(((Float) value).floatValue());
+			break;
+		case INTEGER:
+			dos.writeInt(((Integer) value).intValue());
+			break;
+		case BYTE:
+			dos.writeByte(((Byte) value).byteValue());
+			break;
+		case CHARACTER:
+			dos.writeChar(((Character) value).charValue());
+			break;
+		case BOOLEAN:
+			dos.writeBoolean(((Boolean) value).booleanValue());
+			break;
+		default:
+			dos.writeShort(((Short) value).shortValue());
+			break;
+		}
+	}
+
+	private static Object readValue(DataInputStream dis, byte valueType) throws IOException {
+		switch (valueType) {
+		case STRING:
+			return readString(dis);
+		case LONG:
+			return Long.valueOf(dis.readLong());
+		case DOUBLE:
+			return Double.valueOf(dis.readDouble());
+		case FLOAT:
+			return Float.valueOf(dis.readFloat());
+		case INTEGER:
+			return Integer.valueOf(dis.readInt());
+		case BYTE:
+			return Byte.valueOf(dis.readByte());
+		case CHARACTER:
+			return Character.valueOf(dis.readChar());
+		case BOOLEAN:
+			return Boolean.valueOf(dis.readBoolean());
+		case SHORT:
+			return Short.valueOf(dis.readShort());
+		default:
+			throw new IOException("Invalid value type=" + valueType); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeString(DataOutputStream dos, String value) throws IOException {
+		byte[] bytes = value.getBytes(UTF8);
+		dos.writeInt(bytes.length);
+		dos.write(bytes);
+	}
+
+	private static String readString(DataInputStream dis) throws IOException {
+		byte[] bytes = new byte[readCount(dis)];
+		dis.readFully(bytes);
+		return new String(bytes, UTF8);
+	}
+
+	private static int readCount(DataInputStream dis) throws IOException {
+		int count = dis.readInt();
+		if (count < 0)
+			throw new IOException("Invalid count=" + count); //$NON-NLS-1$
+		return count;
+	}
+}
@@ -37,7 +37,7 @@ import org.xml.sax.helpers.DefaultHandler;
 
 public class EndpointDescriptionParser {
 
-	private static List<String> multiValueTypes;
+	static List<String> multiValueTypes;
 
 	static {
 		multiValueTypes = Arrays.asList(new String[] { "String", "Long", //$NON-NLS-1$ //$NON-NLS-2$
@@ -374,7 +374,7 @@ public class EndpointDescriptionParser {
 
 	}
 
-	private Object createValue(String valueType, String value) {
+	static Object createValue(String valueType, String value) {
 		if (value == null)
 			return null;
 		if (valueType.equals("String")) { //$NON-NLS-1$
@@ -0,0 +1,226 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.internal.osgi.services.remoteserviceadmin;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteServiceAdmin;
+import org.osgi.service.remoteserviceadmin.EndpointDescription;
+import org.osgi.service.remoteserviceadmin.ExportReference;
+import org.osgi.service.remoteserviceadmin.ExportRegistration;
+import org.osgi.service.remoteserviceadmin.ImportReference;
+import org.osgi.service.remoteserviceadmin.ImportRegistration;
+
+/**
+ * Thread safe collection of export or import registrations, shared by all
+ * RemoteServiceAdmin instances, that indexes the registrations by keys so that
+ * the registrations for a service or endpoint are found without scanning all of
+ * them.  The keys of a registration are computed when it is added, and are used
+ * to remove it again, so they need not be available after it is closed.
+ * <p>
+ * Registrations are kept in the order they were added, as in the lists used
+ * before, so iteration and {@link #get(int, Object)} return them in that order.
+ * Both work on a copy taken while holding the monitor of the collection, so the
+ * caller need not hold it.  Work on registrations with the same key is
+ * serialized by synchronizing on {@link #getLock(Object)}, so that work on
+ * unrelated services or endpoints proceeds in parallel.
+ */
+public class IndexedRegistrationCollection<R> extends AbstractCollection<R> {
+
+	/**
+	 * Index of export registrations by exported ServiceReference
+	 */
+	public static final int EXPORT_SERVICE_INDEX = 0;
+	/**
+	 * Index of import registrations by endpoint id
+	 */
+	public static final int IMPORT_ENDPOINT_INDEX = 0;
+	/**
+	 * Index of import registrations by the ID of the remote container of the
+	 * imported remote service
+	 */
+	public static final int IMPORT_CONTAINER_INDEX = 1;
+
+	private static final int LOCK_COUNT = 64;
+
+	/**
+	 * Computes the key of a registration for an index
+	 */
+	public interface KeyFunction<R> {
+		/**
+		 * @param registration the registration added
+		 * @return Object the key of registration, or <code>null</code> if
+		 *         registration is not indexed
+		 */
+		Object getKey(R registration);
+	}
+
+	private final KeyFunction<R>[] keyFunctions;
+	// registration -> keys of the registration, one per index. Guarded by this
+	private final Map<R, Object[]> registrations = new LinkedHashMap<R, Object[]>();
+	// key -> registrations with key, one map per index. Guarded by this
+	private final Map<Object, Set<R>>[] indexes;
+	private final Object[] locks = new Object[LOCK_COUNT];
+
+	@SuppressWarnings("unchecked")
+	public IndexedRegistrationCollection(KeyFunction<R>... keyFunctions) {
+		this.keyFunctions = keyFunctions;
+		this.indexes = new Map[keyFunctions.length];
+		for (int i = 0; i < indexes.length; i++)
+			indexes[i] = new HashMap<Object, Set<R>>();
+		for (int i = 0; i < locks.length; i++)
+			locks[i] = new Object();
+	}
+
+	/**
+	 * @return IndexedRegistrationCollection for export registrations, indexed by
+	 *         {@link #EXPORT_SERVICE_INDEX}
+	 */
+	@SuppressWarnings("unchecked")
+	public static IndexedRegistrationCollection<ExportRegistration> createExportRegistrations() {
+		return new IndexedRegistrationCollection<ExportRegistration>(new KeyFunction<ExportRegistration>() {
+			public Object getKey(ExportRegistration registration) {
+				final ExportReference ref = registration.getExportReference();
+				return (ref == null) ? null : ref.getExportedService();
+			}
+		});
+	}
+
+	/**
+	 * @return IndexedRegistrationCollection for import registrations, indexed by
+	 *         {@link #IMPORT_ENDPOINT_INDEX} and {@link #IMPORT_CONTAINER_INDEX}
+	 */
+	@SuppressWarnings("unchecked")
+	public static IndexedRegistrationCollection<ImportRegistration> createImportRegistrations() {
+		return new IndexedRegistrationCollection<ImportRegistration>(new KeyFunction<ImportRegistration>() {
+			public Object getKey(ImportRegistration registration) {
+				final ImportReference ref = registration.getImportReference();
+				final EndpointDescription ed = (ref == null) ? null : ref.getImportedEndpoint();
+				return (ed == null) ? null : ed.getId();
+			}
+		}, new KeyFunction<ImportRegistration>() {
+			public Object getKey(ImportRegistration registration) {
+				return (registration instanceof RemoteServiceAdmin.ImportRegistration)
+						? ((RemoteServiceAdmin.ImportRegistration) registration).getContainerID()
+						: null;
+			}
+		});
+	}
+
+	/**
+	 * @param index the index to get the registrations from
+	 * @param key   the key to get the registrations of
+	 * @return Collection of the registrations with key in index, in the order
+	 *         they were added. Will not be <code>null</code>.
+	 */
+	public synchronized Collection<R> get(int index, Object key) {
+		final Set<R> result = (key == null) ? null : indexes[index].get(key);
+		return (result == null) ? Collections.<R> emptyList() : new ArrayList<R>(result);
+	}
+
+	/**
+	 * @param key the key, e.g. the service reference or endpoint id, to get the
+	 *            lock for
+	 * @return Object to synchronize on while finding and adding registrations with
+	 *         key. Will not be <code>null</code>.
+	 */
+	public Object getLock(Object key) {
+		final int h = (key == null) ? 0 : key.hashCode();
+		return locks[(h ^ (h >>> 16)) & (LOCK_COUNT - 1)];
+	}
+
+	public synchronized boolean add(R registration) {
+		if (registrations.containsKey(registration))
+			return false;
+		final Object[] keys = new Object[keyFunctions.length];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = keyFunctions[i].getKey(registration);
+			if (keys[i] == null)
+				continue;
+			Set<R> set = indexes[i].get(keys[i]);
+			if (set == null) {
+				set = new LinkedHashSet<R>();
+				indexes[i].put(keys[i], set);
+			}
+			set.add(registration);
+		}
+		registrations.put(registration, keys);
+		return true;
+	}
+
+	public synchronized boolean remove(Object registration) {
+		final Object[] keys = registrations.remove(registration);
+		if (keys == null)
+			return false;
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] == null)
+				continue;
+			final Set<R> set = indexes[i].get(keys[i]);
+			if (set != null && set.remove(registration) && set.isEmpty())
+				indexes[i].remove(keys[i]);
+		}
+		return true;
+	}
+
+	public synchronized boolean contains(Object registration) {
+		return registrations.containsKey(registration);
+	}
+
+	public synchronized int size() {
+		return registrations.size();
+	}
+
+	public synchronized boolean isEmpty() {
+		return registrations.isEmpty();
+	}
+
+	public synchronized void clear() {
+		registrations.clear();
+		for (int i = 0; i < indexes.length; i++)
+			indexes[i].clear();
+	}
+
+	public Iterator<R> iterator() {
+		final Iterator<R> i;
+		synchronized (this) {
+			i = new ArrayList<R>(registrations.keySet()).iterator();
+		}
+		return new Iterator<R>() {
+			private R current;
+
+			public boolean hasNext() {
+				return i.hasNext();
+			}
+
+			public R next() {
+				current = i.next();
+				return current;
+			}
+
+			public void remove() {
+				if (current == null)
+					throw new IllegalStateException();
+				IndexedRegistrationCollection.this.remove(current);
+				current = null;
+			}
+		};
+	}
+}
@@ -0,0 +1,294 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.internal.osgi.services.remoteserviceadmin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Pull parser for the Endpoint Description Extender Format (EDEF), that reads
+ * the same documents as {@link EndpointDescriptionParser} with a single
+ * {@link XMLStreamReader} instead of a tree of SAX handlers. Instances keep no
+ * state between calls to {@link #parse(InputStream)}, so a single instance may
+ * be reused, also by several threads at once.
+ */
+public class StaxEndpointDescriptionParser {
+
+	private static final String ENDPOINT_DESCRIPTIONS = "endpoint-descriptions"; //$NON-NLS-1$
+	private static final String ENDPOINT_DESCRIPTION = "endpoint-description"; //$NON-NLS-1$
+	private static final String ENDPOINT_PROPERTY = "property"; //$NON-NLS-1$
+	private static final String ENDPOINT_PROPERTY_NAME = "name"; //$NON-NLS-1$
+	private static final String ENDPOINT_PROPERTY_VALUE = "value"; //$NON-NLS-1$
+	private static final String ENDPOINT_PROPERTY_VALUETYPE = "value-type"; //$NON-NLS-1$
+	private static final String ENDPOINT_PROPERTY_ARRAY = "array"; //$NON-NLS-1$
+	private static final String ENDPOINT_PROPERTY_LIST = "list"; //$NON-NLS-1$
+	private static final String ENDPOINT_PROPERTY_SET = "set"; //$NON-NLS-1$
+	private static final String ENDPOINT_PROPERTY_XML = "xml"; //$NON-NLS-1$
+
+	private final XMLInputFactory inputFactory;
+
+	public StaxEndpointDescriptionParser() {
+		inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+	}
+
+	/**
+	 * Parse the endpoint descriptions in input, and close input.
+	 *
+	 * @param input the EDEF document to parse. Must not be <code>null</code>.
+	 * @return List of the properties of each endpoint description, in document
+	 *         order. Property names are case insensitive. Will not be
+	 *         <code>null</code>.
+	 * @throws IOException if input cannot be read or is not a valid EDEF document
+	 */
+	public List<Map<String, Object>> parse(InputStream input) throws IOException {
+		XMLStreamReader reader = null;
+		try {
+			// The factory is only read after construction, but implementations
+			// need not be thread safe
+			synchronized (inputFactory) {
+				reader = inputFactory.createXMLStreamReader(input);
+			}
+			List<Map<String, Object>> results = new ArrayList<Map<String, Object>>();
+			// As EndpointDescriptionParser, other documents have no endpoint
+			// descriptions
+			if (nextTag(reader) != XMLStreamConstants.START_ELEMENT
+					|| !ENDPOINT_DESCRIPTIONS.equals(reader.getLocalName()))
+				return results;
+			while (nextTag(reader) == XMLStreamConstants.START_ELEMENT) {
+				if (ENDPOINT_DESCRIPTION.equals(reader.getLocalName()))
+					results.add(parseEndpointDescription(reader));
+				else
+					skipElement(reader);
+			}
+			return results;
+		} catch (XMLStreamException e) {
+			throw new IOException(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			// Invalid number values
+			throw new IOException(e.getMessage());
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					// ignore
+				}
+			}
+			input.close();
+		}
+	}
+
+	private Map<String, Object> parseEndpointDescription(XMLStreamReader reader) throws XMLStreamException {
+		Map<String, Object> properties = new TreeMap<String, Object>(String.CASE_INSENSITIVE_ORDER);
+		while (nextTag(reader) == XMLStreamConstants.START_ELEMENT) {
+			if (ENDPOINT_PROPERTY.equals(reader.getLocalName()))
+				parseProperty(reader, properties);
+			else
+				skipElement(reader);
+		}
+		return properties;
+	}
+
+	private void parseProperty(XMLStreamReader reader, Map<String, Object> properties) throws XMLStreamException {
+		String name = getAttribute(reader, ENDPOINT_PROPERTY_NAME);
+		String strValue = getAttribute(reader, ENDPOINT_PROPERTY_VALUE);
+		String valueType = getAttribute(reader, ENDPOINT_PROPERTY_VALUETYPE);
+		if (valueType == null)
+			valueType = "String"; //$NON-NLS-1$
+		else if (!EndpointDescriptionParser.multiValueTypes.contains(valueType))
+			throw new XMLStreamException("property element valueType=" + valueType //$NON-NLS-1$
+					+ " not allowed", reader.getLocation()); //$NON-NLS-1$
+		Object value = null;
+		if (strValue != null)
+			value = EndpointDescriptionParser.createValue(valueType, strValue);
+		boolean hasSubElement = false;
+		while (nextTag(reader) == XMLStreamConstants.START_ELEMENT) {
+			if (strValue != null)
+				throw new XMLStreamException("property element has both value attribute and sub-element", //$NON-NLS-1$
+						reader.getLocation());
+			String element = reader.getLocalName();
+			// Only the first value sub-element is used
+			if (hasSubElement)
+				skipElement(reader);
+			else if (ENDPOINT_PROPERTY_ARRAY.equals(element))
+				value = toArray(valueType, parseValues(reader, valueType, new ArrayList<Object>()));
+			else if (ENDPOINT_PROPERTY_LIST.equals(element))
+				value = parseValues(reader, valueType, new ArrayList<Object>());
+			else if (ENDPOINT_PROPERTY_SET.equals(element))
+				value = parseValues(reader, valueType, new HashSet<Object>());
+			else if (ENDPOINT_PROPERTY_XML.equals(element))
+				value = parseXml(reader);
+			else {
+				skipElement(reader);
+				continue;
+			}
+			hasSubElement = true;
+		}
+		if (name != null && value != null)
+			properties.put(name, value);
+	}
+
+	private <C extends Collection<Object>> C parseValues(XMLStreamReader reader, String valueType, C values)
+			throws XMLStreamException {
+		while (nextTag(reader) == XMLStreamConstants.START_ELEMENT) {
+			if (ENDPOINT_PROPERTY_VALUE.equals(reader.getLocalName())) {
+				String text = reader.getElementText();
+				// Only String values keep surrounding whitespace
+				if (!valueType.equals("String")) //$NON-NLS-1$
+					text = text.trim();
+				if (text.length() > 0) {
+					Object value = EndpointDescriptionParser.createValue(valueType, text);
+					if (value != null)
+						values.add(value);
+				}
+			} else
+				skipElement(reader);
+		}
+		return values;
+	}
+
+	private Object[] toArray(String valueType, List<Object> values) {
+		Object[] result;
+		if (valueType.equals("String")) //$NON-NLS-1$
+			result = new String[values.size()];
+		else if (valueType.equals("long") || valueType.equals("Long")) //$NON-NLS-1$ //$NON-NLS-2$
+			result = new Long[values.size()];
+		else if (valueType.equals("double") || valueType.equals("Double")) //$NON-NLS-1$ //$NON-NLS-2$
+			result = new Double[values.size()];
+		else if (valueType.equals("float") || valueType.equals("Float")) //$NON-NLS-1$ //$NON-NLS-2$
+			result = new Float[values.size()];
+		else if (valueType.equals("int") || valueType.equals("Integer")) //$NON-NLS-1$ //$NON-NLS-2$
+			result = new Integer[values.size()];
+		else if (valueType.equals("byte") || valueType.equals("Byte")) //$NON-NLS-1$ //$NON-NLS-2$
+			result = new Byte[values.size()];
+		else if (valueType.equals("char") || valueType.equals("Character")) //$NON-NLS-1$ //$NON-NLS-2$
+			result = new Character[values.size()];
+		else if (valueType.equals("boolean") || valueType.equals("Boolean")) //$NON-NLS-1$ //$NON-NLS-2$
+			result = new Boolean[values.size()];
+		else
+			result = new Short[values.size()];
+		return values.toArray(result);
+	}
+
+	/**
+	 * Serialize the content of an xml element back to a String. Whitespace only
+	 * text is dropped, as with EndpointDescriptionParser.
+	 */
+	private String parseXml(XMLStreamReader reader) throws XMLStreamException {
+		StringBuilder buf = new StringBuilder();
+		int depth = 0;
+		while (true) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				buf.append('<').append(getQName(reader.getPrefix(), reader.getLocalName()));
+				for (int i = 0; i < reader.getNamespaceCount(); i++) {
+					String prefix = reader.getNamespacePrefix(i);
+					buf.append(" xmlns"); //$NON-NLS-1$
+					if (prefix != null && prefix.length() > 0)
+						buf.append(':').append(prefix);
+					buf.append("=\""); //$NON-NLS-1$
+					escape(reader.getNamespaceURI(i), true, buf);
+					buf.append('"');
+				}
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					buf.append(' ').append(getQName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)))
+							.append("=\""); //$NON-NLS-1$
+					escape(reader.getAttributeValue(i), true, buf);
+					buf.append('"');
+				}
+				buf.append('>');
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				if (depth-- == 0)
+					return buf.toString().trim();
+				buf.append("</").append(getQName(reader.getPrefix(), reader.getLocalName())).append('>'); //$NON-NLS-1$
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+				if (!reader.isWhiteSpace())
+					escape(reader.getText(), false, buf);
+				break;
+			case XMLStreamConstants.END_DOCUMENT:
+				throw new XMLStreamException("Unexpected end of document in xml element", reader.getLocation()); //$NON-NLS-1$
+			default:
+				// comments and processing instructions are dropped
+				break;
+			}
+		}
+	}
+
+	private static String getQName(String prefix, String localName) {
+		return (prefix == null || prefix.length() == 0) ? localName : prefix + ":" + localName; //$NON-NLS-1$
+	}
+
+	private static void escape(String text, boolean attribute, StringBuilder buf) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '<')
+				buf.append("&lt;"); //$NON-NLS-1$
+			else if (c == '&')
+				buf.append("&amp;"); //$NON-NLS-1$
+			else if (c == '>')
+				buf.append("&gt;"); //$NON-NLS-1$
+			else if (attribute && c == '"')
+				buf.append("&quot;"); //$NON-NLS-1$
+			else
+				buf.append(c);
+		}
+	}
+
+	private static String getAttribute(XMLStreamReader reader, String name) {
+		for (int i = 0; i < reader.getAttributeCount(); i++)
+			if (name.equals(reader.getAttributeLocalName(i)))
+				return reader.getAttributeValue(i).trim();
+		return null;
+	}
+
+	// Move to the next start or end tag, ignoring character data as
+	// EndpointDescriptionParser does
+	private static int nextTag(XMLStreamReader reader) throws XMLStreamException {
+		int event = reader.next();
+		while (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT
+				&& event != XMLStreamConstants.END_DOCUMENT)
+			event = reader.next();
+		return event;
+	}
+
+	// Skip the current element and its content
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT)
+				depth++;
+			else if (event == XMLStreamConstants.END_ELEMENT)
+				depth--;
+		}
+	}
+}
@@ -16,9 +16,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -89,6 +93,21 @@ public abstract class AbstractTopologyManager {
 			"org.eclipse.ecf.osgi.services.remoteserviceadmin.AbstractTopologyManager.requireServiceExportedConfigs", //$NON-NLS-1$
 			"false")).booleanValue(); //$NON-NLS-1$
 
+	private boolean batchImport = new Boolean(System.getProperty(
+			"org.eclipse.ecf.osgi.services.remoteserviceadmin.AbstractTopologyManager.batchImport", //$NON-NLS-1$
+			"false")).booleanValue(); //$NON-NLS-1$
+
+	private long batchImportDelay = Long.parseLong(System.getProperty(
+			"org.eclipse.ecf.osgi.services.remoteserviceadmin.AbstractTopologyManager.batchImportDelay", //$NON-NLS-1$
+			"100")); //$NON-NLS-1$
+
+	// Added endpoints waiting to be imported in the next batch, by endpoint id
+	private final Map<String, EndpointDescription> pendingImports = new LinkedHashMap<String, EndpointDescription>();
+	// Held while a batch is imported, so that endpoint removal and
+	// modification wait for the import of the endpoint to complete
+	private final Object batchImportLock = new Object();
+	private ScheduledExecutorService batchImportExecutor;
+
 	public AbstractTopologyManager(BundleContext context) {
 		serviceInfoFactoryTracker = new ServiceTracker(context, createISIFFilter(context), null);
 		serviceInfoFactoryTracker.open();
@@ -122,6 +141,13 @@ public abstract class AbstractTopologyManager {
 		} finally {
 			registrationLock.unlock();
 		}
+		synchronized (pendingImports) {
+			pendingImports.clear();
+			if (batchImportExecutor != null) {
+				batchImportExecutor.shutdownNow();
+				batchImportExecutor = null;
+			}
+		}
 		synchronized (remoteServiceAdminTrackerLock) {
 			if (remoteServiceAdminTracker != null) {
 				remoteServiceAdminTracker.close();
@@ -327,12 +353,61 @@ public abstract class AbstractTopologyManager {
 	protected void handleECFEndpointAdded(EndpointDescription endpointDescription) {
 		trace("handleECFEndpointAdded", "endpointDescription=" //$NON-NLS-1$ //$NON-NLS-2$
 				+ endpointDescription);
+		if (batchImport) {
+			queueImport(endpointDescription);
+			return;
+		}
 		// Import service
 		RemoteServiceAdmin rsa = (RemoteServiceAdmin) getRemoteServiceAdmin();
 		if (rsa != null)
 			rsa.importService(endpointDescription);
 	}
 
+	private void queueImport(EndpointDescription endpointDescription) {
+		synchronized (pendingImports) {
+			pendingImports.put(endpointDescription.getId(), endpointDescription);
+			// Schedule the import of the batch when the first endpoint is added
+			if (pendingImports.size() == 1) {
+				if (batchImportExecutor == null)
+					batchImportExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+						Thread t = new Thread(r, "RSA TopologyManager Batch Import"); //$NON-NLS-1$
+						t.setDaemon(true);
+						return t;
+					});
+				batchImportExecutor.schedule(() -> importPendingEndpoints(), batchImportDelay, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Import the endpoints added since the last batch with
+	 * {@link RemoteServiceAdmin#importServices(java.util.Collection)}. Only
+	 * called when the
+	 * org.eclipse.ecf.osgi.services.remoteserviceadmin.AbstractTopologyManager.batchImport
+	 * system property is set to true, in which case
+	 * {@link #handleECFEndpointAdded(EndpointDescription)} queues endpoints and
+	 * schedules this method to run after the delay given by the
+	 * org.eclipse.ecf.osgi.services.remoteserviceadmin.AbstractTopologyManager.batchImportDelay
+	 * system property (default 100ms).
+	 * 
+	 * @since 4.10
+	 */
+	protected void importPendingEndpoints() {
+		synchronized (batchImportLock) {
+			List<EndpointDescription> batch = null;
+			synchronized (pendingImports) {
+				batch = new ArrayList<EndpointDescription>(pendingImports.values());
+				pendingImports.clear();
+			}
+			if (batch.isEmpty())
+				return;
+			trace("importPendingEndpoints", "importing " + batch.size() + " endpoints"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			RemoteServiceAdmin rsa = (RemoteServiceAdmin) getRemoteServiceAdmin();
+			if (rsa != null)
+				rsa.importServices(batch);
+		}
+	}
+
 	/**
 	 * @param endpointDescription endpoint description
 	 * @since 3.0
@@ -341,12 +416,16 @@ public abstract class AbstractTopologyManager {
 			org.osgi.service.remoteserviceadmin.EndpointDescription endpointDescription) {
 		trace("handleECFEndpointRemoved", "endpointDescription=" //$NON-NLS-1$ //$NON-NLS-2$
 				+ endpointDescription);
+		// If not imported yet, it no longer will be
+		synchronized (pendingImports) {
+			pendingImports.remove(endpointDescription.getId());
+		}
 		RemoteServiceAdmin rsa = (RemoteServiceAdmin) getRemoteServiceAdmin();
 		if (rsa != null) {
-			List<RemoteServiceAdmin.ImportRegistration> importedRegistrations = rsa.getImportedRegistrations();
-			org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescription ed = (org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescription) endpointDescription;
-			for (RemoteServiceAdmin.ImportRegistration importedRegistration : importedRegistrations) {
-				if (importedRegistration.match(ed)) {
+			synchronized (batchImportLock) {
+				List<RemoteServiceAdmin.ImportRegistration> importedRegistrations = rsa
+						.getImportedRegistrations(endpointDescription);
+				for (RemoteServiceAdmin.ImportRegistration importedRegistration : importedRegistrations) {
 					trace("handleEndpointRemoved", "closing importedRegistration=" //$NON-NLS-1$ //$NON-NLS-2$
 							+ importedRegistration);
 					importedRegistration.close();
@@ -362,12 +441,17 @@ public abstract class AbstractTopologyManager {
 	protected void handleECFEndpointModified(EndpointDescription endpoint) {
 		trace("handleECFEndpointModified", "endpointDescription=" //$NON-NLS-1$ //$NON-NLS-2$
 				+ endpoint);
+		// If not imported yet, import the modified endpoint
+		synchronized (pendingImports) {
+			if (pendingImports.containsKey(endpoint.getId()))
+				pendingImports.put(endpoint.getId(), endpoint);
+		}
 		RemoteServiceAdmin rsa = (RemoteServiceAdmin) getRemoteServiceAdmin();
 		if (rsa != null) {
-			List<RemoteServiceAdmin.ImportRegistration> importedRegistrations = rsa.getImportedRegistrations();
-			org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescription ed = (org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescription) endpoint;
-			for (RemoteServiceAdmin.ImportRegistration importedRegistration : importedRegistrations) {
-				if (importedRegistration.match(ed)) {
+			synchronized (batchImportLock) {
+				List<RemoteServiceAdmin.ImportRegistration> importedRegistrations = rsa
+						.getImportedRegistrations(endpoint);
+				for (RemoteServiceAdmin.ImportRegistration importedRegistration : importedRegistrations) {
 					trace("handleECFEndpointModified", "updating importedRegistration=" //$NON-NLS-1$ //$NON-NLS-2$
 							+ importedRegistration);
 					importedRegistration.update(endpoint);
@@ -490,16 +574,15 @@ public abstract class AbstractTopologyManager {
 	protected void handleServiceModifying(ServiceReference serviceReference) {
 		RemoteServiceAdmin rsa = (RemoteServiceAdmin) getRemoteServiceAdmin();
 		if (rsa != null) {
-			List<RemoteServiceAdmin.ExportRegistration> exportedRegistrations = rsa.getExportedRegistrations();
+			List<RemoteServiceAdmin.ExportRegistration> exportedRegistrations = rsa
+					.getExportedRegistrations(serviceReference);
 			for (RemoteServiceAdmin.ExportRegistration exportedRegistration : exportedRegistrations) {
-				if (exportedRegistration.match(serviceReference)) {
-					trace("handleServiceModifying", "modifying exportRegistration for serviceReference=" //$NON-NLS-1$ //$NON-NLS-2$
-							+ serviceReference);
-					EndpointDescription updatedED = (EndpointDescription) exportedRegistration.update(null);
-					if (updatedED == null)
-						logWarning("handleServiceModifying", "ExportRegistration.update failed with exception=" //$NON-NLS-1$//$NON-NLS-2$
-								+ exportedRegistration.getException());
-				}
+				trace("handleServiceModifying", "modifying exportRegistration for serviceReference=" //$NON-NLS-1$ //$NON-NLS-2$
+						+ serviceReference);
+				EndpointDescription updatedED = (EndpointDescription) exportedRegistration.update(null);
+				if (updatedED == null)
+					logWarning("handleServiceModifying", "ExportRegistration.update failed with exception=" //$NON-NLS-1$//$NON-NLS-2$
+							+ exportedRegistration.getException());
 			}
 		}
 	}
@@ -507,14 +590,12 @@ public abstract class AbstractTopologyManager {
 	protected void handleServiceUnregistering(ServiceReference serviceReference) {
 		RemoteServiceAdmin rsa = (RemoteServiceAdmin) getRemoteServiceAdmin();
 		if (rsa != null) {
-			List<RemoteServiceAdmin.ExportRegistration> exportedRegistrations = ((RemoteServiceAdmin) getRemoteServiceAdmin())
-					.getExportedRegistrations();
+			List<RemoteServiceAdmin.ExportRegistration> exportedRegistrations = rsa
+					.getExportedRegistrations(serviceReference);
 			for (RemoteServiceAdmin.ExportRegistration exportedRegistration : exportedRegistrations) {
-				if (exportedRegistration.match(serviceReference)) {
-					trace("handleServiceUnregistering", "closing exportRegistration for serviceReference=" //$NON-NLS-1$ //$NON-NLS-2$
-							+ serviceReference);
-					exportedRegistration.close();
-				}
+				trace("handleServiceUnregistering", "closing exportRegistration for serviceReference=" //$NON-NLS-1$ //$NON-NLS-2$
+						+ serviceReference);
+				exportedRegistration.close();
 			}
 		}
 	}
@@ -0,0 +1,75 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.osgi.services.remoteserviceadmin;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.BinaryEndpointDescriptionCodec;
+
+/**
+ * Implementation of {@link IEndpointDescriptionReader} that reads endpoint
+ * descriptions written by {@link BinaryEndpointDescriptionWriter}. The binary
+ * encoding is considerably smaller and faster to read than the Endpoint
+ * Description Extender Format, but is only written to peers that advertise
+ * {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMAT_BINARY} in their
+ * {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMATS}. Input that is not in
+ * the binary format is read as EDEF, so this reader may be used for input in
+ * either format.
+ * 
+ * @since 4.10
+ */
+public class BinaryEndpointDescriptionReader extends EndpointDescriptionReader {
+
+	/**
+	 * Endpoint description formats read by this reader. Discovery providers
+	 * using it should advertise this value as
+	 * {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMATS}.
+	 */
+	public static final String[] SUPPORTED_FORMATS = new String[] {
+			RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_BINARY, RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_EDEF };
+
+	private static final int HEADER_LENGTH = 5;
+
+	/**
+	 * @param bytes the bytes to check. May be <code>null</code>.
+	 * @return <code>true</code> if bytes were written by
+	 *         {@link BinaryEndpointDescriptionWriter}, <code>false</code>
+	 *         otherwise
+	 */
+	public static boolean isBinaryFormat(byte[] bytes) {
+		return BinaryEndpointDescriptionCodec.isBinaryFormat(bytes);
+	}
+
+	protected List<Map<String, Object>> parseEndpointDescriptions(InputStream ins) throws IOException {
+		InputStream in = ins.markSupported() ? ins : new BufferedInputStream(ins);
+		in.mark(HEADER_LENGTH);
+		byte[] header = new byte[HEADER_LENGTH];
+		int length = 0;
+		while (length < HEADER_LENGTH) {
+			int read = in.read(header, length, HEADER_LENGTH - length);
+			if (read < 0)
+				break;
+			length += read;
+		}
+		in.reset();
+		// Not written by BinaryEndpointDescriptionWriter, so read as EDEF
+		if (length < HEADER_LENGTH || !isBinaryFormat(header))
+			return super.parseEndpointDescriptions(in);
+		return BinaryEndpointDescriptionCodec.read(in);
+	}
+
+}
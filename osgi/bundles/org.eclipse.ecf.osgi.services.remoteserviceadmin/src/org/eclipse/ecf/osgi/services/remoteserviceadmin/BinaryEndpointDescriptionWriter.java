@@ -0,0 +1,119 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.osgi.services.remoteserviceadmin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.BinaryEndpointDescriptionCodec;
+import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.PropertiesUtil;
+
+/**
+ * Writes endpoint descriptions in a compact, length prefixed binary encoding
+ * that is read by {@link BinaryEndpointDescriptionReader}. Property values of
+ * the types allowed in the Endpoint Description Extender Format are written:
+ * String, the primitive wrappers, and arrays, lists and sets of them. Other
+ * property values are not written, as with {@link EndpointDescriptionWriter}.
+ * <p>
+ * The binary encoding is only understood by peers that advertise
+ * {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMAT_BINARY} in their
+ * {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMATS}. Use
+ * {@link #writeEndpointDescriptions(OutputStream, org.osgi.service.remoteserviceadmin.EndpointDescription[], Object)}
+ * to write EDEF to all other peers.
+ * 
+ * @since 4.10
+ */
+public class BinaryEndpointDescriptionWriter {
+
+	/**
+	 * @param endpointDescriptions the endpoint descriptions to write. Must not be
+	 *                             <code>null</code>.
+	 * @return byte[] the encoded endpoint descriptions
+	 * @throws IOException if the endpoint descriptions cannot be written
+	 */
+	public byte[] toByteArray(org.osgi.service.remoteserviceadmin.EndpointDescription[] endpointDescriptions)
+			throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		writeEndpointDescriptions(bos, endpointDescriptions);
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Write the given endpoint descriptions to out. out is flushed but not
+	 * closed.
+	 * 
+	 * @param out                  the output stream to write to. Must not be
+	 *                             <code>null</code>.
+	 * @param endpointDescriptions the endpoint descriptions to write. Must not be
+	 *                             <code>null</code>.
+	 * @throws IOException if the endpoint descriptions cannot be written
+	 */
+	public void writeEndpointDescriptions(OutputStream out,
+			org.osgi.service.remoteserviceadmin.EndpointDescription[] endpointDescriptions) throws IOException {
+		List<Map<String, Object>> descriptions = new ArrayList<Map<String, Object>>(endpointDescriptions.length);
+		for (int i = 0; i < endpointDescriptions.length; i++)
+			if (endpointDescriptions[i] != null)
+				descriptions.add(endpointDescriptions[i].getProperties());
+		BinaryEndpointDescriptionCodec.write(out, descriptions);
+	}
+
+	/**
+	 * @param formats the value of the peer's
+	 *                {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMATS}
+	 *                property. May be <code>null</code>.
+	 * @return <code>true</code> if formats includes
+	 *         {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMAT_BINARY},
+	 *         <code>false</code> otherwise
+	 */
+	public static boolean isBinaryFormatSupported(Object formats) {
+		String[] supported = PropertiesUtil.getStringArrayFromPropertyValue(formats);
+		if (supported != null)
+			for (int i = 0; i < supported.length; i++)
+				if (RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_BINARY.equals(supported[i]))
+					return true;
+		return false;
+	}
+
+	/**
+	 * Write the given endpoint descriptions to out in the binary encoding if the
+	 * peer advertises support for it, and as an EDEF document otherwise. out is
+	 * flushed but not closed.
+	 * 
+	 * @param out                  the output stream to write to. Must not be
+	 *                             <code>null</code>.
+	 * @param endpointDescriptions the endpoint descriptions to write. Must not be
+	 *                             <code>null</code>.
+	 * @param formats              the value of the peer's
+	 *                             {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMATS}
+	 *                             property. May be <code>null</code>.
+	 * @return the format written, either
+	 *         {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMAT_BINARY} or
+	 *         {@link RemoteConstants#ENDPOINT_DESCRIPTION_FORMAT_EDEF}
+	 * @throws IOException if the endpoint descriptions cannot be written
+	 */
+	public String writeEndpointDescriptions(OutputStream out,
+			org.osgi.service.remoteserviceadmin.EndpointDescription[] endpointDescriptions, Object formats)
+			throws IOException {
+		if (isBinaryFormatSupported(formats)) {
+			writeEndpointDescriptions(out, endpointDescriptions);
+			return RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_BINARY;
+		}
+		new StaxEndpointDescriptionWriter().writeEndpointDescriptions(out, endpointDescriptions);
+		return RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_EDEF;
+	}
+
+}
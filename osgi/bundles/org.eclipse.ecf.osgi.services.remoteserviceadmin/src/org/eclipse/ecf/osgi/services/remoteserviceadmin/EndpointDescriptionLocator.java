@@ -108,6 +108,9 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 	private ServiceTracker endpointDescriptionFactoryTracker;
 	// endpointDescriptionReader default
 	private ServiceRegistration defaultEndpointDescriptionReaderRegistration;
+	private static final boolean staxEndpointDescriptionReader = new Boolean(
+			System.getProperty("org.eclipse.ecf.osgi.services.remoteserviceadmin.staxEndpointDescriptionReader", //$NON-NLS-1$
+					"false")).booleanValue(); //$NON-NLS-1$
 
 	// For processing synchronous notifications asynchronously
 	private EventManager eventManager;
@@ -120,6 +123,9 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 
 	private ServiceTracker endpointListenerTracker;
 	private ServiceTracker endpointEventListenerTracker;
+	// Scope filters of the tracked listeners
+	private EndpointListenerScopeIndex<EndpointListener> endpointListenerIndex = new EndpointListenerScopeIndex<EndpointListener>();
+	private EndpointListenerScopeIndex<EndpointEventListener> endpointEventListenerIndex = new EndpointListenerScopeIndex<EndpointEventListener>();
 
 	private ServiceTracker advertiserTracker;
 	private Object advertiserTrackerLock = new Object();
@@ -156,7 +162,9 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 				(Dictionary) properties);
 		// setup/register default endpointDescriptionReader
 		defaultEndpointDescriptionReaderRegistration = context.registerService(
-				IEndpointDescriptionReader.class.getName(), new EndpointDescriptionReader(), (Dictionary) properties);
+				IEndpointDescriptionReader.class.getName(),
+				staxEndpointDescriptionReader ? new StaxEndpointDescriptionReader() : new EndpointDescriptionReader(),
+				(Dictionary) properties);
 
 		// Create thread group, event manager, and eventQueue, and setup to
 		// dispatch EndpointListenerEvents
@@ -267,13 +275,18 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 								}
 							}
 						}
+						endpointListenerIndex.put(reference, listener,
+								getScopeFilters(reference, EndpointListener.ENDPOINT_LISTENER_SCOPE));
 						return listener;
 					}
 
 					public void modifiedService(ServiceReference reference, Object service) {
+						endpointListenerIndex.put(reference, (EndpointListener) service,
+								getScopeFilters(reference, EndpointListener.ENDPOINT_LISTENER_SCOPE));
 					}
 
 					public void removedService(ServiceReference reference, Object service) {
+						endpointListenerIndex.remove(reference);
 					}
 				});
 
@@ -304,13 +317,18 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 								}
 							}
 						}
+						endpointEventListenerIndex.put(reference, listener,
+								getScopeFilters(reference, EndpointEventListener.ENDPOINT_LISTENER_SCOPE));
 						return listener;
 					}
 
 					public void modifiedService(ServiceReference reference, Object service) {
+						endpointEventListenerIndex.put(reference, (EndpointEventListener) service,
+								getScopeFilters(reference, EndpointEventListener.ENDPOINT_LISTENER_SCOPE));
 					}
 
 					public void removedService(ServiceReference reference, Object service) {
+						endpointEventListenerIndex.remove(reference);
 					}
 				});
 
@@ -692,19 +710,15 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 		}
 	}
 
-	private Object endpointListenerServiceTrackerLock = new Object();
-
-	private Object endpointEventListenerServiceTrackerLock = new Object();
-
 	protected EndpointListenerHolder[] getMatchingEndpointListenerHolders(final EndpointDescription description) {
-		return AccessController.doPrivileged(new PrivilegedAction<EndpointListenerHolder[]>() {
-			public EndpointListenerHolder[] run() {
-				synchronized (endpointListenerServiceTrackerLock) {
-					return getMatchingEndpointListenerHolders(endpointListenerTracker.getServiceReferences(),
-							description);
-				}
-			}
-		});
+		if (endpointListenerIndex.isEmpty())
+			return null;
+		List<EndpointListenerScopeIndex.Match<EndpointListener>> matches = endpointListenerIndex.match(description);
+		EndpointListenerHolder[] results = new EndpointListenerHolder[matches.size()];
+		for (int i = 0; i < results.length; i++)
+			results[i] = new EndpointListenerHolder(matches.get(i).getListener(), description,
+					matches.get(i).getMatchingFilter());
+		return results;
 	}
 
 	/**
@@ -716,14 +730,15 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 	 */
 	protected EndpointEventListenerHolder[] getMatchingEndpointEventListenerHolders(
 			final EndpointDescription description, final int type) {
-		return AccessController.doPrivileged(new PrivilegedAction<EndpointEventListenerHolder[]>() {
-			public EndpointEventListenerHolder[] run() {
-				synchronized (endpointEventListenerServiceTrackerLock) {
-					return getMatchingEndpointEventListenerHolders(endpointEventListenerTracker.getServiceReferences(),
-							description, type);
-				}
-			}
-		});
+		if (endpointEventListenerIndex.isEmpty())
+			return null;
+		List<EndpointListenerScopeIndex.Match<EndpointEventListener>> matches = endpointEventListenerIndex
+				.match(description);
+		EndpointEventListenerHolder[] results = new EndpointEventListenerHolder[matches.size()];
+		for (int i = 0; i < results.length; i++)
+			results[i] = new EndpointEventListenerHolder(matches.get(i).getListener(), description,
+					matches.get(i).getMatchingFilter(), type);
+		return results;
 	}
 
 	/**
@@ -801,8 +816,7 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 			EndpointEventListener listener = (EndpointEventListener) context.getService(refs[i]);
 			if (listener == null)
 				continue;
-			List<String> filters = PropertiesUtil.getStringPlusProperty(getMapFromProperties(refs[i]),
-					EndpointEventListener.ENDPOINT_LISTENER_SCOPE);
+			List<String> filters = getScopeFilters(refs[i], EndpointEventListener.ENDPOINT_LISTENER_SCOPE);
 			// Only proceed if there is a filter present
 			if (filters.size() > 0) {
 				String matchingFilter = isMatch(description, filters);
@@ -822,8 +836,7 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 			EndpointListener listener = (EndpointListener) context.getService(refs[i]);
 			if (listener == null)
 				continue;
-			List<String> filters = PropertiesUtil.getStringPlusProperty(getMapFromProperties(refs[i]),
-					EndpointListener.ENDPOINT_LISTENER_SCOPE);
+			List<String> filters = getScopeFilters(refs[i], EndpointListener.ENDPOINT_LISTENER_SCOPE);
 			if (filters.size() > 0) {
 				String matchingFilter = isMatch(description, filters);
 				if (matchingFilter != null)
@@ -848,6 +861,10 @@ public class EndpointDescriptionLocator implements IEndpointDescriptionLocator {
 		return null;
 	}
 
+	private List<String> getScopeFilters(ServiceReference ref, String scopeProperty) {
+		return PropertiesUtil.getStringPlusProperty(getMapFromProperties(ref), scopeProperty);
+	}
+
 	private Map getMapFromProperties(ServiceReference ref) {
 		Map<String, Object> results = new TreeMap<String, Object>(String.CASE_INSENSITIVE_ORDER);
 		String[] keys = ref.getPropertyKeys();
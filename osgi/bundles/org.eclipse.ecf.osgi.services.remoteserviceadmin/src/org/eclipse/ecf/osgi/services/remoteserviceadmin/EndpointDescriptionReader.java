@@ -39,16 +39,11 @@ public class EndpointDescriptionReader implements IEndpointDescriptionReader {
 	 */
 	public org.osgi.service.remoteserviceadmin.EndpointDescription[] readEndpointDescriptions(InputStream ins,
 			Map<String, Object> overrideProperties) throws IOException {
-		// First create parser
-		EndpointDescriptionParser parser = new EndpointDescriptionParser();
-		// Parse input stream
-		parser.parse(ins);
-		// Get possible endpoint descriptions
-		List<EndpointDescriptionParser.EndpointDescription> parsedDescriptions = parser.getEndpointDescriptions();
+		// Parse input stream to get properties of possible endpoint descriptions
+		List<Map<String, Object>> parsedDescriptions = parseEndpointDescriptions(ins);
 		List<org.osgi.service.remoteserviceadmin.EndpointDescription> results = new ArrayList<org.osgi.service.remoteserviceadmin.EndpointDescription>();
 		// For each one parsed, get properties and
-		for (EndpointDescriptionParser.EndpointDescription ed : parsedDescriptions) {
-			Map<String, Object> parsedProperties = ed.getProperties();
+		for (Map<String, Object> parsedProperties : parsedDescriptions) {
 			LogUtility.trace("readEndpointDescriptions", DebugOptions.ENDPOINT_DESCRIPTION_READER, getClass(), //$NON-NLS-1$
 					"parsed properties=" + parsedProperties); //$NON-NLS-1$
 			Map<String, Object> mergedProperties = null;
@@ -74,6 +69,28 @@ public class EndpointDescriptionReader implements IEndpointDescriptionReader {
 		return results.toArray(new EndpointDescription[results.size()]);
 	}
 
+	/**
+	 * Parse the properties of the endpoint descriptions in the given input stream.
+	 * This implementation uses a SAX parser. Subclasses may override to read
+	 * endpoint descriptions with another parser or format.
+	 * 
+	 * @param ins the input stream to read from. Must not be <code>null</code>.
+	 * @return List of the properties of each endpoint description read. Will not
+	 *         be <code>null</code>.
+	 * @throws IOException if the endpoint descriptions cannot be read
+	 * @since 4.10
+	 */
+	protected List<Map<String, Object>> parseEndpointDescriptions(InputStream ins) throws IOException {
+		// First create parser
+		EndpointDescriptionParser parser = new EndpointDescriptionParser();
+		// Parse input stream
+		parser.parse(ins);
+		List<Map<String, Object>> results = new ArrayList<Map<String, Object>>();
+		for (EndpointDescriptionParser.EndpointDescription ed : parser.getEndpointDescriptions())
+			results.add(ed.getProperties());
+		return results;
+	}
+
 	/**
 	 * @since 4.7
 	 */
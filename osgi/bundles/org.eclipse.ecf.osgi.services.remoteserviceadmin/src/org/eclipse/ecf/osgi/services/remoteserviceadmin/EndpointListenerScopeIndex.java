@@ -0,0 +1,395 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.osgi.services.remoteserviceadmin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.DebugOptions;
+import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.LogUtility;
+import org.osgi.framework.Constants;
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.service.remoteserviceadmin.EndpointDescription;
+
+/**
+ * Index of endpoint listener scope filters, used to find the listeners whose
+ * scope matches an endpoint description without evaluating every filter of
+ * every listener.
+ * <p>
+ * Scope filters are parsed once, when the listener is put into the index. A
+ * filter that is an equality on one of the endpoint.id,
+ * endpoint.framework.uuid, objectClass or service.imported.configs properties,
+ * or a conjunction containing such an equality, is indexed by the property
+ * value. For a given endpoint description only the filters indexed by its
+ * values of those properties, and the filters that cannot be indexed (e.g.
+ * negations or wildcards), are evaluated.
+ * <p>
+ * This class is thread safe. Reads do not block, as changes to the listeners
+ * replace an immutable snapshot of the index.
+ *
+ * @param <L> the type of the listeners
+ * @since 4.10
+ */
+public class EndpointListenerScopeIndex<L> {
+
+	// Indexed properties, in the order in which a conjunction is indexed
+	private static final String[] INDEXED_PROPERTIES = new String[] {
+			org.osgi.service.remoteserviceadmin.RemoteConstants.ENDPOINT_ID,
+			org.osgi.service.remoteserviceadmin.RemoteConstants.ENDPOINT_FRAMEWORK_UUID, Constants.OBJECTCLASS,
+			org.osgi.service.remoteserviceadmin.RemoteConstants.SERVICE_IMPORTED_CONFIGS };
+
+	/**
+	 * A listener with the scope filter that matched an endpoint description
+	 */
+	public static class Match<L> {
+		private final L listener;
+		private final String matchingFilter;
+
+		Match(L listener, String matchingFilter) {
+			this.listener = listener;
+			this.matchingFilter = matchingFilter;
+		}
+
+		public L getListener() {
+			return listener;
+		}
+
+		/**
+		 * @return String the first scope filter of the listener that matched
+		 */
+		public String getMatchingFilter() {
+			return matchingFilter;
+		}
+
+		public String toString() {
+			return "Match[listener=" + listener + ", matchingFilter=" + matchingFilter + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	static class ScopeFilter {
+		final int ordinal;
+		final String filter;
+		final Filter parsedFilter;
+		final String indexProperty;
+		final String indexValue;
+
+		ScopeFilter(int ordinal, String filter, Filter parsedFilter, String indexProperty, String indexValue) {
+			this.ordinal = ordinal;
+			this.filter = filter;
+			this.parsedFilter = parsedFilter;
+			this.indexProperty = indexProperty;
+			this.indexValue = indexValue;
+		}
+	}
+
+	static class IndexedFilter {
+		final ScopeFilter scopeFilter;
+		// Position of the listener in the snapshot
+		final int listenerIndex;
+
+		IndexedFilter(ScopeFilter scopeFilter, int listenerIndex) {
+			this.scopeFilter = scopeFilter;
+			this.listenerIndex = listenerIndex;
+		}
+	}
+
+	static class ListenerEntry<L> {
+		final L listener;
+		final List<ScopeFilter> filters;
+
+		ListenerEntry(L listener, List<ScopeFilter> filters) {
+			this.listener = listener;
+			this.filters = filters;
+		}
+	}
+
+	static class Snapshot<L> {
+		final List<ListenerEntry<L>> listeners;
+		// property -> value -> filters
+		final Map<String, Map<String, List<IndexedFilter>>> indexes = new HashMap<String, Map<String, List<IndexedFilter>>>();
+		final List<IndexedFilter> unindexed = new ArrayList<IndexedFilter>();
+
+		Snapshot(Collection<ListenerEntry<L>> entries) {
+			this.listeners = new ArrayList<ListenerEntry<L>>(entries);
+			for (int i = 0; i < listeners.size(); i++) {
+				for (ScopeFilter sf : listeners.get(i).filters) {
+					IndexedFilter indexedFilter = new IndexedFilter(sf, i);
+					if (sf.indexProperty == null)
+						unindexed.add(indexedFilter);
+					else {
+						Map<String, List<IndexedFilter>> index = indexes.get(sf.indexProperty);
+						if (index == null) {
+							index = new HashMap<String, List<IndexedFilter>>();
+							indexes.put(sf.indexProperty, index);
+						}
+						List<IndexedFilter> bucket = index.get(sf.indexValue);
+						if (bucket == null) {
+							bucket = new ArrayList<IndexedFilter>(1);
+							index.put(sf.indexValue, bucket);
+						}
+						bucket.add(indexedFilter);
+					}
+				}
+			}
+		}
+	}
+
+	private final Map<Object, ListenerEntry<L>> entries = new LinkedHashMap<Object, ListenerEntry<L>>();
+	private volatile Snapshot<L> snapshot = new Snapshot<L>(Collections.<ListenerEntry<L>> emptyList());
+
+	/**
+	 * Add a listener to the index, or replace the listener and scope filters
+	 * already added for key.
+	 *
+	 * @param key      the key of the listener, e.g. its service reference. Must
+	 *                 not be <code>null</code>.
+	 * @param listener the listener. Must not be <code>null</code>.
+	 * @param filters  the scope filters of the listener, in the order they are to
+	 *                 be matched. Invalid filters are logged and never match.
+	 */
+	public synchronized void put(Object key, L listener, List<String> filters) {
+		// A replaced listener keeps its position
+		entries.put(key, new ListenerEntry<L>(listener, parseFilters(filters)));
+		snapshot = new Snapshot<L>(entries.values());
+	}
+
+	/**
+	 * @param key the key of the listener to remove
+	 * @return <code>true</code> if a listener was removed
+	 */
+	public synchronized boolean remove(Object key) {
+		if (entries.remove(key) == null)
+			return false;
+		snapshot = new Snapshot<L>(entries.values());
+		return true;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		snapshot = new Snapshot<L>(entries.values());
+	}
+
+	/**
+	 * @return the number of listeners in the index
+	 */
+	public int size() {
+		return snapshot.listeners.size();
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	private List<ScopeFilter> parseFilters(List<String> filters) {
+		List<ScopeFilter> results = new ArrayList<ScopeFilter>(filters.size());
+		for (int i = 0; i < filters.size(); i++) {
+			String filter = filters.get(i);
+			if (filter == null || "".equals(filter)) //$NON-NLS-1$
+				continue;
+			Filter parsedFilter;
+			try {
+				parsedFilter = FrameworkUtil.createFilter(filter);
+			} catch (InvalidSyntaxException e) {
+				LogUtility.logError("parseFilters", DebugOptions.ENDPOINT_DESCRIPTION_LOCATOR, this.getClass(), //$NON-NLS-1$
+						"invalid endpoint listener filter=" + filter, e); //$NON-NLS-1$
+				continue;
+			}
+			String[] term = getIndexTerm(filter);
+			results.add(new ScopeFilter(i, filter, parsedFilter, (term == null) ? null : term[0],
+					(term == null) ? null : term[1]));
+		}
+		return results;
+	}
+
+	/**
+	 * Find the listeners whose scope matches the given endpoint description.
+	 *
+	 * @param description the endpoint description. Must not be
+	 *                    <code>null</code>.
+	 * @return List of the matching listeners, in the order they were put, each
+	 *         with the first of its scope filters that matched. Will not be
+	 *         <code>null</code>.
+	 */
+	public List<Match<L>> match(EndpointDescription description) {
+		final Snapshot<L> s = snapshot;
+		final int size = s.listeners.size();
+		if (size == 0)
+			return Collections.emptyList();
+		final Map<String, Object> properties = description.getProperties();
+		final Dictionary<String, Object> dictionary = new MapDictionary(properties);
+		// The ordinal of the first matching filter, for each listener
+		final int[] matched = new int[size];
+		for (int i = 0; i < size; i++)
+			matched[i] = Integer.MAX_VALUE;
+		for (Iterator<Map.Entry<String, Map<String, List<IndexedFilter>>>> i = s.indexes.entrySet().iterator(); i
+				.hasNext();) {
+			Map.Entry<String, Map<String, List<IndexedFilter>>> e = i.next();
+			Map<String, List<IndexedFilter>> index = e.getValue();
+			Object value = properties.get(e.getKey());
+			// Filters with an equality on a missing property cannot match
+			if (value == null)
+				continue;
+			if (value instanceof String)
+				evaluate(index.get(value), dictionary, matched);
+			else if (value instanceof String[]) {
+				String[] values = (String[]) value;
+				for (int j = 0; j < values.length; j++)
+					evaluate(index.get(values[j]), dictionary, matched);
+			} else if (value instanceof Collection) {
+				for (Object v : (Collection<?>) value)
+					evaluate(index.get(v), dictionary, matched);
+			} else {
+				// Values of other types may still equal the filter value, so
+				// evaluate all
+				for (List<IndexedFilter> bucket : index.values())
+					evaluate(bucket, dictionary, matched);
+			}
+		}
+		evaluate(s.unindexed, dictionary, matched);
+		List<Match<L>> results = new ArrayList<Match<L>>();
+		for (int i = 0; i < size; i++) {
+			if (matched[i] != Integer.MAX_VALUE) {
+				ListenerEntry<L> entry = s.listeners.get(i);
+				for (ScopeFilter sf : entry.filters)
+					if (sf.ordinal == matched[i]) {
+						results.add(new Match<L>(entry.listener, sf.filter));
+						break;
+					}
+			}
+		}
+		return results;
+	}
+
+	private void evaluate(List<IndexedFilter> filters, Dictionary<String, Object> dictionary, int[] matched) {
+		if (filters == null)
+			return;
+		for (IndexedFilter f : filters) {
+			// Skip when an earlier filter of the same listener already matched
+			if (f.scopeFilter.ordinal < matched[f.listenerIndex] && f.scopeFilter.parsedFilter.matchCase(dictionary))
+				matched[f.listenerIndex] = f.scopeFilter.ordinal;
+		}
+	}
+
+	/**
+	 * @return String[] with the property name and value of the equality the
+	 *         filter is indexed by, or <code>null</code> if it cannot be indexed
+	 */
+	static String[] getIndexTerm(String filter) {
+		List<String[]> terms = new ArrayList<String[]>();
+		String f = filter.trim();
+		if (f.startsWith("(&")) { //$NON-NLS-1$
+			int i = 2;
+			while (i < f.length() - 1) {
+				if (f.charAt(i) == '(') {
+					int end = findClose(f, i);
+					if (end < 0)
+						return null;
+					addEqualityTerm(f.substring(i, end + 1), terms);
+					i = end + 1;
+				} else
+					i++;
+			}
+		} else
+			addEqualityTerm(f, terms);
+		for (int i = 0; i < INDEXED_PROPERTIES.length; i++)
+			for (String[] term : terms)
+				if (INDEXED_PROPERTIES[i].equalsIgnoreCase(term[0]))
+					return new String[] { INDEXED_PROPERTIES[i], term[1] };
+		return null;
+	}
+
+	private static int findClose(String f, int start) {
+		int depth = 0;
+		for (int i = start; i < f.length(); i++) {
+			char c = f.charAt(i);
+			if (c == '\\')
+				i++;
+			else if (c == '(')
+				depth++;
+			else if (c == ')' && --depth == 0)
+				return i;
+		}
+		return -1;
+	}
+
+	private static void addEqualityTerm(String item, List<String[]> terms) {
+		if (item.length() < 4 || item.charAt(0) != '(' || item.charAt(item.length() - 1) != ')')
+			return;
+		String body = item.substring(1, item.length() - 1);
+		String trimmed = body.trim();
+		if (trimmed.length() == 0 || "&|!(".indexOf(trimmed.charAt(0)) >= 0) //$NON-NLS-1$
+			return;
+		int eq = body.indexOf('=');
+		if (eq <= 0 || "~<>".indexOf(body.charAt(eq - 1)) >= 0) //$NON-NLS-1$
+			return;
+		StringBuffer value = new StringBuffer();
+		for (int i = eq + 1; i < body.length(); i++) {
+			char c = body.charAt(i);
+			if (c == '\\' && i + 1 < body.length())
+				c = body.charAt(++i);
+			else if (c == '*')
+				// presence or substring
+				return;
+			value.append(c);
+		}
+		terms.add(new String[] { body.substring(0, eq).trim(), value.toString() });
+	}
+
+	// Dictionary view of the (case insensitive) endpoint description properties,
+	// to match filters with Filter.matchCase like EndpointDescription.matches
+	static class MapDictionary extends Dictionary<String, Object> {
+		private final Map<String, Object> map;
+
+		MapDictionary(Map<String, Object> map) {
+			this.map = map;
+		}
+
+		public Enumeration<Object> elements() {
+			return Collections.enumeration(map.values());
+		}
+
+		public Object get(Object key) {
+			return map.get(key);
+		}
+
+		public boolean isEmpty() {
+			return map.isEmpty();
+		}
+
+		public Enumeration<String> keys() {
+			return Collections.enumeration(map.keySet());
+		}
+
+		public Object put(String key, Object value) {
+			throw new UnsupportedOperationException();
+		}
+
+		public Object remove(Object key) {
+			throw new UnsupportedOperationException();
+		}
+
+		public int size() {
+			return map.size();
+		}
+	}
+}
@@ -258,4 +258,29 @@ public final class RemoteConstants {
 	 */
 	public static final String OSGI_CONTAINER_ID_NS = org.eclipse.ecf.remoteservice.Constants.OSGI_CONTAINER_ID_NS;
 
+	/**
+	 * Endpoint description formats property. Value type is String+. Advertised
+	 * by a peer to list the endpoint description formats it can read, e.g.
+	 * {@link #ENDPOINT_DESCRIPTION_FORMAT_BINARY} and
+	 * {@link #ENDPOINT_DESCRIPTION_FORMAT_EDEF}. A peer that does not advertise
+	 * this property is assumed to read EDEF only. See
+	 * {@link BinaryEndpointDescriptionWriter#writeEndpointDescriptions(java.io.OutputStream, org.osgi.service.remoteserviceadmin.EndpointDescription[], Object)}.
+	 * 
+	 * @since 4.10
+	 */
+	public static final String ENDPOINT_DESCRIPTION_FORMATS = "ecf.endpoint.description.formats"; //$NON-NLS-1$
+	/**
+	 * Endpoint Description Extender Format, the XML format of the OSGi Remote
+	 * Service Admin specification.
+	 * 
+	 * @since 4.10
+	 */
+	public static final String ENDPOINT_DESCRIPTION_FORMAT_EDEF = "edef"; //$NON-NLS-1$
+	/**
+	 * Binary format written by {@link BinaryEndpointDescriptionWriter}.
+	 * 
+	 * @since 4.10
+	 */
+	public static final String ENDPOINT_DESCRIPTION_FORMAT_BINARY = "ecf.binary.1"; //$NON-NLS-1$
+
 }
@@ -12,6 +12,7 @@
  *****************************************************************************/
 package org.eclipse.ecf.osgi.services.remoteserviceadmin;
 
+import java.security.AccessControlContext;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
@@ -25,12 +26,24 @@ import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -44,10 +57,12 @@ import org.eclipse.ecf.core.identity.StringID;
 import org.eclipse.ecf.core.util.ECFException;
 import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.Activator;
 import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.DebugOptions;
+import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.IndexedRegistrationCollection;
 import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.LogUtility;
 import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.PropertiesUtil;
 import org.eclipse.ecf.remoteservice.IExtendedRemoteServiceRegistration;
 import org.eclipse.ecf.remoteservice.IOSGiRemoteServiceContainerAdapter;
+import org.eclipse.ecf.remoteservice.IRemoteFilter;
 import org.eclipse.ecf.remoteservice.IRSAConsumerContainerAdapter;
 import org.eclipse.ecf.remoteservice.IRemoteService;
 import org.eclipse.ecf.remoteservice.IRemoteServiceContainer;
@@ -115,6 +130,28 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 			System.getProperty("org.eclipse.ecf.osgi.services.remoteserviceadmin.consumerAutoCreateContainer", //$NON-NLS-1$
 					"true")).booleanValue(); //$NON-NLS-1$
 
+	private static final int importThreads = Integer.parseInt(
+			System.getProperty("org.eclipse.ecf.osgi.services.remoteserviceadmin.importThreads", //$NON-NLS-1$
+					"8")); //$NON-NLS-1$
+
+	private Object importExecutorLock = new Object();
+	private ThreadPoolExecutor importExecutor;
+
+	private boolean lazyImport = new Boolean(
+			System.getProperty("org.eclipse.ecf.osgi.services.remoteserviceadmin.lazyImport", //$NON-NLS-1$
+					"false")).booleanValue(); //$NON-NLS-1$
+
+	private long lazyImportIdleTimeout = Long.parseLong(
+			System.getProperty("org.eclipse.ecf.osgi.services.remoteserviceadmin.lazyImportIdleTimeout", //$NON-NLS-1$
+					"0")); //$NON-NLS-1$
+
+	// Held while disconnecting an idle consumer container, and while a lazily
+	// imported endpoint starts looking up its remote service
+	private Object idleContainerLock = new Object();
+
+	private Object idleExecutorLock = new Object();
+	private ScheduledExecutorService idleExecutor;
+
 	private Object eventAdminTrackerLock = new Object();
 	private ServiceTracker eventAdminTracker;
 
@@ -130,8 +167,8 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 	private Collection<org.osgi.service.remoteserviceadmin.ExportRegistration> exportedRegistrations;
 	private Collection<org.osgi.service.remoteserviceadmin.ImportRegistration> importedRegistrations;
 
-	private Collection<ExportRegistration> localExportedRegistrations = new ArrayList<ExportRegistration>();
-	private Collection<ImportRegistration> localImportedRegistrations = new ArrayList<ImportRegistration>();
+	private Collection<ExportRegistration> localExportedRegistrations = new LinkedHashSet<ExportRegistration>();
+	private Collection<ImportRegistration> localImportedRegistrations = new LinkedHashSet<ImportRegistration>();
 
 	private ServiceRegistration eventListenerHookRegistration;
 
@@ -155,6 +192,56 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		}
 	}
 
+	/**
+	 * @param serviceReference the exported service reference. Must not be
+	 *                         <code>null</code>.
+	 * @return List of exported registrations for the given service reference
+	 * @since 4.10
+	 */
+	public List<ExportRegistration> getExportedRegistrations(ServiceReference serviceReference) {
+		List<ExportRegistration> results = new ArrayList<ExportRegistration>();
+		for (org.osgi.service.remoteserviceadmin.ExportRegistration reg : getIndexed(exportedRegistrations,
+				IndexedRegistrationCollection.EXPORT_SERVICE_INDEX, serviceReference))
+			if (reg instanceof ExportRegistration && ((ExportRegistration) reg).match(serviceReference))
+				results.add((ExportRegistration) reg);
+		return results;
+	}
+
+	/**
+	 * @param endpointDescription the imported endpoint description. Must not be
+	 *                            <code>null</code>.
+	 * @return List of imported registrations for the given endpoint description
+	 * @since 4.10
+	 */
+	public List<ImportRegistration> getImportedRegistrations(
+			org.osgi.service.remoteserviceadmin.EndpointDescription endpointDescription) {
+		final EndpointDescription ed = (endpointDescription instanceof EndpointDescription)
+				? (EndpointDescription) endpointDescription
+				: new EndpointDescription(endpointDescription.getProperties());
+		List<ImportRegistration> results = new ArrayList<ImportRegistration>();
+		for (org.osgi.service.remoteserviceadmin.ImportRegistration reg : getIndexed(importedRegistrations,
+				IndexedRegistrationCollection.IMPORT_ENDPOINT_INDEX, ed.getId()))
+			if (reg instanceof ImportRegistration && ((ImportRegistration) reg).match(ed))
+				results.add((ImportRegistration) reg);
+		return results;
+	}
+
+	private <R> Collection<R> getIndexed(Collection<R> registrations, int index, Object key) {
+		if (registrations instanceof IndexedRegistrationCollection)
+			return ((IndexedRegistrationCollection<R>) registrations).get(index, key);
+		// Collections given to the constructor may not be indexed, so copy and
+		// scan them
+		synchronized (registrations) {
+			return new ArrayList<R>(registrations);
+		}
+	}
+
+	private Object getRegistrationLock(Collection<?> registrations, Object key) {
+		return (registrations instanceof IndexedRegistrationCollection)
+				? ((IndexedRegistrationCollection<?>) registrations).getLock(key)
+				: registrations;
+	}
+
 	public RemoteServiceAdmin(Bundle clientBundle) {
 		this(clientBundle, new ArrayList<org.osgi.service.remoteserviceadmin.ExportRegistration>(),
 				new ArrayList<org.osgi.service.remoteserviceadmin.ImportRegistration>());
@@ -287,7 +374,7 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		Collection<ExportRegistration> resultRegistrations = new ArrayList<ExportRegistration>();
 
 		// check for previously exported registration for the serviceReference
-		synchronized (exportedRegistrations) {
+		synchronized (getRegistrationLock(exportedRegistrations, serviceReference)) {
 			ExportEndpoint exportEndpoint = findExistingExportEndpoint(serviceReference, null);
 			// If found then create a second ExportRegistration from endpoint
 			if (exportEndpoint != null) {
@@ -350,7 +437,7 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 					return Collections.EMPTY_LIST;
 				}
 				// actually do the export
-				synchronized (exportedRegistrations) {
+				synchronized (getRegistrationLock(exportedRegistrations, serviceReference)) {
 					// For all selected containers
 					for (int i = 0; i < rsContainers.length; i++) {
 						Map endpointDescriptionProperties = createExportEndpointDescriptionProperties(serviceReference,
@@ -394,6 +481,212 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 
 	public org.osgi.service.remoteserviceadmin.ImportRegistration importService(
 			org.osgi.service.remoteserviceadmin.EndpointDescription endpointDescription) {
+		return doImportService(endpointDescription, null);
+	}
+
+	/**
+	 * Import a batch of endpoints. The endpoints are grouped by
+	 * {@link #getImportGroup(org.osgi.service.remoteserviceadmin.EndpointDescription)},
+	 * i.e. by the ID of the target they connect to and their configuration
+	 * types, which select the consumer container. The endpoints of a group are
+	 * imported in turn, so that the consumer container connects to the target
+	 * once and the remote service references of the target are looked up once,
+	 * rather than once per endpoint. Groups are imported in parallel, by at most
+	 * the number of threads
+	 * given by the org.eclipse.ecf.osgi.services.remoteserviceadmin.importThreads
+	 * system property (default 8).
+	 * <p>
+	 * Each endpoint is imported as by {@link #importService(org.osgi.service.remoteserviceadmin.EndpointDescription)},
+	 * except that a SecurityException from the import permission check is logged
+	 * rather than thrown.
+	 *
+	 * @param endpointDescriptions the endpoint descriptions to import. Must not be
+	 *                             <code>null</code>.
+	 * @return List of the import registrations, in the order of
+	 *         endpointDescriptions. An element is <code>null</code> if the
+	 *         endpoint was not imported.
+	 * @since 4.10
+	 */
+	public List<org.osgi.service.remoteserviceadmin.ImportRegistration> importServices(
+			Collection<? extends org.osgi.service.remoteserviceadmin.EndpointDescription> endpointDescriptions) {
+		final List<org.osgi.service.remoteserviceadmin.EndpointDescription> eds = new ArrayList<org.osgi.service.remoteserviceadmin.EndpointDescription>(
+				endpointDescriptions);
+		trace("importServices", "endpointDescriptions=" + eds); //$NON-NLS-1$ //$NON-NLS-2$
+		final org.osgi.service.remoteserviceadmin.ImportRegistration[] results = new org.osgi.service.remoteserviceadmin.ImportRegistration[eds
+				.size()];
+		// Group the endpoints by connect target and consumer container
+		Map<Object, List<Integer>> groups = new LinkedHashMap<Object, List<Integer>>();
+		for (int i = 0; i < eds.size(); i++) {
+			Object key = getImportGroup(eds.get(i));
+			List<Integer> group = groups.get(key);
+			if (group == null) {
+				group = new ArrayList<Integer>();
+				groups.put(key, group);
+			}
+			group.add(Integer.valueOf(i));
+		}
+		// Import permissions are checked in the context of the caller
+		final AccessControlContext acc = AccessController.getContext();
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		for (final List<Integer> group : groups.values()) {
+			futures.add(getImportExecutor().submit(new Runnable() {
+				public void run() {
+					AccessController.doPrivileged(new PrivilegedAction<Object>() {
+						public Object run() {
+							ImportBatch batch = new ImportBatch();
+							for (Integer i : group) {
+								try {
+									results[i.intValue()] = doImportService(eds.get(i.intValue()), batch);
+								} catch (Exception e) {
+									logError("importServices", "Could not import endpointDescription=" //$NON-NLS-1$ //$NON-NLS-2$
+											+ eds.get(i.intValue()), e);
+								}
+							}
+							return null;
+						}
+					}, acc);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				logError("importServices", "Unexpected exception importing endpoints", e.getCause()); //$NON-NLS-1$ //$NON-NLS-2$
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Get the group of an endpoint imported by
+	 * {@link #importServices(Collection)}. Endpoints of equal groups are imported
+	 * in turn, with the remote service references of their target looked up
+	 * once. This implementation returns a list of the ID of the connect target
+	 * (or of the remote container, if there is no connect target) and the
+	 * configuration types of the endpoint, or the endpoint description itself
+	 * if these cannot be determined, so that it is imported on its own.
+	 * 
+	 * @param endpointDescription the endpoint description to import. Will not be
+	 *                            <code>null</code>.
+	 * @return Object the group of the endpoint. Must not be <code>null</code>.
+	 * @since 4.10
+	 */
+	protected Object getImportGroup(org.osgi.service.remoteserviceadmin.EndpointDescription endpointDescription) {
+		try {
+			final EndpointDescription ed = (endpointDescription instanceof EndpointDescription)
+					? (EndpointDescription) endpointDescription
+					: new EndpointDescription(endpointDescription.getProperties());
+			ID targetID = ed.getConnectTargetID();
+			return Arrays.asList(new Object[] { (targetID == null) ? ed.getContainerID() : targetID,
+					ed.getConfigurationTypes() });
+		} catch (Exception e) {
+			// Import on its own, so that importService reports the error
+			return endpointDescription;
+		}
+	}
+
+	private ThreadPoolExecutor getImportExecutor() {
+		synchronized (importExecutorLock) {
+			if (importExecutor == null) {
+				importExecutor = new ThreadPoolExecutor(importThreads, importThreads, 60, TimeUnit.SECONDS,
+						new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+							private final AtomicInteger count = new AtomicInteger();
+
+							public Thread newThread(Runnable r) {
+								Thread t = new Thread(r, "RSA Import-" + count.incrementAndGet()); //$NON-NLS-1$
+								t.setDaemon(true);
+								return t;
+							}
+						});
+				importExecutor.allowCoreThreadTimeOut(true);
+			}
+			return importExecutor;
+		}
+	}
+
+	private ScheduledExecutorService getIdleExecutor() {
+		synchronized (idleExecutorLock) {
+			if (idleExecutor == null) {
+				ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+					public Thread newThread(Runnable r) {
+						Thread t = new Thread(r, "RSA Lazy Import Release"); //$NON-NLS-1$
+						t.setDaemon(true);
+						return t;
+					}
+				});
+				executor.setRemoveOnCancelPolicy(true);
+				idleExecutor = executor;
+			}
+			return idleExecutor;
+		}
+	}
+
+	/**
+	 * Remote service references of the targets imported from in a batch, looked
+	 * up once per consumer container and target
+	 */
+	class ImportBatch {
+		private final Map<IRemoteServiceContainerAdapter, Map<ID, IRemoteServiceReference[]>> references = new HashMap<IRemoteServiceContainerAdapter, Map<ID, IRemoteServiceReference[]>>();
+
+		IRemoteServiceReference[] getRemoteServiceReferences(IRemoteServiceContainerAdapter containerAdapter,
+				ID targetID, ID[] idFilter, String intf, String rsFilter)
+				throws ContainerConnectException, InvalidSyntaxException {
+			Map<ID, IRemoteServiceReference[]> targetReferences = references.get(containerAdapter);
+			if (targetReferences == null) {
+				targetReferences = new HashMap<ID, IRemoteServiceReference[]>();
+				references.put(containerAdapter, targetReferences);
+			}
+			IRemoteServiceReference[] all = null;
+			if (targetReferences.containsKey(targetID))
+				all = targetReferences.get(targetID);
+			else {
+				try {
+					// Connects if necessary, and gets all references in one request
+					all = containerAdapter.getRemoteServiceReferences(targetID, null, null, null);
+				} catch (Exception e) {
+					trace("getRemoteServiceReferences", "Could not get all references for targetID=" + targetID //$NON-NLS-1$ //$NON-NLS-2$
+							+ ".  Looking up references for each endpoint. exception=" + e); //$NON-NLS-1$
+				}
+				targetReferences.put(targetID, all);
+			}
+			List<IRemoteServiceReference> results = new ArrayList<IRemoteServiceReference>();
+			if (all != null) {
+				IRemoteFilter remoteFilter = (rsFilter == null) ? null : containerAdapter.createRemoteFilter(rsFilter);
+				for (int i = 0; i < all.length; i++)
+					if (matchContainerID(all[i], idFilter) && matchInterface(all[i], intf)
+							&& (remoteFilter == null || remoteFilter.match(all[i])))
+						results.add(all[i]);
+			}
+			// If not found, the remote service may have been registered after
+			// the lookup, so look it up again
+			if (results.size() == 0)
+				return containerAdapter.getRemoteServiceReferences(targetID, idFilter, intf, rsFilter);
+			return results.toArray(new IRemoteServiceReference[results.size()]);
+		}
+
+		private boolean matchContainerID(IRemoteServiceReference reference, ID[] idFilter) {
+			if (idFilter == null)
+				return true;
+			for (int i = 0; i < idFilter.length; i++)
+				if (idFilter[i].equals(reference.getContainerID()))
+					return true;
+			return false;
+		}
+
+		private boolean matchInterface(IRemoteServiceReference reference, String intf) {
+			Object classes = reference.getProperty(org.eclipse.ecf.remoteservice.Constants.OBJECTCLASS);
+			if (classes instanceof String[])
+				return Arrays.asList((String[]) classes).contains(intf);
+			return intf.equals(classes);
+		}
+	}
+
+	private ImportRegistration doImportService(
+			org.osgi.service.remoteserviceadmin.EndpointDescription endpointDescription, ImportBatch batch) {
 
 		trace("importService", "endpointDescription=" + endpointDescription); //$NON-NLS-1$ //$NON-NLS-2$
 		// First, make sure that the client bundle has the IMPORT endpoint
@@ -439,11 +732,11 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 
 		// If one selected then import the service to create an import
 		// registration
-		synchronized (importedRegistrations) {
+		synchronized (getRegistrationLock(importedRegistrations, ed.getId())) {
 			if (importRegistration == null) {
 				ImportEndpoint importEndpoint = findImportEndpoint(ed);
 				importRegistration = ((importEndpoint != null) ? new ImportRegistration(importEndpoint)
-						: importService(ed, rsContainer));
+						: importService(ed, rsContainer, batch));
 			}
 			addImportRegistration(importRegistration);
 		}
@@ -919,6 +1212,12 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		private IRemoteServiceReference rsReference;
 		private ServiceRegistration proxyRegistration;
 		private Set<ImportRegistration> activeImportRegistrations = new HashSet<ImportRegistration>();
+		// Number of proxies created for a lazily imported endpoint and not yet released
+		private int proxyCount;
+		private ScheduledFuture<?> idleRelease;
+		private final Object lookupLock = new Object();
+		// Number of lookups of the remote service of a lazily imported endpoint in progress
+		private int lookups;
 
 		public String toString() {
 			StringBuffer buf = new StringBuffer("ImportEndpoint["); //$NON-NLS-1$
@@ -934,6 +1233,13 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 			this.endpointDescription = endpointDescription;
 			this.rs = rs;
 			this.proxyRegistration = proxyRegistration;
+			// Lazily imported endpoints add the listener when the remote service is
+			// looked up
+			if (rsReference != null)
+				addRemoteServiceListener();
+		}
+
+		private void addRemoteServiceListener() {
 			this.rsListener = new RemoteServiceListener();
 			// Add the remoteservice listener to the container adapter, so that
 			// the rsListener notified asynchronously if our underlying remote
@@ -950,8 +1256,122 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 			return proxyRegistration;
 		}
 
+		synchronized void setProxyRegistration(ServiceRegistration proxyRegistration) {
+			this.proxyRegistration = proxyRegistration;
+		}
+
 		synchronized ID getContainerID() {
-			return (rsReference == null) ? null : rsReference.getContainerID();
+			if (rsReference != null)
+				return rsReference.getContainerID();
+			// Not looked up yet, so use the remote container ID of the endpoint
+			return (endpointDescription == null) ? null : endpointDescription.getContainerID();
+		}
+
+		synchronized long getRemoteServiceId() {
+			if (rsReference != null)
+				return rsReference.getID().getContainerRelativeID();
+			Long rsId = (endpointDescription == null) ? null : endpointDescription.getRemoteServiceId();
+			return (rsId == null) ? 0 : rsId.longValue();
+		}
+
+		synchronized boolean isUsingContainer(ID localContainerID) {
+			return (rs != null || lookups > 0) && localContainerID.equals(getLocalContainerID());
+		}
+
+		/**
+		 * Get the remote service for a new proxy of a lazily imported endpoint,
+		 * looking it up on first use. Must be matched by a call to
+		 * {@link #releaseRemoteService()} when the proxy is released, or not
+		 * created after all.
+		 */
+		IRemoteService useRemoteService() throws Exception {
+			// Only one lookup at a time, without holding this endpoint's lock, so
+			// that the endpoint may be closed while looking up
+			synchronized (lookupLock) {
+				IRemoteServiceContainer lookupContainer = null;
+				EndpointDescription lookupEndpoint = null;
+				// Count the lookup as use of the container, so that it is not
+				// disconnected as idle meanwhile
+				synchronized (idleContainerLock) {
+					synchronized (this) {
+						if (rsContainer == null)
+							throw new IllegalStateException("Import endpoint already closed"); //$NON-NLS-1$
+						if (rs != null)
+							return addProxy();
+						lookupContainer = rsContainer;
+						lookupEndpoint = endpointDescription;
+						lookups++;
+					}
+				}
+				try {
+					trace("useRemoteService", "looking up remote service for endpointDescription=" //$NON-NLS-1$ //$NON-NLS-2$
+							+ lookupEndpoint);
+					IRemoteServiceReference ref = getRemoteServiceReference(lookupEndpoint, lookupContainer, null);
+					IRemoteServiceContainerAdapter rsContainerAdapter = lookupContainer.getContainerAdapter();
+					IRemoteService remoteService = rsContainerAdapter.getRemoteService(ref);
+					if (remoteService == null)
+						throw new NullPointerException("getRemoteService returned null for selectedRsReference=" //$NON-NLS-1$
+								+ ref + ",rsContainerID=" //$NON-NLS-1$
+								+ lookupContainer.getContainer().getID());
+					synchronized (this) {
+						if (rsContainer != null) {
+							this.rsReference = ref;
+							this.rs = remoteService;
+							addRemoteServiceListener();
+							return addProxy();
+						}
+					}
+					// Closed while looking up
+					rsContainerAdapter.ungetRemoteService(ref);
+					throw new IllegalStateException("Import endpoint closed while looking up remote service"); //$NON-NLS-1$
+				} finally {
+					synchronized (this) {
+						lookups--;
+					}
+				}
+			}
+		}
+
+		private IRemoteService addProxy() {
+			if (idleRelease != null) {
+				idleRelease.cancel(false);
+				idleRelease = null;
+			}
+			proxyCount++;
+			return rs;
+		}
+
+		synchronized void releaseRemoteService() {
+			if (--proxyCount > 0 || rs == null || rsContainer == null || lazyImportIdleTimeout <= 0)
+				return;
+			idleRelease = getIdleExecutor().schedule(new Runnable() {
+				public void run() {
+					releaseIdleRemoteService();
+				}
+			}, lazyImportIdleTimeout, TimeUnit.MILLISECONDS);
+		}
+
+		void releaseIdleRemoteService() {
+			synchronized (idleContainerLock) {
+				IContainer container = null;
+				synchronized (this) {
+					idleRelease = null;
+					if (rs == null || rsContainer == null || proxyCount > 0)
+						return;
+					trace("releaseIdleRemoteService", "releasing remote service for endpointDescription=" //$NON-NLS-1$ //$NON-NLS-2$
+							+ endpointDescription);
+					IRemoteServiceContainerAdapter rsContainerAdapter = rsContainer.getContainerAdapter();
+					if (rsListener != null) {
+						rsContainerAdapter.removeRemoteServiceListener(rsListener);
+						rsListener = null;
+					}
+					rsContainerAdapter.ungetRemoteService(rsReference);
+					rsReference = null;
+					rs = null;
+					container = rsContainer.getContainer();
+				}
+				disconnectIdleContainer(container);
+			}
 		}
 
 		synchronized boolean addImportRegistration(ImportRegistration importRegistration) {
@@ -980,6 +1400,10 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 						rsListener = null;
 					}
 				}
+				if (idleRelease != null) {
+					idleRelease.cancel(false);
+					idleRelease = null;
+				}
 				rs = null;
 				endpointDescription = null;
 				rsContainer = null;
@@ -1077,6 +1501,11 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 			return (closed) ? null : importReference.match(ed);
 		}
 
+		boolean isUsingContainer(ID localContainerID) {
+			ImportReference ir = this.importReference;
+			return (closed || ir == null) ? false : ir.isUsingContainer(localContainerID);
+		}
+
 		public org.osgi.service.remoteserviceadmin.ImportReference getImportReference() {
 			Throwable t = getException();
 			if (t != null)
@@ -1203,12 +1632,11 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		}
 
 		public synchronized long getRemoteServiceId() {
-			if (importEndpoint == null)
-				return 0;
-			IRemoteServiceReference ref = importEndpoint.rsReference;
-			if (ref == null)
-				return 0;
-			return ref.getID().getContainerRelativeID();
+			return (importEndpoint == null) ? 0 : importEndpoint.getRemoteServiceId();
+		}
+
+		synchronized boolean isUsingContainer(ID localContainerID) {
+			return (importEndpoint == null) ? false : importEndpoint.isUsingContainer(localContainerID);
 		}
 
 		public synchronized ServiceReference getImportedService() {
@@ -1447,7 +1875,8 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 	}
 
 	private ExportEndpoint findExistingExportEndpoint(ServiceReference serviceReference, ID containerID) {
-		for (org.osgi.service.remoteserviceadmin.ExportRegistration eReg : exportedRegistrations) {
+		for (org.osgi.service.remoteserviceadmin.ExportRegistration eReg : getIndexed(exportedRegistrations,
+				IndexedRegistrationCollection.EXPORT_SERVICE_INDEX, serviceReference)) {
 			if (eReg instanceof ExportRegistration) {
 
 				ExportEndpoint exportEndpoint = ((ExportRegistration) eReg).getExportEndpoint(serviceReference,
@@ -1746,15 +2175,7 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		// sync sref props with endpoint props
 		endpointDescription.setPropertiesOverrides(proxyProperties);
 
-		final List<String> originalTypes = endpointDescription.getInterfaces();
-		final List<String> asyncServiceTypes = endpointDescription.getAsyncInterfaces();
-
-		final List<String> serviceTypes = new ArrayList<String>(originalTypes);
-
-		if (asyncServiceTypes != null)
-			for (String ast : asyncServiceTypes)
-				if (ast != null && !serviceTypes.contains(ast))
-					serviceTypes.add(ast);
+		final List<String> serviceTypes = getProxyServiceTypes(endpointDescription);
 
 		ServiceRegistration proxyRegistration = AccessController
 				.doPrivileged(new PrivilegedAction<ServiceRegistration>() {
@@ -1770,6 +2191,84 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		return new ImportEndpoint(rsContainer, selectedRsReference, rs, proxyRegistration, endpointDescription);
 	}
 
+	private ImportEndpoint createAndRegisterLazyProxy(final EndpointDescription endpointDescription,
+			final IRemoteServiceContainer rsContainer) throws Exception {
+
+		final BundleContext proxyServiceFactoryContext = getProxyServiceFactoryContext(endpointDescription);
+		if (proxyServiceFactoryContext == null)
+			throw new NullPointerException(
+					"getProxyServiceFactoryContext returned null.  Cannot register proxy service factory"); //$NON-NLS-1$
+
+		// Proxy properties from the endpoint description only, as the remote
+		// service is not looked up until the proxy is first used
+		final Map proxyProperties = createProxyProperties(rsContainer.getContainer().getID(), endpointDescription,
+				null, null);
+
+		endpointDescription.setPropertiesOverrides(proxyProperties);
+
+		final List<String> serviceTypes = getProxyServiceTypes(endpointDescription);
+
+		// Create the import endpoint first, as the proxy may be used while being
+		// registered
+		final ImportEndpoint importEndpoint = new ImportEndpoint(rsContainer, null, null, null, endpointDescription);
+
+		ServiceRegistration proxyRegistration = AccessController
+				.doPrivileged(new PrivilegedAction<ServiceRegistration>() {
+					public ServiceRegistration run() {
+						return proxyServiceFactoryContext.registerService(
+								(String[]) serviceTypes.toArray(new String[serviceTypes.size()]),
+								new LazyProxyServiceFactory(endpointDescription.getInterfaceVersions(),
+										importEndpoint),
+								(Dictionary) PropertiesUtil.createDictionaryFromMap(proxyProperties));
+					}
+				});
+		importEndpoint.setProxyRegistration(proxyRegistration);
+		return importEndpoint;
+	}
+
+	private List<String> getProxyServiceTypes(EndpointDescription endpointDescription) {
+		final List<String> originalTypes = endpointDescription.getInterfaces();
+		final List<String> asyncServiceTypes = endpointDescription.getAsyncInterfaces();
+
+		final List<String> serviceTypes = new ArrayList<String>(originalTypes);
+
+		if (asyncServiceTypes != null)
+			for (String ast : asyncServiceTypes)
+				if (ast != null && !serviceTypes.contains(ast))
+					serviceTypes.add(ast);
+		return serviceTypes;
+	}
+
+	/**
+	 * Disconnect a consumer container that no longer has imported remote services
+	 * in use or exported services, after the remote service of a lazily imported
+	 * endpoint has been idle. The container is connected again when a proxy is
+	 * next used. Called holding idleContainerLock.
+	 */
+	private void disconnectIdleContainer(IContainer container) {
+		ID connectedID = container.getConnectedID();
+		if (connectedID == null)
+			return;
+		ID containerID = container.getID();
+		List<org.osgi.service.remoteserviceadmin.ImportRegistration> imports = null;
+		synchronized (importedRegistrations) {
+			imports = new ArrayList<org.osgi.service.remoteserviceadmin.ImportRegistration>(importedRegistrations);
+		}
+		for (org.osgi.service.remoteserviceadmin.ImportRegistration reg : imports)
+			if (reg instanceof ImportRegistration && ((ImportRegistration) reg).isUsingContainer(containerID))
+				return;
+		List<org.osgi.service.remoteserviceadmin.ExportRegistration> exports = null;
+		synchronized (exportedRegistrations) {
+			exports = new ArrayList<org.osgi.service.remoteserviceadmin.ExportRegistration>(exportedRegistrations);
+		}
+		for (org.osgi.service.remoteserviceadmin.ExportRegistration reg : exports)
+			if (reg instanceof ExportRegistration && containerID.equals(((ExportRegistration) reg).getContainerID()))
+				return;
+		trace("disconnectIdleContainer", "disconnecting containerID=" + containerID //$NON-NLS-1$ //$NON-NLS-2$
+				+ " from connectedID=" + connectedID); //$NON-NLS-1$
+		container.disconnect();
+	}
+
 	private BundleContext getProxyServiceFactoryContext(EndpointDescription endpointDescription) throws Exception {
 		Activator a = Activator.getDefault();
 		if (a == null)
@@ -1862,6 +2361,44 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		}
 	}
 
+	/**
+	 * Proxy service factory for lazily imported endpoints, that looks up the
+	 * remote service when a proxy is first created
+	 */
+	class LazyProxyServiceFactory implements ServiceFactory {
+		private final Map<String, Version> interfaceVersions;
+		private final ImportEndpoint importEndpoint;
+
+		LazyProxyServiceFactory(Map<String, Version> interfaceVersions, ImportEndpoint importEndpoint) {
+			this.interfaceVersions = interfaceVersions;
+			this.importEndpoint = importEndpoint;
+		}
+
+		public Object getService(Bundle bundle, ServiceRegistration registration) {
+			IRemoteService remoteService = null;
+			try {
+				remoteService = importEndpoint.useRemoteService();
+			} catch (Exception e) {
+				throw new ServiceException("LazyProxyServiceFactory cannot get remote service for clientBundle=" //$NON-NLS-1$
+						+ bundle.getSymbolicName() + " from serviceReference=" //$NON-NLS-1$
+						+ registration.getReference(), e);
+			}
+			Object proxy = null;
+			try {
+				proxy = createProxy(bundle, registration.getReference(), remoteService, interfaceVersions);
+			} finally {
+				if (proxy == null)
+					importEndpoint.releaseRemoteService();
+			}
+			return proxy;
+		}
+
+		public void ungetService(Bundle bundle, ServiceRegistration registration, Object service) {
+			importEndpoint.releaseRemoteService();
+			ungetProxyClassLoader(bundle);
+		}
+	}
+
 	private Object createProxy(Bundle requestingBundle, ServiceReference serviceReference, IRemoteService remoteService,
 			Map<String, Version> interfaceVersions) {
 		// Get symbolicName once for possible use below
@@ -2118,7 +2655,9 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		Map<String, Object> edProps = endpointDescription.getProperties();
 		String[] supportedIntents = PropertiesUtil.getStringArrayWithDefault(edProps,
 				org.osgi.service.remoteserviceadmin.RemoteConstants.REMOTE_INTENTS_SUPPORTED, null);
-		PropertiesUtil.copyNonIntentsProperties(rsReference, supportedIntents, resultProperties);
+		// rsReference is null for lazily imported endpoints not yet looked up
+		if (rsReference != null)
+			PropertiesUtil.copyNonIntentsProperties(rsReference, supportedIntents, resultProperties);
 
 		PropertiesUtil.copyNonReservedProperties(endpointDescription.getProperties(), resultProperties);
 		// remove OBJECTCLASS
@@ -2135,7 +2674,8 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		// set
 		String serviceImportedType = (String) endpointDescription.getProperties()
 				.get(org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants.SERVICE_IMPORTED_VALUETYPE);
-		if (serviceImportedType == null || serviceImportedType.equals(IRemoteService.class.getName()))
+		if (remoteService != null && (serviceImportedType == null
+				|| serviceImportedType.equals(IRemoteService.class.getName())))
 			resultProperties.put(org.osgi.service.remoteserviceadmin.RemoteConstants.SERVICE_IMPORTED, remoteService);
 		else
 			resultProperties.put(org.osgi.service.remoteserviceadmin.RemoteConstants.SERVICE_IMPORTED,
@@ -2219,7 +2759,31 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 	}
 
 	private ImportRegistration importService(final EndpointDescription endpointDescription,
-			IRemoteServiceContainer rsContainer) {
+			IRemoteServiceContainer rsContainer, final ImportBatch batch) {
+		IRemoteServiceReference selectedRsReference = null;
+		// In lazy import mode the remote service is looked up on first use of the
+		// proxy
+		if (!lazyImport) {
+			try {
+				selectedRsReference = getRemoteServiceReference(endpointDescription, rsContainer, batch);
+			} catch (Exception e) {
+				return new ImportRegistration(endpointDescription, e);
+			}
+		}
+		try {
+			return new ImportRegistration((selectedRsReference == null)
+					? createAndRegisterLazyProxy(endpointDescription, rsContainer)
+					: createAndRegisterProxy(endpointDescription, rsContainer, selectedRsReference));
+		} catch (Exception e) {
+			logError("importService", "Could not register proxy for endpointDescription=" //$NON-NLS-1$ //$NON-NLS-2$
+					+ endpointDescription + ",rsContainerID=" //$NON-NLS-1$
+					+ rsContainer.getContainer().getID(), e);
+			return new ImportRegistration(endpointDescription, e);
+		}
+	}
+
+	private IRemoteServiceReference getRemoteServiceReference(final EndpointDescription endpointDescription,
+			IRemoteServiceContainer rsContainer, final ImportBatch batch) throws Exception {
 		// Get interfaces from endpoint description
 		Collection<String> interfaces = endpointDescription.getInterfaces();
 		Assert.isNotNull(interfaces);
@@ -2261,6 +2825,10 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 							if (cca != null)
 								// Call importEndpoint if the IRSAConsumerContainerAdapter is present
 								return cca.importEndpoint(endpointDescription.getProperties());
+							// Use the references looked up for the batch
+							else if (batch != null)
+								return batch.getRemoteServiceReferences(containerAdapter, targetID, idFilter, intf,
+										rsFilter);
 							// Otherwise use the 'old' container adapter
 							else
 								return containerAdapter.getRemoteServiceReferences(targetID, idFilter, intf, rsFilter);
@@ -2283,22 +2851,21 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 			if (selectedRsReference == null)
 				throw new RemoteReferenceNotFoundException(targetID, idFilter, interfaces, rsFilter);
 
-			return new ImportRegistration(
-					createAndRegisterProxy(endpointDescription, rsContainer, selectedRsReference));
+			return selectedRsReference;
 		} catch (PrivilegedActionException e) {
 			logError("importService", "selectRemoteServiceReference returned null for rsRefs=" //$NON-NLS-1$ //$NON-NLS-2$
 					+ rsRefs + ",targetID=" + targetID //$NON-NLS-1$
 					+ ",idFilter=" + idFilter + ",interfaces=" //$NON-NLS-1$ //$NON-NLS-2$
 					+ interfaces + ",rsFilter=" + rsFilter //$NON-NLS-1$
 					+ ",rsContainerID=" + rsContainerID, e.getException()); //$NON-NLS-1$
-			return new ImportRegistration(endpointDescription, e.getException());
+			throw e.getException();
 		} catch (Exception e) {
 			logError("importService", "selectRemoteServiceReference returned null for rsRefs=" //$NON-NLS-1$ //$NON-NLS-2$
 					+ rsRefs + ",targetID=" + targetID //$NON-NLS-1$
 					+ ",idFilter=" + idFilter + ",interfaces=" //$NON-NLS-1$ //$NON-NLS-2$
 					+ interfaces + ",rsFilter=" + rsFilter //$NON-NLS-1$
 					+ ",rsContainerID=" + rsContainerID, e); //$NON-NLS-1$
-			return new ImportRegistration(endpointDescription, e);
+			throw e;
 		}
 	}
 
@@ -2324,6 +2891,19 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 		this.localExportedRegistrations.clear();
 		this.localImportedRegistrations.clear();
 
+		synchronized (importExecutorLock) {
+			if (importExecutor != null) {
+				importExecutor.shutdownNow();
+				importExecutor = null;
+			}
+		}
+		synchronized (idleExecutorLock) {
+			if (idleExecutor != null) {
+				idleExecutor.shutdownNow();
+				idleExecutor = null;
+			}
+		}
+
 		synchronized (remoteServiceAdminListenerTrackerLock) {
 			if (remoteServiceAdminListenerTracker != null) {
 				remoteServiceAdminListenerTracker.close();
@@ -2382,7 +2962,8 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 	}
 
 	private ImportEndpoint findImportEndpoint(EndpointDescription ed) {
-		for (org.osgi.service.remoteserviceadmin.ImportRegistration reg : importedRegistrations) {
+		for (org.osgi.service.remoteserviceadmin.ImportRegistration reg : getIndexed(importedRegistrations,
+				IndexedRegistrationCollection.IMPORT_ENDPOINT_INDEX, ed.getId())) {
 			if (reg instanceof ImportRegistration) {
 				ImportEndpoint endpoint = ((ImportRegistration) reg).getImportEndpoint(ed);
 				if (endpoint != null)
@@ -2394,15 +2975,12 @@ public class RemoteServiceAdmin implements org.osgi.service.remoteserviceadmin.R
 
 	private void unimportService(IRemoteServiceID remoteServiceID) {
 		List<ImportRegistration> removedRegistrations = new ArrayList<ImportRegistration>();
-		synchronized (importedRegistrations) {
-			for (Iterator<org.osgi.service.remoteserviceadmin.ImportRegistration> i = importedRegistrations
-					.iterator(); i.hasNext();) {
-				org.osgi.service.remoteserviceadmin.ImportRegistration iReg = i.next();
-				if (iReg instanceof ImportRegistration) {
-					ImportRegistration importRegistration = (ImportRegistration) iReg;
-					if (importRegistration.match(remoteServiceID))
-						removedRegistrations.add(importRegistration);
-				}
+		for (org.osgi.service.remoteserviceadmin.ImportRegistration iReg : getIndexed(importedRegistrations,
+				IndexedRegistrationCollection.IMPORT_CONTAINER_INDEX, remoteServiceID.getContainerID())) {
+			if (iReg instanceof ImportRegistration) {
+				ImportRegistration importRegistration = (ImportRegistration) iReg;
+				if (importRegistration.match(remoteServiceID))
+					removedRegistrations.add(importRegistration);
 			}
 		}
 		// Now close all of them
@@ -0,0 +1,44 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.osgi.services.remoteserviceadmin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.StaxEndpointDescriptionParser;
+
+/**
+ * Implementation of {@link IEndpointDescriptionReader} that reads the Endpoint
+ * Description Extender Format with a StAX pull parser. It reads the same
+ * documents as {@link EndpointDescriptionReader}, with less garbage and
+ * without per document parser setup, and a single instance may be used by
+ * several threads at once.
+ * <p>
+ * The EndpointDescriptionLocator registers this reader as the default
+ * IEndpointDescriptionReader service when the
+ * org.eclipse.ecf.osgi.services.remoteserviceadmin.staxEndpointDescriptionReader
+ * system property is set to true.
+ * 
+ * @since 4.10
+ */
+public class StaxEndpointDescriptionReader extends EndpointDescriptionReader {
+
+	private final StaxEndpointDescriptionParser parser = new StaxEndpointDescriptionParser();
+
+	protected List<Map<String, Object>> parseEndpointDescriptions(InputStream ins) throws IOException {
+		return parser.parse(ins);
+	}
+
+}
@@ -0,0 +1,200 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.osgi.services.remoteserviceadmin;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Endpoint description writer that streams {@link EndpointDescription}s in the
+ * Endpoint Description Extender Format (section 122.8 of the OSGi enterprise
+ * specification) with a StAX {@link XMLStreamWriter}. Unlike
+ * {@link EndpointDescriptionWriter}, the output is not indented, and property
+ * names and values are escaped. Primitive arrays and empty collections are
+ * written as well. A single instance may be used by several threads at once.
+ *
+ * @since 4.10
+ */
+public class StaxEndpointDescriptionWriter {
+
+	private static final String NAMESPACE = "http://www.osgi.org/xmlns/rsa/v1.0.0"; //$NON-NLS-1$
+	private static final String ENCODING = "UTF-8"; //$NON-NLS-1$
+
+	protected List<String> xmlNames;
+
+	private final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+	public StaxEndpointDescriptionWriter() {
+		this(null);
+	}
+
+	/**
+	 * @param xmlNames names of the properties with String values to write as
+	 *                 xml elements. May be <code>null</code>.
+	 */
+	public StaxEndpointDescriptionWriter(List<String> xmlNames) {
+		this.xmlNames = xmlNames;
+	}
+
+	/**
+	 * @param endpointDescriptions the endpoint descriptions to write. Must not be
+	 *                             <code>null</code>.
+	 * @return byte[] the EDEF document, UTF-8 encoded
+	 * @throws IOException if the endpoint descriptions cannot be written
+	 */
+	public byte[] toByteArray(org.osgi.service.remoteserviceadmin.EndpointDescription[] endpointDescriptions)
+			throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		writeEndpointDescriptions(bos, endpointDescriptions);
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Write an EDEF document with the given endpoint descriptions to out. out is
+	 * flushed but not closed.
+	 *
+	 * @param out                  the output stream to write to. Must not be
+	 *                             <code>null</code>.
+	 * @param endpointDescriptions the endpoint descriptions to write. Must not be
+	 *                             <code>null</code>.
+	 * @throws IOException if the endpoint descriptions cannot be written
+	 */
+	public void writeEndpointDescriptions(OutputStream out,
+			org.osgi.service.remoteserviceadmin.EndpointDescription[] endpointDescriptions) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, ENCODING));
+		try {
+			XMLStreamWriter xmlWriter = null;
+			synchronized (outputFactory) {
+				xmlWriter = outputFactory.createXMLStreamWriter(writer);
+			}
+			xmlWriter.writeStartDocument(ENCODING, "1.0"); //$NON-NLS-1$
+			xmlWriter.writeStartElement("endpoint-descriptions"); //$NON-NLS-1$
+			xmlWriter.writeDefaultNamespace(NAMESPACE);
+			for (int i = 0; i < endpointDescriptions.length; i++)
+				if (endpointDescriptions[i] != null)
+					writeEndpointDescription(xmlWriter, writer, endpointDescriptions[i]);
+			xmlWriter.writeEndElement();
+			xmlWriter.writeEndDocument();
+			xmlWriter.flush();
+			writer.flush();
+		} catch (XMLStreamException e) {
+			throw new IOException(e.getMessage());
+		}
+	}
+
+	protected void writeEndpointDescription(XMLStreamWriter xmlWriter, Writer writer,
+			org.osgi.service.remoteserviceadmin.EndpointDescription endpointDescription)
+			throws XMLStreamException, IOException {
+		xmlWriter.writeStartElement("endpoint-description"); //$NON-NLS-1$
+		Map<String, Object> properties = endpointDescription.getProperties();
+		for (Map.Entry<String, Object> entry : properties.entrySet())
+			writeProperty(xmlWriter, writer, entry.getKey(), entry.getValue());
+		xmlWriter.writeEndElement();
+	}
+
+	protected void writeProperty(XMLStreamWriter xmlWriter, Writer writer, String name, Object value)
+			throws XMLStreamException, IOException {
+		if (value == null)
+			return;
+		if (value instanceof String && xmlNames != null && xmlNames.contains(name)) {
+			xmlWriter.writeStartElement("property"); //$NON-NLS-1$
+			xmlWriter.writeAttribute("name", name); //$NON-NLS-1$
+			xmlWriter.writeStartElement("xml"); //$NON-NLS-1$
+			// Close the start tag, and write the xml as is
+			xmlWriter.writeCharacters(""); //$NON-NLS-1$
+			xmlWriter.flush();
+			writer.write((String) value);
+			xmlWriter.writeEndElement();
+			xmlWriter.writeEndElement();
+		} else if (value instanceof Collection || value.getClass().isArray()) {
+			Collection<?> values = (value instanceof Collection) ? (Collection<?>) value : null;
+			Object first = null;
+			if (values != null) {
+				Iterator<?> i = values.iterator();
+				first = i.hasNext() ? i.next() : null;
+			} else if (Array.getLength(value) > 0)
+				first = Array.get(value, 0);
+			String valueType = (first == null) ? "String" : getValueType(first); //$NON-NLS-1$
+			if (valueType == null)
+				return;
+			xmlWriter.writeStartElement("property"); //$NON-NLS-1$
+			xmlWriter.writeAttribute("name", name); //$NON-NLS-1$
+			xmlWriter.writeAttribute("value-type", valueType); //$NON-NLS-1$
+			if (values != null) {
+				xmlWriter.writeStartElement((value instanceof Set) ? "set" : "list"); //$NON-NLS-1$ //$NON-NLS-2$
+				for (Object v : values)
+					writeValue(xmlWriter, v);
+			} else {
+				xmlWriter.writeStartElement("array"); //$NON-NLS-1$
+				int length = Array.getLength(value);
+				for (int i = 0; i < length; i++)
+					writeValue(xmlWriter, Array.get(value, i));
+			}
+			xmlWriter.writeEndElement();
+			xmlWriter.writeEndElement();
+		} else {
+			String valueType = getValueType(value);
+			if (valueType == null)
+				return;
+			xmlWriter.writeEmptyElement("property"); //$NON-NLS-1$
+			xmlWriter.writeAttribute("name", name); //$NON-NLS-1$
+			xmlWriter.writeAttribute("value-type", valueType); //$NON-NLS-1$
+			xmlWriter.writeAttribute("value", value.toString()); //$NON-NLS-1$
+		}
+	}
+
+	private void writeValue(XMLStreamWriter xmlWriter, Object value) throws XMLStreamException {
+		if (value == null)
+			return;
+		xmlWriter.writeStartElement("value"); //$NON-NLS-1$
+		xmlWriter.writeCharacters(value.toString());
+		xmlWriter.writeEndElement();
+	}
+
+	protected String getValueType(Object value) {
+		if (value instanceof String)
+			return "String"; //$NON-NLS-1$
+		else if (value instanceof Long)
+			return "Long"; //$NON-NLS-1$
+		else if (value instanceof Double)
+			return "Double"; //$NON-NLS-1$
+		else if (value instanceof Float)
+			return "Float"; //$NON-NLS-1$
+		else if (value instanceof Integer)
+			return "Integer"; //$NON-NLS-1$
+		else if (value instanceof Byte)
+			return "Byte"; //$NON-NLS-1$
+		else if (value instanceof Character)
+			return "Character"; //$NON-NLS-1$
+		else if (value instanceof Boolean)
+			return "Boolean"; //$NON-NLS-1$
+		else if (value instanceof Short)
+			return "Short"; //$NON-NLS-1$
+		return null;
+	}
+
+}
@@ -16,6 +16,7 @@ import org.eclipse.core.runtime.*;
 import org.eclipse.ecf.core.identity.Namespace;
 import org.eclipse.ecf.core.util.*;
 import org.eclipse.ecf.provider.remoteservice.generic.RemoteServiceContainerAdapterFactory;
+import org.eclipse.ecf.provider.remoteservice.generic.RegistrySharedObject;
 import org.eclipse.ecf.provider.remoteservice.generic.RemoteServiceNamespace;
 import org.osgi.framework.*;
 import org.osgi.service.log.LogService;
@@ -95,6 +96,7 @@ public class Activator implements BundleActivator {
 			}
 			rscAdapterFactories = null;
 		}
+		RegistrySharedObject.stopRequestTimer();
 		this.context = null;
 		plugin = null;
 	}
@@ -0,0 +1,229 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.remoteservice.generic;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.eclipse.ecf.core.identity.ID;
+
+/**
+ * Receiving side of a streamed call argument or result.  Holds the chunks received from
+ * the {@link OutboundStream} until they are read through the object returned by
+ * {@link #open()}, and grants the sender credit for more chunks as they are consumed.
+ */
+final class InboundStream {
+
+	private final RegistrySharedObject registry;
+	private final ID source;
+	private final RemoteStreamReference reference;
+	private final ClassLoader classLoader;
+	private final BlockingQueue<StreamChunk> chunks = new LinkedBlockingQueue<StreamChunk>();
+
+	// Set at the end of the stream, or when closed by the reader
+	private final AtomicBoolean done = new AtomicBoolean();
+
+	// Chunks consumed since credit was last granted.  Guarded by this
+	private int consumed;
+	private boolean ended;
+
+	InboundStream(RegistrySharedObject registry, ID source, RemoteStreamReference reference, ClassLoader classLoader) {
+		this.registry = registry;
+		this.source = source;
+		this.reference = reference;
+		this.classLoader = classLoader;
+	}
+
+	ID getSource() {
+		return source;
+	}
+
+	long getStreamId() {
+		return reference.getStreamId();
+	}
+
+	ClassLoader getClassLoader() {
+		return classLoader;
+	}
+
+	/**
+	 * Grant the sender its first credit.
+	 * @return Object an InputStream, Iterator or Stream, as given by the type of the reference
+	 */
+	Object open() {
+		registry.sendStreamCredit(source, getStreamId(), RegistrySharedObject.STREAM_WINDOW);
+		switch (reference.getType()) {
+			case RemoteStreamReference.INPUT_STREAM :
+				return new RemoteInputStream();
+			case RemoteStreamReference.ITERATOR :
+				return new RemoteIterator();
+			default :
+				final RemoteIterator iterator = new RemoteIterator();
+				final Stream<Object> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+				return stream.onClose(new Runnable() {
+					public void run() {
+						iterator.close();
+					}
+				});
+		}
+	}
+
+	void addChunk(StreamChunk chunk) {
+		chunks.add(chunk);
+	}
+
+	/**
+	 * End the stream with an exception, e.g. because the sender is gone.
+	 */
+	void fail(Throwable exception) {
+		chunks.add(StreamChunk.createEnd(exception));
+	}
+
+	/**
+	 * @return StreamChunk the next chunk with data, or <code>null</code> at the end of the stream
+	 * @throws IOException if the stream ended with an exception, or no chunk arrived in time
+	 */
+	synchronized StreamChunk nextChunk() throws IOException {
+		if (ended)
+			return null;
+		StreamChunk chunk;
+		try {
+			chunk = chunks.poll(RegistrySharedObject.STREAM_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted reading remote stream"); //$NON-NLS-1$
+		}
+		if (chunk == null) {
+			ended = true;
+			close();
+			throw new IOException("Timed out reading remote stream=" + getStreamId()); //$NON-NLS-1$
+		}
+		if (chunk.isEnd()) {
+			ended = true;
+			if (done.compareAndSet(false, true))
+				registry.removeInboundStream(this);
+			if (chunk.getException() != null)
+				throw new IOException("Remote stream failed", chunk.getException()); //$NON-NLS-1$
+			return null;
+		}
+		// Grant credit for consumed chunks once half of the window is consumed
+		if (++consumed >= Math.max(1, RegistrySharedObject.STREAM_WINDOW / 2)) {
+			registry.sendStreamCredit(source, getStreamId(), consumed);
+			consumed = 0;
+		}
+		return chunk;
+	}
+
+	/**
+	 * Close the stream.  If the end has not been reached the sender is told to stop.
+	 */
+	void close() {
+		if (!done.compareAndSet(false, true))
+			return;
+		registry.removeInboundStream(this);
+		registry.sendStreamCredit(source, getStreamId(), -1);
+		chunks.clear();
+		// Wake up reader
+		chunks.add(StreamChunk.createEnd(null));
+	}
+
+	public String toString() {
+		return "InboundStream[source=" + source + ";reference=" + reference + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	class RemoteInputStream extends InputStream {
+
+		private byte[] bytes;
+		private int position;
+		private boolean closed;
+
+		public int read() throws IOException {
+			final byte[] b = new byte[1];
+			return (read(b, 0, 1) < 0) ? -1 : (b[0] & 0xff);
+		}
+
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (closed)
+				return -1;
+			if (len == 0)
+				return 0;
+			while (bytes == null || position == bytes.length) {
+				final StreamChunk chunk = nextChunk();
+				if (chunk == null)
+					return -1;
+				bytes = chunk.getBytes();
+				position = 0;
+			}
+			final int count = Math.min(len, bytes.length - position);
+			System.arraycopy(bytes, position, b, off, count);
+			position += count;
+			return count;
+		}
+
+		public int available() {
+			return (closed || bytes == null) ? 0 : bytes.length - position;
+		}
+
+		public void close() {
+			closed = true;
+			bytes = null;
+			InboundStream.this.close();
+		}
+	}
+
+	class RemoteIterator implements Iterator<Object>, Closeable {
+
+		private Object[] elements;
+		private int position;
+		private boolean closed;
+
+		public boolean hasNext() {
+			if (closed)
+				return false;
+			while (elements == null || position == elements.length) {
+				final StreamChunk chunk;
+				try {
+					chunk = nextChunk();
+				} catch (final IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				if (chunk == null)
+					return false;
+				elements = chunk.getElements();
+				position = 0;
+			}
+			return true;
+		}
+
+		public Object next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			return elements[position++];
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		public void close() {
+			closed = true;
+			elements = null;
+			InboundStream.this.close();
+		}
+	}
+}
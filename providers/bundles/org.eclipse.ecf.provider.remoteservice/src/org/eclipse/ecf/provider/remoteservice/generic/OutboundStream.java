@@ -0,0 +1,168 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.remoteservice.generic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.provider.util.HashedWheelTimer;
+
+/**
+ * Sending side of a streamed call argument or result.  Chunks are read from the source
+ * and sent by {@link #run()} as long as the receiver has granted credit for them, one
+ * credit per chunk.  The receiver grants the first credits once it has created its
+ * {@link InboundStream}, and more as it consumes chunks, so at most a window of chunks is
+ * held by the receiver at once.
+ */
+final class OutboundStream implements Runnable {
+
+	private final RegistrySharedObject registry;
+	private final ID target;
+	private final long streamId;
+	private final InputStream inputStream;
+	private final Iterator iterator;
+	// The source, closed when the stream ends
+	private final Object source;
+	private final Semaphore credits = new Semaphore(0);
+
+	private boolean started;
+	private volatile boolean closed;
+
+	// Closes the stream if the receiver never grants credit
+	HashedWheelTimer.Timeout startTimeout;
+
+	OutboundStream(RegistrySharedObject registry, ID target, long streamId, Object source) {
+		this.registry = registry;
+		this.target = target;
+		this.streamId = streamId;
+		this.source = source;
+		this.inputStream = (source instanceof InputStream) ? (InputStream) source : null;
+		if (source instanceof Iterator)
+			this.iterator = (Iterator) source;
+		else if (source instanceof BaseStream)
+			this.iterator = ((BaseStream) source).iterator();
+		else
+			this.iterator = null;
+	}
+
+	ID getTarget() {
+		return target;
+	}
+
+	long getStreamId() {
+		return streamId;
+	}
+
+	/**
+	 * Add credit granted by the receiver.  The first credit starts sending.
+	 * @param credit the number of chunks the receiver accepts, or a negative number if the
+	 * receiver closed the stream
+	 */
+	void addCredit(int credit) {
+		if (credit < 0) {
+			close();
+			// Wake up sender waiting for credit
+			credits.release();
+			return;
+		}
+		credits.release(credit);
+		synchronized (this) {
+			if (started || closed)
+				return;
+			started = true;
+		}
+		if (startTimeout != null)
+			startTimeout.cancel();
+		registry.executeOutboundStream(this);
+	}
+
+	public void run() {
+		try {
+			while (!closed) {
+				if (!credits.tryAcquire(RegistrySharedObject.STREAM_TIMEOUT, TimeUnit.MILLISECONDS))
+					throw new IOException("Timed out waiting for receiver of remote stream=" + streamId); //$NON-NLS-1$
+				if (closed)
+					break;
+				final StreamChunk chunk = readChunk();
+				registry.sendStreamChunk(target, streamId, chunk);
+				if (chunk.isEnd())
+					break;
+			}
+		} catch (final Exception e) {
+			if (!closed)
+				registry.sendStreamEnd(target, streamId, e);
+		} finally {
+			close();
+		}
+	}
+
+	private StreamChunk readChunk() throws IOException {
+		if (inputStream != null) {
+			final byte[] buf = new byte[RegistrySharedObject.STREAM_CHUNK_SIZE];
+			int length = 0;
+			while (length < buf.length) {
+				final int count = inputStream.read(buf, length, buf.length - length);
+				if (count < 0)
+					break;
+				length += count;
+			}
+			if (length == 0)
+				return StreamChunk.createEnd(null);
+			if (length == buf.length)
+				return StreamChunk.createBytes(buf);
+			final byte[] bytes = new byte[length];
+			System.arraycopy(buf, 0, bytes, 0, length);
+			return StreamChunk.createBytes(bytes);
+		}
+		final Object[] buf = new Object[RegistrySharedObject.STREAM_CHUNK_ELEMENTS];
+		int length = 0;
+		while (length < buf.length && iterator.hasNext())
+			buf[length++] = iterator.next();
+		if (length == 0)
+			return StreamChunk.createEnd(null);
+		if (length == buf.length)
+			return StreamChunk.createElements(buf);
+		final Object[] elements = new Object[length];
+		System.arraycopy(buf, 0, elements, 0, length);
+		return StreamChunk.createElements(elements);
+	}
+
+	/**
+	 * Stop sending, and close the source.  No end chunk is sent.
+	 */
+	void close() {
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+		}
+		if (startTimeout != null)
+			startTimeout.cancel();
+		registry.removeOutboundStream(this);
+		if (source instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) source).close();
+			} catch (final Exception e) {
+				// Ignore
+			}
+		}
+	}
+
+	public String toString() {
+		return "OutboundStream[target=" + target + ";streamId=" + streamId + ";closed=" + closed + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
@@ -0,0 +1,154 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.remoteservice.generic;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.equinox.concurrent.future.*;
+
+/**
+ * Executor for remote call requests that bounds the number of requests executed and
+ * queued at once.  Requests beyond the bound are rejected with a
+ * {@link RejectedExecutionException} from {@link #execute(IProgressRunnable, IProgressMonitor)},
+ * rather than queued without limit or each given a new thread.
+ * <p>
+ * Requests are executed either by a pool of daemon threads with a bounded queue, or, with
+ * {@link #createVirtual(String, int)} on Java 21 or later, each on its own virtual thread
+ * with a limit on the number of requests executing at once.
+ *
+ * @since 4.7
+ */
+public class PooledRequestExecutor extends AbstractExecutor {
+
+	private final String name;
+	private final ExecutorService executorService;
+	// Bounds the requests executing at once for virtual threads.  null for the thread pool,
+	// which is bounded by its maximum size and queue capacity
+	private final Semaphore permits;
+
+	/**
+	 * Create executor that uses a thread pool.
+	 * @param name the name of the executor, used in thread names.  Must not be <code>null</code>.
+	 * @param coreThreads the number of threads kept while requests are executed
+	 * @param maxThreads the maximum number of threads.  Threads beyond coreThreads are only
+	 * started when the queue is full.
+	 * @param queueCapacity the maximum number of requests waiting for a thread
+	 * @param keepAlive the time in ms after which idle threads end
+	 */
+	public PooledRequestExecutor(String name, int coreThreads, int maxThreads, int queueCapacity, long keepAlive) {
+		Assert.isNotNull(name);
+		this.name = name;
+		final ThreadPoolExecutor pool = new ThreadPoolExecutor(coreThreads, Math.max(coreThreads, maxThreads), keepAlive, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(Math.max(1, queueCapacity)), new ThreadFactory() {
+			private final AtomicInteger threadCounter = new AtomicInteger(1);
+
+			public Thread newThread(Runnable r) {
+				final Thread thread = new Thread(r, createThreadName(threadCounter.getAndIncrement()));
+				thread.setDaemon(true);
+				return thread;
+			}
+		}, new ThreadPoolExecutor.AbortPolicy());
+		pool.allowCoreThreadTimeOut(true);
+		this.executorService = pool;
+		this.permits = null;
+	}
+
+	private PooledRequestExecutor(String name, ExecutorService executorService, int maxConcurrent) {
+		this.name = name;
+		this.executorService = executorService;
+		this.permits = new Semaphore(Math.max(1, maxConcurrent));
+	}
+
+	/**
+	 * Create executor that runs each request on a new virtual thread.
+	 * @param name the name of the executor.  Must not be <code>null</code>.
+	 * @param maxConcurrent the maximum number of requests executing at once
+	 * @return PooledRequestExecutor using virtual threads, or <code>null</code> if the
+	 * Java runtime does not support virtual threads
+	 */
+	public static PooledRequestExecutor createVirtual(String name, int maxConcurrent) {
+		Assert.isNotNull(name);
+		ExecutorService executorService = null;
+		try {
+			// Java 21 and later
+			final Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor", (Class[]) null); //$NON-NLS-1$
+			executorService = (ExecutorService) m.invoke(null, (Object[]) null);
+		} catch (final Exception e) {
+			return null;
+		}
+		return new PooledRequestExecutor(name, executorService, maxConcurrent);
+	}
+
+	protected String createThreadName(int threadCounter) {
+		return name + " - " + threadCounter; //$NON-NLS-1$
+	}
+
+	protected AbstractFuture createFuture(IProgressMonitor progressMonitor) {
+		return new SingleOperationFuture(progressMonitor);
+	}
+
+	protected void safeRun(ISafeProgressRunner runner, IProgressRunnable progressRunnable) {
+		runner.runWithProgress(progressRunnable);
+	}
+
+	/**
+	 * @throws RejectedExecutionException if the executor is at its limit, or shut down
+	 */
+	public IFuture execute(final IProgressRunnable runnable, final IProgressMonitor monitor) throws RejectedExecutionException {
+		Assert.isNotNull(runnable);
+		if (permits != null && !permits.tryAcquire())
+			throw new RejectedExecutionException(name + " has reached its limit of concurrent requests"); //$NON-NLS-1$
+		final AbstractFuture sof = createFuture(monitor);
+		try {
+			executorService.execute(new Runnable() {
+				public void run() {
+					try {
+						safeRun(sof, runnable);
+					} finally {
+						if (permits != null)
+							permits.release();
+					}
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			if (permits != null)
+				permits.release();
+			throw e;
+		}
+		return sof;
+	}
+
+	/**
+	 * @return int the number of requests waiting for a thread, or 0 for virtual threads
+	 */
+	public int getQueueSize() {
+		return (executorService instanceof ThreadPoolExecutor) ? ((ThreadPoolExecutor) executorService).getQueue().size() : 0;
+	}
+
+	/**
+	 * Stop accepting requests.  Requests already accepted are still executed.
+	 */
+	public void shutdown() {
+		executorService.shutdown();
+	}
+
+	public boolean isShutdown() {
+		return executorService.isShutdown();
+	}
+
+	public String toString() {
+		return "PooledRequestExecutor[name=" + name + ";executor=" + executorService + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -13,9 +13,18 @@ package org.eclipse.ecf.provider.remoteservice.generic;
 
 import java.io.*;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.security.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.BaseStream;
 import org.eclipse.core.runtime.*;
 import org.eclipse.ecf.core.ContainerConnectException;
 import org.eclipse.ecf.core.events.*;
@@ -24,11 +33,14 @@ import org.eclipse.ecf.core.jobs.JobsExecutor;
 import org.eclipse.ecf.core.security.IConnectContext;
 import org.eclipse.ecf.core.sharedobject.*;
 import org.eclipse.ecf.core.sharedobject.events.ISharedObjectActivatedEvent;
+import org.eclipse.ecf.core.sharedobject.util.IQueueEnqueue;
+import org.eclipse.ecf.core.sharedobject.util.QueueException;
 import org.eclipse.ecf.core.status.SerializableStatus;
 import org.eclipse.ecf.core.util.*;
-import org.eclipse.ecf.core.util.reflection.ClassUtil;
 import org.eclipse.ecf.internal.provider.remoteservice.Activator;
 import org.eclipse.ecf.internal.provider.remoteservice.IRemoteServiceProviderDebugOptions;
+import org.eclipse.ecf.provider.generic.DirectSharedObjectMsg;
+import org.eclipse.ecf.provider.util.HashedWheelTimer;
 import org.eclipse.ecf.remoteservice.*;
 import org.eclipse.ecf.remoteservice.asyncproxy.AsyncReturnUtil;
 import org.eclipse.ecf.remoteservice.events.*;
@@ -50,6 +62,20 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	 */
 	protected static final boolean PROPAGATE_RESPONSE_ERROR = new Boolean(System.getProperty("org.eclipse.ecf.provider.remoteservice.propagateResponseError", "true")).booleanValue(); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Tick of the timer for call request timeouts, in ms
+	 * @since 4.7
+	 */
+	protected static final long REQUEST_TIMER_TICK = Long.parseLong(System.getProperty("org.eclipse.ecf.provider.remoteservice.requestTimerTick", "100")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final int REQUEST_TIMER_TICKS_PER_WHEEL = 512;
+
+	// Time in ms, beyond the call timeout, that callSynch waits for the timeout to be
+	// handled on the event queue before failing the request itself
+	private static final long RESPONSE_WAIT_SLACK = 2000;
+
+	private static HashedWheelTimer requestTimer;
+
 	private static int uniqueRequestId = 0;
 
 	private static synchronized Integer createNextRequestId() {
@@ -81,9 +107,16 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	protected int addRegistrationRequestTimeout = ADD_REGISTRATION_REQUEST_TIMEOUT;
 	/**
 	 * List of invocation requests...instances of Request
+	 * @deprecated As of 4.7 outstanding requests are kept in {@link #pendingRequests}.
+	 * This list is no longer used.
 	 */
 	@SuppressWarnings("unchecked")
 	protected List requests = Collections.synchronizedList(new ArrayList());
+	/**
+	 * Map of outstanding invocation requests.  key:  Long (request id), value: Request
+	 * @since 4.7
+	 */
+	protected final Map<Long, Request> pendingRequests = new ConcurrentHashMap<Long, Request>();
 
 	/**
 	 * Connect context to be used for connect.
@@ -130,11 +163,93 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	private Hashtable pendingUpdateContainers = new Hashtable();
 	private List registryUpdateRequests = new ArrayList();
 
-	// system property allowing the executorType to be configured.  Currently types are:  jobs, threads, immediate.
+	// system property allowing the executorType to be configured.  Currently types are:  jobs, threads, immediate, pool, virtual.
 	private static final String DEFAULT_EXECUTOR_TYPE = System.getProperty("org.eclipse.ecf.provider.remoteservice.executorType", "jobs"); //$NON-NLS-1$ //$NON-NLS-2$
 
+	/**
+	 * Number of threads kept by the 'pool' executor type
+	 * @since 4.7
+	 */
+	protected static final int EXECUTOR_CORE_THREADS = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.remoteservice.executor.coreThreads", String.valueOf(Runtime.getRuntime().availableProcessors()))); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of threads of the 'pool' executor type
+	 * @since 4.7
+	 */
+	protected static final int EXECUTOR_MAX_THREADS = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.remoteservice.executor.maxThreads", "64")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Maximum number of requests waiting for a thread of the 'pool' executor type
+	 * @since 4.7
+	 */
+	protected static final int EXECUTOR_QUEUE_CAPACITY = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.remoteservice.executor.queueCapacity", "1024")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Time in ms after which idle threads of the 'pool' executor type end
+	 * @since 4.7
+	 */
+	protected static final long EXECUTOR_KEEP_ALIVE = Long.parseLong(System.getProperty("org.eclipse.ecf.provider.remoteservice.executor.keepAlive", "60000")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Maximum number of requests executing at once with the 'virtual' executor type
+	 * @since 4.7
+	 */
+	protected static final int EXECUTOR_MAX_CONCURRENT = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.remoteservice.executor.maxConcurrent", "1024")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Default maximum number of requests executing at once per remote service.  0 (the default)
+	 * means no limit.  Can be set per remote service with {@link #MAX_CONCURRENT_CALLS_PROPERTY}.
+	 * @since 4.7
+	 */
+	protected static final int DEFAULT_MAX_CONCURRENT_CALLS = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.remoteservice.maxConcurrentCallsPerService", "0")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Remote service registration property for the maximum number of requests for the
+	 * service executing at once.  Value is an Integer or a String holding one.  Requests
+	 * beyond the limit are rejected with an error response.
+	 * @since 4.7
+	 */
+	public static final String MAX_CONCURRENT_CALLS_PROPERTY = "ecf.rsvc.maxConcurrentCalls"; //$NON-NLS-1$
+
+	/**
+	 * Time in ms that a streamed argument or result waits for its receiver to grant credit,
+	 * or for its sender to send the next chunk, before it is closed.
+	 * @since 4.7
+	 */
+	protected static final long STREAM_TIMEOUT = Long.parseLong(System.getProperty("org.eclipse.ecf.provider.remoteservice.stream.timeout", "30000")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Number of chunks of a streamed argument or result that may be sent before the receiver
+	 * has consumed them.
+	 * @since 4.7
+	 */
+	protected static final int STREAM_WINDOW = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.remoteservice.stream.window", "8")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Maximum number of bytes in a chunk of a streamed InputStream.
+	 * @since 4.7
+	 */
+	protected static final int STREAM_CHUNK_SIZE = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.remoteservice.stream.chunkSize", "32768")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Maximum number of elements in a chunk of a streamed Iterator or Stream.
+	 * @since 4.7
+	 */
+	protected static final int STREAM_CHUNK_ELEMENTS = Integer.parseInt(System.getProperty("org.eclipse.ecf.provider.remoteservice.stream.chunkElements", "256")); //$NON-NLS-1$ //$NON-NLS-2$
+
 	private IExecutor requestExecutor;
 
+	private PooledRequestExecutor streamExecutor;
+
+	private final AtomicLong nextStreamId = new AtomicLong();
+
+	// Streamed arguments and results sent by this container, by stream id.  Streams
+	// whose receiver never grants credit are closed after STREAM_TIMEOUT
+	private final Map<Long, OutboundStream> outboundStreams = new ConcurrentHashMap<Long, OutboundStream>();
+
+	// Streamed arguments and results received by this container, by sender and stream id
+	private final Map<ID, Map<Long, InboundStream>> inboundStreams = new ConcurrentHashMap<ID, Map<Long, InboundStream>>();
+
 	private Object remoteServiceCallPolicyLock = new Object();
 	private IRemoteServiceCallPolicy remoteServiceCallPolicy;
 
@@ -455,6 +570,9 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 					handleContainerDisconnectedEvent((IContainerDisconnectedEvent) arg0);
 				} else if (arg0 instanceof IContainerEjectedEvent) {
 					handleContainerEjectedEvent((IContainerEjectedEvent) arg0);
+				} else if (arg0 instanceof RequestTimeoutEvent) {
+					handleRequestTimeout(((RequestTimeoutEvent) arg0).request);
+					return true;
 				} else if (arg0 instanceof ISharedObjectActivatedEvent) {
 					// If it's us that's being activated, then we do something about it
 					if (getID().equals(((ISharedObjectActivatedEvent) arg0).getActivatedID()))
@@ -489,9 +607,8 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 		synchronized (addRegistrationRequests) {
 			addRegistrationRequests.clear();
 		}
-		synchronized (requests) {
-			requests.clear();
-		}
+		failPendingRequests(new ECFException("Remote service container disposed")); //$NON-NLS-1$
+		closeStreams(null, new ECFException("Remote service container disposed")); //$NON-NLS-1$
 		synchronized (pendingUpdateContainers) {
 			pendingUpdateContainers.clear();
 		}
@@ -504,6 +621,14 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 		synchronized (localRegistryUnregistrationTargets) {
 			localRegistryUnregistrationTargets.clear();
 		}
+		synchronized (this) {
+			if (requestExecutor instanceof PooledRequestExecutor)
+				((PooledRequestExecutor) requestExecutor).shutdown();
+			requestExecutor = null;
+			if (streamExecutor != null)
+				streamExecutor.shutdown();
+			streamExecutor = null;
+		}
 		super.dispose(containerID);
 	}
 
@@ -756,6 +881,8 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 		removeUnregistrationTarget(targetID);
 		// Remove from pending updates
 		removePendingContainers(targetID);
+		// Close streams to and from target, or all streams if no longer connected
+		closeStreams(isConnected() ? targetID : null, new ECFException("Remote container=" + targetID + " is gone")); //$NON-NLS-1$ //$NON-NLS-2$
 
 		if (!isConnected())
 			setRegistryConnected(false);
@@ -879,7 +1006,16 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 
 	// generic
 	private Request createRequest(RemoteServiceRegistrationImpl remoteRegistration, IRemoteCall call, IRemoteCallListener listener) {
-		return new Request(this.getLocalContainerID(), remoteRegistration.getServiceId(), RemoteCallImpl.createRemoteCall(null, call.getMethod(), call.getParameters(), call.getTimeout()), listener);
+		Object[] parameters = call.getParameters();
+		if (parameters != null && isStreamingSupported(remoteRegistration))
+			parameters = createOutboundStreams(remoteRegistration.getContainerID(), parameters);
+		final Request request = new Request(this.getLocalContainerID(), remoteRegistration.getServiceId(), RemoteCallImpl.createRemoteCall(null, call.getMethod(), parameters, call.getTimeout()), listener);
+		// Results may be streamed to this container
+		request.acceptsStreams = true;
+		request.metrics = remoteRegistration.getCallMetrics(getLocalContainerID(), false);
+		if (request.metrics != null)
+			request.startTime = System.nanoTime();
+		return request;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -939,36 +1075,28 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	}
 
 	protected Object callSynch(RemoteServiceRegistrationImpl registration, IRemoteCall call) throws ECFException {
-		boolean doneWaiting = false;
+		Request request = null;
 		Response response = null;
 		try {
 			// First send request
-			final Request request = sendCallRequest(registration, call);
-			long requestId = request.getRequestId();
-			// Then get the specified timeout and calculate when we should
-			// timeout in real time
-			final long timeout = call.getTimeout() + System.currentTimeMillis();
-			// Now loop until timeout time has elapsed
-			while ((timeout - System.currentTimeMillis()) > 0 && !doneWaiting) {
-				synchronized (request) {
-					if (request.isDone()) {
-						doneWaiting = true;
-						response = request.getResponse();
-						if (response == null)
-							throw new ECFException("Invalid response for requestId=" + requestId); //$NON-NLS-1$
-					} else {
-						request.wait(RESPONSE_WAIT_INTERVAL);
-					}
-				}
-			}
-			if (!doneWaiting)
-				throw new ServiceException("Request timed out after " + Long.toString(call.getTimeout()) + "ms", ServiceException.REMOTE, new TimeoutException(call.getTimeout())); //$NON-NLS-1$ //$NON-NLS-2$
+			request = sendCallRequest(registration, call);
+			// Then wait for the response.  The request's future is completed by
+			// handleCallResponseBytes, or exceptionally by the request timer
+			response = waitForResponse(request);
+			if (response == null)
+				throw new ECFException("Invalid response for requestId=" + request.getRequestId()); //$NON-NLS-1$
 		} catch (final IOException e) {
 			log(CALL_REQUEST_ERROR_CODE, CALL_REQUEST_ERROR_MESSAGE, e);
-			throw new ECFException("Error sending request", e); //$NON-NLS-1$
+			throw new ECFException("Error sending request", createTransportException(e)); //$NON-NLS-1$
 		} catch (final InterruptedException e) {
+			removeRequest(request);
 			log(CALL_REQUEST_TIMEOUT_ERROR_CODE, CALL_REQUEST_TIMEOUT_ERROR_MESSAGE, e);
 			throw new ECFException("Wait for response interrupted", e); //$NON-NLS-1$
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof TimeoutException)
+				throw new ServiceException("Request timed out after " + Long.toString(call.getTimeout()) + "ms", ServiceException.REMOTE, cause); //$NON-NLS-1$ //$NON-NLS-2$
+			throw new ECFException("Exception waiting for response for requestId=" + request.getRequestId(), cause); //$NON-NLS-1$
 		}
 		// Success...now get values and return
 		if (response.hadException())
@@ -977,6 +1105,63 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 		return response.getResponse();
 	}
 
+	private Response waitForResponse(Request request) throws InterruptedException, ExecutionException {
+		final long timeout = request.getCall().getTimeout() + RESPONSE_WAIT_SLACK;
+		try {
+			return (timeout < 0) ? request.getResponseFuture().get() : request.getResponseFuture().get(timeout, TimeUnit.MILLISECONDS);
+		} catch (final java.util.concurrent.TimeoutException e) {
+			// The timeout is handled on the event queue's thread.  If that is this thread,
+			// e.g. for a call from a listener or a request executed on it, the timeout
+			// would never be handled
+			if (removeRequest(request))
+				failRequest(request, new TimeoutException(request.getCall().getTimeout()));
+			// Failed above, or completed by whoever removed the request
+			return request.getResponseFuture().get();
+		}
+	}
+
+	/**
+	 * Send call request without waiting for the response.  The returned future is
+	 * completed by handleCallResponseBytes, or exceptionally by the request timer, with
+	 * the result or exception {@link #callSynch(RemoteServiceRegistrationImpl, IRemoteCall)}
+	 * would give.  Cancelling the returned future removes the request.  As it is completed
+	 * by the thread handling responses, callers must not block in dependent actions;
+	 * {@link RemoteServiceImpl} hands the completion over to its completion executor.
+	 * @since 4.7
+	 */
+	protected CompletableFuture<Object> callNonBlocking(RemoteServiceRegistrationImpl registration, final IRemoteCall call) {
+		final CompletableFuture<Object> result = new CompletableFuture<Object>();
+		final Request request;
+		try {
+			request = sendCallRequest(registration, call);
+		} catch (final IOException e) {
+			log(CALL_REQUEST_ERROR_CODE, CALL_REQUEST_ERROR_MESSAGE, e);
+			result.completeExceptionally(new ECFException("Error sending request", createTransportException(e))); //$NON-NLS-1$
+			return result;
+		}
+		request.getResponseFuture().whenComplete(new BiConsumer<Response, Throwable>() {
+			public void accept(Response response, Throwable exception) {
+				if (exception instanceof TimeoutException)
+					result.completeExceptionally(new ServiceException("Request timed out after " + Long.toString(call.getTimeout()) + "ms", ServiceException.REMOTE, exception)); //$NON-NLS-1$ //$NON-NLS-2$
+				else if (exception != null)
+					result.completeExceptionally(new ECFException("Exception waiting for response for requestId=" + request.getRequestId(), exception)); //$NON-NLS-1$
+				else if (response == null)
+					result.completeExceptionally(new ECFException("Invalid response for requestId=" + request.getRequestId())); //$NON-NLS-1$
+				else if (response.hadException())
+					result.completeExceptionally(new ECFException("Exception in remote call", response.getException())); //$NON-NLS-1$
+				else
+					result.complete(response.getResponse());
+			}
+		});
+		result.whenComplete(new BiConsumer<Object, Throwable>() {
+			public void accept(Object r, Throwable exception) {
+				if (result.isCancelled())
+					removeRequest(request);
+			}
+		});
+		return result;
+	}
+
 	protected void fireCallStartEvent(IRemoteCallListener listener, final long requestId, final IRemoteServiceReference reference, final IRemoteCall call) {
 		if (listener != null) {
 			listener.handleEvent(new IRemoteCallStartEvent() {
@@ -1106,8 +1291,6 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 
 	private static final int REQUEST_NOT_FOUND_ERROR_CODE = 211;
 
-	private static final long RESPONSE_WAIT_INTERVAL = 500;
-
 	private static final String ADD_REGISTRATION = "handleAddRegistration"; //$NON-NLS-1$
 
 	private static final String ADD_REGISTRATIONS = "handleAddRegistrations"; //$NON-NLS-1$
@@ -1134,6 +1317,42 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 
 	private static final String CALL_RESPONSE_BYTES = "handleCallResponseBytes"; //$NON-NLS-1$
 
+	private static final String CALL_BATCH_REQUEST_BYTES = "handleCallBatchRequestBytes"; //$NON-NLS-1$
+
+	private static final String CALL_BATCH_RESPONSE_BYTES = "handleCallBatchResponseBytes"; //$NON-NLS-1$
+
+	/**
+	 * Registration property set by hosts that handle batches of call requests.  Batches are
+	 * only sent to registrations with this property, so that calls to older hosts are sent
+	 * separately.
+	 * @since 4.7
+	 */
+	public static final String CALL_BATCH_PROPERTY = "ecf.rsvc.callbatch"; //$NON-NLS-1$
+
+	private static final String INVALIDATE_CALL_CACHE = "handleInvalidateCallCache"; //$NON-NLS-1$
+
+	private static final String INVALIDATE_CALL_CACHE_ERROR_MESSAGE = "exception sending call cache invalidation message"; //$NON-NLS-1$
+
+	private static final int INVALIDATE_CALL_CACHE_ERROR_CODE = 216;
+
+	private static final String STREAM_DATA_BYTES = "handleStreamDataBytes"; //$NON-NLS-1$
+
+	private static final String STREAM_CREDIT = "handleStreamCredit"; //$NON-NLS-1$
+
+	private static final String STREAM_ERROR_MESSAGE = "exception sending remote stream message"; //$NON-NLS-1$
+
+	private static final int STREAM_ERROR_CODE = 215;
+
+	/**
+	 * Registration property set by hosts that stream call arguments and results.  Arguments
+	 * and results that are not serializable and are an {@link InputStream}, an {@link Iterator}
+	 * or a {@link java.util.stream.Stream} are then sent in chunks, after the request or
+	 * response, and read by the receiver through an object of the same kind.  Arguments are
+	 * only streamed to registrations with this property.
+	 * @since 4.7
+	 */
+	public static final String STREAMING_PROPERTY = "ecf.rsvc.streaming"; //$NON-NLS-1$
+
 	/**
 	 * @param receiver receiver
 	 * @param requestId requestId
@@ -1408,13 +1627,24 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 		}
 	}
 
+	/**
+	 * @return RemoteCallTransportException marking the failure to send a request as
+	 * local, so that it is not mistaken for an exception thrown by the remote service
+	 */
+	private RemoteCallTransportException createTransportException(IOException e) {
+		if (e instanceof RemoteCallTransportException)
+			return (RemoteCallTransportException) e;
+		return new RemoteCallTransportException(e.getMessage(), e);
+	}
+
 	protected Request sendCallRequest(RemoteServiceRegistrationImpl remoteRegistration, final IRemoteCall call) throws IOException {
 		final Request request = createRequest(remoteRegistration, call, null);
 		addRequest(request);
 		try {
-			sendSharedObjectMsgTo(remoteRegistration.getContainerID(), SharedObjectMsg.createMsg(CALL_REQUEST_BYTES, serializeCallRequest(request)));
+			sendSharedObjectMsgTo(remoteRegistration.getContainerID(), createCallRequestMsg(request));
 		} catch (final IOException e) {
 			removeRequest(request);
+			recordFailedCall(request, e);
 			throw e;
 		}
 		return request;
@@ -1424,16 +1654,28 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	 * @since 4.6
 	 */
 	protected byte[] serializeCallRequest(Request request) throws IOException {
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream(DEFAULT_REMOTE_REQUEST_SIZE);
+		writeCallRequest(request, bos);
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Write the request as read by {@link #deserializeCallRequest(byte[])}.
+	 * @param request the request to write.  Must not be <code>null</code>.
+	 * @param out the stream to write to.  Will not be closed.
+	 * @throws IOException if the request cannot be written
+	 * @since 4.7
+	 */
+	protected void writeCallRequest(final Request request, final OutputStream out) throws IOException {
 		try {
-			return AccessController.doPrivileged(new PrivilegedExceptionAction<byte[]>() {
+			AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
 				@Override
-				public byte[] run() throws Exception {
-					ByteArrayOutputStream bos = new ByteArrayOutputStream(DEFAULT_REMOTE_REQUEST_SIZE);
-					OSGIObjectOutputStream outs = new OSGIObjectOutputStream(bos);
+				public Object run() throws Exception {
+					OSGIObjectOutputStream outs = new OSGIObjectOutputStream(out);
 					outs.writeLong(request.getServiceId());
 					outs.writeObject(request);
-					outs.close();
-					return bos.toByteArray();
+					outs.flush();
+					return null;
 				}
 			});
 		} catch (PrivilegedActionException e) {
@@ -1447,10 +1689,128 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 		}
 	}
 
+	/**
+	 * Create the message sent for a call request.  Its parameter is the request written by
+	 * {@link #writeCallRequest(Request, OutputStream)}, which is written directly into the
+	 * outbound container message where the container supports it.
+	 * @param request the request.  Must not be <code>null</code>.
+	 * @return SharedObjectMsg the message to send
+	 * @since 4.7
+	 */
+	@SuppressWarnings("serial")
+	protected SharedObjectMsg createCallRequestMsg(final Request request) {
+		// Replaced by a plain SharedObjectMsg whenever serialized
+		return new DirectSharedObjectMsg(CALL_REQUEST_BYTES) {
+			protected void writeParameter(OutputStream out) throws IOException {
+				final RemoteCallMetrics metrics = request.metrics;
+				if (metrics == null) {
+					writeCallRequest(request, out);
+					return;
+				}
+				final RemoteCallMetrics.CountingOutputStream counter = new RemoteCallMetrics.CountingOutputStream(out);
+				final long startTime = System.nanoTime();
+				writeCallRequest(request, counter);
+				metrics.recordSerialized(request.getCall().getMethod(), RemoteCallMetrics.REQUEST_BYTES, startTime, counter.getCount());
+			}
+		};
+	}
+
+	/**
+	 * Create the message sent for a call response.  Its parameter is the response written by
+	 * {@link #writeCallResponse(Response, OutputStream)}, which is written directly into the
+	 * outbound container message where the container supports it.
+	 * @param response the response.  Must not be <code>null</code>.
+	 * @return SharedObjectMsg the message to send
+	 * @since 4.7
+	 */
+	@SuppressWarnings("serial")
+	protected SharedObjectMsg createCallResponseMsg(final Response response) {
+		return new DirectSharedObjectMsg(CALL_RESPONSE_BYTES) {
+			protected void writeParameter(OutputStream out) throws IOException {
+				final RemoteCallMetrics metrics = response.metrics;
+				if (metrics == null) {
+					writeCallResponse(response, out);
+					return;
+				}
+				final RemoteCallMetrics.CountingOutputStream counter = new RemoteCallMetrics.CountingOutputStream(out);
+				final long startTime = System.nanoTime();
+				writeCallResponse(response, counter);
+				metrics.recordSerialized(response.method, RemoteCallMetrics.RESPONSE_BYTES, startTime, counter.getCount());
+			}
+		};
+	}
+
+	/**
+	 * Write a batch of requests to one remote service, as read by
+	 * {@link #handleCallBatchRequestBytes(byte[])}.
+	 */
+	private void writeCallBatchRequest(final Request[] requests, final boolean parallel, final OutputStream out) throws IOException {
+		try {
+			AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
+				@Override
+				public Object run() throws Exception {
+					OSGIObjectOutputStream outs = new OSGIObjectOutputStream(out);
+					outs.writeLong(requests[0].getServiceId());
+					outs.writeBoolean(parallel);
+					outs.writeInt(requests.length);
+					for (int i = 0; i < requests.length; i++)
+						outs.writeObject(requests[i]);
+					outs.flush();
+					return null;
+				}
+			});
+		} catch (PrivilegedActionException e) {
+			throw new IOException("Exception serializing Request batch of size=" + requests.length, e.getCause()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Write the responses to a batch of requests, as read by
+	 * {@link #handleCallBatchResponseBytes(byte[])}.
+	 */
+	private void writeCallBatchResponse(final long serviceId, final Response[] responses, final OutputStream out) throws IOException {
+		try {
+			AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
+				@Override
+				public Object run() throws Exception {
+					OSGIObjectOutputStream outs = new OSGIObjectOutputStream(out);
+					outs.writeObject(getLocalContainerID());
+					outs.writeLong(serviceId);
+					outs.writeInt(responses.length);
+					for (int i = 0; i < responses.length; i++)
+						outs.writeObject(responses[i]);
+					outs.flush();
+					return null;
+				}
+			});
+		} catch (PrivilegedActionException e) {
+			throw new IOException("Exception serializing Response batch of size=" + responses.length, e.getCause()); //$NON-NLS-1$
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private SharedObjectMsg createCallBatchRequestMsg(final Request[] requests, final boolean parallel) {
+		return new DirectSharedObjectMsg(CALL_BATCH_REQUEST_BYTES) {
+			protected void writeParameter(OutputStream out) throws IOException {
+				writeCallBatchRequest(requests, parallel, out);
+			}
+		};
+	}
+
+	@SuppressWarnings("serial")
+	private SharedObjectMsg createCallBatchResponseMsg(final long serviceId, final Response[] responses) {
+		return new DirectSharedObjectMsg(CALL_BATCH_RESPONSE_BYTES) {
+			protected void writeParameter(OutputStream out) throws IOException {
+				writeCallBatchResponse(serviceId, responses, out);
+			}
+		};
+	}
+
 	/**
 	 * @since 4.6
 	 */
 	protected Request deserializeCallRequest(byte[] requestBytes) throws IOException {
+		final long startTime = System.nanoTime();
 		try {
 			return AccessController.doPrivileged(new PrivilegedExceptionAction<Request>() {
 				@Override
@@ -1469,7 +1829,11 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 					// Use classloader assigned to registration to get classLoader
 					oins.setClassLoader(reg.getClassLoader());
 					try {
-						return (Request) oins.readObject();
+						final Request request = (Request) oins.readObject();
+						final RemoteCallMetrics metrics = reg.getCallMetrics(getLocalContainerID(), true);
+						if (metrics != null)
+							metrics.recordDeserialized(request.getCall().getMethod(), RemoteCallMetrics.REQUEST_BYTES, startTime, requestBytes.length);
+						return request;
 					} catch (Exception e) {
 						throw new IOException("Remote service request with id=" + svcId + " cannot load class: " + e.getLocalizedMessage()); //$NON-NLS-1$ //$NON-NLS-2$
 					} finally {
@@ -1489,17 +1853,29 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	 * @since 4.6
 	 */
 	protected byte[] serializeCallResponse(Response response) throws IOException {
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream(DEFAULT_REMOTE_REQUEST_SIZE);
+		writeCallResponse(response, bos);
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Write the response as read by {@link #deserializeCallResponse(byte[])}.
+	 * @param response the response to write.  Must not be <code>null</code>.
+	 * @param out the stream to write to.  Will not be closed.
+	 * @throws IOException if the response cannot be written
+	 * @since 4.7
+	 */
+	protected void writeCallResponse(final Response response, final OutputStream out) throws IOException {
 		try {
-			return AccessController.doPrivileged(new PrivilegedExceptionAction<byte[]>() {
+			AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
 				@Override
-				public byte[] run() throws Exception {
-					ByteArrayOutputStream bos = new ByteArrayOutputStream(DEFAULT_REMOTE_REQUEST_SIZE);
-					OSGIObjectOutputStream outs = new OSGIObjectOutputStream(bos);
+				public Object run() throws Exception {
+					OSGIObjectOutputStream outs = new OSGIObjectOutputStream(out);
 					outs.writeObject(getLocalContainerID());
 					outs.writeLong(response.getRequestId());
 					outs.writeObject(response);
-					outs.close();
-					return bos.toByteArray();
+					outs.flush();
+					return null;
 				}
 			});
 		} catch (PrivilegedActionException e) {
@@ -1517,7 +1893,7 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	 * @since 4.6
 	 */
 	protected Response deserializeCallResponse(byte[] responseBytes) throws IOException {
-
+		final long startTime = System.nanoTime();
 		try {
 			return AccessController.doPrivileged(new PrivilegedExceptionAction<Response>() {
 				@Override
@@ -1540,14 +1916,18 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 					}
 
 					RemoteServiceRegistryImpl remoteRegistry = getRemoteRegistry(targetContainerID);
+					RemoteServiceRegistrationImpl reg = null;
 					if (remoteRegistry != null) {
-						RemoteServiceRegistrationImpl reg = remoteRegistry.findRegistrationForServiceId(request.getServiceId());
+						reg = remoteRegistry.findRegistrationForServiceId(request.getServiceId());
 						if (reg != null) {
 							oins.setClassLoader(reg.getClassLoader());
 						}
 					}
 					try {
-						return (Response) oins.readObject();
+						final Response response = (Response) oins.readObject();
+						if (request.metrics != null)
+							request.metrics.recordDeserialized(request.getCall().getMethod(), RemoteCallMetrics.RESPONSE_BYTES, startTime, responseBytes.length);
+						return openResultStream(targetContainerID, reg, response);
 					} catch (Exception e) {
 						throw new IOException("Remote service response had exception: " + e.getLocalizedMessage()); //$NON-NLS-1$
 					} finally {
@@ -1563,7 +1943,7 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 
 	}
 
-	private IExecutor getRequestExecutor(Request request) {
+	private synchronized IExecutor getRequestExecutor(Request request) {
 		if (requestExecutor == null) {
 			requestExecutor = createRequestExecutor(request);
 		}
@@ -1591,23 +1971,69 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 					return "Remote Request Handler - " + request.getCall().getMethod() + ":" + request.getRequestId(); //$NON-NLS-1$ //$NON-NLS-2$
 				}
 			};
+		} else if (DEFAULT_EXECUTOR_TYPE.equals("virtual")) { //$NON-NLS-1$
+			executor = PooledRequestExecutor.createVirtual("Remote Request Handler", EXECUTOR_MAX_CONCURRENT); //$NON-NLS-1$
+			// Fall back to thread pool before Java 21
+			if (executor == null)
+				executor = createPooledRequestExecutor();
+		} else if (DEFAULT_EXECUTOR_TYPE.equals("pool")) { //$NON-NLS-1$
+			executor = createPooledRequestExecutor();
 		}
 		return executor;
 	}
 
+	private IExecutor createPooledRequestExecutor() {
+		return new PooledRequestExecutor("Remote Request Handler", EXECUTOR_CORE_THREADS, EXECUTOR_MAX_THREADS, EXECUTOR_QUEUE_CAPACITY, EXECUTOR_KEEP_ALIVE); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param registration the local registration
+	 * @return int the maximum number of requests for registration executing at once, or
+	 * 0 for no limit
+	 * @since 4.7
+	 */
+	protected int getMaxConcurrentCalls(RemoteServiceRegistrationImpl registration) {
+		final Object value = registration.getProperty(MAX_CONCURRENT_CALLS_PROPERTY);
+		if (value instanceof Number)
+			return ((Number) value).intValue();
+		if (value instanceof String) {
+			try {
+				return Integer.parseInt((String) value);
+			} catch (final NumberFormatException e) {
+				log("getMaxConcurrentCalls", e); //$NON-NLS-1$
+			}
+		}
+		return DEFAULT_MAX_CONCURRENT_CALLS;
+	}
+
+	private void rejectRequest(final Request request, final ResponseHandler responseHandler, Throwable e, RemoteCallMetrics metrics) {
+		if (metrics != null)
+			metrics.counter(request.getCall().getMethod(), RemoteCallMetrics.REJECTED).increment();
+		logRemoteCallException("Remote request rejected.  Remote request=" + request, e); //$NON-NLS-1$
+		if (responseHandler != null)
+			responseHandler.handleResponse(new Response(request.getRequestId(), getSerializableException(e)));
+	}
+
+	/**
+	 * Handles the response of a request executed by
+	 * {@link RegistrySharedObject#executeRequest(IExecutor, Request, ID, RemoteServiceRegistrationImpl, ResponseHandler)}
+	 */
+	private interface ResponseHandler {
+		void handleResponse(Response response);
+	}
+
 	/**
 	 * @since 4.4
 	 */
 	protected Object invokeLocal(RemoteServiceRegistrationImpl reg, RemoteCallImpl call) throws InvocationTargetException, Exception, NoClassDefFoundError {
 		Object[] callArgs = call.getParameters();
 		Object[] args = (callArgs == null) ? SharedObjectMsg.nullArgs : callArgs;
-		Object service = reg.getService();
-		// Find appropriate method on service
-		final Method method = ClassUtil.getMethod(service.getClass(), call.getMethod(), SharedObjectMsg.getTypesForParameters(args));
+		// Find appropriate method on service, cached per registration
+		final RemoteServiceRegistrationImpl.MethodInvoker invoker = reg.getMethodInvoker(call.getMethod(), args);
 		// Actually invoke method on service object
-		Object result = method.invoke(service, args);
+		Object result = invoker.invoke(args);
 		if (result != null) {
-			Class returnType = method.getReturnType();
+			Class returnType = invoker.getMethod().getReturnType();
 			// provider must expose osgi.async property and must be async return type
 			if (AsyncUtil.isOSGIAsync(reg.getReference()) && AsyncReturnUtil.isAsyncType(returnType))
 				return AsyncReturnUtil.convertAsyncToReturn(result, returnType, call.getTimeout());
@@ -1623,43 +2049,94 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	 * @param respond true if response is expected, false otherwise
 	 * @since 3.4
 	 */
-	@SuppressWarnings("unchecked")
 	protected void executeRequest(IExecutor executor, final Request request, final ID responseTarget, final RemoteServiceRegistrationImpl localRegistration, final boolean respond) {
+		executeRequest(executor, request, responseTarget, localRegistration, respond ? new ResponseHandler() {
+			public void handleResponse(Response response) {
+				// Now send response back to responseTarget (original requestor)
+				sendCallResponse(responseTarget, response);
+			}
+		} : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void executeRequest(IExecutor executor, final Request request, final ID responseTarget, final RemoteServiceRegistrationImpl localRegistration, final ResponseHandler responseHandler) {
+		final RemoteCallMetrics metrics = localRegistration.getCallMetrics(getLocalContainerID(), true);
+		// Reject request if the service is at its limit of concurrent requests
+		final Semaphore callPermits = localRegistration.getCallPermits(getMaxConcurrentCalls(localRegistration));
+		if (callPermits != null && !callPermits.tryAcquire()) {
+			rejectRequest(request, responseHandler, new RejectedExecutionException("Remote service has reached its limit of concurrent requests"), metrics); //$NON-NLS-1$
+			return;
+		}
+		final long submitTime = (metrics == null) ? 0 : System.nanoTime();
 		IProgressRunnable runnable = new IProgressRunnable() {
 			public Object run(IProgressMonitor monitor) throws Exception {
-				final RemoteCallImpl call = request.getCall();
-				Response response = null;
-				Object result = null;
+				final String method = request.getCall().getMethod();
+				final long startTime = (metrics == null) ? 0 : System.nanoTime();
+				if (metrics != null)
+					metrics.histogram(method, RemoteCallMetrics.QUEUE_WAIT).record(startTime - submitTime);
+				// Replace streamed arguments by streams reading them.  Readable during the invocation
+				final List<InboundStream> argumentStreams = openInboundStreams(responseTarget, localRegistration, request.getCall().getParameters());
+				boolean permitReleased = false;
 				try {
-					// Get remote service call policy
-					IRemoteServiceCallPolicy callPolicy = getRemoteServiceCallPolicy();
-					// If it's set, then check remote call *before* actual invocation
-					if (callPolicy != null)
-						callPolicy.checkRemoteCall(responseTarget, localRegistration, call);
-
-					result = invokeLocal(localRegistration, call);
-
-					response = new Response(request.getRequestId(), result);
-					// Invocation target exception happens if the local method being invoked throws (cause)
-				} catch (InvocationTargetException e) {
-					response = new Response(request.getRequestId(), getSerializableException(e));
-					logRemoteCallException("Invocation target exception invoking remote service.  Remote request=" + request, e); //$NON-NLS-1$
-					// This is to catch most other problems
-				} catch (Exception e) {
-					response = new Response(request.getRequestId(), getSerializableException(e));
-					logRemoteCallException("Unexpected exception invoking remote service.  Remote request=" + request, e); //$NON-NLS-1$
-				} catch (NoClassDefFoundError e) {
-					response = new Response(request.getRequestId(), getSerializableException(e));
-					logRemoteCallException("No class def found error invoking remote service.  Remote request=" + request, e); //$NON-NLS-1$
+					final RemoteCallImpl call = request.getCall();
+					Response response = null;
+					Object result = null;
+					try {
+						// Get remote service call policy
+						IRemoteServiceCallPolicy callPolicy = getRemoteServiceCallPolicy();
+						// If it's set, then check remote call *before* actual invocation
+						if (callPolicy != null)
+							callPolicy.checkRemoteCall(responseTarget, localRegistration, call);
+
+						result = invokeLocal(localRegistration, call);
+
+						// Results that cannot be serialized are streamed to requestors that accept it
+						response = new Response(request.getRequestId(), request.acceptsStreams() ? createOutboundStream(responseTarget, result) : result);
+						// Invocation target exception happens if the local method being invoked throws (cause)
+					} catch (InvocationTargetException e) {
+						response = new Response(request.getRequestId(), getSerializableException(e));
+						logRemoteCallException("Invocation target exception invoking remote service.  Remote request=" + request, e); //$NON-NLS-1$
+						// This is to catch most other problems
+					} catch (Exception e) {
+						response = new Response(request.getRequestId(), getSerializableException(e));
+						logRemoteCallException("Unexpected exception invoking remote service.  Remote request=" + request, e); //$NON-NLS-1$
+					} catch (NoClassDefFoundError e) {
+						response = new Response(request.getRequestId(), getSerializableException(e));
+						logRemoteCallException("No class def found error invoking remote service.  Remote request=" + request, e); //$NON-NLS-1$
+					}
+					if (metrics != null) {
+						metrics.histogram(method, RemoteCallMetrics.EXECUTION).record(System.nanoTime() - startTime);
+						metrics.counter(method, RemoteCallMetrics.CALLS).increment();
+						if (response.hadException())
+							metrics.counter(method, RemoteCallMetrics.ERRORS).increment();
+						// Serialization of the response is recorded when it is sent
+						response.metrics = metrics;
+						response.method = method;
+					}
+					// Released before the response is handled, which may execute the next
+					// request of a sequential batch
+					if (callPermits != null) {
+						callPermits.release();
+						permitReleased = true;
+					}
+					if (responseHandler != null)
+						responseHandler.handleResponse(response);
+				} finally {
+					closeInboundStreams(argumentStreams);
+					if (callPermits != null && !permitReleased)
+						callPermits.release();
 				}
-				// Now send response back to responseTarget (original requestor)
-				if (respond)
-					sendCallResponse(responseTarget, response);
 				return null;
 			}
 		};
 		// Now actually execute the runnable asynchronously using the executor
-		executor.execute(runnable, new NullProgressMonitor());
+		try {
+			executor.execute(runnable, new NullProgressMonitor());
+		} catch (RejectedExecutionException e) {
+			if (callPermits != null)
+				callPermits.release();
+			rejectRequest(request, responseHandler, e, metrics);
+		}
 	}
 
 	private void sendErrorResponse(ID responseTarget, long requestId, String message, Throwable e) {
@@ -1743,6 +2220,165 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 
 	}
 
+	/**
+	 * Handle a batch of call requests sent with
+	 * {@link #sendCallBatchRequest(RemoteServiceRegistrationImpl, IRemoteCall[], IRemoteCallListener[], boolean)}.
+	 * The requests are executed like single requests, and their responses are sent back
+	 * together once all are complete.
+	 * @param batchBytes the batch
+	 * @since 4.7
+	 */
+	protected void handleCallBatchRequestBytes(final byte[] batchBytes) {
+		if (batchBytes == null) {
+			log("handleCallBatchRequestBytes", new NullPointerException("Batch bytes cannot be null")); //$NON-NLS-1$//$NON-NLS-2$
+			return;
+		}
+		final Request[] requests;
+		final boolean parallel;
+		final RemoteServiceRegistrationImpl localRegistration;
+		try {
+			final Object[] batch = AccessController.doPrivileged(new PrivilegedExceptionAction<Object[]>() {
+				@Override
+				public Object[] run() throws Exception {
+					OSGIObjectInputStream oins = new OSGIObjectInputStream(Activator.getDefault().getContext().getBundle(), new ByteArrayInputStream(batchBytes));
+					try {
+						long svcId = oins.readLong();
+						RemoteServiceRegistrationImpl reg = null;
+						synchronized (localRegistry) {
+							reg = localRegistry.findRegistrationForServiceId(svcId);
+						}
+						if (reg == null)
+							throw new IOException("Remote service with id=" + svcId + " cannot be found in local registry"); //$NON-NLS-1$ //$NON-NLS-2$
+						oins.setClassLoader(reg.getClassLoader());
+						final Boolean par = Boolean.valueOf(oins.readBoolean());
+						final Request[] reqs = new Request[oins.readInt()];
+						for (int i = 0; i < reqs.length; i++)
+							reqs[i] = (Request) oins.readObject();
+						return new Object[] {reg, par, reqs};
+					} finally {
+						oins.close();
+					}
+				}
+			});
+			localRegistration = (RemoteServiceRegistrationImpl) batch[0];
+			parallel = ((Boolean) batch[1]).booleanValue();
+			requests = (Request[]) batch[2];
+		} catch (PrivilegedActionException e) {
+			log("handleCallBatchRequestBytes", e.getCause()); //$NON-NLS-1$
+			return;
+		}
+		if (requests.length == 0)
+			return;
+		final ID responseTarget = requests[0].getRequestContainerID();
+		if (responseTarget == null) {
+			log("handleCallBatchRequestBytes", new NullPointerException("Response target cannot be null")); //$NON-NLS-1$ //$NON-NLS-2$
+			return;
+		}
+		final Response[] responses = new Response[requests.length];
+		final IExecutor executor = getRequestExecutor(requests[0]);
+		if (executor == null) {
+			final NullPointerException e = new NullPointerException("request executor is not available and so no requests can be processed"); //$NON-NLS-1$
+			logRemoteCallException("handleCallBatchRequestBytes", e); //$NON-NLS-1$
+			for (int i = 0; i < requests.length; i++)
+				responses[i] = new Response(requests[i].getRequestId(), e);
+			sendCallBatchResponse(responseTarget, localRegistration.getServiceId(), responses);
+			return;
+		}
+		if (parallel) {
+			final AtomicInteger remaining = new AtomicInteger(requests.length);
+			for (int i = 0; i < requests.length; i++) {
+				final int index = i;
+				executeRequest(executor, requests[i], responseTarget, localRegistration, new ResponseHandler() {
+					public void handleResponse(Response response) {
+						responses[index] = response;
+						if (remaining.decrementAndGet() == 0)
+							sendCallBatchResponse(responseTarget, localRegistration.getServiceId(), responses);
+					}
+				});
+			}
+		} else {
+			new SequentialBatch(executor, requests, responses, responseTarget, localRegistration).start();
+		}
+	}
+
+	/**
+	 * Executes the requests of a batch in order, each once the previous one is complete.
+	 * Responses handled while executing a request, e.g. of rejected requests, are not
+	 * followed by executing the next request from within the handler.  The thread
+	 * executing the requests continues with it instead, so that the stack does not
+	 * grow with the size of the batch.
+	 */
+	private final class SequentialBatch implements ResponseHandler {
+		private final IExecutor executor;
+		private final Request[] requests;
+		private final Response[] responses;
+		private final ID responseTarget;
+		private final RemoteServiceRegistrationImpl localRegistration;
+		private int index;
+		// true while a thread is in execute()
+		private boolean executing;
+		// true while the response for the request at index is outstanding
+		private boolean awaiting;
+
+		SequentialBatch(IExecutor executor, Request[] requests, Response[] responses, ID responseTarget, RemoteServiceRegistrationImpl localRegistration) {
+			this.executor = executor;
+			this.requests = requests;
+			this.responses = responses;
+			this.responseTarget = responseTarget;
+			this.localRegistration = localRegistration;
+		}
+
+		void start() {
+			synchronized (this) {
+				executing = true;
+			}
+			execute();
+		}
+
+		private void execute() {
+			while (true) {
+				final Request request;
+				synchronized (this) {
+					if (index == requests.length) {
+						executing = false;
+						break;
+					}
+					request = requests[index];
+					awaiting = true;
+				}
+				executeRequest(executor, request, responseTarget, localRegistration, this);
+				synchronized (this) {
+					// Continued by the thread handling the response
+					if (awaiting) {
+						executing = false;
+						return;
+					}
+				}
+			}
+			sendCallBatchResponse(responseTarget, localRegistration.getServiceId(), responses);
+		}
+
+		public void handleResponse(Response response) {
+			synchronized (this) {
+				responses[index++] = response;
+				awaiting = false;
+				// Handled while executing the request, so execute() continues
+				if (executing)
+					return;
+				executing = true;
+			}
+			execute();
+		}
+	}
+
+	private void sendCallBatchResponse(ID responseTarget, long serviceId, Response[] responses) {
+		try {
+			sendSharedObjectMsgTo(responseTarget, createCallBatchResponseMsg(serviceId, responses));
+		} catch (final IOException e) {
+			log(CALL_RESPONSE_ERROR_CODE, CALL_RESPONSE_ERROR_MESSAGE, e);
+		}
+	}
+
 	/**
 	 * @param message message
 	 * @param e the exception
@@ -1763,11 +2399,64 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 		fireCallStartEvent(listener, request.getRequestId(), remoteRegistration.getReference(), call);
 		try {
 			addRequest(request);
-			sendSharedObjectMsgTo(remoteRegistration.getContainerID(), SharedObjectMsg.createMsg(CALL_REQUEST_BYTES, serializeCallRequest(request)));
+			sendSharedObjectMsgTo(remoteRegistration.getContainerID(), createCallRequestMsg(request));
 		} catch (final IOException e) {
 			log(CALL_REQUEST_ERROR_CODE, CALL_REQUEST_ERROR_MESSAGE, e);
 			removeRequest(request);
-			fireCallCompleteEvent(listener, request.getRequestId(), null, true, e);
+			recordFailedCall(request, e);
+			fireCallCompleteEvent(listener, request.getRequestId(), null, true, createTransportException(e));
+		}
+	}
+
+	/**
+	 * @param remoteRegistration the remote registration
+	 * @return boolean true if the host of remoteRegistration handles batches of call requests,
+	 * false otherwise
+	 * @since 4.7
+	 */
+	protected boolean isCallBatchSupported(RemoteServiceRegistrationImpl remoteRegistration) {
+		return Boolean.TRUE.equals(remoteRegistration.getProperty(CALL_BATCH_PROPERTY));
+	}
+
+	/**
+	 * @param remoteRegistration the remote registration
+	 * @return boolean true if the host of remoteRegistration receives streamed call arguments,
+	 * false otherwise
+	 * @since 4.7
+	 */
+	protected boolean isStreamingSupported(RemoteServiceRegistrationImpl remoteRegistration) {
+		return Boolean.TRUE.equals(remoteRegistration.getProperty(STREAMING_PROPERTY));
+	}
+
+	/**
+	 * Send a batch of call requests in a single message.  Each call is a separate request,
+	 * with its own timeout, and its listener is notified when the call completes.
+	 * @param remoteRegistration the remote registration.  Its host must support batches,
+	 * see {@link #isCallBatchSupported(RemoteServiceRegistrationImpl)}.
+	 * @param calls the calls to send.  Must not be <code>null</code> or empty.
+	 * @param listeners the listeners for calls.  Must not be <code>null</code> and must have
+	 * the same length as calls.
+	 * @param parallel true if the host may execute the calls in parallel, false if it must
+	 * execute them one after the other
+	 * @throws IOException if the batch cannot be sent.  No listener is notified in this case.
+	 * @since 4.7
+	 */
+	protected void sendCallBatchRequest(RemoteServiceRegistrationImpl remoteRegistration, IRemoteCall[] calls, IRemoteCallListener[] listeners, boolean parallel) throws IOException {
+		final Request[] requests = new Request[calls.length];
+		for (int i = 0; i < calls.length; i++) {
+			requests[i] = createRequest(remoteRegistration, calls[i], listeners[i]);
+			fireCallStartEvent(listeners[i], requests[i].getRequestId(), remoteRegistration.getReference(), calls[i]);
+		}
+		for (int i = 0; i < requests.length; i++)
+			addRequest(requests[i]);
+		try {
+			sendSharedObjectMsgTo(remoteRegistration.getContainerID(), createCallBatchRequestMsg(requests, parallel));
+		} catch (final IOException e) {
+			for (int i = 0; i < requests.length; i++) {
+				removeRequest(requests[i]);
+				recordFailedCall(requests[i], e);
+			}
+			throw e;
 		}
 	}
 
@@ -1777,7 +2466,7 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 
 	protected void sendCallResponse(ID responseTarget, Response response) {
 		try {
-			sendSharedObjectMsgTo(responseTarget, SharedObjectMsg.createMsg(CALL_RESPONSE_BYTES, serializeCallResponse(response)));
+			sendSharedObjectMsgTo(responseTarget, createCallResponseMsg(response));
 		} catch (final IOException e) {
 			log(CALL_RESPONSE_ERROR_CODE, CALL_RESPONSE_ERROR_MESSAGE, e);
 			// Also print to standard error, just in case
@@ -1785,7 +2474,7 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 			// added to address bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=470245
 			if (PROPAGATE_RESPONSE_ERROR)
 				try {
-					sendSharedObjectMsgTo(responseTarget, SharedObjectMsg.createMsg(CALL_RESPONSE_BYTES, serializeCallResponse(new Response(response.getRequestId(), getSerializableException(e)))));
+					sendSharedObjectMsgTo(responseTarget, createCallResponseMsg(new Response(response.getRequestId(), getSerializableException(e))));
 				} catch (final IOException e1) {
 					log(CALL_RESPONSE_ERROR_CODE, "Exception propagating response error", e1); //$NON-NLS-1$
 					e1.printStackTrace(System.err);
@@ -1794,22 +2483,7 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	}
 
 	protected void handleCallResponse(Response response) {
-		final Request request = getRequest(response.getRequestId());
-		if (request == null) {
-			log(REQUEST_NOT_FOUND_ERROR_CODE, REQUEST_NOT_FOUND_ERROR_MESSAGE, new NullPointerException());
-			return;
-		}
-		removeRequest(request);
-		final IRemoteCallListener listener = request.getListener();
-		if (listener != null) {
-			fireCallCompleteEvent(listener, request.getRequestId(), response.getResponse(), response.hadException(), response.getException());
-			return;
-		}
-		synchronized (request) {
-			request.setResponse(response);
-			request.setDone(true);
-			request.notify();
-		}
+		completeRequest(response);
 	}
 
 	/**
@@ -1824,22 +2498,410 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 			log(REQUEST_NOT_FOUND_ERROR_CODE, REQUEST_NOT_FOUND_ERROR_MESSAGE, e);
 			return;
 		}
+		// null if the request was not found, which is already logged
+		if (response != null)
+			completeRequest(response);
+	}
+
+	/**
+	 * Handle the responses to a batch of call requests, sent by
+	 * {@link #handleCallBatchRequestBytes(byte[])}.
+	 * @param batchBytes the responses
+	 * @since 4.7
+	 */
+	protected void handleCallBatchResponseBytes(final byte[] batchBytes) {
+		final Response[] responses;
+		try {
+			responses = AccessController.doPrivileged(new PrivilegedExceptionAction<Response[]>() {
+				@Override
+				public Response[] run() throws Exception {
+					OSGIObjectInputStream oins = new OSGIObjectInputStream(Activator.getDefault().getContext().getBundle(), new ByteArrayInputStream(batchBytes));
+					try {
+						final ID targetContainerID = (ID) oins.readObject();
+						final long serviceId = oins.readLong();
+						final RemoteServiceRegistryImpl remoteRegistry = getRemoteRegistry(targetContainerID);
+						final RemoteServiceRegistrationImpl reg = (remoteRegistry == null) ? null : remoteRegistry.findRegistrationForServiceId(serviceId);
+						if (reg != null)
+							oins.setClassLoader(reg.getClassLoader());
+						final Response[] resps = new Response[oins.readInt()];
+						for (int i = 0; i < resps.length; i++)
+							resps[i] = openResultStream(targetContainerID, reg, (Response) oins.readObject());
+						return resps;
+					} finally {
+						oins.close();
+					}
+				}
+			});
+		} catch (PrivilegedActionException e) {
+			log(REQUEST_NOT_FOUND_ERROR_CODE, REQUEST_NOT_FOUND_ERROR_MESSAGE, e.getCause());
+			return;
+		}
+		for (int i = 0; i < responses.length; i++)
+			completeRequest(responses[i]);
+	}
 
+	private void completeRequest(Response response) {
 		final Request request = getRequest(response.getRequestId());
-		if (request == null) {
+		// Not found or concurrently removed by timeout
+		if (request == null || !removeRequest(request)) {
+			// Stop any result stream, as no one will read it
+			closeResultStream(response);
 			log(REQUEST_NOT_FOUND_ERROR_CODE, REQUEST_NOT_FOUND_ERROR_MESSAGE, new NullPointerException());
 			return;
 		}
-		removeRequest(request);
+		if (request.metrics != null)
+			request.metrics.recordCall(request.getCall().getMethod(), request.startTime, response.hadException());
 		final IRemoteCallListener listener = request.getListener();
 		if (listener != null) {
 			fireCallCompleteEvent(listener, request.getRequestId(), response.getResponse(), response.hadException(), response.getException());
 			return;
 		}
-		synchronized (request) {
-			request.setResponse(response);
-			request.setDone(true);
-			request.notify();
+		request.complete(response);
+	}
+
+	/**
+	 * Fail an outstanding request, either by firing a call complete event to its
+	 * listener or by completing its future exceptionally.
+	 */
+	private void failRequest(Request request, Throwable exception) {
+		recordFailedCall(request, exception);
+		final IRemoteCallListener listener = request.getListener();
+		if (listener != null)
+			fireCallCompleteEvent(listener, request.getRequestId(), null, true, exception);
+		else if (request.getResponseFuture() != null)
+			request.getResponseFuture().completeExceptionally(exception);
+	}
+
+	private void recordFailedCall(Request request, Throwable exception) {
+		final RemoteCallMetrics metrics = request.metrics;
+		if (metrics == null)
+			return;
+		final String method = request.getCall().getMethod();
+		metrics.recordCall(method, request.startTime, true);
+		if (exception instanceof TimeoutException)
+			metrics.counter(method, RemoteCallMetrics.TIMEOUTS).increment();
+	}
+
+	private void failPendingRequests(Throwable exception) {
+		for (final Iterator<Request> i = pendingRequests.values().iterator(); i.hasNext();) {
+			final Request request = i.next();
+			if (removeRequest(request))
+				failRequest(request, exception);
+		}
+	}
+
+	/**
+	 * @return Object a reference to a new outbound stream for o, if o is streamed, or o
+	 */
+	private Object createOutboundStream(ID target, Object o) {
+		final int type = RemoteStreamReference.getStreamType(o);
+		if (type < 0)
+			return o;
+		final OutboundStream stream = new OutboundStream(this, target, nextStreamId.incrementAndGet(), o);
+		outboundStreams.put(Long.valueOf(stream.getStreamId()), stream);
+		// Close stream if the receiver does not open it in time
+		stream.startTimeout = getRequestTimer().newTimeout(new Runnable() {
+			public void run() {
+				stream.close();
+			}
+		}, STREAM_TIMEOUT, TimeUnit.MILLISECONDS);
+		return new RemoteStreamReference(stream.getStreamId(), type);
+	}
+
+	private Object[] createOutboundStreams(ID target, Object[] parameters) {
+		Object[] result = parameters;
+		for (int i = 0; i < parameters.length; i++) {
+			final Object param = createOutboundStream(target, parameters[i]);
+			if (param != parameters[i]) {
+				// Copy, as the parameters belong to the caller
+				if (result == parameters)
+					result = parameters.clone();
+				result[i] = param;
+			}
+		}
+		return result;
+	}
+
+	private InboundStream openInboundStream(ID source, ClassLoader classLoader, RemoteStreamReference reference) {
+		final InboundStream stream = new InboundStream(this, source, reference, classLoader);
+		Map<Long, InboundStream> streams = inboundStreams.get(source);
+		if (streams == null) {
+			final Map<Long, InboundStream> newStreams = new ConcurrentHashMap<Long, InboundStream>();
+			streams = inboundStreams.putIfAbsent(source, newStreams);
+			if (streams == null)
+				streams = newStreams;
+		}
+		streams.put(Long.valueOf(stream.getStreamId()), stream);
+		return stream;
+	}
+
+	/**
+	 * Replace the streamed arguments of a received request by objects reading them.
+	 * @return List the streams opened, or <code>null</code> if no argument is streamed
+	 */
+	private List<InboundStream> openInboundStreams(ID source, RemoteServiceRegistrationImpl localRegistration, Object[] parameters) {
+		List<InboundStream> result = null;
+		for (int i = 0; parameters != null && i < parameters.length; i++) {
+			if (parameters[i] instanceof RemoteStreamReference) {
+				final InboundStream stream = openInboundStream(source, localRegistration.getClassLoader(), (RemoteStreamReference) parameters[i]);
+				parameters[i] = stream.open();
+				if (result == null)
+					result = new ArrayList<InboundStream>();
+				result.add(stream);
+			}
+		}
+		return result;
+	}
+
+	private void closeInboundStreams(List<InboundStream> streams) {
+		if (streams != null)
+			for (final InboundStream stream : streams)
+				stream.close();
+	}
+
+	/**
+	 * Replace a streamed result of a received response by an object reading it.
+	 */
+	private Response openResultStream(ID source, RemoteServiceRegistrationImpl remoteRegistration, Response response) {
+		if (response != null && response.getResponse() instanceof RemoteStreamReference)
+			response.response = openInboundStream(source, (remoteRegistration == null) ? null : remoteRegistration.getClassLoader(), (RemoteStreamReference) response.getResponse()).open();
+		return response;
+	}
+
+	private void closeResultStream(Response response) {
+		final Object result = response.getResponse();
+		if (result instanceof InboundStream.RemoteInputStream || result instanceof InboundStream.RemoteIterator || result instanceof BaseStream) {
+			try {
+				((AutoCloseable) result).close();
+			} catch (final Exception e) {
+				// Ignore
+			}
+		}
+	}
+
+	/**
+	 * Close the streams sent to and received from peer.
+	 * @param peer the peer, or <code>null</code> for all streams
+	 * @param exception the exception that ends streams being read
+	 */
+	private void closeStreams(ID peer, Throwable exception) {
+		for (final OutboundStream stream : new ArrayList<OutboundStream>(outboundStreams.values()))
+			if (peer == null || peer.equals(stream.getTarget()))
+				stream.close();
+		for (final Iterator<Map.Entry<ID, Map<Long, InboundStream>>> i = inboundStreams.entrySet().iterator(); i.hasNext();) {
+			final Map.Entry<ID, Map<Long, InboundStream>> entry = i.next();
+			if (peer == null || peer.equals(entry.getKey())) {
+				i.remove();
+				for (final InboundStream stream : entry.getValue().values())
+					stream.fail(exception);
+			}
+		}
+	}
+
+	private InboundStream getInboundStream(ID source, long streamId) {
+		final Map<Long, InboundStream> streams = inboundStreams.get(source);
+		return (streams == null) ? null : streams.get(Long.valueOf(streamId));
+	}
+
+	void removeInboundStream(InboundStream stream) {
+		final Map<Long, InboundStream> streams = inboundStreams.get(stream.getSource());
+		if (streams != null)
+			streams.remove(Long.valueOf(stream.getStreamId()), stream);
+	}
+
+	void removeOutboundStream(OutboundStream stream) {
+		outboundStreams.remove(Long.valueOf(stream.getStreamId()), stream);
+	}
+
+	private synchronized IExecutor getStreamExecutor() {
+		if (streamExecutor == null) {
+			streamExecutor = PooledRequestExecutor.createVirtual("Remote Stream Sender", EXECUTOR_MAX_CONCURRENT); //$NON-NLS-1$
+			// Each stream holds a thread while it is sent, so all threads are core threads
+			if (streamExecutor == null)
+				streamExecutor = new PooledRequestExecutor("Remote Stream Sender", EXECUTOR_MAX_THREADS, EXECUTOR_MAX_THREADS, EXECUTOR_QUEUE_CAPACITY, EXECUTOR_KEEP_ALIVE); //$NON-NLS-1$
+		}
+		return streamExecutor;
+	}
+
+	/**
+	 * Start sending stream, once its receiver has granted credit.
+	 */
+	void executeOutboundStream(final OutboundStream stream) {
+		try {
+			getStreamExecutor().execute(new IProgressRunnable() {
+				public Object run(IProgressMonitor monitor) throws Exception {
+					stream.run();
+					return null;
+				}
+			}, new NullProgressMonitor());
+		} catch (final RejectedExecutionException e) {
+			sendStreamEnd(stream.getTarget(), stream.getStreamId(), e);
+			stream.close();
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private SharedObjectMsg createStreamDataMsg(final long streamId, final StreamChunk chunk) {
+		return new DirectSharedObjectMsg(STREAM_DATA_BYTES) {
+			protected void writeParameter(final OutputStream out) throws IOException {
+				try {
+					AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
+						@Override
+						public Object run() throws Exception {
+							OSGIObjectOutputStream outs = new OSGIObjectOutputStream(out);
+							outs.writeObject(getLocalContainerID());
+							outs.writeLong(streamId);
+							outs.writeObject(chunk);
+							outs.flush();
+							return null;
+						}
+					});
+				} catch (PrivilegedActionException e) {
+					throw new IOException("Exception serializing chunk of remote stream=" + streamId, e.getCause()); //$NON-NLS-1$
+				}
+			}
+		};
+	}
+
+	void sendStreamChunk(ID target, long streamId, StreamChunk chunk) throws IOException {
+		sendSharedObjectMsgTo(target, createStreamDataMsg(streamId, chunk));
+	}
+
+	/**
+	 * End the stream sent to target with an exception.
+	 */
+	void sendStreamEnd(ID target, long streamId, Throwable exception) {
+		logRemoteCallException("Exception sending remote stream=" + streamId, exception); //$NON-NLS-1$
+		try {
+			sendStreamChunk(target, streamId, StreamChunk.createEnd(getSerializableException(exception)));
+		} catch (final IOException e) {
+			log(STREAM_ERROR_CODE, STREAM_ERROR_MESSAGE, e);
+		}
+	}
+
+	/**
+	 * Grant the sender of a stream credit for more chunks.
+	 * @param credit the number of chunks, or -1 to close the stream
+	 */
+	void sendStreamCredit(ID target, long streamId, int credit) {
+		try {
+			sendSharedObjectMsgTo(target, SharedObjectMsg.createMsg(STREAM_CREDIT, new Object[] {getLocalContainerID(), Long.valueOf(streamId), Integer.valueOf(credit)}));
+		} catch (final IOException e) {
+			log(STREAM_ERROR_CODE, STREAM_ERROR_MESSAGE, e);
+		}
+	}
+
+	/**
+	 * Handle a chunk of a stream received by this container.
+	 * @param chunkBytes the chunk
+	 * @since 4.7
+	 */
+	protected void handleStreamDataBytes(final byte[] chunkBytes) {
+		try {
+			AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
+				@Override
+				public Object run() throws Exception {
+					OSGIObjectInputStream oins = new OSGIObjectInputStream(Activator.getDefault().getContext().getBundle(), new ByteArrayInputStream(chunkBytes));
+					try {
+						final ID source = (ID) oins.readObject();
+						final long streamId = oins.readLong();
+						final InboundStream stream = getInboundStream(source, streamId);
+						// Closed by the reader, or the sender is gone
+						if (stream == null)
+							return null;
+						oins.setClassLoader(stream.getClassLoader());
+						try {
+							stream.addChunk((StreamChunk) oins.readObject());
+						} catch (final Exception e) {
+							stream.fail(e);
+							sendStreamCredit(source, streamId, -1);
+						}
+						return null;
+					} finally {
+						oins.close();
+					}
+				}
+			});
+		} catch (PrivilegedActionException e) {
+			log(STREAM_ERROR_CODE, "Exception reading chunk of remote stream", e.getCause()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Handle credit granted by the receiver of a stream sent by this container.
+	 * @param source the receiver
+	 * @param streamId the id of the stream
+	 * @param credit the number of chunks the receiver accepts, or -1 if it closed the stream
+	 * @since 4.7
+	 */
+	protected void handleStreamCredit(ID source, Long streamId, Integer credit) {
+		final OutboundStream stream = outboundStreams.get(streamId);
+		// Ignore credit for streams that ended, or that were not sent to source
+		if (stream != null && stream.getTarget().equals(source))
+			stream.addCredit(credit.intValue());
+	}
+
+	/**
+	 * @return HashedWheelTimer the timer for the timeouts of outstanding call requests.
+	 * Shared by all instances.
+	 * @since 4.7
+	 */
+	protected static synchronized HashedWheelTimer getRequestTimer() {
+		if (requestTimer == null)
+			requestTimer = new HashedWheelTimer("RemoteService Request Timer", REQUEST_TIMER_TICK, TimeUnit.MILLISECONDS, REQUEST_TIMER_TICKS_PER_WHEEL); //$NON-NLS-1$
+		return requestTimer;
+	}
+
+	/**
+	 * Stop the thread of the request timer.  Called when this bundle stops.  A new timer
+	 * is created if requests are sent afterwards.
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 4.7
+	 */
+	public static synchronized void stopRequestTimer() {
+		if (requestTimer != null) {
+			requestTimer.stop();
+			requestTimer = null;
+		}
+	}
+
+	/**
+	 * Event of a request that has timed out.  Handled by the thread that handles responses,
+	 * so that listeners and dependent actions of the request do not run on the timer thread.
+	 */
+	static class RequestTimeoutEvent implements Event {
+		final Request request;
+
+		RequestTimeoutEvent(Request request) {
+			this.request = request;
+		}
+
+		public String toString() {
+			return "RequestTimeoutEvent[" + request + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	void timeoutRequest(Request request) {
+		// Runs on the timer thread, which only hands the timeout over to the event queue
+		final ISharedObjectContext context = getContext();
+		final IQueueEnqueue queue = (context == null) ? null : context.getQueue();
+		if (queue != null) {
+			try {
+				queue.enqueue(new RequestTimeoutEvent(request));
+				return;
+			} catch (final QueueException e) {
+				// Fall through, the request is failed by this thread
+			}
+		}
+		// Inactive.  Pending requests are failed on dispose, so this only fails requests added since
+		handleRequestTimeout(request);
+	}
+
+	void handleRequestTimeout(Request request) {
+		// A response may have removed the request before the timeout was handled
+		if (pendingRequests.remove(Long.valueOf(request.getRequestId()), request)) {
+			Trace.trace(Activator.PLUGIN_ID, IRemoteServiceProviderDebugOptions.DEBUG, this.getClass(), "handleRequestTimeout", "localContainerID=" + getLocalContainerID() + " request timed out=" + request); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			failRequest(request, new TimeoutException(request.getCall().getTimeout()));
 		}
 	}
 
@@ -1850,7 +2912,7 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 			sendSharedObjectMsgTo(remoteRegistration.getContainerID(), SharedObjectMsg.createMsg(FIRE_REQUEST, request));
 		} catch (final IOException e) {
 			log(FIRE_REQUEST_ERROR_CODE, FIRE_REQUEST_ERROR_MESSAGE, e);
-			throw new ECFException("IOException sending fire request", e); //$NON-NLS-1$
+			throw new ECFException("IOException sending fire request", createTransportException(e)); //$NON-NLS-1$
 		}
 		Trace.exiting(Activator.PLUGIN_ID, IRemoteServiceProviderDebugOptions.METHODS_EXITING, this.getClass(), "sendFireRequest", request); //$NON-NLS-1$
 		return request;
@@ -1957,6 +3019,57 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 		Trace.exiting(Activator.PLUGIN_ID, IRemoteServiceProviderDebugOptions.METHODS_EXITING, this.getClass(), "sendUnregister"); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tell the containers that may have the given local registration to drop the results
+	 * of its service they have cached.  Sent like the unregistration of the registration.
+	 * @param serviceRegistration the local registration.  Must not be <code>null</code>.
+	 * @param methods the methods whose results are dropped, or <code>null</code> for all
+	 * @since 4.7
+	 */
+	@SuppressWarnings("unchecked")
+	protected void sendCallCacheInvalidation(RemoteServiceRegistrationImpl serviceRegistration, String[] methods) {
+		if (!isConnected())
+			return;
+		final List<ID> targets = new ArrayList<ID>();
+		final ID[] targetIds = getTargetsFromProperties(serviceRegistration.properties);
+		// null to send to all group members
+		if (targetIds == null)
+			targets.add(null);
+		else
+			targets.addAll(Arrays.asList(targetIds));
+		synchronized (localRegistryUnregistrationTargets) {
+			final List registeredTargets = (List) localRegistryUnregistrationTargets.get(serviceRegistration);
+			if (registeredTargets != null)
+				targets.addAll(registeredTargets);
+		}
+		final Object[] args = new Object[] {serviceRegistration.getContainerID(), Long.valueOf(serviceRegistration.getServiceId()), methods};
+		for (final ID target : targets) {
+			try {
+				sendSharedObjectMsgTo(target, SharedObjectMsg.createMsg(INVALIDATE_CALL_CACHE, args));
+			} catch (final IOException e) {
+				log(INVALIDATE_CALL_CACHE_ERROR_CODE, INVALIDATE_CALL_CACHE_ERROR_MESSAGE, e);
+			}
+		}
+	}
+
+	/**
+	 * Drop the cached results of a remote service, as told by its host.
+	 * @param containerID the container of the remote service
+	 * @param serviceId the id of the remote service
+	 * @param methods the methods whose results are dropped, or <code>null</code> for all
+	 * @since 4.7
+	 */
+	protected void handleInvalidateCallCache(ID containerID, Long serviceId, String[] methods) {
+		RemoteServiceRegistrationImpl registration = null;
+		synchronized (remoteRegistrys) {
+			final RemoteServiceRegistryImpl serviceRegistry = (RemoteServiceRegistryImpl) remoteRegistrys.get(containerID);
+			if (serviceRegistry != null)
+				registration = serviceRegistry.findRegistrationForServiceId(serviceId.longValue());
+		}
+		if (registration != null)
+			registration.clearCallCache(methods);
+	}
+
 	protected void handleUnregister(ID containerID, Long serviceId) {
 		Trace.entering(Activator.PLUGIN_ID, IRemoteServiceProviderDebugOptions.METHODS_ENTERING, this.getClass(), "handleUnregister", new Object[] {containerID, serviceId}); //$NON-NLS-1$
 		RemoteServiceRegistrationImpl registration = null;
@@ -2067,15 +3180,21 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	}
 
 	/**
+	 * Add the request to the outstanding requests and schedule its timeout.  On timeout
+	 * the request is removed and failed with a {@link TimeoutException}.
 	 * @param request the request to add
 	 * @return true if added, false if not added
 	 * @since 3.2
 	 */
-	@SuppressWarnings("unchecked")
-	protected boolean addRequest(Request request) {
-		synchronized (requests) {
-			return requests.add(request);
-		}
+	protected boolean addRequest(final Request request) {
+		if (pendingRequests.putIfAbsent(Long.valueOf(request.getRequestId()), request) != null)
+			return false;
+		request.timeout = getRequestTimer().newTimeout(new Runnable() {
+			public void run() {
+				timeoutRequest(request);
+			}
+		}, request.getCall().getTimeout(), TimeUnit.MILLISECONDS);
+		return true;
 	}
 
 	/**
@@ -2084,27 +3203,22 @@ public class RegistrySharedObject extends BaseSharedObject implements IRemoteSer
 	 * @since 3.2
 	 */
 	protected Request getRequest(long requestId) {
-		synchronized (requests) {
-			for (final Iterator i = requests.iterator(); i.hasNext();) {
-				final Request req = (Request) i.next();
-				final long reqId = req.getRequestId();
-				if (reqId == requestId) {
-					return req;
-				}
-			}
-		}
-		return null;
+		return pendingRequests.get(Long.valueOf(requestId));
 	}
 
 	/**
+	 * Remove the request from the outstanding requests and cancel its timeout.
 	 * @param request request
 	 * @return boolean true if removed, false otherwise
 	 * @since 3.2
 	 */
 	protected boolean removeRequest(Request request) {
-		synchronized (requests) {
-			return requests.remove(request);
-		}
+		if (request == null || !pendingRequests.remove(Long.valueOf(request.getRequestId()), request))
+			return false;
+		final HashedWheelTimer.Timeout timeout = request.timeout;
+		if (timeout != null)
+			timeout.cancel();
+		return true;
 	}
 
 	protected void logException(int code, String message, Throwable e) {
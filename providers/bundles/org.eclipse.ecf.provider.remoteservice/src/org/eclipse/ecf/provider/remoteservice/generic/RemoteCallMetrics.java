@@ -0,0 +1,159 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.remoteservice.generic;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.provider.metrics.*;
+
+/**
+ * Per method metrics of the calls to one remote service, on the host or on a
+ * requestor.  Held in a {@link MetricGroup} of type {@link IMetricsService#TYPE_REMOTE_SERVICE}
+ * of the default {@link MetricsRegistry}, with metrics named <code>method.metric</code>.
+ * Created only if metrics are enabled.
+ */
+final class RemoteCallMetrics {
+
+	// Counters
+	static final String CALLS = "calls"; //$NON-NLS-1$
+	static final String ERRORS = "errors"; //$NON-NLS-1$
+	static final String TIMEOUTS = "timeouts"; //$NON-NLS-1$
+	static final String REJECTED = "rejected"; //$NON-NLS-1$
+
+	// Histograms, on requestors
+	static final String ROUND_TRIP = "roundtrip.ns"; //$NON-NLS-1$
+	// on hosts
+	static final String QUEUE_WAIT = "queue.wait.ns"; //$NON-NLS-1$
+	static final String EXECUTION = "execution.ns"; //$NON-NLS-1$
+	// on both, for the request on requestors and the response on hosts
+	static final String SERIALIZE = "serialize.ns"; //$NON-NLS-1$
+	// on both, for the response on requestors and the request on hosts
+	static final String DESERIALIZE = "deserialize.ns"; //$NON-NLS-1$
+	static final String REQUEST_BYTES = "request.bytes"; //$NON-NLS-1$
+	static final String RESPONSE_BYTES = "response.bytes"; //$NON-NLS-1$
+
+	private final MetricGroup group;
+
+	private RemoteCallMetrics(MetricGroup group) {
+		this.group = group;
+	}
+
+	/**
+	 * @return boolean true if metrics are collected for remote services used from now on
+	 */
+	static boolean isEnabled() {
+		return MetricsRegistry.getDefault().isEnabled();
+	}
+
+	/**
+	 * @param localContainerID the container that hosts or calls the service
+	 * @param registration the registration of the service
+	 * @param host true for the metrics of the host, false for those of a requestor
+	 * @return RemoteCallMetrics the metrics, or <code>null</code> if metrics are disabled
+	 */
+	static RemoteCallMetrics create(ID localContainerID, RemoteServiceRegistrationImpl registration, boolean host) {
+		final StringBuffer name = new StringBuffer();
+		if (!host && localContainerID != null)
+			name.append(localContainerID.getName()).append(" -> "); //$NON-NLS-1$
+		final ID containerID = registration.getContainerID();
+		name.append((containerID == null) ? null : containerID.getName());
+		name.append(":").append(registration.getServiceId()); //$NON-NLS-1$
+		final String[] classes = registration.getClasses();
+		if (classes != null)
+			name.append(" ").append(Arrays.asList(classes)); //$NON-NLS-1$
+		final MetricGroup group = MetricsRegistry.getDefault().createGroup(IMetricsService.TYPE_REMOTE_SERVICE, name.toString());
+		return (group == null) ? null : new RemoteCallMetrics(group);
+	}
+
+	Counter counter(String method, String counterName) {
+		return group.counter(method + "." + counterName); //$NON-NLS-1$
+	}
+
+	Histogram histogram(String method, String histogramName) {
+		return group.histogram(method + "." + histogramName); //$NON-NLS-1$
+	}
+
+	/**
+	 * Record the calls to method that have completed.
+	 * @param method the method called
+	 * @param startTime the {@link System#nanoTime()} at which the call started
+	 * @param error true if the call failed
+	 */
+	void recordCall(String method, long startTime, boolean error) {
+		counter(method, CALLS).increment();
+		if (error)
+			counter(method, ERRORS).increment();
+		histogram(method, ROUND_TRIP).record(System.nanoTime() - startTime);
+	}
+
+	/**
+	 * Record a message written for a call to method.
+	 * @param method the method called
+	 * @param bytesName {@link #REQUEST_BYTES} or {@link #RESPONSE_BYTES}
+	 * @param startTime the {@link System#nanoTime()} at which writing started
+	 * @param bytes the number of bytes written
+	 */
+	void recordSerialized(String method, String bytesName, long startTime, long bytes) {
+		histogram(method, SERIALIZE).record(System.nanoTime() - startTime);
+		histogram(method, bytesName).record(bytes);
+	}
+
+	/**
+	 * Record a message read for a call to method.
+	 * @param method the method called
+	 * @param bytesName {@link #REQUEST_BYTES} or {@link #RESPONSE_BYTES}
+	 * @param startTime the {@link System#nanoTime()} at which reading started
+	 * @param bytes the number of bytes read
+	 */
+	void recordDeserialized(String method, String bytesName, long startTime, long bytes) {
+		histogram(method, DESERIALIZE).record(System.nanoTime() - startTime);
+		histogram(method, bytesName).record(bytes);
+	}
+
+	void close() {
+		group.close();
+	}
+
+	public String toString() {
+		return "RemoteCallMetrics[" + group.getName() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Counts the bytes written through it.
+	 */
+	static final class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+
+		long getCount() {
+			return count;
+		}
+	}
+}
@@ -11,14 +11,15 @@
  *****************************************************************************/
 package org.eclipse.ecf.provider.remoteservice.generic;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.atomic.AtomicReference;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.eclipse.ecf.core.util.ECFException;
 import org.eclipse.ecf.remoteservice.*;
 import org.eclipse.ecf.remoteservice.events.IRemoteCallCompleteEvent;
 import org.eclipse.ecf.remoteservice.events.IRemoteCallEvent;
 
-public class RemoteServiceImpl extends AbstractRemoteService {
+public class RemoteServiceImpl extends AbstractRemoteService implements IBatchRemoteService {
 
 	protected static final long DEFAULT_TIMEOUT = new Long(System.getProperty("ecf.remotecall.timeout", "30000")).longValue(); //$NON-NLS-1$ //$NON-NLS-2$
 
@@ -43,32 +44,44 @@ public class RemoteServiceImpl extends AbstractRemoteService {
 	}
 
 	/**
+	 * @return IRemoteCallListener notifying listener of the completion of call on the
+	 * completion executor, rather than on the thread that handles the response or on
+	 * the request timer.  The start event is notified by the calling thread.
+	 */
+	private IRemoteCallListener notifyOnCompletionExecutor(IRemoteCall call, final IRemoteCallListener listener) {
+		if (listener == null)
+			return null;
+		final Executor executor = getCompletionExecutor(call);
+		return new IRemoteCallListener() {
+			public void handleEvent(final IRemoteCallEvent event) {
+				if (event instanceof IRemoteCallCompleteEvent)
+					executor.execute(new Runnable() {
+						public void run() {
+							listener.handleEvent(event);
+						}
+					});
+				else
+					listener.handleEvent(event);
+			}
+		};
+	}
+
+	/**
+	 * The listener is notified of the completion of the call on the completion executor,
+	 * rather than by a thread waiting for the response.
 	 * @since 3.0
 	 * @see org.eclipse.ecf.remoteservice.IRemoteService#callAsync(org.eclipse.ecf.remoteservice.IRemoteCall, org.eclipse.ecf.remoteservice.IRemoteCallListener)
 	 */
 	public void callAsync(final IRemoteCall call, final IRemoteCallListener listener) {
-		callAsyncWithTimeout(call, new Callable<IRemoteCallCompleteEvent>() {
-			public IRemoteCallCompleteEvent call() throws Exception {
-				final AtomicReference<IRemoteCallCompleteEvent> ar = new AtomicReference<IRemoteCallCompleteEvent>();
-				sharedObject.sendCallRequestWithListener(registration, call, new IRemoteCallListener() {
-					public void handleEvent(IRemoteCallEvent event) {
-						if (event instanceof IRemoteCallCompleteEvent)
-							synchronized (ar) {
-								ar.set((IRemoteCallCompleteEvent) event);
-								ar.notify();
-							}
-					}
-				});
-				synchronized (ar) {
-					while (true) {
-						IRemoteCallCompleteEvent result = ar.get();
-						if (result != null)
-							return result;
-						ar.wait(call.getTimeout());
-					}
-				}
-			}
-		}, listener);
+		sharedObject.sendCallRequestWithListener(registration, call, notifyOnCompletionExecutor(call, listener));
+	}
+
+	/**
+	 * @since 4.7
+	 */
+	@Override
+	protected CompletableFuture<Object> callNonBlocking(IRemoteCall call) {
+		return sharedObject.callNonBlocking(registration, call);
 	}
 
 	/**
@@ -87,6 +100,40 @@ public class RemoteServiceImpl extends AbstractRemoteService {
 		sharedObject.sendFireRequest(registration, call);
 	}
 
+	/**
+	 * Batches are sent in a single message if the host supports them, and as separate
+	 * calls otherwise.
+	 * @since 4.7
+	 * @see org.eclipse.ecf.remoteservice.IBatchRemoteService#createCallBatch(boolean)
+	 */
+	public IRemoteCallBatch createCallBatch(final boolean parallel) {
+		return new RemoteCallBatch(this) {
+			protected void sendCalls(IRemoteCall[] calls, IRemoteCallListener[] listeners) throws ECFException {
+				if (!sharedObject.isCallBatchSupported(registration)) {
+					super.sendCalls(calls, listeners);
+					return;
+				}
+				final IRemoteCallListener[] executorListeners = new IRemoteCallListener[listeners.length];
+				for (int i = 0; i < listeners.length; i++)
+					executorListeners[i] = notifyOnCompletionExecutor(calls[i], listeners[i]);
+				try {
+					sharedObject.sendCallBatchRequest(registration, calls, executorListeners, parallel);
+				} catch (final IOException e) {
+					throw new ECFException("Exception sending remote call batch", e); //$NON-NLS-1$
+				}
+			}
+		};
+	}
+
+	/**
+	 * The cache is shared by all remote services for the registration.
+	 * @since 4.7
+	 */
+	@Override
+	protected RemoteCallCache getCallCache() {
+		return registration.getCallCache();
+	}
+
 	@Override
 	protected Object createProxy(ClassLoader cl, Class[] classes) {
 		this.registration.setClassLoader(cl);
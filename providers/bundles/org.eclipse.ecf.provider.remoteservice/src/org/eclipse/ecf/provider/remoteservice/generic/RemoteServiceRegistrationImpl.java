@@ -12,11 +12,14 @@
 package org.eclipse.ecf.provider.remoteservice.generic;
 
 import java.io.Serializable;
-import java.lang.reflect.Array;
-import java.lang.reflect.Method;
+import java.lang.invoke.*;
+import java.lang.reflect.*;
 import java.security.AccessController;
 import java.security.PrivilegedExceptionAction;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
 import org.eclipse.ecf.core.identity.ID;
 import org.eclipse.ecf.core.sharedobject.SharedObjectMsg;
 import org.eclipse.ecf.core.util.reflection.ClassUtil;
@@ -25,7 +28,7 @@ import org.eclipse.ecf.remoteservice.*;
 /**
  * @since 3.0
  */
-public class RemoteServiceRegistrationImpl implements IRemoteServiceRegistration, Serializable {
+public class RemoteServiceRegistrationImpl implements IRemoteServiceRegistration, IRemoteCallCacheInvalidator, Serializable {
 
 	private static final long serialVersionUID = -3206899332723536545L;
 
@@ -133,6 +136,8 @@ public class RemoteServiceRegistrationImpl implements IRemoteServiceRegistration
 		if (sharedObject != null) {
 			sharedObject.sendUnregister(this);
 		}
+		clearDispatchTable();
+		closeCallMetrics();
 		this.classLoader = null;
 	}
 
@@ -151,6 +156,11 @@ public class RemoteServiceRegistrationImpl implements IRemoteServiceRegistration
 
 		resultProps.setProperty(RemoteServiceRegistryImpl.REMOTESERVICE_ID, new Long(getID().getContainerRelativeID()));
 
+		// Tell callers that batches of calls can be sent to this registration
+		resultProps.setProperty(RegistrySharedObject.CALL_BATCH_PROPERTY, Boolean.TRUE);
+		// and that arguments can be streamed
+		resultProps.setProperty(RegistrySharedObject.STREAMING_PROPERTY, Boolean.TRUE);
+
 		final Object ranking = (props == null) ? null : props.get(RemoteServiceRegistryImpl.REMOTESERVICE_RANKING);
 
 		serviceranking = (ranking instanceof Integer) ? ((Integer) ranking).intValue() : 0;
@@ -416,18 +426,298 @@ public class RemoteServiceRegistrationImpl implements IRemoteServiceRegistration
 		return rsID.getContainerRelativeID();
 	}
 
-	@SuppressWarnings("unchecked")
 	public Object callService(RemoteCallImpl call) throws Exception {
 		Object[] args = (call.getParameters() == null) ? SharedObjectMsg.nullArgs : call.getParameters();
-		final Method method = ClassUtil.getMethod(service.getClass(), call.getMethod(), SharedObjectMsg.getTypesForParameters(args));
-		AccessController.doPrivileged(new PrivilegedExceptionAction() {
-			public Object run() throws Exception {
-				if (!method.isAccessible())
-					method.setAccessible(true);
-				return null;
+		final MethodInvoker invoker = getMethodInvoker(call.getMethod(), args);
+		// Unlike remote calls, may call methods that are not publicly accessible
+		if (invoker instanceof ReflectiveMethodInvoker)
+			return ((ReflectiveMethodInvoker) invoker).invokeAccessible(args);
+		return invoker.invoke(args);
+	}
+
+	/**
+	 * Maximum number of method invokers cached per registration.  Each distinct method name
+	 * and combination of argument types takes an entry, so the limit only matters for
+	 * services called with many different argument types.
+	 */
+	static final int MAX_DISPATCH_TABLE_SIZE = 256;
+
+	private transient volatile ConcurrentMap<MethodKey, MethodInvoker> dispatchTable;
+
+	private ConcurrentMap<MethodKey, MethodInvoker> getDispatchTable() {
+		ConcurrentMap<MethodKey, MethodInvoker> table = dispatchTable;
+		if (table == null) {
+			synchronized (this) {
+				table = dispatchTable;
+				if (table == null)
+					dispatchTable = table = new ConcurrentHashMap<MethodKey, MethodInvoker>();
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Get the invoker for the method of the service that a call of the given method with
+	 * the given arguments resolves to.  Invokers are cached by method name and argument
+	 * types, so the method is looked up only on the first call with a given signature.
+	 * @param methodName the name of the method to call.  Must not be <code>null</code>.
+	 * @param args the arguments of the call.  Must not be <code>null</code>.
+	 * @return MethodInvoker the invoker for the method
+	 * @throws NoSuchMethodException if the service has no method matching the call
+	 */
+	MethodInvoker getMethodInvoker(String methodName, Object[] args) throws NoSuchMethodException {
+		final MethodKey key = new MethodKey(methodName, SharedObjectMsg.getTypesForParameters(args));
+		final ConcurrentMap<MethodKey, MethodInvoker> table = getDispatchTable();
+		MethodInvoker invoker = table.get(key);
+		if (invoker == null) {
+			final Method method = ClassUtil.getMethod(service.getClass(), methodName, key.types);
+			invoker = MethodInvoker.create(service, method, key.types);
+			if (table.size() < MAX_DISPATCH_TABLE_SIZE) {
+				final MethodInvoker existing = table.putIfAbsent(key, invoker);
+				if (existing != null)
+					invoker = existing;
+			}
+		}
+		return invoker;
+	}
+
+	/**
+	 * @return int the number of cached method invokers
+	 */
+	int getDispatchTableSize() {
+		final ConcurrentMap<MethodKey, MethodInvoker> table = dispatchTable;
+		return (table == null) ? 0 : table.size();
+	}
+
+	void clearDispatchTable() {
+		final ConcurrentMap<MethodKey, MethodInvoker> table = dispatchTable;
+		if (table != null)
+			table.clear();
+	}
+
+	private transient volatile Semaphore callPermits;
+
+	/**
+	 * Get the permits for requests to this registration executing at once.  The permits are
+	 * created on first use, with the given limit.
+	 * @param maxConcurrentCalls the maximum number of requests executing at once
+	 * @return Semaphore with maxConcurrentCalls permits, or <code>null</code> if
+	 * maxConcurrentCalls is 0 or less and no permits have been created
+	 */
+	Semaphore getCallPermits(int maxConcurrentCalls) {
+		Semaphore permits = callPermits;
+		if (permits == null && maxConcurrentCalls > 0) {
+			synchronized (this) {
+				permits = callPermits;
+				if (permits == null)
+					callPermits = permits = new Semaphore(maxConcurrentCalls);
+			}
+		}
+		return permits;
+	}
+
+	private transient volatile RemoteCallCache callCache;
+
+	/**
+	 * Get the cache of results shared by the proxies of this remote registration.  The
+	 * cache is created on first use, from the properties of the registration.
+	 * @return RemoteCallCache the cache.  Will not be <code>null</code>.
+	 */
+	RemoteCallCache getCallCache() {
+		RemoteCallCache cache = callCache;
+		if (cache == null) {
+			synchronized (this) {
+				cache = callCache;
+				if (cache == null)
+					callCache = cache = RemoteCallCache.create(getReference());
+			}
+		}
+		return cache;
+	}
+
+	void clearCallCache(String[] methods) {
+		final RemoteCallCache cache = callCache;
+		if (cache != null)
+			cache.invalidate(methods);
+	}
+
+	/**
+	 * Tell the consumers of this local registration to drop the results they have cached.
+	 * Does nothing for the registrations of remote services.
+	 * @since 4.7
+	 * @see org.eclipse.ecf.remoteservice.IRemoteCallCacheInvalidator#invalidateCallCache(java.lang.String[])
+	 */
+	public void invalidateCallCache(String[] methods) {
+		if (sharedObject != null)
+			sharedObject.sendCallCacheInvalidation(this, methods);
+	}
+
+	private transient volatile RemoteCallMetrics callMetrics;
+
+	/**
+	 * Get the metrics of the calls to this registration.  The metrics are created on first
+	 * use if metrics are enabled.
+	 * @param localContainerID the container that hosts or calls the service
+	 * @param host true if this is the registration of a local service, false otherwise
+	 * @return RemoteCallMetrics the metrics, or <code>null</code> if metrics are disabled
+	 */
+	RemoteCallMetrics getCallMetrics(ID localContainerID, boolean host) {
+		RemoteCallMetrics metrics = callMetrics;
+		if (metrics == null && RemoteCallMetrics.isEnabled()) {
+			synchronized (this) {
+				metrics = callMetrics;
+				if (metrics == null)
+					callMetrics = metrics = RemoteCallMetrics.create(localContainerID, this, host);
+			}
+		}
+		return metrics;
+	}
+
+	void closeCallMetrics() {
+		final RemoteCallMetrics metrics;
+		synchronized (this) {
+			metrics = callMetrics;
+			callMetrics = null;
+		}
+		if (metrics != null)
+			metrics.close();
+	}
+
+	static final class MethodKey {
+		final String name;
+		final Class[] types;
+		private final int hash;
+
+		MethodKey(String name, Class[] types) {
+			this.name = name;
+			this.types = types;
+			this.hash = 31 * name.hashCode() + Arrays.hashCode(types);
+		}
+
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof MethodKey))
+				return false;
+			final MethodKey other = (MethodKey) o;
+			return name.equals(other.name) && Arrays.equals(types, other.types);
+		}
+
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * Invokes a method on the service of a registration.  Uses a method handle bound to the
+	 * service if the method is publicly accessible, and {@link Method#invoke(Object, Object...)}
+	 * otherwise.  Either way, exceptions thrown by the method are wrapped in an
+	 * {@link InvocationTargetException}, and arguments that do not fit the parameters of the
+	 * method are rejected with an {@link IllegalArgumentException}, as with
+	 * {@link Method#invoke(Object, Object...)}.
+	 */
+	static abstract class MethodInvoker {
+
+		private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+		private static final MethodHandle WRAP_EXCEPTION;
+
+		static {
+			try {
+				WRAP_EXCEPTION = MethodHandles.lookup().findStatic(MethodInvoker.class, "wrapException", MethodType.methodType(Object.class, Throwable.class)); //$NON-NLS-1$
+			} catch (final ReflectiveOperationException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+
+		final Method method;
+
+		MethodInvoker(Method method) {
+			this.method = method;
+		}
+
+		Method getMethod() {
+			return method;
+		}
+
+		abstract Object invoke(Object[] args) throws Exception;
+
+		@SuppressWarnings("unused")
+		private static Object wrapException(Throwable t) throws InvocationTargetException {
+			throw new InvocationTargetException(t);
+		}
+
+		static MethodInvoker create(final Object service, final Method method, Class[] argTypes) {
+			final Class[] paramTypes = method.getParameterTypes();
+			// Method.invoke rejects null for primitive parameters with an IllegalArgumentException,
+			// which a method handle would throw as a NullPointerException
+			for (int i = 0; i < argTypes.length; i++)
+				if (argTypes[i] == null && paramTypes[i].isPrimitive())
+					return new ReflectiveMethodInvoker(service, method);
+			MethodHandle handle;
+			try {
+				handle = MethodHandles.publicLookup().unreflect(method).asFixedArity();
+			} catch (final IllegalAccessException e) {
+				return new ReflectiveMethodInvoker(service, method);
 			}
-		});
-		return method.invoke(service, args);
+			if (!Modifier.isStatic(method.getModifiers()))
+				handle = handle.bindTo(service);
+			// Exceptions thrown by the method are wrapped before they leave the method handle,
+			// so that other exceptions come from converting the arguments
+			handle = MethodHandles.catchException(handle, Throwable.class, WRAP_EXCEPTION.asType(MethodType.methodType(handle.type().returnType(), Throwable.class)));
+			final MethodHandle spreader = handle.asSpreader(Object[].class, paramTypes.length).asType(SPREAD_TYPE);
+			return new MethodInvoker(method) {
+				Object invoke(Object[] args) throws Exception {
+					try {
+						return spreader.invokeExact(args);
+					} catch (final InvocationTargetException e) {
+						throw e;
+					} catch (final RuntimeException e) {
+						// ClassCastException, WrongMethodTypeException or IllegalArgumentException
+						// for an argument array of the wrong length
+						throw new IllegalArgumentException("Arguments do not match method " + method, e); //$NON-NLS-1$
+					} catch (final Error e) {
+						throw e;
+					} catch (final Throwable t) {
+						throw new InvocationTargetException(t);
+					}
+				}
+			};
+		}
+	}
+
+	static final class ReflectiveMethodInvoker extends MethodInvoker {
+		private final Object service;
+		private volatile Method accessibleMethod;
+
+		ReflectiveMethodInvoker(Object service, Method method) {
+			super(method);
+			this.service = service;
+		}
+
+		Object invoke(Object[] args) throws Exception {
+			return method.invoke(service, args);
+		}
+
+		/**
+		 * Invoke the method even if it is not publicly accessible, e.g. because the class
+		 * of the service is not public.  Uses a copy of the method, so that {@link #invoke(Object[])}
+		 * keeps failing for such methods.
+		 */
+		Object invokeAccessible(Object[] args) throws Exception {
+			Method m = accessibleMethod;
+			if (m == null) {
+				final Method copy = method.getDeclaringClass().getMethod(method.getName(), method.getParameterTypes());
+				AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
+					public Object run() throws Exception {
+						copy.setAccessible(true);
+						return null;
+					}
+				});
+				accessibleMethod = m = copy;
+			}
+			return m.invoke(service, args);
+		}
 	}
 
 	public String toString() {
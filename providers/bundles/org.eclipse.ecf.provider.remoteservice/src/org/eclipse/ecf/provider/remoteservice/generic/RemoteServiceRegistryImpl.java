@@ -108,10 +108,16 @@ public class RemoteServiceRegistryImpl implements Serializable {
 		// Remove the ServiceRegistration from the list of all published
 		// Services.
 		allPublishedServices.remove(serviceReg);
-
+		serviceReg.clearDispatchTable();
+		serviceReg.closeCallMetrics();
 	}
 
 	public void unpublishServices() {
+		for (int i = 0; i < allPublishedServices.size(); i++) {
+			final RemoteServiceRegistrationImpl serviceReg = (RemoteServiceRegistrationImpl) allPublishedServices.get(i);
+			serviceReg.clearDispatchTable();
+			serviceReg.closeCallMetrics();
+		}
 		publishedServicesByClass.clear();
 		allPublishedServices.clear();
 	}
@@ -0,0 +1,69 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.remoteservice.generic;
+
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
+/**
+ * Sent in place of a call argument or result that is streamed rather than serialized,
+ * see {@link RegistrySharedObject#STREAMING_PROPERTY}.  The receiver replaces it with an
+ * object of the same kind that reads the chunks sent for the stream.
+ */
+final class RemoteStreamReference implements Serializable {
+
+	private static final long serialVersionUID = -3391565271826436553L;
+
+	static final int INPUT_STREAM = 0;
+	static final int ITERATOR = 1;
+	static final int STREAM = 2;
+
+	private final long streamId;
+	private final int type;
+
+	RemoteStreamReference(long streamId, int type) {
+		this.streamId = streamId;
+		this.type = type;
+	}
+
+	/**
+	 * @param o the argument or result
+	 * @return int the type of stream for o, or -1 if o is not streamed.  Objects that
+	 * are serializable are not streamed.
+	 */
+	static int getStreamType(Object o) {
+		if (o == null || o instanceof Serializable)
+			return -1;
+		if (o instanceof InputStream)
+			return INPUT_STREAM;
+		if (o instanceof Iterator)
+			return ITERATOR;
+		if (o instanceof BaseStream)
+			return STREAM;
+		return -1;
+	}
+
+	long getStreamId() {
+		return streamId;
+	}
+
+	int getType() {
+		return type;
+	}
+
+	public String toString() {
+		return "RemoteStreamReference[streamId=" + streamId + ";type=" + type + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
@@ -12,7 +12,9 @@
 package org.eclipse.ecf.provider.remoteservice.generic;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.provider.util.HashedWheelTimer;
 import org.eclipse.ecf.remoteservice.IRemoteCallListener;
 
 public class Request implements Serializable {
@@ -33,8 +35,23 @@ public class Request implements Serializable {
 
 	boolean done = false;
 
+	// Set by requestors that read streamed results
+	boolean acceptsStreams;
+
 	transient IRemoteCallListener listener = null;
 
+	// Completed with the response on the requesting side.  null for received requests
+	transient CompletableFuture<Response> responseFuture;
+
+	// Timeout of the request on the requesting side, if scheduled
+	transient HashedWheelTimer.Timeout timeout;
+
+	// Metrics of the called service on the requesting side.  null if metrics are disabled
+	transient RemoteCallMetrics metrics;
+
+	// System.nanoTime() at which the request was created, if metrics are enabled
+	transient long startTime;
+
 	private synchronized static long getNextRequestId() {
 		long result = nextRequestId;
 		nextRequestId = (nextRequestId == Long.MAX_VALUE) ? 0L : nextRequestId + 1;
@@ -51,6 +68,7 @@ public class Request implements Serializable {
 		this.call = call;
 		this.requestId = getNextRequestId();
 		this.listener = listener;
+		this.responseFuture = new CompletableFuture<Response>();
 	}
 
 	public long getRequestId() {
@@ -85,10 +103,44 @@ public class Request implements Serializable {
 		this.done = val;
 	}
 
+	/**
+	 * @return boolean true if the requestor reads results that are streamed, see
+	 * {@link RegistrySharedObject#STREAMING_PROPERTY}
+	 * @since 4.7
+	 */
+	protected boolean acceptsStreams() {
+		return acceptsStreams;
+	}
+
 	protected IRemoteCallListener getListener() {
 		return listener;
 	}
 
+	/**
+	 * @return CompletableFuture completed with the response to this request, or exceptionally
+	 * if the request timed out or failed.  <code>null</code> for requests received from a remote.
+	 * @since 4.7
+	 */
+	protected CompletableFuture<Response> getResponseFuture() {
+		return responseFuture;
+	}
+
+	/**
+	 * Set the response, mark this request as done and complete the response future.
+	 * @param resp the response.  Must not be <code>null</code>.
+	 * @return boolean true if this request was completed by this call, false if it
+	 * was already completed
+	 * @since 4.7
+	 */
+	protected boolean complete(Response resp) {
+		synchronized (this) {
+			setResponse(resp);
+			setDone(true);
+			notifyAll();
+		}
+		return responseFuture != null && responseFuture.complete(resp);
+	}
+
 	public String toString() {
 		final StringBuffer buf = new StringBuffer("Request["); //$NON-NLS-1$
 		buf.append("requestId=").append(requestId).append(";cont=").append( //$NON-NLS-1$ //$NON-NLS-2$
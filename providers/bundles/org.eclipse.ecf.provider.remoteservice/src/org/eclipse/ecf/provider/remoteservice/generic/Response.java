@@ -23,6 +23,11 @@ public class Response implements Serializable {
 
 	Throwable exception;
 
+	// Metrics of the called service and method called, on hosts.  null if metrics are disabled
+	transient RemoteCallMetrics metrics;
+
+	transient String method;
+
 	public Response(long requestId, Object response) {
 		this.requestId = requestId;
 		this.response = response;
@@ -0,0 +1,70 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.remoteservice.generic;
+
+import java.io.Serializable;
+
+/**
+ * Chunk of a stream sent by an {@link OutboundStream} to an {@link InboundStream}.
+ * Holds either bytes (for input streams) or elements (for iterators and streams).
+ * The last chunk of a stream is empty and marked as end, with the exception
+ * that ended the stream, if any.
+ */
+final class StreamChunk implements Serializable {
+
+	private static final long serialVersionUID = 6080223719467938385L;
+
+	private final byte[] bytes;
+	private final Object[] elements;
+	private final boolean end;
+	private final Throwable exception;
+
+	private StreamChunk(byte[] bytes, Object[] elements, boolean end, Throwable exception) {
+		this.bytes = bytes;
+		this.elements = elements;
+		this.end = end;
+		this.exception = exception;
+	}
+
+	static StreamChunk createBytes(byte[] bytes) {
+		return new StreamChunk(bytes, null, false, null);
+	}
+
+	static StreamChunk createElements(Object[] elements) {
+		return new StreamChunk(null, elements, false, null);
+	}
+
+	static StreamChunk createEnd(Throwable exception) {
+		return new StreamChunk(null, null, true, exception);
+	}
+
+	byte[] getBytes() {
+		return bytes;
+	}
+
+	Object[] getElements() {
+		return elements;
+	}
+
+	boolean isEnd() {
+		return end;
+	}
+
+	Throwable getException() {
+		return exception;
+	}
+
+	public String toString() {
+		return "StreamChunk[bytes=" + (bytes == null ? 0 : bytes.length) + ";elements=" + (elements == null ? 0 : elements.length) + ";end=" + end + ";exception=" + exception + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+}
@@ -0,0 +1,59 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.osgi.services.remoteserviceadmin;
+
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.BinaryEndpointDescriptionReader;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.BinaryEndpointDescriptionWriter;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescriptionReader;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescriptionWriter;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.IEndpointDescriptionReader;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.StaxEndpointDescriptionReader;
+import org.osgi.service.remoteserviceadmin.EndpointDescription;
+
+/**
+ * Micro benchmark of the endpoint description readers, reading the endpoint
+ * descriptions of {@link EndpointDescriptionReaderTest}. Not a test, so not run
+ * by the test build. Run it as a Java application with the test bundle's
+ * classpath.
+ */
+public class EndpointDescriptionReaderBenchmark {
+
+	private static final int READS = 2000;
+
+	private static long read(IEndpointDescriptionReader reader, byte[] document) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < READS; i++)
+			if (EndpointDescriptionReaderTest.read(reader, document).length != 1)
+				throw new IllegalStateException("Endpoint description not read"); //$NON-NLS-1$
+		return System.nanoTime() - start;
+	}
+
+	public static void main(String[] args) throws Exception {
+		EndpointDescription[] ed = new EndpointDescription[] {
+				EndpointDescriptionReaderTest.createEndpointDescription(0, "value0") }; //$NON-NLS-1$
+		byte[] edef = new EndpointDescriptionWriter().writeEndpointDescriptions(ed).toString().getBytes("UTF-8"); //$NON-NLS-1$
+		byte[] binary = new BinaryEndpointDescriptionWriter().toByteArray(ed);
+		IEndpointDescriptionReader[] readers = new IEndpointDescriptionReader[] { new EndpointDescriptionReader(),
+				new StaxEndpointDescriptionReader(), new BinaryEndpointDescriptionReader() };
+		byte[][] documents = new byte[][] { edef, edef, binary };
+		long[] times = new long[readers.length];
+		// Warm up, then measure
+		for (int run = 0; run < 2; run++)
+			for (int r = 0; r < readers.length; r++)
+				times[r] = read(readers[r], documents[r]);
+		System.out.println("EndpointDescriptionReaderBenchmark " + READS + " reads:"); //$NON-NLS-1$ //$NON-NLS-2$
+		System.out.println("  sax    " + (times[0] / 1000000) + "ms, " + edef.length + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("  stax   " + (times[1] / 1000000) + "ms, " + edef.length + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("  binary " + (times[2] / 1000000) + "ms, " + binary.length + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
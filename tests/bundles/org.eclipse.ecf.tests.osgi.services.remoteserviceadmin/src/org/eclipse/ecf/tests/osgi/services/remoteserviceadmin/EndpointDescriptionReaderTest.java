@@ -0,0 +1,161 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.osgi.services.remoteserviceadmin;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.identity.StringID;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.BinaryEndpointDescriptionReader;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.BinaryEndpointDescriptionWriter;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescriptionReader;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescriptionWriter;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.IEndpointDescriptionReader;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.StaxEndpointDescriptionReader;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.StaxEndpointDescriptionWriter;
+import org.osgi.framework.Constants;
+import org.osgi.service.remoteserviceadmin.EndpointDescription;
+
+public class EndpointDescriptionReaderTest extends TestCase {
+
+	private static final int DESCRIPTIONS = 20;
+
+	private EndpointDescription[] eds;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		eds = new EndpointDescription[DESCRIPTIONS];
+		for (int i = 0; i < DESCRIPTIONS; i++)
+			eds[i] = createEndpointDescription(i, "value" + i);
+	}
+
+	static EndpointDescription createEndpointDescription(int i, String stringValue) {
+		Map<String, Object> props = new HashMap<String, Object>();
+		props.put(Constants.OBJECTCLASS, new String[] { "com.acme.Foo", "com.acme.Bar" });
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.ENDPOINT_ID, "ecftcp://localhost:3282/server" + i);
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.ENDPOINT_SERVICE_ID, Long.valueOf(i));
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.ENDPOINT_FRAMEWORK_UUID, "abcd-1234-7654-fedc");
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.SERVICE_IMPORTED_CONFIGS,
+				new String[] { "ecf.generic.client" });
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.SERVICE_INTENTS,
+				Arrays.asList(new String[] { "SOAP", "HTTP" }));
+		props.put(RemoteConstants.ENDPOINT_ID, "ecftcp://localhost:3282/server" + i);
+		props.put(RemoteConstants.ENDPOINT_CONTAINER_ID_NAMESPACE, StringID.class.getName());
+		props.put(RemoteConstants.ENDPOINT_TIMESTAMP, Long.valueOf(1000000L + i));
+		props.put("test.string", stringValue);
+		props.put("test.integer", Integer.valueOf(i));
+		props.put("test.double", Double.valueOf(i / 2.0));
+		props.put("test.boolean", Boolean.TRUE);
+		props.put("test.character", Character.valueOf('c'));
+		props.put("test.longs", new Long[] { Long.valueOf(i), Long.valueOf(-i) });
+		Set<Integer> set = new HashSet<Integer>();
+		set.add(Integer.valueOf(i));
+		set.add(Integer.valueOf(i + 1));
+		props.put("test.set", set);
+		return new EndpointDescription(props);
+	}
+
+	static EndpointDescription[] read(IEndpointDescriptionReader reader, byte[] bytes) throws Exception {
+		return (EndpointDescription[]) reader.readEndpointDescriptions(new ByteArrayInputStream(bytes));
+	}
+
+	private void assertSameProperties(EndpointDescription[] expected, EndpointDescription[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			Map<String, Object> expectedProperties = expected[i].getProperties();
+			Map<String, Object> actualProperties = actual[i].getProperties();
+			assertEquals(expectedProperties.keySet(), actualProperties.keySet());
+			for (String name : expectedProperties.keySet()) {
+				Object expectedValue = expectedProperties.get(name);
+				Object actualValue = actualProperties.get(name);
+				if (expectedValue instanceof Object[])
+					assertTrue(name, Arrays.equals((Object[]) expectedValue, (Object[]) actualValue));
+				else
+					assertEquals(name, expectedValue, actualValue);
+			}
+		}
+	}
+
+	public void testStaxReader() throws Exception {
+		byte[] edef = new EndpointDescriptionWriter().writeEndpointDescriptions(eds).toString().getBytes("UTF-8");
+		EndpointDescription[] expected = read(new EndpointDescriptionReader(), edef);
+		assertSameProperties(eds, expected);
+		assertSameProperties(expected, read(new StaxEndpointDescriptionReader(), edef));
+	}
+
+	public void testStaxReaderXml() throws Exception {
+		String edef = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+				+ "<endpoint-descriptions xmlns=\"http://www.osgi.org/xmlns/rsa/v1.0.0\"><endpoint-description>"
+				+ "<property name=\"objectClass\" value=\"com.acme.Foo\"/>"
+				+ "<property name=\"endpoint.id\" value=\"ecftcp://localhost:3282/server\"/>"
+				+ "<property name=\"service.imported.configs\" value=\"ecf.generic.server\"/>"
+				+ "<property name=\"ecf.endpoint.id.ns\" value=\"" + StringID.class.getName() + "\"/>"
+				+ "<property name=\"com.acme.ws.xml\"><xml><config xmlns=\"http://acme.com/defs\">\n"
+				+ "  <port>1029</port>\n  <host>www.acme.com</host>\n</config></xml></property>"
+				+ "<property name=\"test.floats\" value-type=\"float\"><array><value>1.5</value></array></property>"
+				+ "</endpoint-description></endpoint-descriptions>";
+		EndpointDescription ed = read(new StaxEndpointDescriptionReader(), edef.getBytes("UTF-8"))[0];
+		assertEquals("<config xmlns=\"http://acme.com/defs\"><port>1029</port><host>www.acme.com</host></config>",
+				ed.getProperties().get("com.acme.ws.xml"));
+		assertTrue(Arrays.equals(new Float[] { Float.valueOf(1.5f) },
+				(Object[]) ed.getProperties().get("test.floats")));
+	}
+
+	public void testStaxWriter() throws Exception {
+		EndpointDescription[] escaped = new EndpointDescription[] {
+				createEndpointDescription(0, "a < b & \"c\" > 'd'") };
+		byte[] edef = new StaxEndpointDescriptionWriter().toByteArray(escaped);
+		assertSameProperties(escaped, read(new EndpointDescriptionReader(), edef));
+		assertSameProperties(escaped, read(new StaxEndpointDescriptionReader(), edef));
+	}
+
+	public void testBinary() throws Exception {
+		byte[] binary = new BinaryEndpointDescriptionWriter().toByteArray(eds);
+		assertTrue(BinaryEndpointDescriptionReader.isBinaryFormat(binary));
+		assertFalse(BinaryEndpointDescriptionReader.isBinaryFormat(new StaxEndpointDescriptionWriter().toByteArray(eds)));
+		assertSameProperties(eds, read(new BinaryEndpointDescriptionReader(), binary));
+	}
+
+	public void testBinaryFormatNegotiated() throws Exception {
+		BinaryEndpointDescriptionWriter writer = new BinaryEndpointDescriptionWriter();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_BINARY,
+				writer.writeEndpointDescriptions(out, eds, BinaryEndpointDescriptionReader.SUPPORTED_FORMATS));
+		assertTrue(BinaryEndpointDescriptionReader.isBinaryFormat(out.toByteArray()));
+		assertSameProperties(eds, read(new BinaryEndpointDescriptionReader(), out.toByteArray()));
+	}
+
+	public void testBinaryFormatFallback() throws Exception {
+		BinaryEndpointDescriptionWriter writer = new BinaryEndpointDescriptionWriter();
+		Object[] peerFormats = new Object[] { null, RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_EDEF,
+				Arrays.asList(new String[] { RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_EDEF, "ecf.binary.0" }) };
+		for (int i = 0; i < peerFormats.length; i++) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			assertEquals(RemoteConstants.ENDPOINT_DESCRIPTION_FORMAT_EDEF,
+					writer.writeEndpointDescriptions(out, eds, peerFormats[i]));
+			byte[] edef = out.toByteArray();
+			assertFalse(BinaryEndpointDescriptionReader.isBinaryFormat(edef));
+			// Readable by peers without binary support, and by the binary reader
+			assertSameProperties(eds, read(new EndpointDescriptionReader(), edef));
+			assertSameProperties(eds, read(new BinaryEndpointDescriptionReader(), edef));
+		}
+	}
+}
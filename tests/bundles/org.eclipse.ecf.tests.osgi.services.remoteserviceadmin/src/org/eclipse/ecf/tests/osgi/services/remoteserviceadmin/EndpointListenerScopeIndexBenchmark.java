@@ -0,0 +1,96 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.osgi.services.remoteserviceadmin;
+
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointListenerScopeIndex;
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.service.remoteserviceadmin.EndpointDescription;
+
+/**
+ * Micro benchmark of {@link EndpointListenerScopeIndex} against evaluating the
+ * scope filters of every listener, with the listeners and endpoints of
+ * {@link EndpointListenerScopeIndexTest}. Not a test, so not run by the test
+ * build. Run it as a Java application with the test bundle's classpath.
+ */
+public class EndpointListenerScopeIndexBenchmark {
+
+	private static final int ENDPOINTS = 10000;
+
+	public static void main(String[] args) throws Exception {
+		final int listeners = EndpointListenerScopeIndexTest.LISTENERS;
+		EndpointListenerScopeIndex<String> index = new EndpointListenerScopeIndex<String>();
+		// Full evaluation of all (pre-parsed) filters for comparison
+		List<Filter[]> parsed = new ArrayList<Filter[]>();
+		for (int i = 0; i < listeners; i++) {
+			List<String> scope = EndpointListenerScopeIndexTest.createScope(i);
+			index.put(Integer.valueOf(i), "listener" + i, scope); //$NON-NLS-1$
+			List<Filter> filters = new ArrayList<Filter>();
+			for (String filter : scope) {
+				try {
+					filters.add(FrameworkUtil.createFilter(filter));
+				} catch (Exception e) {
+					// invalid filter
+				}
+			}
+			parsed.add(filters.toArray(new Filter[filters.size()]));
+		}
+		EndpointDescription[] eds = new EndpointDescription[ENDPOINTS];
+		Dictionary[] props = new Dictionary[ENDPOINTS];
+		for (int j = 0; j < ENDPOINTS; j++) {
+			eds[j] = EndpointListenerScopeIndexTest.createEndpointDescription(j);
+			props[j] = new Hashtable<String, Object>(eds[j].getProperties());
+		}
+		// warm up
+		for (int n = 0; n < 3; n++) {
+			matchAll(parsed, props);
+			matchIndexed(index, eds);
+		}
+		long start = System.nanoTime();
+		int fullMatches = matchAll(parsed, props);
+		long full = System.nanoTime() - start;
+		start = System.nanoTime();
+		int indexedMatches = matchIndexed(index, eds);
+		long indexed = System.nanoTime() - start;
+		System.out.println("EndpointListenerScopeIndexBenchmark " + ENDPOINTS + " endpoints x " + listeners //$NON-NLS-1$
+				+ " listeners:"); //$NON-NLS-1$
+		System.out.println("  full evaluation " + (full / 1000000) + "ms, " + fullMatches + " matches"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("  indexed         " + (indexed / 1000000) + "ms, " + indexedMatches + " matches"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private static int matchAll(List<Filter[]> parsed, Dictionary[] props) {
+		int matches = 0;
+		for (int j = 0; j < props.length; j++) {
+			for (Filter[] filters : parsed) {
+				for (int k = 0; k < filters.length; k++)
+					if (filters[k].match(props[j])) {
+						matches++;
+						break;
+					}
+			}
+		}
+		return matches;
+	}
+
+	private static int matchIndexed(EndpointListenerScopeIndex<String> index, EndpointDescription[] eds) {
+		int matches = 0;
+		for (int j = 0; j < eds.length; j++)
+			matches += index.match(eds[j]).size();
+		return matches;
+	}
+}
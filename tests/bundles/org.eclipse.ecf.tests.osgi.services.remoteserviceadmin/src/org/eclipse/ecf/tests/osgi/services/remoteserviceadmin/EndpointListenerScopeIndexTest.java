@@ -0,0 +1,250 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.osgi.services.remoteserviceadmin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointListenerScopeIndex;
+import org.osgi.framework.Constants;
+import org.osgi.service.remoteserviceadmin.EndpointDescription;
+import org.osgi.service.remoteserviceadmin.RemoteConstants;
+
+public class EndpointListenerScopeIndexTest extends TestCase {
+
+	static final int LISTENERS = 500;
+	private static final int FRAMEWORKS = 20;
+	private static final int INTERFACES = 50;
+
+	private EndpointListenerScopeIndex<String> index;
+	private List<List<String>> scopes;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		index = new EndpointListenerScopeIndex<String>();
+		scopes = new ArrayList<List<String>>();
+		for (int i = 0; i < LISTENERS; i++) {
+			List<String> filters = createScope(i);
+			scopes.add(filters);
+			index.put(Integer.valueOf(i), "listener" + i, filters);
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		index.clear();
+		super.tearDown();
+	}
+
+	static List<String> createScope(int i) {
+		switch (i % 6) {
+		case 0:
+			return Arrays.asList(new String[] { "(" + RemoteConstants.ENDPOINT_FRAMEWORK_UUID + "=fw" + (i % FRAMEWORKS) + ")" });
+		case 1:
+			return Arrays.asList(new String[] { "(&(" + Constants.OBJECTCLASS + "=svc.I" + (i % INTERFACES) + ")("
+					+ RemoteConstants.SERVICE_IMPORTED_CONFIGS + "=ecf.generic.client))" });
+		case 2:
+			return Arrays.asList(new String[] { "(!(" + RemoteConstants.ENDPOINT_FRAMEWORK_UUID + "=fw" + (i % FRAMEWORKS) + "))" });
+		case 3:
+			// The second filter matches too, but the first is reported
+			return Arrays.asList(new String[] { "(" + RemoteConstants.ENDPOINT_ID + "=ep" + i + ")",
+					"(objectclass=svc.I" + (i % INTERFACES) + ")" });
+		case 4:
+			return Arrays.asList(new String[] {
+					"(|(" + Constants.OBJECTCLASS + "=svc.I" + (i % INTERFACES) + ")(" + Constants.OBJECTCLASS + "=svc.J))" });
+		default:
+			// Invalid filters never match
+			return Arrays.asList(new String[] { (i == 5) ? "(invalid" : "(" + RemoteConstants.ENDPOINT_ID + "=ep" + i + "*)" });
+		}
+	}
+
+	static EndpointDescription createEndpointDescription(int j) {
+		Map<String, Object> props = new HashMap<String, Object>();
+		props.put(RemoteConstants.ENDPOINT_ID, "ep" + j);
+		props.put(RemoteConstants.ENDPOINT_FRAMEWORK_UUID, "fw" + (j % FRAMEWORKS));
+		props.put(Constants.OBJECTCLASS, (j % 7 == 0) ? new String[] { "svc.I" + (j % INTERFACES), "svc.J" }
+				: new String[] { "svc.I" + (j % INTERFACES) });
+		props.put(RemoteConstants.SERVICE_IMPORTED_CONFIGS, "ecf.generic.client");
+		return new EndpointDescription(props);
+	}
+
+	// The first filter of each listener that matches, or null
+	private String[] matchAll(EndpointDescription ed) {
+		String[] results = new String[LISTENERS];
+		for (int i = 0; i < LISTENERS; i++) {
+			for (String filter : scopes.get(i)) {
+				try {
+					if (ed.matches(filter)) {
+						results[i] = filter;
+						break;
+					}
+				} catch (IllegalArgumentException e) {
+					// invalid filter
+				}
+			}
+		}
+		return results;
+	}
+
+	private String[] matchIndexed(EndpointDescription ed) {
+		String[] results = new String[LISTENERS];
+		List<EndpointListenerScopeIndex.Match<String>> matches = index.match(ed);
+		int last = -1;
+		for (EndpointListenerScopeIndex.Match<String> match : matches) {
+			int i = Integer.parseInt(match.getListener().substring("listener".length()));
+			assertTrue("matches not in listener order", i > last);
+			last = i;
+			results[i] = match.getMatchingFilter();
+		}
+		return results;
+	}
+
+	public void testMatch() throws Exception {
+		for (int j = 0; j < 1000; j++) {
+			EndpointDescription ed = createEndpointDescription(j);
+			assertTrue(Arrays.equals(matchAll(ed), matchIndexed(ed)));
+		}
+	}
+
+	public void testRemoveAndReplace() throws Exception {
+		EndpointDescription ed = createEndpointDescription(3);
+		assertEquals("(" + RemoteConstants.ENDPOINT_ID + "=ep3)", matchIndexed(ed)[3]);
+		index.remove(Integer.valueOf(3));
+		assertNull(matchIndexed(ed)[3]);
+		index.put(Integer.valueOf(0), "listener0", Arrays.asList(new String[] { "(" + RemoteConstants.ENDPOINT_ID + "=ep3)" }));
+		assertEquals("(" + RemoteConstants.ENDPOINT_ID + "=ep3)", matchIndexed(ed)[0]);
+		assertEquals(LISTENERS - 1, index.size());
+	}
+
+	private static final String RANK = "test.rank";
+	private static final String[] PROPERTIES = new String[] { RemoteConstants.ENDPOINT_ID,
+			RemoteConstants.ENDPOINT_FRAMEWORK_UUID, Constants.OBJECTCLASS, RemoteConstants.SERVICE_IMPORTED_CONFIGS, RANK };
+	private static final String[] CONFIGS = new String[] { "ecf.generic.client", "ecf.generic.server" };
+
+	private String randomValue(Random random, String property) {
+		if (RemoteConstants.ENDPOINT_ID.equals(property))
+			return "ep" + random.nextInt(20);
+		if (RemoteConstants.ENDPOINT_FRAMEWORK_UUID.equals(property))
+			return "fw" + random.nextInt(4);
+		if (Constants.OBJECTCLASS.equals(property))
+			return "svc.I" + random.nextInt(4);
+		if (RemoteConstants.SERVICE_IMPORTED_CONFIGS.equals(property))
+			return CONFIGS[random.nextInt(CONFIGS.length)];
+		return String.valueOf(random.nextInt(3));
+	}
+
+	private String randomFilter(Random random, int depth) {
+		int kind = random.nextInt((depth > 2) ? 4 : 8);
+		String property = PROPERTIES[random.nextInt(PROPERTIES.length)];
+		// Attribute names are not case sensitive
+		String name = random.nextInt(4) == 0 ? property.toLowerCase() : property;
+		switch (kind) {
+		case 0:
+		case 1:
+			return "(" + name + "=" + randomValue(random, property) + ")";
+		case 2:
+			return "(" + name + "=" + randomValue(random, property).charAt(0) + "*)";
+		case 3:
+			return "(" + name + "=*)";
+		case 4:
+			return "(!" + randomFilter(random, depth + 1) + ")";
+		case 5:
+		case 6:
+			return "(&" + randomFilter(random, depth + 1) + randomFilter(random, depth + 1)
+					+ ((random.nextBoolean()) ? randomFilter(random, depth + 1) : "") + ")";
+		default:
+			return "(|" + randomFilter(random, depth + 1) + randomFilter(random, depth + 1) + ")";
+		}
+	}
+
+	private List<String> randomScope(Random random) {
+		List<String> filters = new ArrayList<String>();
+		int count = 1 + random.nextInt(3);
+		for (int i = 0; i < count; i++)
+			filters.add((random.nextInt(20) == 0) ? "(invalid" : randomFilter(random, 0));
+		return filters;
+	}
+
+	private EndpointDescription randomEndpointDescription(Random random) {
+		Map<String, Object> props = new HashMap<String, Object>();
+		props.put(RemoteConstants.ENDPOINT_ID, randomValue(random, RemoteConstants.ENDPOINT_ID));
+		props.put(RemoteConstants.ENDPOINT_FRAMEWORK_UUID, randomValue(random, RemoteConstants.ENDPOINT_FRAMEWORK_UUID));
+		props.put(Constants.OBJECTCLASS, (random.nextBoolean())
+				? new String[] { randomValue(random, Constants.OBJECTCLASS) }
+				: new String[] { randomValue(random, Constants.OBJECTCLASS), randomValue(random, Constants.OBJECTCLASS) });
+		props.put(RemoteConstants.SERVICE_IMPORTED_CONFIGS, (random.nextBoolean()) ? CONFIGS[random.nextInt(CONFIGS.length)] : CONFIGS);
+		if (random.nextBoolean())
+			props.put(RANK, randomValue(random, RANK));
+		return new EndpointDescription(props);
+	}
+
+	// Each listener that matches, with its first matching filter, in the order
+	// the listeners were put
+	private List<String> matchAll(Map<Integer, List<String>> listeners, EndpointDescription ed) {
+		List<String> results = new ArrayList<String>();
+		for (Map.Entry<Integer, List<String>> entry : listeners.entrySet()) {
+			for (String filter : entry.getValue()) {
+				try {
+					if (ed.matches(filter)) {
+						results.add(entry.getKey() + " " + filter);
+						break;
+					}
+				} catch (IllegalArgumentException e) {
+					// invalid filter
+				}
+			}
+		}
+		return results;
+	}
+
+	private List<String> matchIndexed(EndpointListenerScopeIndex<Integer> randomIndex, EndpointDescription ed) {
+		List<String> results = new ArrayList<String>();
+		for (EndpointListenerScopeIndex.Match<Integer> match : randomIndex.match(ed))
+			results.add(match.getListener() + " " + match.getMatchingFilter());
+		return results;
+	}
+
+	public void testRandomMatchSameAsFilterMatch() throws Exception {
+		long seed = System.currentTimeMillis();
+		Random random = new Random(seed);
+		EndpointListenerScopeIndex<Integer> randomIndex = new EndpointListenerScopeIndex<Integer>();
+		// The listeners in the order of the index
+		Map<Integer, List<String>> listeners = new LinkedHashMap<Integer, List<String>>();
+		for (int round = 0; round < 20; round++) {
+			// Add, replace and remove listeners
+			for (int i = 0; i < 50; i++) {
+				Integer key = Integer.valueOf(random.nextInt(200));
+				if (random.nextInt(4) == 0) {
+					randomIndex.remove(key);
+					listeners.remove(key);
+				} else {
+					List<String> filters = randomScope(random);
+					randomIndex.put(key, key, filters);
+					listeners.put(key, filters);
+				}
+			}
+			assertEquals(listeners.size(), randomIndex.size());
+			for (int j = 0; j < 50; j++) {
+				EndpointDescription ed = randomEndpointDescription(random);
+				assertEquals("seed=" + seed + " endpoint=" + ed.getProperties() + " listeners=" + listeners,
+						matchAll(listeners, ed), matchIndexed(randomIndex, ed));
+			}
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.osgi.services.remoteserviceadmin;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.IContainer;
+import org.eclipse.ecf.core.IContainerManager;
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.core.identity.StringID;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteServiceAdmin;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.remoteserviceadmin.EndpointDescription;
+import org.osgi.service.remoteserviceadmin.ExportRegistration;
+import org.osgi.service.remoteserviceadmin.ImportRegistration;
+import org.osgi.service.remoteserviceadmin.RemoteConstants;
+
+public class ImportServicesTest extends TestCase {
+
+	static class TestRemoteServiceAdmin extends RemoteServiceAdmin {
+
+		TestRemoteServiceAdmin(Bundle bundle) {
+			super(bundle);
+		}
+
+		Object getGroup(EndpointDescription endpointDescription) {
+			return getImportGroup(endpointDescription);
+		}
+	}
+
+	private BundleContext context;
+	private ServiceReference containerManagerReference;
+	private IContainerManager containerManager;
+	private TestRemoteServiceAdmin rsa;
+	private List<ServiceRegistration> serviceRegistrations = new ArrayList<ServiceRegistration>();
+	private List<ImportRegistration> importRegistrations = new ArrayList<ImportRegistration>();
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		context = FrameworkUtil.getBundle(getClass()).getBundleContext();
+		containerManagerReference = context.getServiceReference(IContainerManager.class.getName());
+		assertNotNull(containerManagerReference);
+		containerManager = (IContainerManager) context.getService(containerManagerReference);
+		rsa = new TestRemoteServiceAdmin(context.getBundle());
+	}
+
+	protected void tearDown() throws Exception {
+		for (ImportRegistration importRegistration : importRegistrations)
+			if (importRegistration != null)
+				importRegistration.close();
+		for (ServiceRegistration serviceRegistration : serviceRegistrations)
+			serviceRegistration.unregister();
+		rsa.close();
+		IContainer[] containers = containerManager.getAllContainers();
+		for (int i = 0; i < containers.length; i++)
+			containers[i].dispose();
+		containerManager.removeAllContainers();
+		context.ungetService(containerManagerReference);
+		super.tearDown();
+	}
+
+	private EndpointDescription createEndpointDescription(String containerID, long serviceID, String config,
+			String connectTargetID) {
+		Map<String, Object> props = new HashMap<String, Object>();
+		props.put(Constants.OBJECTCLASS, new String[] { TestServiceInterface1.class.getName() });
+		props.put(RemoteConstants.ENDPOINT_ID, containerID + "/" + serviceID);
+		props.put(RemoteConstants.ENDPOINT_SERVICE_ID, Long.valueOf(serviceID));
+		props.put(RemoteConstants.ENDPOINT_FRAMEWORK_UUID, "abcd-1234-7654-fedc");
+		props.put(RemoteConstants.SERVICE_IMPORTED_CONFIGS, new String[] { config });
+		props.put(org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants.ENDPOINT_ID, containerID);
+		props.put(org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants.ENDPOINT_CONTAINER_ID_NAMESPACE,
+				StringID.class.getName());
+		props.put(org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants.ENDPOINT_TIMESTAMP,
+				Long.valueOf(System.currentTimeMillis()));
+		if (connectTargetID != null)
+			props.put(org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants.ENDPOINT_CONNECTTARGET_ID,
+					connectTargetID);
+		return new org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescription(props);
+	}
+
+	private int getFreePort() throws Exception {
+		ServerSocket socket = new ServerSocket(0);
+		try {
+			return socket.getLocalPort();
+		} finally {
+			socket.close();
+		}
+	}
+
+	private EndpointDescription export(String serverID) throws Exception {
+		ServiceRegistration serviceRegistration = context.registerService(TestServiceInterface1.class.getName(),
+				new TestService1(), null);
+		serviceRegistrations.add(serviceRegistration);
+		Map<String, Object> props = new TreeMap<String, Object>();
+		props.put(RemoteConstants.SERVICE_EXPORTED_INTERFACES, "*");
+		props.put(RemoteConstants.SERVICE_EXPORTED_CONFIGS, "ecf.generic.server");
+		props.put(
+				org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants.SERVICE_EXPORTED_CONTAINER_FACTORY_ARGS,
+				new String[] { serverID });
+		// Closed when the service is unregistered
+		Collection<ExportRegistration> exportRegistrations = rsa.exportService(serviceRegistration.getReference(),
+				props);
+		assertEquals(1, exportRegistrations.size());
+		ExportRegistration exportRegistration = exportRegistrations.iterator().next();
+		assertNull(exportRegistration.getException());
+		return exportRegistration.getExportReference().getExportedEndpoint();
+	}
+
+	private EndpointDescription createMissingEndpointDescription(EndpointDescription endpoint) {
+		Map<String, Object> props = new HashMap<String, Object>(endpoint.getProperties());
+		Long missingID = Long.valueOf(Integer.MAX_VALUE);
+		props.put(RemoteConstants.ENDPOINT_ID, endpoint.getId() + "-missing");
+		props.put(RemoteConstants.ENDPOINT_SERVICE_ID, missingID);
+		props.put(org.eclipse.ecf.remoteservice.Constants.SERVICE_ID, missingID);
+		return new org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescription(props);
+	}
+
+	private ID getLocalContainerID(ImportRegistration importRegistration) {
+		return ((RemoteServiceAdmin.ImportReference) importRegistration.getImportReference()).getLocalContainerID();
+	}
+
+	public void testImportGroups() throws Exception {
+		String server1 = "ecftcp://localhost:3282/server";
+		String server2 = "ecftcp://localhost:3283/server";
+		// Same container and config
+		assertEquals(rsa.getGroup(createEndpointDescription(server1, 1, "ecf.generic.server", null)),
+				rsa.getGroup(createEndpointDescription(server1, 2, "ecf.generic.server", null)));
+		// Other container
+		assertFalse(rsa.getGroup(createEndpointDescription(server1, 1, "ecf.generic.server", null))
+				.equals(rsa.getGroup(createEndpointDescription(server2, 1, "ecf.generic.server", null))));
+		// Other config, which may select another consumer container
+		assertFalse(rsa.getGroup(createEndpointDescription(server1, 1, "ecf.generic.server", null))
+				.equals(rsa.getGroup(createEndpointDescription(server1, 2, "ecf.other.server", null))));
+		// Other containers with the same connect target
+		assertEquals(rsa.getGroup(createEndpointDescription(server1, 1, "ecf.generic.server", server1)),
+				rsa.getGroup(createEndpointDescription(server2, 2, "ecf.generic.server", server1)));
+		assertFalse(rsa.getGroup(createEndpointDescription(server1, 1, "ecf.generic.server", server1))
+				.equals(rsa.getGroup(createEndpointDescription(server1, 2, "ecf.generic.server", server2))));
+	}
+
+	public void testImportServices() throws Exception {
+		String server1 = "ecftcp://localhost:" + getFreePort() + "/server";
+		String server2 = "ecftcp://localhost:" + getFreePort() + "/server";
+		EndpointDescription endpoint1 = export(server1);
+		EndpointDescription endpoint2 = export(server2);
+		EndpointDescription endpoint3 = export(server1);
+		EndpointDescription missing = createMissingEndpointDescription(endpoint1);
+		List<EndpointDescription> endpoints = Arrays.asList(new EndpointDescription[] { endpoint1, endpoint2,
+				missing, endpoint3 });
+		List<ImportRegistration> results = rsa.importServices(endpoints);
+		importRegistrations.addAll(results);
+		assertEquals(endpoints.size(), results.size());
+		// The missing remote service fails on its own, after and before endpoints
+		// of the same group
+		assertTrue(results.get(2) == null || results.get(2).getException() != null);
+		// The others are imported, in the order given
+		for (int i : new int[] { 0, 1, 3 }) {
+			ImportRegistration result = results.get(i);
+			assertNotNull(result);
+			assertNull(result.getException());
+			assertTrue(result.getImportReference().getImportedEndpoint().isSameService(endpoints.get(i)));
+			ServiceReference proxyReference = result.getImportReference().getImportedService();
+			TestServiceInterface1 proxy = (TestServiceInterface1) context.getService(proxyReference);
+			try {
+				assertEquals(TestServiceInterface1.TEST_SERVICE_STRING1, proxy.doStuff1());
+			} finally {
+				context.ungetService(proxyReference);
+			}
+		}
+		// The endpoints of a server share a consumer container
+		assertEquals(getLocalContainerID(results.get(0)), getLocalContainerID(results.get(3)));
+		assertFalse(getLocalContainerID(results.get(0)).equals(getLocalContainerID(results.get(1))));
+	}
+}
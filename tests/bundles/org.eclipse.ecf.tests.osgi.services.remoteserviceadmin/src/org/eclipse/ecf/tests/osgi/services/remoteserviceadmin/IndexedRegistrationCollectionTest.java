@@ -0,0 +1,212 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.osgi.services.remoteserviceadmin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.internal.osgi.services.remoteserviceadmin.IndexedRegistrationCollection;
+
+public class IndexedRegistrationCollectionTest extends TestCase {
+
+	private static final int SERVICE_INDEX = 0;
+	private static final int CONTAINER_INDEX = 1;
+	private static final int THREADS = 8;
+	private static final int ROUNDS = 2000;
+	private static final int SERVICES = 16;
+
+	// A registration whose keys are no longer available once it is closed, as
+	// for export and import registrations
+	static class Registration {
+		final String service;
+		final String container;
+		volatile boolean closed;
+
+		Registration(String service, String container) {
+			this.service = service;
+			this.container = container;
+		}
+
+		public String toString() {
+			return service + "/" + container;
+		}
+	}
+
+	private IndexedRegistrationCollection<Registration> registrations;
+
+	@SuppressWarnings("unchecked")
+	protected void setUp() throws Exception {
+		super.setUp();
+		registrations = new IndexedRegistrationCollection<Registration>(
+				new IndexedRegistrationCollection.KeyFunction<Registration>() {
+					public Object getKey(Registration registration) {
+						return registration.closed ? null : registration.service;
+					}
+				}, new IndexedRegistrationCollection.KeyFunction<Registration>() {
+					public Object getKey(Registration registration) {
+						return registration.closed ? null : registration.container;
+					}
+				});
+	}
+
+	// Close as the RemoteServiceAdmin registrations do: the keys go away before
+	// the registration is removed
+	private boolean close(Registration registration) {
+		registration.closed = true;
+		synchronized (registrations) {
+			return registrations.remove(registration);
+		}
+	}
+
+	private List<Registration> list(Collection<Registration> collection) {
+		return new ArrayList<Registration>(collection);
+	}
+
+	private void assertConsistent() {
+		List<Registration> all = list(registrations);
+		assertEquals(all.size(), registrations.size());
+		List<String> services = new ArrayList<String>();
+		List<String> containers = new ArrayList<String>();
+		for (Registration registration : all) {
+			assertTrue(registrations.contains(registration));
+			if (!services.contains(registration.service))
+				services.add(registration.service);
+			if (!containers.contains(registration.container))
+				containers.add(registration.container);
+		}
+		for (int i = 0; i < SERVICES; i++)
+			assertIndexed(all, SERVICE_INDEX, "service" + i);
+		for (int i = 0; i < THREADS; i++)
+			assertIndexed(all, CONTAINER_INDEX, "container" + i);
+	}
+
+	// The registrations in index for key are those in the collection with key,
+	// in the same order
+	private void assertIndexed(List<Registration> all, int index, String key) {
+		List<Registration> expected = new ArrayList<Registration>();
+		for (Registration registration : all)
+			if (key.equals((index == SERVICE_INDEX) ? registration.service : registration.container))
+				expected.add(registration);
+		assertEquals(key, expected, list(registrations.get(index, key)));
+	}
+
+	public void testInsertionOrder() throws Exception {
+		Registration[] added = new Registration[20];
+		for (int i = 0; i < added.length; i++) {
+			added[i] = new Registration("service" + (i % 3), "container" + (i % 2));
+			assertTrue(registrations.add(added[i]));
+		}
+		assertFalse(registrations.add(added[0]));
+		assertEquals(Arrays.asList(added), list(registrations));
+		assertEquals(Arrays.asList(new Registration[] { added[1], added[4], added[7], added[10], added[13], added[16],
+				added[19] }), list(registrations.get(SERVICE_INDEX, "service1")));
+		// Added again after being removed, so last
+		assertTrue(registrations.remove(added[0]));
+		assertTrue(registrations.add(added[0]));
+		assertSame(added[0], list(registrations).get(added.length - 1));
+		assertSame(added[0], list(registrations.get(SERVICE_INDEX, "service0")).get(6));
+	}
+
+	public void testIndexConsistentAfterClose() throws Exception {
+		List<Registration> added = new ArrayList<Registration>();
+		for (int i = 0; i < SERVICES; i++)
+			for (int j = 0; j < THREADS; j++) {
+				Registration registration = new Registration("service" + i, "container" + j);
+				registrations.add(registration);
+				added.add(registration);
+			}
+		assertConsistent();
+		// Closed registrations are removed by the keys they were added with
+		for (int i = 0; i < added.size(); i += 3)
+			assertTrue(close(added.get(i)));
+		assertFalse(close(added.get(0)));
+		assertConsistent();
+		// and by removing with the iterator
+		for (Iterator<Registration> i = registrations.iterator(); i.hasNext();)
+			if (i.next().service.equals("service1"))
+				i.remove();
+		assertTrue(registrations.get(SERVICE_INDEX, "service1").isEmpty());
+		assertConsistent();
+		for (Registration registration : added)
+			close(registration);
+		assertTrue(registrations.isEmpty());
+		for (int i = 0; i < SERVICES; i++)
+			assertTrue(registrations.get(SERVICE_INDEX, "service" + i).isEmpty());
+		for (int i = 0; i < THREADS; i++)
+			assertTrue(registrations.get(CONTAINER_INDEX, "container" + i).isEmpty());
+	}
+
+	public void testConcurrentAddAndClose() throws Exception {
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		final Thread[] threads = new Thread[THREADS];
+		for (int t = 0; t < THREADS; t++) {
+			final String container = "container" + t;
+			threads[t] = new Thread(new Runnable() {
+				public void run() {
+					try {
+						start.await();
+						List<Registration> open = new ArrayList<Registration>();
+						for (int i = 0; i < ROUNDS; i++) {
+							String service = "service" + (i % SERVICES);
+							// Export or import as RemoteServiceAdmin does: find the
+							// existing registration for the key, or add one
+							synchronized (registrations.getLock(service)) {
+								Registration existing = null;
+								for (Registration registration : registrations.get(SERVICE_INDEX, service))
+									if (registration.container.equals(container))
+										existing = registration;
+								if (existing == null) {
+									existing = new Registration(service, container);
+									synchronized (registrations) {
+										assertTrue(registrations.add(existing));
+									}
+									open.add(existing);
+								}
+							}
+							// Iterate as getExportedServices does
+							for (Registration registration : registrations)
+								assertNotNull(registration);
+							if (i % 3 == 0 && !open.isEmpty())
+								assertTrue(close(open.remove(0)));
+						}
+						// Each thread's registrations remain indexed by its container
+						List<Registration> indexed = list(registrations.get(CONTAINER_INDEX, container));
+						assertEquals(open.size(), indexed.size());
+						assertTrue(indexed.containsAll(open));
+					} catch (Throwable e) {
+						error.compareAndSet(null, e);
+					}
+				}
+			}, "registrations-" + t);
+			threads[t].start();
+		}
+		start.countDown();
+		for (int t = 0; t < THREADS; t++)
+			threads[t].join();
+		if (error.get() != null)
+			throw new AssertionError(error.get());
+		assertConsistent();
+		for (Registration registration : list(registrations))
+			assertTrue(close(registration));
+		assertTrue(registrations.isEmpty());
+		assertConsistent();
+	}
+}
@@ -0,0 +1,226 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.osgi.services.remoteserviceadmin;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.IContainer;
+import org.eclipse.ecf.core.IContainerManager;
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteServiceAdmin;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.remoteserviceadmin.EndpointDescription;
+import org.osgi.service.remoteserviceadmin.ExportRegistration;
+import org.osgi.service.remoteserviceadmin.ImportRegistration;
+import org.osgi.service.remoteserviceadmin.RemoteConstants;
+
+public class LazyImportTest extends TestCase {
+
+	private static final String LAZY_IMPORT_PROPERTY = "org.eclipse.ecf.osgi.services.remoteserviceadmin.lazyImport";
+	private static final String IDLE_TIMEOUT_PROPERTY = "org.eclipse.ecf.osgi.services.remoteserviceadmin.lazyImportIdleTimeout";
+	private static final long IDLE_TIMEOUT = 500;
+	private static final long WAIT = 10000;
+
+	private BundleContext context;
+	private ServiceReference containerManagerReference;
+	private IContainerManager containerManager;
+	private RemoteServiceAdmin rsa;
+	private ServiceRegistration serviceRegistration;
+	private ExportRegistration exportRegistration;
+	private ImportRegistration importRegistration;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		context = FrameworkUtil.getBundle(getClass()).getBundleContext();
+		containerManagerReference = context.getServiceReference(IContainerManager.class.getName());
+		assertNotNull(containerManagerReference);
+		containerManager = (IContainerManager) context.getService(containerManagerReference);
+		// Read by the RemoteServiceAdmin when created
+		String lazyImport = System.getProperty(LAZY_IMPORT_PROPERTY);
+		String idleTimeout = System.getProperty(IDLE_TIMEOUT_PROPERTY);
+		System.setProperty(LAZY_IMPORT_PROPERTY, "true");
+		System.setProperty(IDLE_TIMEOUT_PROPERTY, String.valueOf(IDLE_TIMEOUT));
+		try {
+			rsa = new RemoteServiceAdmin(context.getBundle());
+		} finally {
+			restoreProperty(LAZY_IMPORT_PROPERTY, lazyImport);
+			restoreProperty(IDLE_TIMEOUT_PROPERTY, idleTimeout);
+		}
+		serviceRegistration = context.registerService(TestServiceInterface1.class.getName(), new TestService1(),
+				null);
+		Map<String, Object> props = new TreeMap<String, Object>();
+		props.put(RemoteConstants.SERVICE_EXPORTED_INTERFACES, "*");
+		props.put(RemoteConstants.SERVICE_EXPORTED_CONFIGS, "ecf.generic.server");
+		props.put(
+				org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants.SERVICE_EXPORTED_CONTAINER_FACTORY_ARGS,
+				new String[] { "ecftcp://localhost:" + getFreePort() + "/server" });
+		Collection<ExportRegistration> exportRegistrations = rsa.exportService(serviceRegistration.getReference(),
+				props);
+		assertEquals(1, exportRegistrations.size());
+		exportRegistration = exportRegistrations.iterator().next();
+		assertNull(exportRegistration.getException());
+	}
+
+	protected void tearDown() throws Exception {
+		if (importRegistration != null)
+			importRegistration.close();
+		if (exportRegistration != null)
+			exportRegistration.close();
+		if (serviceRegistration != null)
+			serviceRegistration.unregister();
+		rsa.close();
+		IContainer[] containers = containerManager.getAllContainers();
+		for (int i = 0; i < containers.length; i++)
+			containers[i].dispose();
+		containerManager.removeAllContainers();
+		context.ungetService(containerManagerReference);
+		super.tearDown();
+	}
+
+	private void restoreProperty(String name, String value) {
+		if (value == null)
+			System.clearProperty(name);
+		else
+			System.setProperty(name, value);
+	}
+
+	private int getFreePort() throws Exception {
+		ServerSocket socket = new ServerSocket(0);
+		try {
+			return socket.getLocalPort();
+		} finally {
+			socket.close();
+		}
+	}
+
+	private ServiceReference importEndpoint() {
+		EndpointDescription endpoint = exportRegistration.getExportReference().getExportedEndpoint();
+		importRegistration = rsa.importService(endpoint);
+		assertNotNull(importRegistration);
+		assertNull(importRegistration.getException());
+		ServiceReference proxyReference = importRegistration.getImportReference().getImportedService();
+		assertNotNull(proxyReference);
+		return proxyReference;
+	}
+
+	private IContainer getConsumerContainer() {
+		ID containerID = ((RemoteServiceAdmin.ImportReference) importRegistration.getImportReference())
+				.getLocalContainerID();
+		IContainer container = containerManager.getContainer(containerID);
+		assertNotNull(container);
+		return container;
+	}
+
+	private void waitForDisconnect(IContainer container) throws Exception {
+		long end = System.currentTimeMillis() + WAIT;
+		while (container.getConnectedID() != null && System.currentTimeMillis() < end)
+			Thread.sleep(50);
+		assertNull(container.getConnectedID());
+	}
+
+	private void assertProxyWorks(ServiceReference proxyReference) {
+		TestServiceInterface1 proxy = (TestServiceInterface1) context.getService(proxyReference);
+		assertNotNull(proxy);
+		try {
+			assertEquals(TestServiceInterface1.TEST_SERVICE_STRING1, proxy.doStuff1());
+		} finally {
+			context.ungetService(proxyReference);
+		}
+	}
+
+	public void testFirstGetServiceConnectsAndLooksUp() throws Exception {
+		ServiceReference proxyReference = importEndpoint();
+		// Nothing has used the proxy, so the consumer container is idle
+		IContainer consumer = getConsumerContainer();
+		consumer.disconnect();
+		assertNull(consumer.getConnectedID());
+		// The remote service is looked up by the first getService, which connects
+		TestServiceInterface1 proxy = (TestServiceInterface1) context.getService(proxyReference);
+		try {
+			assertNotNull(proxy);
+			assertNotNull(consumer.getConnectedID());
+			assertEquals(TestServiceInterface1.TEST_SERVICE_STRING1, proxy.doStuff1());
+		} finally {
+			context.ungetService(proxyReference);
+		}
+	}
+
+	public void testIdleReleaseAndReconnect() throws Exception {
+		ServiceReference proxyReference = importEndpoint();
+		assertProxyWorks(proxyReference);
+		// Released after the idle timeout, which disconnects the consumer container
+		IContainer consumer = getConsumerContainer();
+		waitForDisconnect(consumer);
+		// and looked up again on the next use
+		TestServiceInterface1 proxy = (TestServiceInterface1) context.getService(proxyReference);
+		try {
+			assertNotNull(proxy);
+			assertNotNull(consumer.getConnectedID());
+			assertEquals(TestServiceInterface1.TEST_SERVICE_STRING1, proxy.doStuff1());
+			// Not released while in use
+			Thread.sleep(IDLE_TIMEOUT * 3);
+			assertNotNull(consumer.getConnectedID());
+			assertEquals(TestServiceInterface1.TEST_SERVICE_STRING1, proxy.doStuff1());
+		} finally {
+			context.ungetService(proxyReference);
+		}
+		waitForDisconnect(consumer);
+	}
+
+	public void testCloseDuringLookup() throws Exception {
+		final ServiceReference proxyReference = importEndpoint();
+		// Disconnected, so that each lookup has to connect first
+		getConsumerContainer().disconnect();
+		final List<Throwable> failures = new ArrayList<Throwable>();
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(new Runnable() {
+				public void run() {
+					try {
+						// null once the import is closed, or if closed while looking up
+						Object proxy = context.getService(proxyReference);
+						if (proxy != null)
+							context.ungetService(proxyReference);
+					} catch (IllegalStateException e) {
+						// unregistered meanwhile
+					} catch (Throwable t) {
+						synchronized (failures) {
+							failures.add(t);
+						}
+					}
+				}
+			}, "LazyImportTest-" + i);
+			threads[i].start();
+		}
+		importRegistration.close();
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join(WAIT);
+			assertFalse(threads[i].isAlive());
+		}
+		assertTrue(failures.toString(), failures.isEmpty());
+		// The proxy is unregistered, and lookups completing after the close failed
+		assertNull(proxyReference.getBundle());
+		assertTrue(rsa.getImportedEndpoints().isEmpty());
+		importRegistration = null;
+	}
+}
@@ -0,0 +1,197 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.osgi.services.remoteserviceadmin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.identity.StringID;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.AbstractTopologyManager;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.EndpointDescription;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteConstants;
+import org.eclipse.ecf.osgi.services.remoteserviceadmin.RemoteServiceAdmin;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.FrameworkUtil;
+
+public class TopologyManagerBatchImportTest extends TestCase {
+
+	private static final String BATCH_IMPORT_PROPERTY = "org.eclipse.ecf.osgi.services.remoteserviceadmin.AbstractTopologyManager.batchImport";
+	private static final String BATCH_IMPORT_DELAY_PROPERTY = "org.eclipse.ecf.osgi.services.remoteserviceadmin.AbstractTopologyManager.batchImportDelay";
+
+	static class RecordingRemoteServiceAdmin extends RemoteServiceAdmin {
+		final List<List<org.osgi.service.remoteserviceadmin.EndpointDescription>> batches = new ArrayList<List<org.osgi.service.remoteserviceadmin.EndpointDescription>>();
+
+		RecordingRemoteServiceAdmin(Bundle bundle) {
+			super(bundle);
+		}
+
+		public List<org.osgi.service.remoteserviceadmin.ImportRegistration> importServices(
+				Collection<? extends org.osgi.service.remoteserviceadmin.EndpointDescription> endpointDescriptions) {
+			synchronized (batches) {
+				batches.add(new ArrayList<org.osgi.service.remoteserviceadmin.EndpointDescription>(
+						endpointDescriptions));
+			}
+			return new ArrayList<org.osgi.service.remoteserviceadmin.ImportRegistration>();
+		}
+	}
+
+	static class TestTopologyManager extends AbstractTopologyManager {
+		private final RemoteServiceAdmin rsa;
+
+		TestTopologyManager(BundleContext context, RemoteServiceAdmin rsa) {
+			super(context);
+			this.rsa = rsa;
+		}
+
+		protected org.osgi.service.remoteserviceadmin.RemoteServiceAdmin getRemoteServiceAdmin() {
+			return rsa;
+		}
+
+		void added(EndpointDescription endpointDescription) {
+			handleECFEndpointAdded(endpointDescription);
+		}
+
+		void removed(EndpointDescription endpointDescription) {
+			handleECFEndpointRemoved(endpointDescription);
+		}
+
+		void modified(EndpointDescription endpointDescription) {
+			handleECFEndpointModified(endpointDescription);
+		}
+
+		void importNow() {
+			importPendingEndpoints();
+		}
+	}
+
+	private RecordingRemoteServiceAdmin rsa;
+	private TestTopologyManager topologyManager;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		BundleContext context = FrameworkUtil.getBundle(getClass()).getBundleContext();
+		rsa = new RecordingRemoteServiceAdmin(context.getBundle());
+		// Read by the topology manager when created. Batches are imported by
+		// the test rather than after the delay
+		String batchImport = System.getProperty(BATCH_IMPORT_PROPERTY);
+		String batchImportDelay = System.getProperty(BATCH_IMPORT_DELAY_PROPERTY);
+		System.setProperty(BATCH_IMPORT_PROPERTY, "true");
+		System.setProperty(BATCH_IMPORT_DELAY_PROPERTY, "600000");
+		try {
+			topologyManager = new TestTopologyManager(context, rsa);
+		} finally {
+			restoreProperty(BATCH_IMPORT_PROPERTY, batchImport);
+			restoreProperty(BATCH_IMPORT_DELAY_PROPERTY, batchImportDelay);
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		topologyManager.close();
+		rsa.close();
+		super.tearDown();
+	}
+
+	private void restoreProperty(String name, String value) {
+		if (value == null)
+			System.clearProperty(name);
+		else
+			System.setProperty(name, value);
+	}
+
+	private EndpointDescription createEndpointDescription(long serviceID, String value) {
+		Map<String, Object> props = new HashMap<String, Object>();
+		props.put(Constants.OBJECTCLASS, new String[] { TestServiceInterface1.class.getName() });
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.ENDPOINT_ID,
+				"ecftcp://localhost:3282/server/" + serviceID);
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.ENDPOINT_SERVICE_ID, Long.valueOf(serviceID));
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.ENDPOINT_FRAMEWORK_UUID,
+				"abcd-1234-7654-fedc");
+		props.put(org.osgi.service.remoteserviceadmin.RemoteConstants.SERVICE_IMPORTED_CONFIGS,
+				new String[] { "ecf.generic.server" });
+		props.put(RemoteConstants.ENDPOINT_ID, "ecftcp://localhost:3282/server");
+		props.put(RemoteConstants.ENDPOINT_CONTAINER_ID_NAMESPACE, StringID.class.getName());
+		props.put(RemoteConstants.ENDPOINT_TIMESTAMP, Long.valueOf(System.currentTimeMillis()));
+		props.put("test.value", value);
+		return new EndpointDescription(props);
+	}
+
+	private void assertBatch(EndpointDescription[] expected) {
+		assertEquals(1, rsa.batches.size());
+		List<org.osgi.service.remoteserviceadmin.EndpointDescription> batch = rsa.batches.get(0);
+		assertEquals(expected.length, batch.size());
+		for (int i = 0; i < expected.length; i++)
+			assertSame(expected[i], batch.get(i));
+	}
+
+	public void testAddedEndpointsImportedInOneBatch() throws Exception {
+		EndpointDescription ed1 = createEndpointDescription(1, "a");
+		EndpointDescription ed2 = createEndpointDescription(2, "a");
+		EndpointDescription ed3 = createEndpointDescription(3, "a");
+		topologyManager.added(ed1);
+		topologyManager.added(ed2);
+		topologyManager.added(ed3);
+		// Queued until the batch is imported
+		assertTrue(rsa.batches.isEmpty());
+		topologyManager.importNow();
+		assertBatch(new EndpointDescription[] { ed1, ed2, ed3 });
+		// The queue is empty afterwards
+		topologyManager.importNow();
+		assertEquals(1, rsa.batches.size());
+	}
+
+	public void testRemovedWhileQueuedNotImported() throws Exception {
+		EndpointDescription ed1 = createEndpointDescription(1, "a");
+		EndpointDescription ed2 = createEndpointDescription(2, "a");
+		topologyManager.added(ed1);
+		topologyManager.added(ed2);
+		topologyManager.removed(createEndpointDescription(1, "a"));
+		topologyManager.importNow();
+		assertBatch(new EndpointDescription[] { ed2 });
+	}
+
+	public void testModifiedWhileQueuedImportedModified() throws Exception {
+		EndpointDescription ed1 = createEndpointDescription(1, "a");
+		EndpointDescription ed2 = createEndpointDescription(2, "a");
+		topologyManager.added(ed1);
+		topologyManager.added(ed2);
+		EndpointDescription modified = createEndpointDescription(1, "b");
+		topologyManager.modified(modified);
+		topologyManager.importNow();
+		// Imported as modified, in the place of the added endpoint
+		assertBatch(new EndpointDescription[] { modified, ed2 });
+		assertEquals("b", rsa.batches.get(0).get(0).getProperties().get("test.value"));
+	}
+
+	public void testModifiedNotQueuedNotImported() throws Exception {
+		topologyManager.modified(createEndpointDescription(1, "a"));
+		topologyManager.importNow();
+		assertTrue(rsa.batches.isEmpty());
+	}
+
+	public void testRemovedAndAddedAgainImported() throws Exception {
+		EndpointDescription ed1 = createEndpointDescription(1, "a");
+		topologyManager.added(ed1);
+		topologyManager.removed(ed1);
+		EndpointDescription added = createEndpointDescription(1, "b");
+		topologyManager.added(added);
+		topologyManager.importNow();
+		assertBatch(new EndpointDescription[] { added });
+	}
+}
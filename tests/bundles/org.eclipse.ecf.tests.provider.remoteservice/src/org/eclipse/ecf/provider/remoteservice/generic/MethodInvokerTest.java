@@ -0,0 +1,169 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.provider.remoteservice.generic;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.identity.IDFactory;
+import org.eclipse.ecf.tests.provider.remoteservice.HiddenServices;
+
+/**
+ * Tests of the method invokers cached by {@link RemoteServiceRegistrationImpl}.  In the
+ * package of the host, to get at the package private invokers.
+ */
+public class MethodInvokerTest extends TestCase {
+
+	public static class TestService {
+		public String call(String s) {
+			return "String";
+		}
+
+		public String call(Integer i) {
+			return "Integer";
+		}
+
+		public String call(Object o) {
+			return "Object";
+		}
+
+		public int add(int a, int b) {
+			return a + b;
+		}
+
+		public void fail(String message) {
+			throw new ClassCastException(message);
+		}
+	}
+
+	private RemoteServiceRegistryImpl registry;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		registry = new RemoteServiceRegistryImpl(IDFactory.getDefault().createStringID("ecftcp://localhost:3282/server"));
+	}
+
+	private RemoteServiceRegistrationImpl register(Object service) {
+		final RemoteServiceRegistrationImpl registration = new RemoteServiceRegistrationImpl();
+		registration.publish(null, registry, service, new String[] {service.getClass().getName()}, null);
+		return registration;
+	}
+
+	private Object invoke(RemoteServiceRegistrationImpl registration, String method, Object[] args) throws Exception {
+		return registration.getMethodInvoker(method, args).invoke(args);
+	}
+
+	public void testOverloadedMethods() throws Exception {
+		final RemoteServiceRegistrationImpl registration = register(new TestService());
+		final Object[][] args = new Object[][] { {"a"}, {Integer.valueOf(1)}, {new Object()}};
+		final String[] expected = new String[] {"String", "Integer", "Object"};
+		// Each call resolves to the same method when cached
+		for (int j = 0; j < 2; j++)
+			for (int i = 0; i < args.length; i++) {
+				assertEquals(expected[i], invoke(registration, "call", args[i]));
+				assertEquals(expected[i], registration.callService(RemoteCallImpl.createRemoteCall(null, "call", args[i], 0)));
+			}
+		assertEquals(args.length, registration.getDispatchTableSize());
+		assertSame(registration.getMethodInvoker("call", new Object[] {"b"}), registration.getMethodInvoker("call", new Object[] {"c"}));
+		assertNotSame(registration.getMethodInvoker("call", new Object[] {"b"}), registration.getMethodInvoker("call", new Object[] {Integer.valueOf(2)}));
+	}
+
+	public void testNullForPrimitiveParameter() throws Exception {
+		final RemoteServiceRegistrationImpl registration = register(new TestService());
+		final Object[] args = new Object[] {null, Integer.valueOf(1)};
+		final RemoteServiceRegistrationImpl.MethodInvoker invoker = registration.getMethodInvoker("add", args);
+		// Falls back to reflection, which rejects the null
+		assertTrue(invoker instanceof RemoteServiceRegistrationImpl.ReflectiveMethodInvoker);
+		try {
+			invoker.invoke(args);
+			fail();
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+		// Calls without null use a method handle
+		final Object[] intArgs = new Object[] {Integer.valueOf(1), Integer.valueOf(2)};
+		assertFalse(registration.getMethodInvoker("add", intArgs) instanceof RemoteServiceRegistrationImpl.ReflectiveMethodInvoker);
+		assertEquals(Integer.valueOf(3), invoke(registration, "add", intArgs));
+		assertEquals(2, registration.getDispatchTableSize());
+	}
+
+	public void testArgumentMismatch() throws Exception {
+		final Method method = TestService.class.getMethod("call", new Class[] {String.class});
+		final RemoteServiceRegistrationImpl.MethodInvoker invoker = RemoteServiceRegistrationImpl.MethodInvoker.create(new TestService(), method, new Class[] {String.class});
+		assertFalse(invoker instanceof RemoteServiceRegistrationImpl.ReflectiveMethodInvoker);
+		assertEquals("String", invoker.invoke(new Object[] {"a"}));
+		// Rejected as by Method.invoke
+		try {
+			invoker.invoke(new Object[] {Integer.valueOf(1)});
+			fail();
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			invoker.invoke(new Object[] {"a", "b"});
+			fail();
+		} catch (final IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	public void testExceptionFromMethod() throws Exception {
+		final RemoteServiceRegistrationImpl registration = register(new TestService());
+		try {
+			invoke(registration, "fail", new Object[] {"failed"});
+			fail();
+		} catch (final InvocationTargetException e) {
+			// Thrown by the method, not by converting the arguments
+			assertTrue(e.getCause() instanceof ClassCastException);
+			assertEquals("failed", e.getCause().getMessage());
+		}
+	}
+
+	public void testClearedOnUnregister() throws Exception {
+		final RemoteServiceRegistrationImpl registration = register(new TestService());
+		invoke(registration, "call", new Object[] {"a"});
+		invoke(registration, "add", new Object[] {Integer.valueOf(1), Integer.valueOf(2)});
+		assertEquals(2, registration.getDispatchTableSize());
+		registration.unregister();
+		assertEquals(0, registration.getDispatchTableSize());
+	}
+
+	public void testClearedOnUnpublish() throws Exception {
+		final RemoteServiceRegistrationImpl registration1 = register(new TestService());
+		final RemoteServiceRegistrationImpl registration2 = register(new TestService());
+		invoke(registration1, "call", new Object[] {"a"});
+		invoke(registration2, "call", new Object[] {"a"});
+		registry.unpublishService(registration1);
+		assertEquals(0, registration1.getDispatchTableSize());
+		assertEquals(1, registration2.getDispatchTableSize());
+		registry.unpublishServices();
+		assertEquals(0, registration2.getDispatchTableSize());
+	}
+
+	public void testCallServiceNotPubliclyAccessible() throws Exception {
+		final RemoteServiceRegistrationImpl registration = register(HiddenServices.createHiddenService());
+		final RemoteServiceRegistrationImpl.MethodInvoker invoker = registration.getMethodInvoker("hello", new Object[0]);
+		assertTrue(invoker instanceof RemoteServiceRegistrationImpl.ReflectiveMethodInvoker);
+		assertEquals("hello", registration.callService(RemoteCallImpl.createRemoteCall(null, "hello", null, 0)));
+		// Remote calls still cannot call it
+		try {
+			invoker.invoke(new Object[0]);
+			fail();
+		} catch (final IllegalAccessException e) {
+			// expected
+		}
+		assertSame(invoker, registration.getMethodInvoker("hello", new Object[0]));
+	}
+}
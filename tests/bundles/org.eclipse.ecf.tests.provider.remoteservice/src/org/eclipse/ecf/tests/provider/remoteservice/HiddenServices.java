@@ -0,0 +1,29 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.provider.remoteservice;
+
+/**
+ * Creates services of a class that is not accessible outside of this package.
+ */
+public class HiddenServices {
+
+	static class HiddenService {
+		public String hello() {
+			return "hello";
+		}
+	}
+
+	public static Object createHiddenService() {
+		return new HiddenService();
+	}
+}
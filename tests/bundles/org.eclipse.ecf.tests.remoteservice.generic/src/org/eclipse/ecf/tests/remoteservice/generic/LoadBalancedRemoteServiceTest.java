@@ -0,0 +1,244 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.eclipse.ecf.core.util.ECFException;
+import org.eclipse.ecf.remoteservice.IRemoteCall;
+import org.eclipse.ecf.remoteservice.IRemoteService;
+import org.eclipse.ecf.remoteservice.IRemoteServiceContainerAdapter;
+import org.eclipse.ecf.remoteservice.IRemoteServiceReference;
+import org.eclipse.ecf.remoteservice.IRemoteServiceRegistration;
+import org.eclipse.ecf.remoteservice.RemoteCallTransportException;
+import org.eclipse.ecf.remoteservice.util.tracker.ILoadBalancingStrategy;
+import org.eclipse.ecf.remoteservice.util.tracker.LoadBalancedRemoteService;
+import org.eclipse.ecf.remoteservice.util.tracker.LoadBalancingRemoteServiceTracker;
+import org.eclipse.ecf.remoteservice.util.tracker.LoadBalancingStrategies;
+import org.eclipse.ecf.tests.remoteservice.AbstractRemoteServiceTest;
+import org.eclipse.ecf.tests.remoteservice.IConcatService;
+import org.eclipse.equinox.concurrent.future.IFuture;
+
+public class LoadBalancedRemoteServiceTest extends AbstractRemoteServiceTest {
+
+	public interface IFailingService {
+		String fail(String message) throws IOException;
+	}
+
+	private static final int CALLS = 20;
+
+	private LoadBalancingRemoteServiceTracker tracker;
+	private final int[] invocations = new int[2];
+	private IRemoteServiceRegistration[] registrations = new IRemoteServiceRegistration[2];
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		setClientCount(3);
+		createServerAndClients();
+		setupRemoteServiceAdapters();
+		connectClients();
+		addRemoteServiceListeners();
+	}
+
+	protected void tearDown() throws Exception {
+		if (tracker != null)
+			tracker.close();
+		cleanUpServerAndClients();
+		super.tearDown();
+	}
+
+	protected String getClientContainerName() {
+		return Generic.CONSUMER_CONTAINER_TYPE;
+	}
+
+	private Object createService(final int host) {
+		return new IConcatService() {
+			public String concat(String string1, String string2) {
+				synchronized (invocations) {
+					invocations[host]++;
+				}
+				return string1.concat(string2);
+			}
+		};
+	}
+
+	private int getInvocations(int host) {
+		synchronized (invocations) {
+			return invocations[host];
+		}
+	}
+
+	private Object createFailingService(final int host) {
+		return new IFailingService() {
+			public String fail(String message) throws IOException {
+				synchronized (invocations) {
+					invocations[host]++;
+				}
+				throw new IOException(message);
+			}
+		};
+	}
+
+	private LoadBalancedRemoteService createLoadBalancedRemoteService(ILoadBalancingStrategy strategy) throws Exception {
+		return createLoadBalancedRemoteService(strategy, false);
+	}
+
+	private LoadBalancedRemoteService createLoadBalancedRemoteService(ILoadBalancingStrategy strategy, boolean failing) throws Exception {
+		final IRemoteServiceContainerAdapter[] adapters = getRemoteServiceAdapters();
+		final String clazz = failing ? IFailingService.class.getName() : IConcatService.class.getName();
+		for (int i = 0; i < registrations.length; i++)
+			registrations[i] = registerService(adapters[i], clazz, failing ? createFailingService(i) : createService(i), customizeProperties(null), SLEEPTIME);
+		tracker = new LoadBalancingRemoteServiceTracker(adapters[2], null, clazz, strategy);
+		tracker.open();
+		final LoadBalancedRemoteService service = tracker.getLoadBalancedRemoteService();
+		assertEquals(2, service.size());
+		return service;
+	}
+
+	public void testRoundRobin() throws Exception {
+		final LoadBalancedRemoteService service = createLoadBalancedRemoteService(LoadBalancingStrategies.createRoundRobin());
+		final IConcatService proxy = (IConcatService) service.getProxy();
+		for (int i = 0; i < CALLS; i++)
+			assertEquals("ab", proxy.concat("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(CALLS / 2, getInvocations(0));
+		assertEquals(CALLS / 2, getInvocations(1));
+	}
+
+	public void testLeastOutstanding() throws Exception {
+		final LoadBalancedRemoteService service = createLoadBalancedRemoteService(LoadBalancingStrategies.createLeastOutstanding());
+		for (int i = 0; i < CALLS; i++)
+			assertEquals("ab", service.callSync(createRemoteConcat("a", "b"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		// Without concurrent calls, idle members share the calls
+		assertTrue(getInvocations(0) > 0);
+		assertTrue(getInvocations(1) > 0);
+		assertEquals(0, service.getMembers()[0].getOutstandingCalls());
+		assertTrue(service.getMembers()[0].getAverageLatency() > 0);
+	}
+
+	public void testLatencyWeighted() throws Exception {
+		final LoadBalancedRemoteService service = createLoadBalancedRemoteService(LoadBalancingStrategies.createLatencyWeighted());
+		final IFuture[] results = new IFuture[CALLS];
+		for (int i = 0; i < CALLS; i++)
+			results[i] = service.callAsync(createRemoteConcat("a", String.valueOf(i))); //$NON-NLS-1$
+		for (int i = 0; i < CALLS; i++)
+			assertEquals("a" + i, results[i].get()); //$NON-NLS-1$
+		assertEquals(CALLS, getInvocations(0) + getInvocations(1));
+	}
+
+	public void testMemberRemoved() throws Exception {
+		final LoadBalancedRemoteService service = createLoadBalancedRemoteService(LoadBalancingStrategies.createRoundRobin());
+		final IConcatService proxy = (IConcatService) service.getProxy();
+		registrations[0].unregister();
+		Thread.sleep(SLEEPTIME);
+		assertEquals(1, service.size());
+		for (int i = 0; i < CALLS; i++)
+			assertEquals("ab", proxy.concat("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(0, getInvocations(0));
+		assertEquals(CALLS, getInvocations(1));
+	}
+
+	public void testRemoteIOExceptionNotFailedOver() throws Exception {
+		final LoadBalancedRemoteService service = createLoadBalancedRemoteService(LoadBalancingStrategies.createRoundRobin(), true);
+		final IRemoteCall call = createRemoteCall("fail", new Object[] {"remote"}); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			service.callSync(call);
+			fail();
+		} catch (final ECFException e) {
+			assertTrue(e.getCause() instanceof IOException);
+		}
+		assertEquals(1, getInvocations(0) + getInvocations(1));
+		try {
+			service.callAsync(call).get();
+			fail();
+		} catch (final Exception e) {
+			// expected
+		}
+		assertEquals(2, getInvocations(0) + getInvocations(1));
+		try {
+			((IFailingService) service.getProxy()).fail("remote"); //$NON-NLS-1$
+			fail();
+		} catch (final IOException e) {
+			assertEquals("remote", e.getMessage()); //$NON-NLS-1$
+		}
+		assertEquals(3, getInvocations(0) + getInvocations(1));
+	}
+
+	private IRemoteService createTransportFailingRemoteService(final int[] calls, final boolean remote) {
+		return (IRemoteService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {IRemoteService.class}, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if (!method.getName().equals("callSync")) //$NON-NLS-1$
+					throw new UnsupportedOperationException(method.getName());
+				calls[0]++;
+				if (remote)
+					// As received in a response, e.g. when the remote service failed calling another service
+					throw new ECFException("Exception in remote call", (Throwable) copy(new RemoteCallTransportException("remote"))); //$NON-NLS-1$ //$NON-NLS-2$
+				throw new ECFException("Error sending request", new RemoteCallTransportException("local")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		});
+	}
+
+	private static Object copy(Object o) throws Exception {
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(o);
+		oos.close();
+		return new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray())).readObject();
+	}
+
+	private IRemoteServiceReference createReference() {
+		return (IRemoteServiceReference) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {IRemoteServiceReference.class}, new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if (method.getName().equals("equals")) //$NON-NLS-1$
+					return Boolean.valueOf(proxy == args[0]);
+				if (method.getName().equals("hashCode")) //$NON-NLS-1$
+					return Integer.valueOf(System.identityHashCode(proxy));
+				return null;
+			}
+		});
+	}
+
+	public void testLocalTransportFailureFailedOver() throws Exception {
+		final LoadBalancedRemoteService service = new LoadBalancedRemoteService(LoadBalancingStrategies.createRoundRobin());
+		final int[] localCalls = new int[1];
+		final int[] remoteCalls = new int[1];
+		service.addMember(createReference(), createTransportFailingRemoteService(localCalls, false));
+		service.addMember(createReference(), createTransportFailingRemoteService(localCalls, false));
+		try {
+			service.callSync(createRemoteConcat("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$
+			fail();
+		} catch (final ECFException e) {
+			assertTrue(e.getCause() instanceof RemoteCallTransportException);
+		}
+		// Tried on both members
+		assertEquals(2, localCalls[0]);
+
+		final LoadBalancedRemoteService remoteService = new LoadBalancedRemoteService(LoadBalancingStrategies.createRoundRobin());
+		remoteService.addMember(createReference(), createTransportFailingRemoteService(remoteCalls, true));
+		remoteService.addMember(createReference(), createTransportFailingRemoteService(remoteCalls, true));
+		try {
+			remoteService.callSync(createRemoteConcat("a", "b")); //$NON-NLS-1$ //$NON-NLS-2$
+			fail();
+		} catch (final ECFException e) {
+			assertFalse(((RemoteCallTransportException) e.getCause()).isLocal());
+		}
+		assertEquals(1, remoteCalls[0]);
+	}
+}
@@ -0,0 +1,105 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ecf.provider.remoteservice.generic.PooledRequestExecutor;
+import org.eclipse.equinox.concurrent.future.IFuture;
+import org.eclipse.equinox.concurrent.future.IProgressRunnable;
+
+public class PooledRequestExecutorTest extends TestCase {
+
+	private PooledRequestExecutor executor;
+	private CountDownLatch release;
+
+	protected void tearDown() throws Exception {
+		if (release != null)
+			release.countDown();
+		if (executor != null)
+			executor.shutdown();
+		super.tearDown();
+	}
+
+	private IProgressRunnable createBlockingRunnable(final CountDownLatch started) {
+		return new IProgressRunnable() {
+			public Object run(IProgressMonitor monitor) throws Exception {
+				started.countDown();
+				release.await(5, TimeUnit.SECONDS);
+				return "done"; //$NON-NLS-1$
+			}
+		};
+	}
+
+	private void assertRejects(IProgressRunnable runnable) {
+		try {
+			executor.execute(runnable, new NullProgressMonitor());
+			fail();
+		} catch (final RejectedExecutionException e) {
+			// expected
+		}
+	}
+
+	public void testExecute() throws Exception {
+		executor = new PooledRequestExecutor("test", 1, 2, 4, 1000); //$NON-NLS-1$
+		final IFuture future = executor.execute(new IProgressRunnable() {
+			public Object run(IProgressMonitor monitor) throws Exception {
+				return "result"; //$NON-NLS-1$
+			}
+		}, new NullProgressMonitor());
+		assertEquals("result", future.get()); //$NON-NLS-1$
+	}
+
+	public void testRejectWhenQueueFull() throws Exception {
+		executor = new PooledRequestExecutor("test", 1, 1, 1, 1000); //$NON-NLS-1$
+		release = new CountDownLatch(1);
+		final CountDownLatch started = new CountDownLatch(1);
+		final IFuture running = executor.execute(createBlockingRunnable(started), new NullProgressMonitor());
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		final IFuture queued = executor.execute(createBlockingRunnable(new CountDownLatch(1)), new NullProgressMonitor());
+		assertEquals(1, executor.getQueueSize());
+		assertRejects(createBlockingRunnable(new CountDownLatch(1)));
+		release.countDown();
+		assertEquals("done", running.get()); //$NON-NLS-1$
+		assertEquals("done", queued.get()); //$NON-NLS-1$
+	}
+
+	public void testRejectWhenShutdown() throws Exception {
+		executor = new PooledRequestExecutor("test", 1, 1, 1, 1000); //$NON-NLS-1$
+		executor.shutdown();
+		assertTrue(executor.isShutdown());
+		assertRejects(createBlockingRunnable(new CountDownLatch(1)));
+	}
+
+	public void testVirtualLimit() throws Exception {
+		executor = PooledRequestExecutor.createVirtual("test", 1); //$NON-NLS-1$
+		// Not supported before Java 21
+		if (executor == null)
+			return;
+		release = new CountDownLatch(1);
+		final CountDownLatch started = new CountDownLatch(1);
+		final IFuture running = executor.execute(createBlockingRunnable(started), new NullProgressMonitor());
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertRejects(createBlockingRunnable(new CountDownLatch(1)));
+		release.countDown();
+		assertEquals("done", running.get()); //$NON-NLS-1$
+		// Permit is released after the request
+		executor.execute(createBlockingRunnable(new CountDownLatch(1)), new NullProgressMonitor()).get();
+	}
+}
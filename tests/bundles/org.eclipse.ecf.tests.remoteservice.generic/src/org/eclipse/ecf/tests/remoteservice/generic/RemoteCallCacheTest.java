@@ -0,0 +1,86 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import java.lang.reflect.Method;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.remoteservice.RemoteCallCache;
+
+public class RemoteCallCacheTest extends TestCase {
+
+	private static final long TTL = 60000;
+
+	public interface IOverloadedService {
+		String get(String key);
+
+		String get(Object key);
+
+		String sum(int[] values);
+
+		String join(String[][] values);
+	}
+
+	private RemoteCallCache cache;
+	private Method getString;
+	private Method getObject;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		cache = new RemoteCallCache(100, TTL, null);
+		getString = IOverloadedService.class.getMethod("get", new Class[] {String.class});
+		getObject = IOverloadedService.class.getMethod("get", new Class[] {Object.class});
+	}
+
+	private void put(Method method, Object[] args, Object result) {
+		assertTrue(cache.put(method, method.getName(), args, result, TTL, cache.getGeneration()));
+	}
+
+	public void testOverloadsNotShared() throws Exception {
+		put(getString, new Object[] {"a"}, "string");
+		assertSame(RemoteCallCache.NOT_CACHED, cache.get(getObject, new Object[] {"a"}));
+		put(getObject, new Object[] {"a"}, "object");
+		assertEquals("string", cache.get(getString, new Object[] {"a"}));
+		assertEquals("object", cache.get(getObject, new Object[] {"a"}));
+		// Invalidated by the name of the remote method
+		cache.invalidate(new String[] {"get"});
+		assertEquals(0, cache.size());
+	}
+
+	public void testArrayArgumentsCopied() throws Exception {
+		final Method sum = IOverloadedService.class.getMethod("sum", new Class[] {int[].class});
+		final int[] values = new int[] {1, 2};
+		put(sum, new Object[] {values}, "3");
+		// Modified by the caller after the call
+		values[1] = 5;
+		assertSame(RemoteCallCache.NOT_CACHED, cache.get(sum, new Object[] {values}));
+		assertEquals("3", cache.get(sum, new Object[] {new int[] {1, 2}}));
+
+		final Method join = IOverloadedService.class.getMethod("join", new Class[] {String[][].class});
+		final String[][] strings = new String[][] { {"a", "b"}, {"c"}};
+		put(join, new Object[] {strings}, "abc");
+		strings[0][1] = "x";
+		strings[1] = new String[] {"y"};
+		assertSame(RemoteCallCache.NOT_CACHED, cache.get(join, new Object[] {strings}));
+		assertEquals("abc", cache.get(join, new Object[] {new String[][] { {"a", "b"}, {"c"}}}));
+	}
+
+	public void testNotCachedWhenInvalidatedDuringCall() throws Exception {
+		final long generation = cache.getGeneration();
+		cache.invalidate();
+		assertFalse(cache.put(getString, "get", new Object[] {"a"}, "string", TTL, generation));
+		assertSame(RemoteCallCache.NOT_CACHED, cache.get(getString, new Object[] {"a"}));
+	}
+}
@@ -0,0 +1,170 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import org.eclipse.ecf.remoteservice.IRemoteCall;
+import org.eclipse.ecf.remoteservice.IRemoteCallListener;
+import org.eclipse.ecf.remoteservice.IRemoteService;
+import org.eclipse.ecf.remoteservice.IRemoteServiceContainerAdapter;
+import org.eclipse.ecf.remoteservice.RemoteCall;
+import org.eclipse.ecf.remoteservice.events.IRemoteCallCompleteEvent;
+import org.eclipse.ecf.remoteservice.events.IRemoteCallEvent;
+import org.eclipse.ecf.tests.remoteservice.AbstractRemoteServiceTest;
+import org.eclipse.ecf.tests.remoteservice.IConcatService;
+import org.eclipse.equinox.concurrent.future.IFuture;
+
+public class RemoteServiceAsyncTest extends AbstractRemoteServiceTest {
+
+	// More than the default number of threads of the future executor
+	private static final int CALLS = 100;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		setClientCount(2);
+		createServerAndClients();
+		setupRemoteServiceAdapters();
+		connectClients();
+		addRemoteServiceListeners();
+	}
+
+	protected void tearDown() throws Exception {
+		cleanUpServerAndClients();
+		super.tearDown();
+	}
+
+	protected String getClientContainerName() {
+		return Generic.CONSUMER_CONTAINER_TYPE;
+	}
+
+	protected Object createService() {
+		return new IConcatService() {
+			public String concat(String string1, String string2) {
+				if ("sleep".equals(string1)) { //$NON-NLS-1$
+					try {
+						Thread.sleep(Long.parseLong(string2));
+					} catch (final InterruptedException e) {
+						// return
+					}
+				}
+				return string1.concat(string2);
+			}
+		};
+	}
+
+	private int completed;
+
+	private synchronized void complete() {
+		completed++;
+		notifyAll();
+	}
+
+	private synchronized boolean waitForCompleted(int count, long timeout) throws InterruptedException {
+		final long end = System.currentTimeMillis() + timeout;
+		long wait = timeout;
+		while (completed < count && wait > 0) {
+			wait(wait);
+			wait = end - System.currentTimeMillis();
+		}
+		return completed >= count;
+	}
+
+	private IRemoteService getService() throws Exception {
+		final IRemoteServiceContainerAdapter[] adapters = getRemoteServiceAdapters();
+		registerService(adapters[0], IConcatService.class.getName(), createService(), customizeProperties(null), SLEEPTIME);
+		final IRemoteService service = getRemoteService(adapters[1], getClient(0).getConnectedID(), getIDFilter(), IConcatService.class.getName(), null, SLEEPTIME);
+		assertNotNull(service);
+		return service;
+	}
+
+	public void testManyAsyncCalls() throws Exception {
+		final IRemoteService service = getService();
+		final IFuture[] results = new IFuture[CALLS];
+		for (int i = 0; i < CALLS; i++)
+			results[i] = service.callAsync(createRemoteConcat("a", String.valueOf(i))); //$NON-NLS-1$
+		for (int i = 0; i < CALLS; i++)
+			assertEquals("a" + i, results[i].get()); //$NON-NLS-1$
+	}
+
+	public void testManyAsyncCallsWithListener() throws Exception {
+		final IRemoteService service = getService();
+		final Object[] results = new Object[CALLS];
+		for (int i = 0; i < CALLS; i++) {
+			final int index = i;
+			service.callAsync(createRemoteConcat("a", String.valueOf(i)), new IRemoteCallListener() { //$NON-NLS-1$
+				public void handleEvent(IRemoteCallEvent event) {
+					if (event instanceof IRemoteCallCompleteEvent) {
+						results[index] = ((IRemoteCallCompleteEvent) event).getResponse();
+						complete();
+					}
+				}
+			});
+		}
+		assertTrue(waitForCompleted(CALLS, 30000));
+		for (int i = 0; i < CALLS; i++)
+			assertEquals("a" + i, results[i]); //$NON-NLS-1$
+	}
+
+	public void testAsyncCallTimeout() throws Exception {
+		final IRemoteService service = getService();
+		final IRemoteCall call = new RemoteCall("concat", new Object[] {"sleep", "2000"}, 500); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final IRemoteCallCompleteEvent[] result = new IRemoteCallCompleteEvent[1];
+		service.callAsync(call, new IRemoteCallListener() {
+			public void handleEvent(IRemoteCallEvent event) {
+				if (event instanceof IRemoteCallCompleteEvent) {
+					result[0] = (IRemoteCallCompleteEvent) event;
+					complete();
+				}
+			}
+		});
+		assertTrue(waitForCompleted(1, 1500));
+		assertTrue(result[0].hadException());
+	}
+
+	public void testAsyncCallTimeoutNotNotifiedByTimer() throws Exception {
+		final IRemoteService service = getService();
+		final IRemoteCall call = new RemoteCall("concat", new Object[] {"sleep", "2000"}, 500); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		final String[] thread = new String[1];
+		service.callAsync(call, new IRemoteCallListener() {
+			public void handleEvent(IRemoteCallEvent event) {
+				if (event instanceof IRemoteCallCompleteEvent) {
+					thread[0] = Thread.currentThread().getName();
+					complete();
+				}
+			}
+		});
+		assertTrue(waitForCompleted(1, 1500));
+		// The timer thread only hands the timeout over
+		assertFalse(thread[0], "RemoteService Request Timer".equals(thread[0])); //$NON-NLS-1$
+	}
+
+	public void testListenerMayCallSync() throws Exception {
+		final IRemoteService service = getService();
+		final Object[] result = new Object[1];
+		service.callAsync(createRemoteConcat("a", "b"), new IRemoteCallListener() { //$NON-NLS-1$ //$NON-NLS-2$
+			public void handleEvent(IRemoteCallEvent event) {
+				if (event instanceof IRemoteCallCompleteEvent) {
+					// Would never get its response if notified by the thread handling responses
+					try {
+						result[0] = service.callSync(createRemoteConcat((String) ((IRemoteCallCompleteEvent) event).getResponse(), "c")); //$NON-NLS-1$
+					} catch (final Exception e) {
+						result[0] = e;
+					}
+					complete();
+				}
+			}
+		});
+		assertTrue(waitForCompleted(1, 10000));
+		assertEquals("abc", result[0]); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,70 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import java.util.Properties;
+
+import org.eclipse.ecf.remoteservice.IRemoteCallBatch;
+import org.eclipse.ecf.remoteservice.IRemoteService;
+import org.eclipse.ecf.remoteservice.IRemoteServiceContainerAdapter;
+import org.eclipse.ecf.remoteservice.RemoteServiceHelper;
+import org.eclipse.ecf.tests.remoteservice.AbstractRemoteServiceTest;
+import org.eclipse.ecf.tests.remoteservice.IConcatService;
+import org.eclipse.equinox.concurrent.future.IFuture;
+
+public class RemoteServiceBatchTest extends AbstractRemoteServiceTest {
+
+	// RegistrySharedObject.MAX_CONCURRENT_CALLS_PROPERTY
+	private static final String MAX_CONCURRENT_CALLS_PROPERTY = "ecf.rsvc.maxConcurrentCalls";
+	private static final int CALLS = 200;
+
+	private IRemoteService remoteService;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		setClientCount(2);
+		createServerAndClients();
+		setupRemoteServiceAdapters();
+		connectClients();
+		addRemoteServiceListeners();
+		final IRemoteServiceContainerAdapter[] adapters = getRemoteServiceAdapters();
+		// One request of the service executing at a time
+		final Properties props = new Properties();
+		props.put(MAX_CONCURRENT_CALLS_PROPERTY, Integer.valueOf(1));
+		registerService(adapters[0], IConcatService.class.getName(), createService(), customizeProperties(props), SLEEPTIME);
+		remoteService = getRemoteService(adapters[1], getClient(0).getConnectedID(), getIDFilter(), IConcatService.class.getName(), null, SLEEPTIME);
+		assertNotNull(remoteService);
+	}
+
+	protected void tearDown() throws Exception {
+		cleanUpServerAndClients();
+		super.tearDown();
+	}
+
+	protected String getClientContainerName() {
+		return Generic.CONSUMER_CONTAINER_TYPE;
+	}
+
+	public void testSequentialBatchWithOneConcurrentCall() throws Exception {
+		final IRemoteCallBatch batch = RemoteServiceHelper.createCallBatch(remoteService, false);
+		final IFuture[] results = new IFuture[CALLS];
+		for (int i = 0; i < results.length; i++)
+			results[i] = batch.add(createRemoteConcat("batch ", String.valueOf(i)));
+		batch.send();
+		// Each request is executed once the previous one has released its permit, so
+		// none is rejected
+		for (int i = 0; i < results.length; i++)
+			assertEquals("batch " + i, results[i].get(SLEEPTIME));
+	}
+}
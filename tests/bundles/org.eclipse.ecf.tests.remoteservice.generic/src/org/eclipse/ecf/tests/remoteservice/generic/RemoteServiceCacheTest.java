@@ -0,0 +1,115 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import java.util.Dictionary;
+import java.util.Hashtable;
+
+import org.eclipse.ecf.remoteservice.Constants;
+import org.eclipse.ecf.remoteservice.IRemoteService;
+import org.eclipse.ecf.remoteservice.IRemoteServiceContainerAdapter;
+import org.eclipse.ecf.remoteservice.IRemoteServiceRegistration;
+import org.eclipse.ecf.remoteservice.RemoteServiceHelper;
+import org.eclipse.ecf.tests.remoteservice.AbstractRemoteServiceTest;
+import org.eclipse.ecf.tests.remoteservice.IConcatService;
+
+public class RemoteServiceCacheTest extends AbstractRemoteServiceTest {
+
+	private static final long TTL = 2000;
+
+	private int invocations;
+	private IRemoteServiceRegistration registration;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		setClientCount(2);
+		createServerAndClients();
+		setupRemoteServiceAdapters();
+		connectClients();
+		addRemoteServiceListeners();
+	}
+
+	protected void tearDown() throws Exception {
+		cleanUpServerAndClients();
+		super.tearDown();
+	}
+
+	protected String getClientContainerName() {
+		return Generic.CONSUMER_CONTAINER_TYPE;
+	}
+
+	protected Object createService() {
+		return new IConcatService() {
+			public String concat(String string1, String string2) {
+				synchronized (RemoteServiceCacheTest.this) {
+					invocations++;
+				}
+				return string1.concat(string2);
+			}
+		};
+	}
+
+	private synchronized int getInvocations() {
+		return invocations;
+	}
+
+	private IConcatService getProxy(String cachedMethods) throws Exception {
+		final IRemoteServiceContainerAdapter[] adapters = getRemoteServiceAdapters();
+		final Dictionary props = new Hashtable();
+		if (cachedMethods != null)
+			props.put(Constants.SERVICE_CACHED_METHODS, cachedMethods);
+		props.put(Constants.SERVICE_CACHE_TTL, String.valueOf(TTL));
+		registration = registerService(adapters[0], IConcatService.class.getName(), createService(), customizeProperties(props), SLEEPTIME);
+		final IRemoteService service = getRemoteService(adapters[1], getClient(0).getConnectedID(), getIDFilter(), IConcatService.class.getName(), null, SLEEPTIME);
+		assertNotNull(service);
+		return (IConcatService) service.getProxy();
+	}
+
+	public void testNotCached() throws Exception {
+		final IConcatService proxy = getProxy(null);
+		assertEquals("ab", proxy.concat("a", "b"));
+		assertEquals("ab", proxy.concat("a", "b"));
+		assertEquals(2, getInvocations());
+	}
+
+	public void testCached() throws Exception {
+		final IConcatService proxy = getProxy("concat");
+		assertEquals("ab", proxy.concat("a", "b"));
+		assertEquals("ab", proxy.concat("a", "b"));
+		assertEquals(1, getInvocations());
+		// Other arguments are called
+		assertEquals("ac", proxy.concat("a", "c"));
+		assertEquals(2, getInvocations());
+	}
+
+	public void testExpires() throws Exception {
+		final IConcatService proxy = getProxy("concat=500");
+		assertEquals("ab", proxy.concat("a", "b"));
+		Thread.sleep(1000);
+		assertEquals("ab", proxy.concat("a", "b"));
+		assertEquals(2, getInvocations());
+	}
+
+	public void testInvalidate() throws Exception {
+		final IConcatService proxy = getProxy("concat");
+		assertEquals("ab", proxy.concat("a", "b"));
+		assertTrue(RemoteServiceHelper.invalidateCallCache(registration, new String[] {"concat"}));
+		Thread.sleep(SLEEPTIME);
+		assertEquals("ab", proxy.concat("a", "b"));
+		assertEquals(2, getInvocations());
+		// Cached again
+		assertEquals("ab", proxy.concat("a", "b"));
+		assertEquals(2, getInvocations());
+	}
+}
@@ -0,0 +1,107 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import org.eclipse.ecf.provider.metrics.IMetricsService;
+import org.eclipse.ecf.provider.metrics.MetricGroup;
+import org.eclipse.ecf.provider.metrics.MetricsRegistry;
+import org.eclipse.ecf.remoteservice.IRemoteService;
+import org.eclipse.ecf.remoteservice.IRemoteServiceContainerAdapter;
+import org.eclipse.ecf.remoteservice.IRemoteServiceRegistration;
+import org.eclipse.ecf.tests.remoteservice.AbstractRemoteServiceTest;
+import org.eclipse.ecf.tests.remoteservice.IConcatService;
+
+public class RemoteServiceMetricsTest extends AbstractRemoteServiceTest {
+
+	private boolean metricsEnabled;
+	private IRemoteServiceRegistration registration;
+	private IRemoteService remoteService;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		metricsEnabled = MetricsRegistry.getDefault().isEnabled();
+		MetricsRegistry.getDefault().setEnabled(true);
+		setClientCount(2);
+		createServerAndClients();
+		setupRemoteServiceAdapters();
+		connectClients();
+		addRemoteServiceListeners();
+		final IRemoteServiceContainerAdapter[] adapters = getRemoteServiceAdapters();
+		registration = registerService(adapters[0], IConcatService.class.getName(), createService(), customizeProperties(null), SLEEPTIME);
+		remoteService = getRemoteService(adapters[1], getClient(0).getConnectedID(), getIDFilter(), IConcatService.class.getName(), null, SLEEPTIME);
+		assertNotNull(remoteService);
+	}
+
+	protected void tearDown() throws Exception {
+		cleanUpServerAndClients();
+		MetricsRegistry.getDefault().setEnabled(metricsEnabled);
+		super.tearDown();
+	}
+
+	protected String getClientContainerName() {
+		return Generic.CONSUMER_CONTAINER_TYPE;
+	}
+
+	private String getHostGroupName() {
+		return registration.getContainerID().getName() + ":" + registration.getID().getContainerRelativeID() + " [" + IConcatService.class.getName() + "]";
+	}
+
+	private MetricGroup getHostGroup() {
+		return MetricsRegistry.getDefault().getGroup(IMetricsService.TYPE_REMOTE_SERVICE, getHostGroupName());
+	}
+
+	private MetricGroup getClientGroup() {
+		return MetricsRegistry.getDefault().getGroup(IMetricsService.TYPE_REMOTE_SERVICE, getClient(1).getID().getName() + " -> " + getHostGroupName());
+	}
+
+	public void testCallMetrics() throws Exception {
+		assertEquals("ab", remoteService.callSync(createRemoteConcat("a", "b")));
+		assertEquals("cd", remoteService.callSync(createRemoteConcat("c", "d")));
+
+		final MetricGroup client = getClientGroup();
+		assertNotNull(client);
+		assertEquals(2, client.counter("concat.calls").getCount());
+		assertEquals(0, client.counter("concat.errors").getCount());
+		assertEquals(2, client.histogram("concat.roundtrip.ns").getCount());
+		assertEquals(2, client.histogram("concat.request.bytes").getCount());
+		assertEquals(2, client.histogram("concat.response.bytes").getCount());
+		assertTrue(client.histogram("concat.request.bytes").getMax() > 0);
+
+		final MetricGroup host = getHostGroup();
+		assertNotNull(host);
+		assertEquals(2, host.counter("concat.calls").getCount());
+		assertEquals(2, host.histogram("concat.queue.wait.ns").getCount());
+		assertEquals(2, host.histogram("concat.execution.ns").getCount());
+		assertEquals(2, host.histogram("concat.request.bytes").getCount());
+	}
+
+	public void testErrorMetrics() throws Exception {
+		try {
+			remoteService.callSync(createRemoteCall("unknown", new Object[0]));
+			fail();
+		} catch (final Exception e) {
+			// expected
+		}
+		assertEquals(1, getClientGroup().counter("unknown.calls").getCount());
+		assertEquals(1, getClientGroup().counter("unknown.errors").getCount());
+		assertEquals(1, getHostGroup().counter("unknown.errors").getCount());
+	}
+
+	public void testClosedOnUnregister() throws Exception {
+		remoteService.callSync(createRemoteConcat("a", "b"));
+		assertNotNull(getHostGroup());
+		registration.unregister();
+		assertNull(getHostGroup());
+	}
+}
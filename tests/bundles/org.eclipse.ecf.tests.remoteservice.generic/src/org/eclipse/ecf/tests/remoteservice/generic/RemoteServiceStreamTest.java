@@ -0,0 +1,158 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.ecf.remoteservice.IRemoteService;
+import org.eclipse.ecf.remoteservice.IRemoteServiceContainerAdapter;
+import org.eclipse.ecf.tests.remoteservice.AbstractRemoteServiceTest;
+
+public class RemoteServiceStreamTest extends AbstractRemoteServiceTest {
+
+	// More than one window of chunks
+	private static final int SIZE = 1024 * 1024;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		setClientCount(2);
+		createServerAndClients();
+		setupRemoteServiceAdapters();
+		connectClients();
+		addRemoteServiceListeners();
+	}
+
+	protected void tearDown() throws Exception {
+		cleanUpServerAndClients();
+		super.tearDown();
+	}
+
+	protected String getClientContainerName() {
+		return Generic.CONSUMER_CONTAINER_TYPE;
+	}
+
+	private static byte byteAt(int i) {
+		return (byte) (i % 251);
+	}
+
+	private static InputStream createInputStream(final int size) {
+		// Not serializable, so streamed
+		return new InputStream() {
+			private int position;
+
+			public int read() {
+				return (position < size) ? (byteAt(position++) & 0xff) : -1;
+			}
+		};
+	}
+
+	protected Object createService() {
+		return new IStreamService() {
+			public InputStream download(int size) {
+				return createInputStream(size);
+			}
+
+			public Iterator list(final int count) {
+				return new Iterator() {
+					private int next;
+
+					public boolean hasNext() {
+						return next < count;
+					}
+
+					public Object next() {
+						if (next == count)
+							throw new NoSuchElementException();
+						return "element" + next++;
+					}
+
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+
+			public int upload(InputStream in) {
+				int count = 0;
+				try {
+					for (int b = in.read(); b >= 0; b = in.read()) {
+						if ((byte) b != byteAt(count))
+							return -1;
+						count++;
+					}
+				} catch (final IOException e) {
+					return -1;
+				}
+				return count;
+			}
+		};
+	}
+
+	private IStreamService getStreamService() throws Exception {
+		final IRemoteServiceContainerAdapter[] adapters = getRemoteServiceAdapters();
+		registerService(adapters[0], IStreamService.class.getName(), createService(), customizeProperties(null), SLEEPTIME);
+		final IRemoteService service = getRemoteService(adapters[1], getClient(0).getConnectedID(), getIDFilter(), IStreamService.class.getName(), null, SLEEPTIME);
+		assertNotNull(service);
+		return (IStreamService) service.getProxy();
+	}
+
+	public void testInputStreamResult() throws Exception {
+		final IStreamService service = getStreamService();
+		final InputStream in = service.download(SIZE);
+		final byte[] buf = new byte[8192];
+		int count = 0;
+		for (int n = in.read(buf); n >= 0; n = in.read(buf)) {
+			for (int i = 0; i < n; i++)
+				assertEquals(byteAt(count + i), buf[i]);
+			count += n;
+		}
+		in.close();
+		assertEquals(SIZE, count);
+	}
+
+	public void testIteratorResult() throws Exception {
+		final IStreamService service = getStreamService();
+		final Iterator i = service.list(10000);
+		int count = 0;
+		while (i.hasNext())
+			assertEquals("element" + count++, i.next());
+		assertEquals(10000, count);
+	}
+
+	public void testInputStreamArgument() throws Exception {
+		final IStreamService service = getStreamService();
+		assertEquals(SIZE, service.upload(createInputStream(SIZE)));
+		// Shorter than a chunk
+		assertEquals(3, service.upload(new ByteArrayInputStream(new byte[] {byteAt(0), byteAt(1), byteAt(2)})));
+		assertEquals(0, service.upload(createInputStream(0)));
+	}
+
+	public void testCloseBeforeEnd() throws Exception {
+		final IStreamService service = getStreamService();
+		final InputStream in = service.download(SIZE);
+		assertEquals(byteAt(0), (byte) in.read());
+		in.close();
+		assertEquals(-1, in.read());
+		// Other calls are not affected
+		final InputStream in2 = service.download(10);
+		int count = 0;
+		while (in2.read() >= 0)
+			count++;
+		assertEquals(10, count);
+	}
+}
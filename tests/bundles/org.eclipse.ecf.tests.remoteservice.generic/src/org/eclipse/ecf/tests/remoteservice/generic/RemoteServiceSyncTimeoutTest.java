@@ -0,0 +1,107 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.remoteservice.generic;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.ecf.core.IContainer;
+import org.eclipse.ecf.core.events.IContainerConnectedEvent;
+import org.eclipse.ecf.core.util.Event;
+import org.eclipse.ecf.core.util.IEventProcessor;
+import org.eclipse.ecf.provider.remoteservice.generic.RegistrySharedObject;
+import org.eclipse.ecf.remoteservice.IRemoteService;
+import org.eclipse.ecf.remoteservice.IRemoteServiceContainerAdapter;
+import org.eclipse.ecf.remoteservice.RemoteCallFactory;
+import org.eclipse.ecf.tests.remoteservice.AbstractRemoteServiceTest;
+import org.eclipse.ecf.tests.remoteservice.IConcatService;
+import org.osgi.framework.ServiceException;
+
+public class RemoteServiceSyncTimeoutTest extends AbstractRemoteServiceTest {
+
+	private static final long CALL_TIMEOUT = 1000;
+	// More than the time callSynch waits beyond the call timeout
+	private static final long WAIT_TIME = CALL_TIMEOUT + 30000;
+
+	// Released in tearDown, so the host never answers during the test
+	private final CountDownLatch release = new CountDownLatch(1);
+	private IRemoteService remoteService;
+	private IContainer lateClient;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		setClientCount(2);
+		createServerAndClients();
+		setupRemoteServiceAdapters();
+		connectClients();
+		addRemoteServiceListeners();
+		final IRemoteServiceContainerAdapter[] adapters = getRemoteServiceAdapters();
+		registerService(adapters[0], IConcatService.class.getName(), new IConcatService() {
+			public String concat(String string1, String string2) {
+				try {
+					release.await();
+				} catch (final InterruptedException e) {
+					// done
+				}
+				return string1.concat(string2);
+			}
+		}, customizeProperties(null), SLEEPTIME);
+		remoteService = getRemoteService(adapters[1], getClient(0).getConnectedID(), getIDFilter(), IConcatService.class.getName(), null, SLEEPTIME);
+		assertNotNull(remoteService);
+	}
+
+	protected void tearDown() throws Exception {
+		release.countDown();
+		if (lateClient != null) {
+			lateClient.disconnect();
+			lateClient.dispose();
+			removeFromContainerManager(lateClient);
+		}
+		cleanUpServerAndClients();
+		super.tearDown();
+	}
+
+	protected String getClientContainerName() {
+		return Generic.CONSUMER_CONTAINER_TYPE;
+	}
+
+	public void testSyncCallOnEventQueueThreadTimesOut() throws Exception {
+		final IRemoteServiceContainerAdapter consumer = getRemoteServiceAdapters()[1];
+		assertTrue(consumer instanceof RegistrySharedObject);
+		final AtomicBoolean called = new AtomicBoolean();
+		final CountDownLatch done = new CountDownLatch(1);
+		final Throwable[] error = new Throwable[1];
+		// Runs on the thread of the consumer's event queue, which also handles the
+		// timeouts of its requests
+		((RegistrySharedObject) consumer).addEventProcessor(new IEventProcessor() {
+			public boolean processEvent(Event event) {
+				if (event instanceof IContainerConnectedEvent && called.compareAndSet(false, true)) {
+					try {
+						remoteService.callSync(RemoteCallFactory.createRemoteCall("concat", new Object[] {"a", "b"}, CALL_TIMEOUT));
+					} catch (final Throwable e) {
+						error[0] = e;
+					}
+					done.countDown();
+				}
+				return false;
+			}
+		});
+		// The consumer is told that another member has connected
+		lateClient = createClient(2);
+		connectClient(lateClient, getServerConnectID(0), null);
+		assertTrue("sync call on the event queue thread did not time out", done.await(WAIT_TIME, TimeUnit.MILLISECONDS));
+		assertTrue(String.valueOf(error[0]), error[0] instanceof ServiceException);
+	}
+}
@@ -23,6 +23,7 @@ import org.eclipse.ecf.core.identity.Namespace;
 import org.eclipse.ecf.core.util.ECFException;
 import org.eclipse.ecf.remoteservice.Constants;
 import org.eclipse.ecf.remoteservice.IRemoteCall;
+import org.eclipse.ecf.remoteservice.IRemoteCallBatch;
 import org.eclipse.ecf.remoteservice.IRemoteCallListener;
 import org.eclipse.ecf.remoteservice.IRemoteService;
 import org.eclipse.ecf.remoteservice.IRemoteServiceContainerAdapter;
@@ -31,6 +32,7 @@ import org.eclipse.ecf.remoteservice.IRemoteServiceListener;
 import org.eclipse.ecf.remoteservice.IRemoteServiceProxy;
 import org.eclipse.ecf.remoteservice.IRemoteServiceReference;
 import org.eclipse.ecf.remoteservice.IRemoteServiceRegistration;
+import org.eclipse.ecf.remoteservice.RemoteServiceHelper;
 import org.eclipse.ecf.remoteservice.events.IRemoteCallEvent;
 import org.eclipse.ecf.remoteservice.events.IRemoteServiceEvent;
 import org.eclipse.ecf.remoteservice.events.IRemoteServiceRegisteredEvent;
@@ -448,6 +450,48 @@ public abstract class AbstractRemoteServiceTest extends
 		Thread.sleep(SLEEPTIME);
 	}
 
+	protected void doTestCallBatch(boolean parallel) throws Exception {
+		final IRemoteService service = registerAndGetRemoteService();
+		if (service == null)
+			return;
+		final IRemoteCallBatch batch = RemoteServiceHelper.createCallBatch(service, parallel);
+		final IFuture[] results = new IFuture[5];
+		for (int i = 0; i < results.length; i++)
+			results[i] = batch.add(createRemoteConcat("ECF batch ", String.valueOf(i)));
+		// Method does not exist
+		final IFuture bad = batch.add(createRemoteCall("concat1", new Object[] {
+				"first", "second" }));
+		assertEquals(results.length + 1, batch.size());
+		traceCallStart("callBatch");
+		batch.send();
+		assertTrue(batch.isSent());
+		for (int i = 0; i < results.length; i++)
+			assertEquals("ECF batch " + i, results[i].get(SLEEPTIME));
+		traceCallEnd("callBatch");
+		try {
+			bad.get(SLEEPTIME);
+		} catch (final Exception e) {
+			// Failed call may throw
+		}
+		assertTrue(bad.isDone());
+		assertFalse(bad.getStatus().isOK());
+		try {
+			batch.add(createRemoteConcat("too ", "late"));
+			fail();
+		} catch (final IllegalStateException e) {
+			// Batch already sent
+		}
+		Thread.sleep(SLEEPTIME);
+	}
+
+	public void testCallBatch() throws Exception {
+		doTestCallBatch(true);
+	}
+
+	public void testCallBatchSequential() throws Exception {
+		doTestCallBatch(false);
+	}
+
 	protected Dictionary customizeProperties(Dictionary props) {
 		return props;
 	}
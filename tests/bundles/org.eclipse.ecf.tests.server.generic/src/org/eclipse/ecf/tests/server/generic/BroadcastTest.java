@@ -0,0 +1,200 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.server.generic;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.core.identity.IDFactory;
+import org.eclipse.ecf.provider.comm.AsynchEvent;
+import org.eclipse.ecf.provider.comm.ConnectionEvent;
+import org.eclipse.ecf.provider.comm.DisconnectEvent;
+import org.eclipse.ecf.provider.comm.IConnection;
+import org.eclipse.ecf.provider.comm.ISynchAsynchEventHandler;
+import org.eclipse.ecf.provider.comm.SynchEvent;
+import org.eclipse.ecf.provider.comm.tcp.Client;
+import org.eclipse.ecf.provider.generic.ContainerMessage;
+import org.eclipse.ecf.provider.generic.SOContainer;
+import org.eclipse.ecf.provider.generic.SOContainerConfig;
+import org.eclipse.ecf.provider.generic.ServerSOContainer;
+
+public class BroadcastTest extends TestCase {
+
+	private static final String KEEPALIVE_PROPERTY = "org.eclipse.ecf.provider.generic.keepalive";
+	private static final int MEMBERS = 4;
+	// More than the encoded from and to IDs and sequence of the header
+	private static final int HEADER_LENGTH_BOUND = 64;
+
+	static class CountingData implements Serializable {
+		private static final long serialVersionUID = 1L;
+		static final AtomicInteger writes = new AtomicInteger();
+
+		private final String value;
+
+		CountingData(String value) {
+			this.value = value;
+		}
+
+		private void writeObject(ObjectOutputStream out) throws IOException {
+			writes.incrementAndGet();
+			out.defaultWriteObject();
+		}
+
+		public boolean equals(Object obj) {
+			return (obj instanceof CountingData) && value.equals(((CountingData) obj).value);
+		}
+
+		public int hashCode() {
+			return value.hashCode();
+		}
+	}
+
+	static class TestServer extends ServerSOContainer {
+		TestServer(ID id) {
+			super(new SOContainerConfig(id));
+		}
+
+		void addMember(ID memberID, Object connection) {
+			addNewRemoteMember(memberID, connection);
+		}
+
+		void broadcast(ID from, ID excluding, ContainerMessage message) throws IOException {
+			forwardExcluding(from, excluding, message);
+		}
+	}
+
+	class Handler implements ISynchAsynchEventHandler {
+		final LinkedBlockingQueue<Object> received = new LinkedBlockingQueue<Object>();
+
+		public ID getEventHandlerID() {
+			return serverID;
+		}
+
+		public void handleDisconnectEvent(DisconnectEvent event) {
+		}
+
+		public void handleConnectEvent(ConnectionEvent event) {
+		}
+
+		public void handleAsynchEvent(AsynchEvent event) throws IOException {
+			received.add(event.getData());
+		}
+
+		public Object handleSynchEvent(SynchEvent event) throws IOException {
+			return null;
+		}
+	}
+
+	ID serverID;
+	String keepAlive;
+	ServerSocket serverSocket;
+	TestServer server;
+	ID[] memberIDs = new ID[MEMBERS];
+	List<Client> clients = new ArrayList<Client>();
+	Handler[] handlers = new Handler[MEMBERS];
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		keepAlive = System.getProperty(KEEPALIVE_PROPERTY);
+		System.setProperty(KEEPALIVE_PROPERTY, "0");
+		serverID = IDFactory.getDefault().createStringID("ecftcp://localhost:0/server");
+		server = new TestServer(serverID);
+		serverSocket = new ServerSocket(0, MEMBERS, InetAddress.getByName("127.0.0.1"));
+		for (int i = 0; i < MEMBERS; i++) {
+			memberIDs[i] = IDFactory.getDefault().createStringID("member" + i);
+			handlers[i] = new Handler();
+			final Socket socket = new Socket(InetAddress.getByName("127.0.0.1"), serverSocket.getLocalPort());
+			final Socket peer = serverSocket.accept();
+			// Stream headers are written before either end reads
+			final ObjectOutputStream socketOut = createOutputStream(socket);
+			final ObjectOutputStream peerOut = createOutputStream(peer);
+			// The server's connection to the member, and the member's connection
+			final Client sender = createClient(socket, socketOut, new Handler());
+			final Client receiver = createClient(peer, peerOut, handlers[i]);
+			sender.getProperties().put(IConnection.WIRE_VERSION_PROPERTY, Integer.valueOf(SOContainer.WIRE_VERSION_BINARY));
+			sender.start();
+			receiver.start();
+			server.addMember(memberIDs[i], sender);
+		}
+	}
+
+	private ObjectOutputStream createOutputStream(Socket socket) throws IOException {
+		final ObjectOutputStream oos = new ObjectOutputStream(socket.getOutputStream());
+		oos.flush();
+		return oos;
+	}
+
+	private Client createClient(Socket socket, ObjectOutputStream oos, Handler handler) throws IOException {
+		final Client client = new Client(socket, new ObjectInputStream(socket.getInputStream()), oos, handler);
+		clients.add(client);
+		return client;
+	}
+
+	protected void tearDown() throws Exception {
+		for (Client client : clients)
+			client.disconnect();
+		serverSocket.close();
+		server.dispose();
+		if (keepAlive == null)
+			System.clearProperty(KEEPALIVE_PROPERTY);
+		else
+			System.setProperty(KEEPALIVE_PROPERTY, keepAlive);
+		super.tearDown();
+	}
+
+	public void testForwardExcludingEncodesBodyOnce() throws Exception {
+		final ID from = IDFactory.getDefault().createStringID("sender");
+		final ID sharedObjectID = IDFactory.getDefault().createStringID("sharedobject");
+		final CountingData data = new CountingData("payload");
+		final ContainerMessage message = ContainerMessage.createSharedObjectMessage(from, null, 0, sharedObjectID, data);
+		CountingData.writes.set(0);
+		// The sender is not a member, so the message goes to all members
+		server.broadcast(from, from, message);
+		assertEquals(1, CountingData.writes.get());
+		byte[] first = null;
+		for (int i = 0; i < MEMBERS; i++) {
+			final Object received = handlers[i].received.poll(10, TimeUnit.SECONDS);
+			assertTrue(String.valueOf(received), received instanceof byte[]);
+			final byte[] bytes = (byte[]) received;
+			// Member IDs have the same length, so only the to ID and sequence differ
+			if (first == null)
+				first = bytes;
+			assertEquals(first.length, bytes.length);
+			// so the bytes after the header are the same
+			assertTrue(first.length > HEADER_LENGTH_BOUND);
+			for (int j = HEADER_LENGTH_BOUND; j < bytes.length; j++)
+				assertEquals(first[j], bytes[j]);
+			final ContainerMessage delivered = SOContainer.deserializeContainerMessage(bytes);
+			assertEquals(from, delivered.getFromContainerID());
+			assertEquals(memberIDs[i], delivered.getToContainerID());
+			final ContainerMessage.SharedObjectMessage som = (ContainerMessage.SharedObjectMessage) delivered.getData();
+			assertEquals(sharedObjectID, som.getFromSharedObjectID());
+			assertEquals(data, som.getData());
+		}
+		// Serialized only once, when the body was encoded
+		assertEquals(1, CountingData.writes.get());
+	}
+}
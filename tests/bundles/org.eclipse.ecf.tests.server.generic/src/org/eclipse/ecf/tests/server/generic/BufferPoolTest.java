@@ -0,0 +1,92 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.server.generic;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.provider.comm.BufferPool;
+import org.eclipse.ecf.provider.comm.PooledBuffer;
+import org.eclipse.ecf.provider.comm.PooledBufferOutputStream;
+
+public class BufferPoolTest extends TestCase {
+
+	BufferPool pool;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		pool = new BufferPool(64 * 1024, 1024 * 1024, false);
+	}
+
+	public void testReuseAfterLastRelease() throws Exception {
+		final PooledBuffer buffer = pool.acquire(1000);
+		assertEquals(1024, buffer.buffer().capacity());
+		final ByteBuffer underlying = buffer.buffer();
+		final PooledBuffer dup = buffer.duplicate();
+		buffer.release();
+		assertEquals(0, pool.getReleaseCount());
+		dup.release();
+		assertEquals(1, pool.getReleaseCount());
+		assertEquals(1024, pool.getPooledBytes());
+		final PooledBuffer again = pool.acquire(600);
+		assertSame(underlying, again.buffer());
+		assertEquals(0, again.buffer().position());
+		assertEquals(1, pool.getReuseCount());
+		assertEquals(0, pool.getPooledBytes());
+		again.release();
+	}
+
+	public void testReleaseTwice() throws Exception {
+		final PooledBuffer buffer = pool.acquire(10);
+		buffer.release();
+		try {
+			buffer.release();
+			fail();
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+		try {
+			buffer.duplicate();
+			fail();
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+	}
+
+	public void testLargeBuffersNotPooled() throws Exception {
+		final PooledBuffer buffer = pool.acquire(100 * 1024);
+		buffer.release();
+		assertEquals(0, pool.getPooledBytes());
+		assertEquals(1, pool.getAllocateCount());
+	}
+
+	public void testOutputStreamGrowth() throws Exception {
+		final PooledBufferOutputStream out = new PooledBufferOutputStream(pool, 16);
+		final byte[] data = new byte[5000];
+		for (int i = 0; i < data.length; i++)
+			data[i] = (byte) i;
+		out.write(data, 0, 100);
+		out.write(data, 100, data.length - 100);
+		assertEquals(data.length, out.size());
+		final PooledBuffer buffer = out.takeBuffer();
+		out.close();
+		assertEquals(data.length, buffer.remaining());
+		final byte[] result = buffer.toByteArray();
+		for (int i = 0; i < data.length; i++)
+			assertEquals(data[i], result[i]);
+		buffer.release();
+		// The buffers released while growing and the final buffer are all pooled
+		assertEquals(pool.getAcquireCount(), pool.getReleaseCount());
+	}
+}
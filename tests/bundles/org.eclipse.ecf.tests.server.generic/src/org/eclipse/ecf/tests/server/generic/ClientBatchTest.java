@@ -0,0 +1,182 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.server.generic;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.core.identity.IDFactory;
+import org.eclipse.ecf.core.sharedobject.util.SimpleFIFOQueue;
+import org.eclipse.ecf.provider.comm.AsynchEvent;
+import org.eclipse.ecf.provider.comm.ConnectionEvent;
+import org.eclipse.ecf.provider.comm.DisconnectEvent;
+import org.eclipse.ecf.provider.comm.ISynchAsynchEventHandler;
+import org.eclipse.ecf.provider.comm.SynchEvent;
+import org.eclipse.ecf.provider.comm.tcp.Client;
+
+public class ClientBatchTest extends TestCase {
+
+	private static final String KEEPALIVE_PROPERTY = "org.eclipse.ecf.provider.generic.keepalive";
+	private static final int MESSAGES = 10;
+
+	static class FlushCountingOutputStream extends OutputStream {
+		private final OutputStream out;
+		volatile int flushes;
+		volatile boolean failFlush;
+
+		FlushCountingOutputStream(OutputStream out) {
+			this.out = out;
+		}
+
+		public void write(int b) throws IOException {
+			out.write(b);
+		}
+
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		public void flush() throws IOException {
+			flushes++;
+			if (failFlush)
+				throw new IOException("flush failed");
+			out.flush();
+		}
+	}
+
+	class Handler implements ISynchAsynchEventHandler {
+		volatile DisconnectEvent disconnectEvent;
+		volatile int undelivered = -1;
+
+		public ID getEventHandlerID() {
+			return handlerID;
+		}
+
+		public void handleDisconnectEvent(DisconnectEvent event) {
+			// Size before the queue is closed
+			undelivered = ((SimpleFIFOQueue) event.getData()).size();
+			disconnectEvent = event;
+		}
+
+		public void handleConnectEvent(ConnectionEvent event) {
+		}
+
+		public void handleAsynchEvent(AsynchEvent event) throws IOException {
+		}
+
+		public Object handleSynchEvent(SynchEvent event) throws IOException {
+			return null;
+		}
+	}
+
+	ID handlerID;
+	String keepAlive;
+	ServerSocket serverSocket;
+	Socket socket;
+	Socket peer;
+	FlushCountingOutputStream out;
+	Handler handler;
+	Client client;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		handlerID = IDFactory.getDefault().createStringID("ecftcp://localhost:0/client");
+		// No ping thread, as it would queue messages too
+		keepAlive = System.getProperty(KEEPALIVE_PROPERTY);
+		System.setProperty(KEEPALIVE_PROPERTY, "0");
+		serverSocket = new ServerSocket(0, 1, InetAddress.getByName("127.0.0.1"));
+		socket = new Socket(InetAddress.getByName("127.0.0.1"), serverSocket.getLocalPort());
+		peer = serverSocket.accept();
+		new ObjectOutputStream(peer.getOutputStream()).flush();
+		final ObjectInputStream ois = new ObjectInputStream(socket.getInputStream());
+		out = new FlushCountingOutputStream(socket.getOutputStream());
+		final ObjectOutputStream oos = new ObjectOutputStream(out);
+		oos.flush();
+		out.flushes = 0;
+		handler = new Handler();
+		client = new Client(socket, ois, oos, handler);
+	}
+
+	protected void tearDown() throws Exception {
+		client.disconnect();
+		peer.close();
+		serverSocket.close();
+		if (keepAlive == null)
+			System.clearProperty(KEEPALIVE_PROPERTY);
+		else
+			System.setProperty(KEEPALIVE_PROPERTY, keepAlive);
+		super.tearDown();
+	}
+
+	private void queueAndStart() throws Exception {
+		// Queued before start, so the sender finds them all queued
+		for (int i = 0; i < MESSAGES; i++)
+			client.sendAsynch(null, new byte[100]);
+		client.start();
+	}
+
+	private void waitForSent(int count) throws Exception {
+		final long end = System.currentTimeMillis() + 10000;
+		while (client.getSendQueueSize() > 0 && System.currentTimeMillis() < end)
+			Thread.sleep(10);
+		assertEquals(0, client.getSendQueueSize());
+		assertEquals(count, out.flushes);
+	}
+
+	public void testNoBatchingByDefault() throws Exception {
+		queueAndStart();
+		waitForSent(MESSAGES);
+		assertEquals(0, client.getBatchCount());
+	}
+
+	public void testMessageLimit() throws Exception {
+		client.setBatchLimits(4, 1024 * 1024, 0);
+		queueAndStart();
+		// 4 + 4 + 2
+		waitForSent(3);
+		assertEquals(3, client.getBatchCount());
+		assertEquals(MESSAGES, client.getBatchedMessageCount());
+		assertEquals(4, client.getMaxBatchSize());
+	}
+
+	public void testByteLimit() throws Exception {
+		client.setBatchLimits(MESSAGES, 250, 0);
+		queueAndStart();
+		// A batch ends with the message reaching the limit: 3 + 3 + 3 + 1
+		waitForSent(4);
+		assertEquals(4, client.getBatchCount());
+		assertEquals(3, client.getMaxBatchSize());
+	}
+
+	public void testFlushFailureKeepsBatchQueued() throws Exception {
+		client.setBatchLimits(4, 1024 * 1024, 0);
+		out.failFlush = true;
+		queueAndStart();
+		final long end = System.currentTimeMillis() + 10000;
+		while (handler.disconnectEvent == null && System.currentTimeMillis() < end)
+			Thread.sleep(10);
+		assertNotNull(handler.disconnectEvent);
+		assertTrue(handler.disconnectEvent.getException() instanceof IOException);
+		// The failed batch is undelivered, as are the messages after it
+		assertEquals(MESSAGES, handler.undelivered);
+		assertEquals(0, client.getBatchCount());
+	}
+}
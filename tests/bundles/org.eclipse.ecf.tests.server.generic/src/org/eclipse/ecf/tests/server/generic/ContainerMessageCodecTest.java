@@ -0,0 +1,368 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *   Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.server.generic;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.core.identity.IDFactory;
+import org.eclipse.ecf.core.sharedobject.ISharedObjectContainerConfig;
+import org.eclipse.ecf.provider.comm.AsynchEvent;
+import org.eclipse.ecf.provider.comm.ConnectionCreateException;
+import org.eclipse.ecf.provider.comm.IConnection;
+import org.eclipse.ecf.provider.comm.ISynchAsynchConnection;
+import org.eclipse.ecf.provider.generic.ContainerMessage;
+import org.eclipse.ecf.provider.generic.SOContainer;
+import org.eclipse.ecf.provider.generic.SOContainerConfig;
+import org.eclipse.ecf.provider.generic.ServerSOContainer;
+import org.eclipse.ecf.provider.generic.TCPClientSOContainer;
+import org.eclipse.ecf.provider.generic.TCPServerSOContainer;
+import org.eclipse.ecf.provider.generic.TCPServerSOContainerGroup;
+
+public class ContainerMessageCodecTest extends TestCase {
+
+	private static final String KEEPALIVE_PROPERTY = "org.eclipse.ecf.provider.generic.keepalive";
+	private static final long WAIT = 10000;
+	private static final int[] WIRE_VERSIONS = new int[] {SOContainer.WIRE_VERSION_SERIALIZED, SOContainer.WIRE_VERSION_BINARY, SOContainer.WIRE_VERSION_CODECS};
+
+	static class TestContainer extends ServerSOContainer {
+		TestContainer(ID id) {
+			super(new SOContainerConfig(id));
+		}
+
+		byte[] encode(ContainerMessage message, int wireVersion) throws IOException {
+			return serializeContainerMessage(message, wireVersion);
+		}
+	}
+
+	static class TestMessage extends ContainerMessage {
+		private static final long serialVersionUID = 1L;
+
+		TestMessage(ID from, ID to, long seq, Serializable data) {
+			super(from, to, seq, data);
+		}
+	}
+
+	static class TestServer extends TCPServerSOContainer {
+		final LinkedBlockingQueue<byte[]> received = new LinkedBlockingQueue<byte[]>();
+
+		TestServer(ISharedObjectContainerConfig config) throws Exception {
+			super(config, InetAddress.getByName("127.0.0.1"), 0, TCPServerSOContainerGroup.TRANSPORT_TCP);
+		}
+
+		protected void processAsynch(AsynchEvent event) throws IOException {
+			received.add((byte[]) event.getData());
+			super.processAsynch(event);
+		}
+
+		int getWireVersion(ID clientID) {
+			return getWireVersion(getConnectionForID(clientID));
+		}
+
+		byte[] encodeFor(ID clientID, ContainerMessage message) throws IOException {
+			return serializeContainerMessage(message, getWireVersion(clientID));
+		}
+
+		void send(ID toContainerID, ID sharedObjectID, Serializable data) throws IOException {
+			sendSharedObjectMessage(toContainerID, sharedObjectID, data);
+		}
+	}
+
+	static class TestClient extends TCPClientSOContainer {
+		final LinkedBlockingQueue<byte[]> received = new LinkedBlockingQueue<byte[]>();
+		private final Integer wireVersion;
+
+		TestClient(ID id, Integer wireVersion) {
+			super(new SOContainerConfig(id), 0);
+			this.wireVersion = wireVersion;
+		}
+
+		protected ISynchAsynchConnection createConnection(ID remoteSpace, Object data) throws ConnectionCreateException {
+			final ISynchAsynchConnection conn = super.createConnection(remoteSpace, data);
+			// As offered by a peer that predates the wire version
+			if (wireVersion == null)
+				conn.getProperties().remove(IConnection.WIRE_VERSION_PROPERTY);
+			else
+				conn.getProperties().put(IConnection.WIRE_VERSION_PROPERTY, wireVersion);
+			return conn;
+		}
+
+		protected void processAsynch(AsynchEvent event) throws IOException {
+			received.add((byte[]) event.getData());
+			super.processAsynch(event);
+		}
+
+		int getWireVersion() {
+			return getWireVersion(getConnection());
+		}
+
+		byte[] encode(ContainerMessage message) throws IOException {
+			return serializeContainerMessage(message, getWireVersion());
+		}
+
+		void send(ID toContainerID, ID sharedObjectID, Serializable data) throws IOException {
+			sendSharedObjectMessage(toContainerID, sharedObjectID, data);
+		}
+	}
+
+	private ID from;
+	private ID to;
+	private ID sharedObjectID;
+	private TestContainer container;
+
+	private String keepAlive;
+	private TestServer server;
+	private TestClient client;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		keepAlive = System.getProperty(KEEPALIVE_PROPERTY);
+		System.setProperty(KEEPALIVE_PROPERTY, "0");
+		from = IDFactory.getDefault().createStringID("ecftcp://localhost:3282/server");
+		to = IDFactory.getDefault().createGUID();
+		sharedObjectID = IDFactory.getDefault().createStringID("sharedobject");
+		container = new TestContainer(from);
+	}
+
+	protected void tearDown() throws Exception {
+		if (client != null)
+			client.dispose();
+		if (server != null)
+			server.dispose();
+		container.dispose();
+		if (keepAlive == null)
+			System.clearProperty(KEEPALIVE_PROPERTY);
+		else
+			System.setProperty(KEEPALIVE_PROPERTY, keepAlive);
+		super.tearDown();
+	}
+
+	private static boolean isBinary(byte[] bytes) {
+		return bytes.length > 1 && bytes[0] == (byte) 0xEC && bytes[1] == (byte) 0xF1;
+	}
+
+	private static boolean isSerialized(byte[] bytes) {
+		return bytes.length > 1 && bytes[0] == (byte) 0xAC && bytes[1] == (byte) 0xED;
+	}
+
+	/**
+	 * Encodes the message as for the given wire version, checks the encoding and the
+	 * container fields of the decoded message, and returns the decoded body.
+	 */
+	private Serializable roundTrip(ContainerMessage message, int wireVersion) throws Exception {
+		final byte[] bytes = container.encode(message, wireVersion);
+		if (wireVersion == SOContainer.WIRE_VERSION_SERIALIZED)
+			assertTrue(isSerialized(bytes));
+		else
+			assertTrue(isBinary(bytes));
+		final ContainerMessage decoded = SOContainer.deserializeContainerMessage(bytes);
+		assertHeader(message, decoded);
+		assertSame(message.getData().getClass(), decoded.getData().getClass());
+		return decoded.getData();
+	}
+
+	private void assertHeader(ContainerMessage expected, ContainerMessage actual) {
+		assertSame(ContainerMessage.class, actual.getClass());
+		assertEquals(expected.getFromContainerID(), actual.getFromContainerID());
+		assertEquals(expected.getToContainerID(), actual.getToContainerID());
+		assertEquals(expected.getSequence(), actual.getSequence());
+	}
+
+	public void testViewChangeMessage() throws Exception {
+		for (int i = 0; i < WIRE_VERSIONS.length; i++) {
+			final ID[] ids = new ID[] {IDFactory.getDefault().createStringID("member"), IDFactory.getDefault().createGUID(), IDFactory.getDefault().createLongID(42)};
+			final ContainerMessage.ViewChangeMessage vcm = (ContainerMessage.ViewChangeMessage) roundTrip(ContainerMessage.createViewChangeMessage(from, to, 1, ids, true, "data"), WIRE_VERSIONS[i]);
+			assertTrue(Arrays.equals(ids, vcm.getChangeIDs()));
+			assertTrue(vcm.isAdd());
+			assertEquals("data", vcm.getData());
+		}
+	}
+
+	public void testViewChangeMessageOptionalFields() throws Exception {
+		for (int i = 0; i < WIRE_VERSIONS.length; i++) {
+			ContainerMessage.ViewChangeMessage vcm = (ContainerMessage.ViewChangeMessage) roundTrip(ContainerMessage.createViewChangeMessage(from, null, Long.MAX_VALUE, null, false, null), WIRE_VERSIONS[i]);
+			assertNull(vcm.getChangeIDs());
+			assertFalse(vcm.isAdd());
+			assertNull(vcm.getData());
+			vcm = (ContainerMessage.ViewChangeMessage) roundTrip(ContainerMessage.createViewChangeMessage(null, to, -1, new ID[] {null}, true, null), WIRE_VERSIONS[i]);
+			assertEquals(1, vcm.getChangeIDs().length);
+			assertNull(vcm.getChangeIDs()[0]);
+			vcm = (ContainerMessage.ViewChangeMessage) roundTrip(ContainerMessage.createViewChangeMessage(from, to, 0, new ID[0], true, null), WIRE_VERSIONS[i]);
+			assertEquals(0, vcm.getChangeIDs().length);
+		}
+	}
+
+	public void testJoinGroupMessage() throws Exception {
+		for (int i = 0; i < WIRE_VERSIONS.length; i++) {
+			final HashMap<String, Object> data = new HashMap<String, Object>();
+			data.put("key", Integer.valueOf(1));
+			ContainerMessage.JoinGroupMessage jgm = (ContainerMessage.JoinGroupMessage) roundTrip(ContainerMessage.createJoinGroupMessage(from, to, 2, data), WIRE_VERSIONS[i]);
+			assertEquals(data, jgm.getData());
+			jgm = (ContainerMessage.JoinGroupMessage) roundTrip(ContainerMessage.createJoinGroupMessage(from, null, 2, null), WIRE_VERSIONS[i]);
+			assertNull(jgm.getData());
+		}
+	}
+
+	public void testLeaveGroupMessage() throws Exception {
+		for (int i = 0; i < WIRE_VERSIONS.length; i++) {
+			ContainerMessage.LeaveGroupMessage lgm = (ContainerMessage.LeaveGroupMessage) roundTrip(ContainerMessage.createLeaveGroupMessage(from, to, 3, "reason"), WIRE_VERSIONS[i]);
+			assertEquals("reason", lgm.getData());
+			lgm = (ContainerMessage.LeaveGroupMessage) roundTrip(ContainerMessage.createLeaveGroupMessage(from, null, 3, null), WIRE_VERSIONS[i]);
+			assertNull(lgm.getData());
+		}
+	}
+
+	public void testSharedObjectCreateMessage() throws Exception {
+		for (int i = 0; i < WIRE_VERSIONS.length; i++) {
+			ContainerMessage.CreateMessage cm = (ContainerMessage.CreateMessage) roundTrip(ContainerMessage.createSharedObjectCreateMessage(from, to, 4, Long.valueOf(7)), WIRE_VERSIONS[i]);
+			assertEquals(Long.valueOf(7), cm.getData());
+			cm = (ContainerMessage.CreateMessage) roundTrip(ContainerMessage.createSharedObjectCreateMessage(from, null, 4, null), WIRE_VERSIONS[i]);
+			assertNull(cm.getData());
+		}
+	}
+
+	public void testSharedObjectCreateResponseMessage() throws Exception {
+		for (int i = 0; i < WIRE_VERSIONS.length; i++) {
+			ContainerMessage.CreateResponseMessage crm = (ContainerMessage.CreateResponseMessage) roundTrip(ContainerMessage.createSharedObjectCreateResponseMessage(from, to, 5, sharedObjectID, new IllegalStateException("failed"), 6), WIRE_VERSIONS[i]);
+			assertEquals(sharedObjectID, crm.getSharedObjectID());
+			assertTrue(crm.getException() instanceof IllegalStateException);
+			assertEquals("failed", crm.getException().getMessage());
+			assertEquals(6, crm.getSequence());
+			crm = (ContainerMessage.CreateResponseMessage) roundTrip(ContainerMessage.createSharedObjectCreateResponseMessage(from, null, 5, null, null, 6), WIRE_VERSIONS[i]);
+			assertNull(crm.getSharedObjectID());
+			assertNull(crm.getException());
+			assertEquals(6, crm.getSequence());
+		}
+	}
+
+	public void testSharedObjectMessage() throws Exception {
+		for (int i = 0; i < WIRE_VERSIONS.length; i++) {
+			final byte[] bytes = new byte[] {0, 1, (byte) 0xEC, (byte) 0xF1, (byte) 0xAC, (byte) 0xED};
+			ContainerMessage.SharedObjectMessage som = (ContainerMessage.SharedObjectMessage) roundTrip(ContainerMessage.createSharedObjectMessage(from, to, 7, sharedObjectID, bytes), WIRE_VERSIONS[i]);
+			assertEquals(sharedObjectID, som.getFromSharedObjectID());
+			assertTrue(Arrays.equals(bytes, (byte[]) som.getData()));
+			som = (ContainerMessage.SharedObjectMessage) roundTrip(ContainerMessage.createSharedObjectMessage(from, to, 7, sharedObjectID, new byte[0]), WIRE_VERSIONS[i]);
+			assertEquals(0, ((byte[]) som.getData()).length);
+			som = (ContainerMessage.SharedObjectMessage) roundTrip(ContainerMessage.createSharedObjectMessage(from, to, 7, sharedObjectID, "\u00e9cf \u2603"), WIRE_VERSIONS[i]);
+			assertEquals("\u00e9cf \u2603", som.getData());
+			som = (ContainerMessage.SharedObjectMessage) roundTrip(ContainerMessage.createSharedObjectMessage(from, to, 7, sharedObjectID, ""), WIRE_VERSIONS[i]);
+			assertEquals("", som.getData());
+			som = (ContainerMessage.SharedObjectMessage) roundTrip(ContainerMessage.createSharedObjectMessage(from, to, 7, sharedObjectID, new Integer[] {Integer.valueOf(1), null}), WIRE_VERSIONS[i]);
+			assertTrue(Arrays.equals(new Integer[] {Integer.valueOf(1), null}, (Integer[]) som.getData()));
+			som = (ContainerMessage.SharedObjectMessage) roundTrip(ContainerMessage.createSharedObjectMessage(from, null, 7, null, null), WIRE_VERSIONS[i]);
+			assertNull(som.getFromSharedObjectID());
+			assertNull(som.getData());
+		}
+	}
+
+	public void testSharedObjectDisposeMessage() throws Exception {
+		for (int i = 0; i < WIRE_VERSIONS.length; i++) {
+			ContainerMessage.SharedObjectDisposeMessage sodm = (ContainerMessage.SharedObjectDisposeMessage) roundTrip(ContainerMessage.createSharedObjectDisposeMessage(from, to, 8, sharedObjectID), WIRE_VERSIONS[i]);
+			assertEquals(sharedObjectID, sodm.getSharedObjectID());
+			sodm = (ContainerMessage.SharedObjectDisposeMessage) roundTrip(ContainerMessage.createSharedObjectDisposeMessage(from, null, 8, null), WIRE_VERSIONS[i]);
+			assertNull(sodm.getSharedObjectID());
+		}
+	}
+
+	public void testSubclassSerialized() throws Exception {
+		final byte[] bytes = container.encode(new TestMessage(from, to, 9, "data"), SOContainer.WIRE_VERSION_CODECS);
+		assertTrue(isSerialized(bytes));
+		final ContainerMessage message = SOContainer.deserializeContainerMessage(bytes);
+		assertSame(TestMessage.class, message.getClass());
+		assertEquals("data", message.getData());
+	}
+
+	private int getFreePort() throws IOException {
+		final ServerSocket socket = new ServerSocket(0);
+		try {
+			return socket.getLocalPort();
+		} finally {
+			socket.close();
+		}
+	}
+
+	private void connect(Integer clientWireVersion) throws Exception {
+		final int port = getFreePort();
+		final ID serverID = IDFactory.getDefault().createStringID("ecftcp://127.0.0.1:" + port + "/server");
+		server = new TestServer(new SOContainerConfig(serverID));
+		client = new TestClient(IDFactory.getDefault().createGUID(), clientWireVersion);
+		client.connect(serverID, null);
+	}
+
+	/**
+	 * Sends a shared object message each way, and returns the bytes received by the
+	 * server and by the client.
+	 */
+	private byte[][] exchange() throws Exception {
+		final ID serverID = server.getID();
+		final ID clientID = client.getID();
+		server.send(clientID, sharedObjectID, "to client");
+		final byte[] toClient = client.received.poll(WAIT, TimeUnit.MILLISECONDS);
+		assertNotNull(toClient);
+		assertMessage(toClient, serverID, clientID, "to client");
+		client.send(serverID, sharedObjectID, "to server");
+		final byte[] toServer = server.received.poll(WAIT, TimeUnit.MILLISECONDS);
+		assertNotNull(toServer);
+		assertMessage(toServer, clientID, serverID, "to server");
+		return new byte[][] {toServer, toClient};
+	}
+
+	private void assertMessage(byte[] bytes, ID fromID, ID toID, Serializable data) throws IOException {
+		final ContainerMessage message = SOContainer.deserializeContainerMessage(bytes);
+		assertEquals(fromID, message.getFromContainerID());
+		assertEquals(toID, message.getToContainerID());
+		final ContainerMessage.SharedObjectMessage som = (ContainerMessage.SharedObjectMessage) message.getData();
+		assertEquals(sharedObjectID, som.getFromSharedObjectID());
+		assertEquals(data, som.getData());
+	}
+
+	public void testSerializedPeerNegotiation() throws Exception {
+		connect(Integer.valueOf(SOContainer.WIRE_VERSION_SERIALIZED));
+		assertEquals(SOContainer.WIRE_VERSION_SERIALIZED, client.getWireVersion());
+		assertEquals(SOContainer.WIRE_VERSION_SERIALIZED, server.getWireVersion(client.getID()));
+		final byte[][] received = exchange();
+		// Java serialization in both directions
+		assertTrue(isSerialized(received[0]));
+		assertTrue(isSerialized(received[1]));
+		final ContainerMessage message = ContainerMessage.createSharedObjectMessage(server.getID(), client.getID(), 0, sharedObjectID, "data");
+		assertTrue(isSerialized(server.encodeFor(client.getID(), message)));
+		assertTrue(isSerialized(client.encode(message)));
+	}
+
+	public void testUnversionedPeerNegotiation() throws Exception {
+		connect(null);
+		assertEquals(SOContainer.WIRE_VERSION_SERIALIZED, client.getWireVersion());
+		assertEquals(SOContainer.WIRE_VERSION_SERIALIZED, server.getWireVersion(client.getID()));
+		final byte[][] received = exchange();
+		assertTrue(isSerialized(received[0]));
+		assertTrue(isSerialized(received[1]));
+	}
+
+	public void testBinaryPeerNegotiation() throws Exception {
+		connect(Integer.valueOf(SOContainer.WIRE_VERSION_BINARY));
+		assertEquals(SOContainer.WIRE_VERSION_BINARY, client.getWireVersion());
+		assertEquals(SOContainer.WIRE_VERSION_BINARY, server.getWireVersion(client.getID()));
+		final byte[][] received = exchange();
+		assertTrue(isBinary(received[0]));
+		assertTrue(isBinary(received[1]));
+	}
+}
@@ -0,0 +1,69 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.server.generic;
+
+import java.io.*;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.sharedobject.SharedObjectMsg;
+import org.eclipse.ecf.provider.generic.DirectSharedObjectMsg;
+
+public class DirectSharedObjectMsgTest extends TestCase {
+
+	private static final byte[] PARAMETER = new byte[] {1, 2, 3, 4, 5};
+
+	private DirectSharedObjectMsg createMsg() {
+		return new DirectSharedObjectMsg("handleBytes") { //$NON-NLS-1$
+			private static final long serialVersionUID = 1L;
+
+			protected void writeParameter(OutputStream out) throws IOException {
+				out.write(PARAMETER);
+				out.close();
+			}
+		};
+	}
+
+	private void assertPlainMsg(Object o) {
+		assertEquals(SharedObjectMsg.class, o.getClass());
+		final SharedObjectMsg msg = (SharedObjectMsg) o;
+		assertNull(msg.getClassName());
+		assertEquals("handleBytes", msg.getMethod()); //$NON-NLS-1$
+		assertEquals(1, msg.getParameters().length);
+		assertTrue(Arrays.equals(PARAMETER, (byte[]) msg.getParameters()[0]));
+	}
+
+	public void testToSharedObjectMsg() throws Exception {
+		assertPlainMsg(createMsg().toSharedObjectMsg());
+		assertTrue(Arrays.equals(PARAMETER, createMsg().toParameterBytes()));
+	}
+
+	public void testSerializedAsPlainMsg() throws Exception {
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(createMsg());
+		oos.close();
+		final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		assertPlainMsg(ois.readObject());
+	}
+
+	public void testCannotAlter() throws Exception {
+		try {
+			createMsg().setParameters(new Object[0]);
+			fail();
+		} catch (final UnsupportedOperationException e) {
+			// expected
+		}
+	}
+}
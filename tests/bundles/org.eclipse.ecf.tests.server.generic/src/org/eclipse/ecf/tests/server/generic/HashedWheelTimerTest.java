@@ -0,0 +1,117 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.server.generic;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.provider.util.HashedWheelTimer;
+
+public class HashedWheelTimerTest extends TestCase {
+
+	private HashedWheelTimer timer;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		timer = new HashedWheelTimer("test timer", 10, TimeUnit.MILLISECONDS, 8);
+	}
+
+	protected void tearDown() throws Exception {
+		timer.stop();
+		super.tearDown();
+	}
+
+	public void testExpire() throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final long start = System.nanoTime();
+		final HashedWheelTimer.Timeout timeout = timer.newTimeout(new Runnable() {
+			public void run() {
+				latch.countDown();
+			}
+		}, 50, TimeUnit.MILLISECONDS);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+		assertTrue(timeout.isExpired());
+		assertFalse(timeout.cancel());
+		assertEquals(0, timer.getPendingTimeouts());
+	}
+
+	public void testExpireAfterSeveralRounds() throws Exception {
+		// 8 buckets of 10ms, so 200ms needs more than two rounds of the wheel
+		final CountDownLatch latch = new CountDownLatch(1);
+		final long start = System.nanoTime();
+		timer.newTimeout(new Runnable() {
+			public void run() {
+				latch.countDown();
+			}
+		}, 200, TimeUnit.MILLISECONDS);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+	}
+
+	public void testCancel() throws Exception {
+		final AtomicInteger expired = new AtomicInteger();
+		final HashedWheelTimer.Timeout timeout = timer.newTimeout(new Runnable() {
+			public void run() {
+				expired.incrementAndGet();
+			}
+		}, 50, TimeUnit.MILLISECONDS);
+		assertEquals(1, timer.getPendingTimeouts());
+		assertTrue(timeout.cancel());
+		assertFalse(timeout.cancel());
+		assertTrue(timeout.isCancelled());
+		assertEquals(0, timer.getPendingTimeouts());
+		Thread.sleep(150);
+		assertEquals(0, expired.get());
+		assertFalse(timeout.isExpired());
+	}
+
+	public void testManyTimeouts() throws Exception {
+		final int count = 10000;
+		final CountDownLatch latch = new CountDownLatch(count / 2);
+		final AtomicInteger expired = new AtomicInteger();
+		final Runnable task = new Runnable() {
+			public void run() {
+				expired.incrementAndGet();
+				latch.countDown();
+			}
+		};
+		final HashedWheelTimer.Timeout[] timeouts = new HashedWheelTimer.Timeout[count];
+		for (int i = 0; i < count; i++)
+			timeouts[i] = timer.newTimeout(task, 500 + (i % 100), TimeUnit.MILLISECONDS);
+		// Cancel every other one
+		for (int i = 0; i < count; i += 2)
+			assertTrue(timeouts[i].cancel());
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		Thread.sleep(50);
+		assertEquals(count / 2, expired.get());
+		assertEquals(0, timer.getPendingTimeouts());
+	}
+
+	public void testStopped() throws Exception {
+		timer.stop();
+		try {
+			timer.newTimeout(new Runnable() {
+				public void run() {
+					// nothing
+				}
+			}, 10, TimeUnit.MILLISECONDS);
+			fail();
+		} catch (final IllegalStateException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.server.generic;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.provider.metrics.Gauge;
+import org.eclipse.ecf.provider.metrics.Histogram;
+import org.eclipse.ecf.provider.metrics.IMetricsService;
+import org.eclipse.ecf.provider.metrics.MetricGroup;
+import org.eclipse.ecf.provider.metrics.MetricsRegistry;
+
+public class MetricsRegistryTest extends TestCase {
+
+	public void testDisabledCreatesNoGroup() throws Exception {
+		final MetricsRegistry registry = new MetricsRegistry(false);
+		assertNull(registry.createGroup(IMetricsService.TYPE_CONNECTION, "c1"));
+		assertTrue(registry.getGroups().isEmpty());
+	}
+
+	public void testGroups() throws Exception {
+		final MetricsRegistry registry = new MetricsRegistry(true);
+		final MetricGroup container = registry.createGroup(IMetricsService.TYPE_CONTAINER, "server");
+		final MetricGroup connection = registry.createGroup(IMetricsService.TYPE_CONNECTION, "c1");
+		container.counter("messages.in").add(3);
+		container.counter("messages.in").increment();
+		container.gauge("members", new Gauge() {
+			public long getValue() {
+				return 2;
+			}
+		});
+		assertEquals(4, container.getCounters().get("messages.in").getCount());
+		assertEquals(2, container.getGauges().get("members").getValue());
+		assertEquals(2, registry.getGroups().size());
+		assertSame(connection, registry.getGroups().get(0));
+		assertEquals(1, registry.getGroups(IMetricsService.TYPE_CONTAINER).size());
+		connection.close();
+		assertNull(registry.getGroup(IMetricsService.TYPE_CONNECTION, "c1"));
+		assertSame(container, registry.getGroup(IMetricsService.TYPE_CONTAINER, "server"));
+	}
+
+	public void testHistogram() throws Exception {
+		final Histogram histogram = new Histogram();
+		assertEquals(0, histogram.getPercentile(99));
+		for (int i = 1; i <= 100; i++)
+			histogram.record(i);
+		histogram.record(-5);
+		assertEquals(101, histogram.getCount());
+		assertEquals(5050, histogram.getSum());
+		assertEquals(100, histogram.getMax());
+		// Percentiles are upper bounds of power of two buckets
+		assertEquals(63, histogram.getPercentile(50));
+		assertEquals(100, histogram.getPercentile(99));
+		assertEquals(0, histogram.getPercentile(0));
+	}
+}
@@ -0,0 +1,156 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.sharedobject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.ecf.core.ContainerFactory;
+import org.eclipse.ecf.core.IContainer;
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.core.identity.IDFactory;
+import org.eclipse.ecf.core.sharedobject.BaseSharedObject;
+import org.eclipse.ecf.core.sharedobject.SharedObjectMsg;
+import org.eclipse.ecf.core.sharedobject.SharedObjectMsgEvent;
+import org.eclipse.ecf.core.sharedobject.util.ISharedObjectMessageSerializer;
+import org.eclipse.ecf.provider.generic.CompactSharedObjectMessageSerializer;
+import org.eclipse.ecf.provider.generic.SOContainer;
+
+/**
+ * Sends shared object messages between clients of a server created with the
+ * compact codec.  The clients are created with the default codec and adopt the
+ * codec of the server when connecting.
+ */
+public class SendSharedObjectMessageWithCompactCodecTest extends AbstractSharedObjectTest {
+
+	private static final int MESSAGE_SEND_COUNT = 10;
+
+	public static class ReceivingSharedObject extends BaseSharedObject {
+		private final List received = new ArrayList();
+
+		protected boolean handleSharedObjectMsg(SharedObjectMsg msg) {
+			synchronized (received) {
+				received.add(msg.getParameters());
+				received.notifyAll();
+			}
+			return true;
+		}
+
+		public void send(Object[] params) throws IOException {
+			sendSharedObjectMsgTo(null, SharedObjectMsg.createMsg(null, "receive", params));
+		}
+
+		public List waitForMessages(int count, long timeout) throws InterruptedException {
+			final long end = System.currentTimeMillis() + timeout;
+			synchronized (received) {
+				while (received.size() < count) {
+					final long remaining = end - System.currentTimeMillis();
+					if (remaining <= 0)
+						break;
+					received.wait(remaining);
+				}
+				return new ArrayList(received);
+			}
+		}
+	}
+
+	ReceivingSharedObject sender;
+	ReceivingSharedObject receiver;
+
+	protected int getClientCount() {
+		return 2;
+	}
+
+	protected IContainer createServer() throws Exception {
+		final Map props = new HashMap();
+		props.put("id", getServerIdentity());
+		props.put("serializer", "compact");
+		return ContainerFactory.getDefault().createContainer(getServerContainerName(), new Object[] {props});
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		createServerAndClients();
+		connectClients();
+		final ID sharedObjectID = IDFactory.getDefault().createStringID("compact");
+		sender = new ReceivingSharedObject();
+		receiver = new ReceivingSharedObject();
+		addClientSharedObject(0, sharedObjectID, sender, null);
+		addClientSharedObject(1, sharedObjectID, receiver, null);
+		sleep(2000);
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		cleanUpServerAndClients();
+		sender = null;
+		receiver = null;
+	}
+
+	public void testMessageSend() throws Exception {
+		final Map map = new HashMap();
+		map.put("key", Long.valueOf(Long.MIN_VALUE));
+		final ID id = IDFactory.getDefault().createGUID();
+		for (int i = 0; i < MESSAGE_SEND_COUNT; i++)
+			sender.send(new Object[] {Integer.valueOf(-i), "greetings program", map, new String[] {"a", null}, id, new byte[] {1, 2, 3}, null});
+		final List received = receiver.waitForMessages(MESSAGE_SEND_COUNT, 10000);
+		assertEquals(MESSAGE_SEND_COUNT, received.size());
+		for (int i = 0; i < MESSAGE_SEND_COUNT; i++) {
+			final Object[] params = (Object[]) received.get(i);
+			assertEquals(7, params.length);
+			assertEquals(Integer.valueOf(-i), params[0]);
+			assertEquals("greetings program", params[1]);
+			assertEquals(map, params[2]);
+			assertEquals("a", ((String[]) params[3])[0]);
+			assertNull(((String[]) params[3])[1]);
+			assertEquals(id, params[4]);
+			assertEquals(3, ((byte[]) params[5]).length);
+			assertNull(params[6]);
+		}
+	}
+
+	public void testMessageEventEncodedNatively() throws Exception {
+		final SOContainer client = (SOContainer) getClientSOContainer(0);
+		final CompactSharedObjectMessageSerializer compact = new CompactSharedObjectMessageSerializer(client);
+		final List payloads = new ArrayList();
+		client.setSharedObjectMessageSerializer(new ISharedObjectMessageSerializer() {
+			public byte[] serializeMessage(ID sharedObjectID, Object message) throws IOException {
+				final byte[] bytes = compact.serializeMessage(sharedObjectID, message);
+				if (message instanceof SharedObjectMsgEvent)
+					synchronized (payloads) {
+						payloads.add(bytes);
+					}
+				return bytes;
+			}
+
+			public Object deserializeMessage(byte[] data) throws IOException, ClassNotFoundException {
+				return compact.deserializeMessage(data);
+			}
+		});
+		sender.send(new Object[] {Integer.valueOf(1), "greetings program"});
+		final List received = receiver.waitForMessages(1, 10000);
+		assertEquals(1, received.size());
+		assertEquals("greetings program", ((Object[]) received.get(0))[1]);
+		synchronized (payloads) {
+			assertEquals(1, payloads.size());
+			final byte[] payload = (byte[]) payloads.get(0);
+			assertTrue(CompactSharedObjectMessageSerializer.isEncoded(payload));
+			// No part of the event may fall back to Java serialization
+			for (int i = 0; i < payload.length - 1; i++)
+				assertFalse("Java serialization stream at " + i, payload[i] == (byte) 0xAC && payload[i + 1] == (byte) 0xED);
+		}
+	}
+}
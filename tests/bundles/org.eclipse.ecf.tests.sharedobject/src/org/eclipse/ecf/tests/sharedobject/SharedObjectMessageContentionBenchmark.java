@@ -0,0 +1,48 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.sharedobject;
+
+/**
+ * Contention benchmark for message routing, comparing the delivery rate of one
+ * sender with that of all clients of {@link SharedObjectMessageContentionTest}
+ * sending at the same time.  Not a test, so not run by the test build.  The
+ * containers are created with the container factory, so run it as a Java
+ * application in the test bundle's OSGi runtime.
+ */
+public class SharedObjectMessageContentionBenchmark extends SharedObjectMessageContentionTest {
+
+	private static final int CLIENT_COUNT = SharedObjectMessageContentionTest.CLIENT_COUNT;
+	private static final int MESSAGE_COUNT = SharedObjectMessageContentionTest.MESSAGE_COUNT;
+
+	private void measure() throws Exception {
+		// warm up
+		sendAndWait(CLIENT_COUNT);
+		final long one = sendAndWait(1);
+		final long all = sendAndWait(CLIENT_COUNT);
+		final long oneDelivered = (long) (CLIENT_COUNT - 1) * MESSAGE_COUNT;
+		final long allDelivered = (long) CLIENT_COUNT * (CLIENT_COUNT - 1) * MESSAGE_COUNT;
+		System.out.println("SharedObjectMessageContentionBenchmark " + CLIENT_COUNT + " clients, " + MESSAGE_COUNT + " messages per sender:"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("  1 sender   " + one + "ms " + (oneDelivered * 1000 / Math.max(one, 1)) + " deliveries/s"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("  " + CLIENT_COUNT + " senders  " + all + "ms " + (allDelivered * 1000 / Math.max(all, 1)) + " deliveries/s"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	public static void main(String[] args) throws Exception {
+		final SharedObjectMessageContentionBenchmark benchmark = new SharedObjectMessageContentionBenchmark();
+		benchmark.setUp();
+		try {
+			benchmark.measure();
+		} finally {
+			benchmark.tearDown();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.sharedobject;
+
+import java.io.IOException;
+
+import org.eclipse.ecf.core.identity.ID;
+import org.eclipse.ecf.core.identity.IDFactory;
+import org.eclipse.ecf.core.sharedobject.BaseSharedObject;
+import org.eclipse.ecf.core.sharedobject.SharedObjectMsg;
+
+/**
+ * Message routing under contention: every client sends to all other clients
+ * through the server at the same time, so the server routes messages from
+ * several connection threads concurrently.
+ */
+public class SharedObjectMessageContentionTest extends AbstractSharedObjectTest {
+
+	static final int CLIENT_COUNT = 4;
+	static final int MESSAGE_COUNT = 5000;
+	private static final long TIMEOUT = 60000;
+
+	public static class CountingSharedObject extends BaseSharedObject {
+		private int count;
+
+		protected boolean handleSharedObjectMsg(SharedObjectMsg msg) {
+			synchronized (this) {
+				count++;
+				notifyAll();
+			}
+			return true;
+		}
+
+		public void send(int index) throws IOException {
+			sendSharedObjectMsgTo(null, SharedObjectMsg.createMsg("count", Integer.valueOf(index)));
+		}
+
+		public synchronized int getCount() {
+			return count;
+		}
+
+		public synchronized void reset() {
+			count = 0;
+		}
+
+		public synchronized boolean waitForCount(int expected, long timeout) throws InterruptedException {
+			final long end = System.currentTimeMillis() + timeout;
+			while (count < expected) {
+				final long remaining = end - System.currentTimeMillis();
+				if (remaining <= 0)
+					return false;
+				wait(remaining);
+			}
+			return true;
+		}
+	}
+
+	CountingSharedObject[] sharedObjects;
+
+	protected int getClientCount() {
+		return CLIENT_COUNT;
+	}
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		createServerAndClients();
+		connectClients();
+		final ID sharedObjectID = IDFactory.getDefault().createStringID("counter");
+		sharedObjects = new CountingSharedObject[CLIENT_COUNT];
+		for (int i = 0; i < CLIENT_COUNT; i++) {
+			sharedObjects[i] = new CountingSharedObject();
+			addClientSharedObject(i, sharedObjectID, sharedObjects[i], null);
+		}
+		sleep(2000);
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		cleanUpServerAndClients();
+		sharedObjects = null;
+	}
+
+	/**
+	 * @return long elapsed time in ms to deliver all messages of the given senders
+	 */
+	long sendAndWait(int senders) throws Exception {
+		for (int i = 0; i < sharedObjects.length; i++)
+			sharedObjects[i].reset();
+		final Exception[] error = new Exception[1];
+		final Thread[] threads = new Thread[senders];
+		final long start = System.currentTimeMillis();
+		for (int i = 0; i < senders; i++) {
+			final CountingSharedObject sender = sharedObjects[i];
+			threads[i] = new Thread(new Runnable() {
+				public void run() {
+					try {
+						for (int j = 0; j < MESSAGE_COUNT; j++)
+							sender.send(j);
+					} catch (final Exception e) {
+						error[0] = e;
+					}
+				}
+			}, "sender-" + i);
+			threads[i].start();
+		}
+		for (int i = 0; i < senders; i++)
+			threads[i].join();
+		if (error[0] != null)
+			throw error[0];
+		for (int i = 0; i < sharedObjects.length; i++) {
+			// Each client receives the messages of all senders but itself
+			final int expected = (i < senders) ? (senders - 1) * MESSAGE_COUNT : senders * MESSAGE_COUNT;
+			assertTrue("client " + i + " received " + sharedObjects[i].getCount() + " of " + expected, sharedObjects[i].waitForCount(expected, TIMEOUT));
+		}
+		return System.currentTimeMillis() - start;
+	}
+
+	public void testConcurrentSenders() throws Exception {
+		sendAndWait(CLIENT_COUNT);
+	}
+
+	public void testOneSender() throws Exception {
+		sendAndWait(1);
+	}
+}
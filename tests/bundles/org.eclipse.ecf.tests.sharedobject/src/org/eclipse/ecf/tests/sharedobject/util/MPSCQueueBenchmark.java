@@ -0,0 +1,65 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.sharedobject.util;
+
+import org.eclipse.ecf.core.sharedobject.util.MPSCQueue;
+import org.eclipse.ecf.core.sharedobject.util.SimpleFIFOQueue;
+
+/**
+ * Micro benchmark of {@link MPSCQueue} against {@link SimpleFIFOQueue} with
+ * several producers and one consumer.  Not a test, so not run by the test build.
+ * Run it as a Java application with the test bundle's classpath.
+ */
+public class MPSCQueueBenchmark {
+
+	private static final int PRODUCERS = 4;
+	private static final int MESSAGES = 100000;
+
+	/**
+	 * @return long the time in ns to consume all messages
+	 */
+	private static long consume(final SimpleFIFOQueue queue, int producers, final int messages) throws InterruptedException {
+		final Thread[] threads = new Thread[producers];
+		final long start = System.nanoTime();
+		for (int i = 0; i < producers; i++) {
+			threads[i] = new Thread(new Runnable() {
+				public void run() {
+					for (int j = 0; j < messages; j++)
+						queue.enqueue(Integer.valueOf(j));
+				}
+			}, "producer-" + i); //$NON-NLS-1$
+			threads[i].start();
+		}
+		for (int i = 0; i < producers * messages; i++)
+			if (queue.dequeue() == null)
+				throw new IllegalStateException("Queue closed"); //$NON-NLS-1$
+		final long elapsed = System.nanoTime() - start;
+		for (int i = 0; i < threads.length; i++)
+			threads[i].join();
+		return elapsed;
+	}
+
+	public static void main(String[] args) throws Exception {
+		// warm up
+		consume(new SimpleFIFOQueue(), PRODUCERS, MESSAGES / 10);
+		consume(new MPSCQueue(), PRODUCERS, MESSAGES / 10);
+		final long fifo = consume(new SimpleFIFOQueue(), PRODUCERS, MESSAGES);
+		final long mpsc = consume(new MPSCQueue(), PRODUCERS, MESSAGES);
+		final long bounded = consume(new MPSCQueue(1024), PRODUCERS, MESSAGES);
+		final int total = PRODUCERS * MESSAGES;
+		System.out.println("MPSCQueueBenchmark " + PRODUCERS + " producers, " + total + " messages:"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("  SimpleFIFOQueue     " + (fifo / 1000000) + "ms " + (total * 1000000000L / fifo) + " msgs/s"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("  MPSCQueue           " + (mpsc / 1000000) + "ms " + (total * 1000000000L / mpsc) + " msgs/s"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("  MPSCQueue(1024)     " + (bounded / 1000000) + "ms " + (total * 1000000000L / bounded) + " msgs/s"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
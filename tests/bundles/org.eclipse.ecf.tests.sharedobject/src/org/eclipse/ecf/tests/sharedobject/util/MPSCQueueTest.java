@@ -0,0 +1,172 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.ecf.tests.sharedobject.util;
+
+import junit.framework.TestCase;
+
+import org.eclipse.ecf.core.sharedobject.util.MPSCEventQueue;
+import org.eclipse.ecf.core.sharedobject.util.MPSCQueue;
+import org.eclipse.ecf.core.sharedobject.util.SimpleFIFOQueue;
+import org.eclipse.ecf.core.util.Event;
+
+public class MPSCQueueTest extends TestCase {
+
+	private static final int PRODUCERS = 4;
+	private static final int MESSAGES = 100000;
+
+	static class Item implements Event {
+		final int producer;
+		final int seq;
+
+		Item(int producer, int seq) {
+			this.producer = producer;
+			this.seq = seq;
+		}
+	}
+
+	private Thread[] startProducers(final SimpleFIFOQueue queue, final int producers, final int messages) {
+		final Thread[] threads = new Thread[producers];
+		for (int i = 0; i < producers; i++) {
+			final int producer = i;
+			threads[i] = new Thread(new Runnable() {
+				public void run() {
+					for (int j = 0; j < messages; j++)
+						queue.enqueue(new Item(producer, j));
+				}
+			}, "producer-" + i);
+			threads[i].start();
+		}
+		return threads;
+	}
+
+	/**
+	 * Consume all messages and check that the messages of each producer arrive in order.
+	 */
+	private void consume(SimpleFIFOQueue queue, int producers, int messages) throws Exception {
+		final int[] next = new int[producers];
+		final Thread[] threads = startProducers(queue, producers, messages);
+		for (int i = 0; i < producers * messages; i++) {
+			final Item item = (Item) queue.dequeue();
+			assertNotNull(item);
+			assertEquals(next[item.producer], item.seq);
+			next[item.producer]++;
+		}
+		for (int i = 0; i < threads.length; i++)
+			threads[i].join();
+		assertTrue(queue.isEmpty());
+	}
+
+	public void testFIFOPerProducer() throws Exception {
+		final MPSCQueue queue = new MPSCQueue();
+		consume(queue, PRODUCERS, MESSAGES);
+		assertEquals(0, queue.size());
+	}
+
+	public void testBoundedFIFOPerProducer() throws Exception {
+		final MPSCQueue queue = new MPSCQueue(16);
+		consume(queue, PRODUCERS, MESSAGES);
+		assertEquals(0, queue.size());
+	}
+
+	public void testBoundedBlocksProducer() throws Exception {
+		final MPSCQueue queue = new MPSCQueue(1);
+		assertTrue(queue.enqueue("first"));
+		assertFalse(queue.offer("second"));
+		final Thread producer = new Thread(new Runnable() {
+			public void run() {
+				queue.enqueue("second");
+			}
+		});
+		producer.start();
+		producer.join(200);
+		assertTrue(producer.isAlive());
+		assertEquals("first", queue.dequeue());
+		producer.join(5000);
+		assertFalse(producer.isAlive());
+		assertEquals("second", queue.dequeue());
+	}
+
+	public void testCloseReleasesConsumer() throws Exception {
+		final MPSCQueue queue = new MPSCQueue();
+		final Object[] result = new Object[] {this};
+		final Thread consumer = new Thread(new Runnable() {
+			public void run() {
+				result[0] = queue.peekQueue();
+			}
+		});
+		consumer.start();
+		Thread.sleep(100);
+		queue.close();
+		consumer.join(5000);
+		assertFalse(consumer.isAlive());
+		assertNull(result[0]);
+		assertFalse(queue.enqueue("closed"));
+	}
+
+	public void testTimedPeek() throws Exception {
+		final MPSCQueue queue = new MPSCQueue();
+		assertNull(queue.peekQueue(50));
+		queue.enqueue("one");
+		assertEquals("one", queue.peekQueue(50));
+		assertEquals(1, queue.size());
+	}
+
+	public void testEventQueue() throws Exception {
+		final MPSCEventQueue queue = new MPSCEventQueue();
+		assertNull(queue.dequeue());
+		assertNull(queue.blocking_dequeue(10));
+		queue.enqueue(new Event[] {new Item(0, 0), new Item(0, 1), new Item(0, 2)});
+		assertNull(queue.dequeue(4));
+		final Event[] two = queue.dequeue(2);
+		assertEquals(2, two.length);
+		assertEquals(1, ((Item) two[1]).seq);
+		assertEquals(2, ((Item) queue.blocking_dequeue(-1)).seq);
+		assertNull(queue.dequeue_all());
+	}
+
+	private Thread enqueueLater(final MPSCQueue queue, final Object o) {
+		final Thread producer = new Thread(new Runnable() {
+			public void run() {
+				try {
+					Thread.sleep(100);
+				} catch (final InterruptedException e) {
+					return;
+				}
+				queue.enqueue(o);
+			}
+		});
+		producer.start();
+		return producer;
+	}
+
+	public void testZeroWaitIsIndefinite() throws Exception {
+		final MPSCQueue queue = new MPSCQueue();
+		// As for SimpleFIFOQueue, a wait of 0 waits until an element is available
+		Thread producer = enqueueLater(queue, "one");
+		assertEquals("one", queue.peekQueue(0));
+		producer.join();
+		assertEquals("one", queue.dequeue());
+		producer = enqueueLater(queue, "two");
+		assertEquals("two", queue.peekQueue(0));
+		producer.join();
+	}
+
+	public void testEventQueueZeroTimeoutIsIndefinite() throws Exception {
+		final MPSCEventQueue queue = new MPSCEventQueue();
+		final Thread producer = enqueueLater(queue.getQueue(), new Item(0, 0));
+		final Event event = queue.blocking_dequeue(0);
+		producer.join();
+		assertNotNull(event);
+		assertEquals(0, ((Item) event).seq);
+	}
+}
@@ -0,0 +1,44 @@
+/****************************************************************************
+ * Copyright (c) 2026 Composent, Inc. and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * Contributors:
+ *    Composent, Inc. - initial API and implementation
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+
+package org.eclipse.ecf.tests.connect;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.ecf.core.ContainerFactory;
+import org.eclipse.ecf.core.IContainer;
+
+/**
+ * Runs the client connect tests over the selector based (nio) transport.
+ */
+public class NIOClientContainerConnectTest extends ClientContainerConnectTest {
+
+	private static final String TRANSPORT_PROP = "transport";
+
+	private static final String TRANSPORT_NIO = "nio";
+
+	protected IContainer createServer() throws Exception {
+		final Map props = new HashMap();
+		props.put("id", serverID);
+		props.put(TRANSPORT_PROP, TRANSPORT_NIO);
+		return ContainerFactory.getDefault().createContainer(getServerContainerName(), new Object[] {props});
+	}
+
+	protected IContainer createClient(int index) throws Exception {
+		final Map props = new HashMap();
+		props.put(TRANSPORT_PROP, TRANSPORT_NIO);
+		return ContainerFactory.getDefault().createContainer(getClientContainerName(), new Object[] {props});
+	}
+
+}